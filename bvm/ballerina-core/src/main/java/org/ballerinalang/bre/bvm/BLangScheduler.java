@@ -34,8 +34,6 @@ import org.ballerinalang.util.program.BLangVMUtils;
 
 import java.io.PrintStream;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.LongAdder;
 
@@ -48,21 +46,23 @@ public class BLangScheduler {
     
     private static final String SCHEDULER_STATS_CONFIG_PROP = "b7a.runtime.scheduler.statistics";
 
-    private static AtomicInteger workerCount = new AtomicInteger(0);
-    
-    private static Semaphore workersDoneSemaphore = new Semaphore(1);
+    private static final long WORKER_COMPLETION_CHECK_INTERVAL = 100;
+
+    /* workers are counted on striped adders, so that the threads do not contend on a single counter, and the
+     * number of live workers is only computed when someone waits for them to complete */
+    private static final LongAdder startedWorkers = new LongAdder();
+
+    private static final LongAdder finishedWorkers = new LongAdder();
+
+    private static final AtomicInteger workerCompletionWaiters = new AtomicInteger();
+
+    private static final Object workersDoneMonitor = new Object();
     
+    private static final boolean schedulerStatsEnabled = Boolean.parseBoolean(
+            ConfigRegistry.getInstance().getAsString(SCHEDULER_STATS_CONFIG_PROP));
+
     private static SchedulerStats schedulerStats = new SchedulerStats();
     
-    private static boolean schedulerStatsEnabled;
-    
-    static {
-        String statsConfigProp = ConfigRegistry.getInstance().getAsString(SCHEDULER_STATS_CONFIG_PROP);
-        if (statsConfigProp != null) {
-            schedulerStatsEnabled = Boolean.parseBoolean(statsConfigProp);
-        }
-    }
-    
     public static WorkerExecutionContext schedule(WorkerExecutionContext ctx) {
         return schedule(ctx, ctx.runInCaller);
     }
@@ -81,20 +81,29 @@ public class BLangScheduler {
     }
     
     public static void workerCountUp() {
-        int count = workerCount.incrementAndGet();
-        if (count == 1) {
-            try {
-                workersDoneSemaphore.acquire();
-            } catch (InterruptedException ignore) { /* ignore */ }
-        }
+        startedWorkers.increment();
     }
     
     public static void workerCountDown() {
-        int count = workerCount.decrementAndGet();
-        if (count <= 0) {
-            workersDoneSemaphore.release();
+        finishedWorkers.increment();
+        if (workerCompletionWaiters.get() > 0) {
+            synchronized (workersDoneMonitor) {
+                workersDoneMonitor.notifyAll();
+            }
         }
     }
+
+    /**
+     * Returns the number of workers which have been scheduled, and have not completed yet.
+     *
+     * @return the live worker count
+     */
+    public static long getLiveWorkerCount() {
+        /* a worker is always counted up before it is counted down, so reading the finished workers first
+         * never gives a count lower than the real one */
+        long finished = finishedWorkers.sum();
+        return startedWorkers.sum() - finished;
+    }
     
     public static WorkerExecutionContext schedule(WorkerExecutionContext ctx, boolean runInCaller) {
         workerReady(ctx);
@@ -102,8 +111,7 @@ public class BLangScheduler {
         if (runInCaller) {
             return ctx;
         } else {
-            ExecutorService executor = ThreadPoolFactory.getInstance().getWorkerExecutor();
-            executor.submit(new WorkerExecutor(ctx));
+            dispatch(ctx, false);
             return null;
         }
     }
@@ -120,11 +128,26 @@ public class BLangScheduler {
         if (runInCaller) {
             return ctx;
         } else {
-            ThreadPoolFactory.getInstance().getWorkerExecutor().submit(new WorkerExecutor(ctx));
+            dispatch(ctx, false);
             return null;
         }
     }
 
+    /**
+     * Makes a running worker give up its current thread, so other ready workers get a chance to run. 
+     * The worker is re-submitted to the scheduler, and will continue from its current instruction.
+     * 
+     * @param ctx the worker execution context
+     */
+    public static void yieldWorker(WorkerExecutionContext ctx) {
+        workerReady(ctx);
+        dispatch(ctx, true);
+    }
+
+    private static void dispatch(WorkerExecutionContext ctx, boolean yielded) {
+        ThreadPoolFactory.getInstance().execute(new WorkerExecutor(ctx), yielded);
+    }
+
     public static WorkerExecutionContext resume(WorkerExecutionContext ctx, int targetIp, boolean runInCaller) {
         ctx.ip = targetIp;
         return resume(ctx, runInCaller);
@@ -149,47 +172,70 @@ public class BLangScheduler {
     }
     
     public static void workerDone(WorkerExecutionContext ctx) {
-        schedulerStats.stateTransition(ctx, WorkerState.DONE);
+        if (schedulerStatsEnabled) {
+            schedulerStats.stateTransition(ctx, WorkerState.DONE);
+        }
         ctx.state = WorkerState.DONE;
         workerCountDown();
     }
     
     public static void workerReady(WorkerExecutionContext ctx) {
-        schedulerStats.stateTransition(ctx, WorkerState.READY);
+        if (schedulerStatsEnabled) {
+            schedulerStats.stateTransition(ctx, WorkerState.READY);
+        }
         ctx.state = WorkerState.READY;
     }
 
     public static void workerPaused(WorkerExecutionContext ctx) {
-        schedulerStats.stateTransition(ctx, WorkerState.PAUSED);
+        if (schedulerStatsEnabled) {
+            schedulerStats.stateTransition(ctx, WorkerState.PAUSED);
+        }
         ctx.state = WorkerState.PAUSED;
     }
     
     public static void workerWaitForResponse(WorkerExecutionContext ctx) {
-        schedulerStats.stateTransition(ctx, WorkerState.WAITING_FOR_RESPONSE);
+        if (schedulerStatsEnabled) {
+            schedulerStats.stateTransition(ctx, WorkerState.WAITING_FOR_RESPONSE);
+        }
         ctx.state = WorkerState.WAITING_FOR_RESPONSE;
     }
 
     public static void workerWaitForLock(WorkerExecutionContext ctx) {
-        schedulerStats.stateTransition(ctx, WorkerState.WAITING_FOR_LOCK);
+        if (schedulerStatsEnabled) {
+            schedulerStats.stateTransition(ctx, WorkerState.WAITING_FOR_LOCK);
+        }
         ctx.state = WorkerState.WAITING_FOR_LOCK;
     }
     
     public static void workerRunning(WorkerExecutionContext ctx) {
-        schedulerStats.stateTransition(ctx, WorkerState.RUNNING);
+        if (schedulerStatsEnabled) {
+            schedulerStats.stateTransition(ctx, WorkerState.RUNNING);
+        }
         ctx.state = WorkerState.RUNNING;
     }
     
     public static void workerExcepted(WorkerExecutionContext ctx) {
-        schedulerStats.stateTransition(ctx, WorkerState.EXCEPTED);
+        if (schedulerStatsEnabled) {
+            schedulerStats.stateTransition(ctx, WorkerState.EXCEPTED);
+        }
         ctx.state = WorkerState.EXCEPTED;
         workerCountDown();
     }
     
     public static void waitForWorkerCompletion() {
+        workerCompletionWaiters.incrementAndGet();
         try {
-            workersDoneSemaphore.acquire();
-            workersDoneSemaphore.release();
-        } catch (InterruptedException ignore) { /* ignore */ }
+            synchronized (workersDoneMonitor) {
+                while (getLiveWorkerCount() > 0) {
+                    /* timed, as a worker may finish between the check above and the wait */
+                    workersDoneMonitor.wait(WORKER_COMPLETION_CHECK_INTERVAL);
+                }
+            }
+        } catch (InterruptedException ignore) {
+            /* ignore */
+        } finally {
+            workerCompletionWaiters.decrementAndGet();
+        }
     }
     
     public static void dumpCallStack(WorkerExecutionContext ctx) {
@@ -211,6 +257,21 @@ public class BLangScheduler {
         return respCtx;
     }
     
+    /**
+     * Executes a blocking native call in the blocking native thread pool, without holding a worker thread.
+     * The calling worker is expected to be waiting for the response, and it will be resumed through the
+     * given callback once the native call completes.
+     * 
+     * @param nativeCallable the blocking native callable unit
+     * @param nativeCtx the native call context
+     * @param callback the callback used to resume the caller
+     */
+    public static void executeBlockingNativeOffloaded(NativeCallableUnit nativeCallable, Context nativeCtx,
+            CallableUnitCallback callback) {
+        ThreadPoolFactory.getInstance().getBlockingNativeExecutor().execute(
+                new OffloadedNativeCallExecutor(nativeCallable, nativeCtx, callback));
+    }
+    
     public static AsyncInvocableWorkerResponseContext executeNonBlockingNativeAsync(NativeCallableUnit nativeCallable,
             Context nativeCtx, int flags) {
         CallableUnitInfo callableUnitInfo = nativeCtx.getCallableUnitInfo();
@@ -294,7 +355,7 @@ public class BLangScheduler {
                 runInCaller = this.respCtx.signal(new WorkerSignal(new WorkerExecutionContext(error), 
                         SignalType.ERROR, result));
             } catch (Throwable e) {
-                BStruct error = BLangVMErrors.createError(this.nativeCtx, e.getMessage());
+                BStruct error = BLangVMErrors.createError(this.nativeCtx, true, e.getMessage());
                 runInCaller = this.respCtx.signal(new WorkerSignal(new WorkerExecutionContext(error), 
                         SignalType.ERROR, result));
             } finally {
@@ -305,6 +366,41 @@ public class BLangScheduler {
         
     }
     
+    /**
+     * This represents the thread used to run a blocking native call, which was offloaded from a synchronous
+     * invocation in a worker.
+     */
+    private static class OffloadedNativeCallExecutor implements Runnable {
+
+        private NativeCallableUnit nativeCallable;
+        
+        private Context nativeCtx;
+        
+        private CallableUnitCallback callback;
+        
+        public OffloadedNativeCallExecutor(NativeCallableUnit nativeCallable, Context nativeCtx, 
+                CallableUnitCallback callback) {
+            this.nativeCallable = nativeCallable;
+            this.nativeCtx = nativeCtx;
+            this.callback = callback;
+        }
+        
+        @Override
+        public void run() {
+            try {
+                this.nativeCallable.execute(this.nativeCtx, null);
+            } catch (BLangNullReferenceException e) {
+                this.callback.notifyFailure(BLangVMErrors.createNullRefException(this.nativeCtx));
+                return;
+            } catch (Throwable e) {
+                this.callback.notifyFailure(BLangVMErrors.createError(this.nativeCtx, true, e.getMessage()));
+                return;
+            }
+            this.callback.notifySuccess();
+        }
+        
+    }
+    
     /**
      * This class represents the callback functionality for async non-blocking native calls.
      */
@@ -346,17 +442,31 @@ public class BLangScheduler {
     }
     
     /**
-     * This class represents the scheduler statistics.
+     * This class represents the scheduler statistics. Besides the number of workers in each state, it keeps the
+     * total time workers have spent in each state, i.e. the time ready workers waited for a thread, and the time
+     * workers were parked waiting for a response or a lock. The statistics are kept on striped adders, and are
+     * only summed up when they are read.
      */
     public static class SchedulerStats {
         
         private LongAdder[] stateCounts;
+
+        private LongAdder[] stateTimes;
+
+        private LongAdder[] stateExits;
         
         public SchedulerStats() {
-            this.stateCounts = new LongAdder[6];
-            for (int i = 0; i < this.stateCounts.length; i++) {
-                this.stateCounts[i] = new LongAdder();
+            this.stateCounts = newAdders(6);
+            this.stateTimes = newAdders(6);
+            this.stateExits = newAdders(6);
+        }
+
+        private static LongAdder[] newAdders(int count) {
+            LongAdder[] adders = new LongAdder[count];
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
             }
+            return adders;
         }
 
         public long getReadyWorkerCount() {
@@ -382,15 +492,52 @@ public class BLangScheduler {
         public long getWaitingForLockWorkerCount() {
             return this.stateCounts[5].longValue();
         }
+
+        /**
+         * Returns the total time workers have spent in the given state, counting only the visits to the state
+         * which have ended.
+         *
+         * @param state the worker state
+         * @return the total time in nanoseconds
+         */
+        public long getTotalStateTime(WorkerState state) {
+            return state.ordinal() < this.stateTimes.length ? this.stateTimes[state.ordinal()].sum() : 0;
+        }
+
+        /**
+         * Returns how many times workers have left the given state.
+         *
+         * @param state the worker state
+         * @return the number of visits to the state which have ended
+         */
+        public long getStateExitCount(WorkerState state) {
+            return state.ordinal() < this.stateExits.length ? this.stateExits[state.ordinal()].sum() : 0;
+        }
+
+        public long getLiveWorkerCount() {
+            return BLangScheduler.getLiveWorkerCount();
+        }
+
+        public long getQueuedWorkerCount() {
+            return ThreadPoolFactory.getInstance().getQueuedTaskCount();
+        }
         
         public void stateTransition(WorkerExecutionContext currentCtx, WorkerState newState) {
             if (!schedulerStatsEnabled || currentCtx.isRootContext()) {
                 return;
             }
             WorkerState oldState = currentCtx.state;
+            long now = System.nanoTime();
             /* we are not considering CREATED state */
             if (oldState != WorkerState.CREATED) {
                 this.stateCounts[oldState.ordinal()].decrement();
+                if (oldState != newState) {
+                    this.stateTimes[oldState.ordinal()].add(now - currentCtx.stateEnteredAt);
+                    this.stateExits[oldState.ordinal()].increment();
+                }
+            }
+            if (oldState != newState) {
+                currentCtx.stateEnteredAt = now;
             }
             /* we are not counting the DONE state, since it is an ever increasing value */
             if (newState != WorkerState.DONE) {
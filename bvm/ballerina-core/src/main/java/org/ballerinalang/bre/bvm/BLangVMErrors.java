@@ -18,6 +18,7 @@
 package org.ballerinalang.bre.bvm;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.config.ConfigRegistry;
 import org.ballerinalang.connector.api.BallerinaConnectorException;
 import org.ballerinalang.model.types.TypeTags;
 import org.ballerinalang.model.values.BRefValueArray;
@@ -52,16 +53,21 @@ public class BLangVMErrors {
     public static final String STRUCT_CALL_STACK_ELEMENT = "CallStackElement";
     private static final String STRUCT_CALL_FAILED_EXCEPTION = "CallFailedException";
     public static final String TRANSACTION_ERROR = "TransactionError";
+    private static final String RETURNED_ERROR_CALL_STACK_CONFIG_PROP = "b7a.runtime.error.returned.callstack";
+
+    /* whether the errors returned by native functions and type casts get a call stack frame attached */
+    private static final boolean returnedErrorCallStack = isReturnedErrorCallStackEnabled();
 
     /**
-     * Create error Struct from given error message.
+     * Create error Struct from given error message. The error is expected to be returned by a native function, and
+     * the call stack is attached unless {@code b7a.runtime.error.returned.callstack=false}.
      *
      * @param context current Context
      * @param message error message
      * @return generated ballerina.lang.errors:Error struct
      */
     public static BStruct createError(Context context, String message) {
-        return createError(context, true, message);
+        return createError(context, returnedErrorCallStack, message);
     }
 
     public static BStruct createError(WorkerExecutionContext context, String message) {
@@ -113,11 +119,11 @@ public class BLangVMErrors {
     public static BStruct createTypeCastError(WorkerExecutionContext context, String sourceType, 
             String targetType) {
         String errorMessage = "'" + sourceType + "' cannot be cast to '" + targetType + "'";
-        return createError(context, errorMessage);
+        return generateError(context, returnedErrorCallStack, errorMessage);
     }
 
     public static BStruct createTypeConversionError(WorkerExecutionContext context, String errorMessage) {
-        return createError(context, errorMessage);
+        return generateError(context, returnedErrorCallStack, errorMessage);
     }
 
     /* Type Specific Errors */
@@ -215,12 +221,46 @@ public class BLangVMErrors {
         return error;
     }
 
+    /**
+     * Attach the current stack frame of the given context to an error. Only the position is recorded here, and the
+     * {@code CallStackElement} struct is created by {@link #getErrorStackFrame(BStruct)} when it is first read.
+     *
+     * @param error   error struct
+     * @param context context the error is created in
+     */
     public static void attachStackFrame(BStruct error, WorkerExecutionContext context) {
-        error.addNativeData(STRUCT_CALL_STACK_ELEMENT, getStackFrame(context));
+        if (context == null) {
+            error.addNativeData(STRUCT_CALL_STACK_ELEMENT, null);
+            return;
+        }
+        attachStackFrame(context.programFile, error, context.callableUnitInfo, context.ip);
     }
 
     public static void attachStackFrame(ProgramFile programFile, BStruct error, CallableUnitInfo callableUnitInfo) {
-        error.addNativeData(STRUCT_CALL_STACK_ELEMENT, getStackFrame(programFile, callableUnitInfo, 0));
+        attachStackFrame(programFile, error, callableUnitInfo, 0);
+    }
+
+    private static void attachStackFrame(ProgramFile programFile, BStruct error, CallableUnitInfo callableUnitInfo,
+                                         int ip) {
+        error.addNativeData(STRUCT_CALL_STACK_ELEMENT,
+                callableUnitInfo == null ? null : new StackFramePosition(programFile, callableUnitInfo, ip));
+    }
+
+    /**
+     * Get the stack frame attached to an error, creating the {@code CallStackElement} struct for it if this is the
+     * first time it is read.
+     *
+     * @param error error struct
+     * @return the stack frame, or null if none is attached
+     */
+    public static BStruct getErrorStackFrame(BStruct error) {
+        Object stackFrame = error.getNativeData(STRUCT_CALL_STACK_ELEMENT);
+        if (stackFrame instanceof StackFramePosition) {
+            StackFramePosition position = (StackFramePosition) stackFrame;
+            stackFrame = getStackFrame(position.programFile, position.callableUnitInfo, position.ip);
+            error.addNativeData(STRUCT_CALL_STACK_ELEMENT, stackFrame);
+        }
+        return (BStruct) stackFrame;
     }
 
     public static BRefValueArray generateCallStack(WorkerExecutionContext context, CallableUnitInfo nativeCUI) {
@@ -319,25 +359,29 @@ public class BLangVMErrors {
 
         // Get error type name and the message (if any)
         String errorMsg = getErrorMessage(error);
-        sb.append(errorMsg).append("\n\tat ");
-
-        BStruct stackFrame = (BStruct) error.getNativeData(STRUCT_CALL_STACK_ELEMENT);
-        // Append function/action/resource name with package path (if any)
-        if (stackFrame.getStringField(1).isEmpty() || DEFAULT_PKG_PATH.equals(stackFrame.getStringField(1)) 
-                || stackFrame.getStringField(1).equals(BALLERINA_BUILTIN_PKG)) {
-            sb.append(stackFrame.getStringField(0));
-        } else {
-            sb.append(stackFrame.getStringField(1)).append(":").append(stackFrame.getStringField(0));
-        }
+        sb.append(errorMsg);
+
+        // Errors returned without a call stack have no position to append
+        BStruct stackFrame = getErrorStackFrame(error);
+        if (stackFrame != null) {
+            sb.append("\n\tat ");
+            // Append function/action/resource name with package path (if any)
+            if (stackFrame.getStringField(1).isEmpty() || DEFAULT_PKG_PATH.equals(stackFrame.getStringField(1))
+                    || stackFrame.getStringField(1).equals(BALLERINA_BUILTIN_PKG)) {
+                sb.append(stackFrame.getStringField(0));
+            } else {
+                sb.append(stackFrame.getStringField(1)).append(":").append(stackFrame.getStringField(0));
+            }
 
-        // Append the filename
-        sb.append("(").append(stackFrame.getStringField(2));
+            // Append the filename
+            sb.append("(").append(stackFrame.getStringField(2));
 
-        // Append the line number
-        if (stackFrame.getIntField(0) > 0) {
-            sb.append(":").append(stackFrame.getIntField(0));
+            // Append the line number
+            if (stackFrame.getIntField(0) > 0) {
+                sb.append(":").append(stackFrame.getIntField(0));
+            }
+            sb.append(")");
         }
-        sb.append(")");
 
         if (isCFE(error)) {
             BRefValueArray cause = (BRefValueArray) error.getRefField(1);
@@ -369,6 +413,11 @@ public class BLangVMErrors {
         return errorMsg;
     }
 
+    private static boolean isReturnedErrorCallStackEnabled() {
+        String prop = ConfigRegistry.getInstance().getAsString(RETURNED_ERROR_CALL_STACK_CONFIG_PROP);
+        return prop == null || Boolean.parseBoolean(prop);
+    }
+
     private static String makeFirstLetterLowerCase(String s) {
         if (s == null) {
             return null;
@@ -399,5 +448,22 @@ public class BLangVMErrors {
             }
         }
     }
-    
+
+    /**
+     * The position an error is created at, from which its {@code CallStackElement} struct is created when needed.
+     */
+    private static class StackFramePosition {
+
+        private final ProgramFile programFile;
+
+        private final CallableUnitInfo callableUnitInfo;
+
+        private final int ip;
+
+        private StackFramePosition(ProgramFile programFile, CallableUnitInfo callableUnitInfo, int ip) {
+            this.programFile = programFile;
+            this.callableUnitInfo = callableUnitInfo;
+            this.ip = ip;
+        }
+    }
 }
@@ -18,6 +18,7 @@
 package org.ballerinalang.bre.bvm;
 
 import org.apache.commons.lang3.StringEscapeUtils;
+import org.ballerinalang.bre.bvm.jit.TieredCompiler;
 import org.ballerinalang.model.types.BArrayType;
 import org.ballerinalang.model.types.BAttachedFunction;
 import org.ballerinalang.model.types.BField;
@@ -30,6 +31,7 @@ import org.ballerinalang.model.types.BTupleType;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.BTypes;
 import org.ballerinalang.model.types.BUnionType;
+import org.ballerinalang.model.types.TypeCheckCache;
 import org.ballerinalang.model.types.TypeConstants;
 import org.ballerinalang.model.types.TypeTags;
 import org.ballerinalang.model.util.Flags;
@@ -68,6 +70,7 @@ import org.ballerinalang.model.values.BXMLAttributes;
 import org.ballerinalang.model.values.BXMLQName;
 import org.ballerinalang.model.values.BXMLSequence;
 import org.ballerinalang.model.values.StructureType;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
 import org.ballerinalang.util.BLangConstants;
 import org.ballerinalang.util.TransactionStatus;
 import org.ballerinalang.util.codegen.AttachedFunctionInfo;
@@ -77,8 +80,10 @@ import org.ballerinalang.util.codegen.FunctionInfo;
 import org.ballerinalang.util.codegen.Instruction;
 import org.ballerinalang.util.codegen.Instruction.InstructionCALL;
 import org.ballerinalang.util.codegen.Instruction.InstructionFORKJOIN;
+import org.ballerinalang.util.codegen.Instruction.InstructionFPCALL;
 import org.ballerinalang.util.codegen.Instruction.InstructionIteratorNext;
 import org.ballerinalang.util.codegen.Instruction.InstructionLock;
+import org.ballerinalang.util.codegen.Instruction.InstructionQuickened;
 import org.ballerinalang.util.codegen.Instruction.InstructionVCALL;
 import org.ballerinalang.util.codegen.Instruction.InstructionWRKSendReceive;
 import org.ballerinalang.util.codegen.InstructionCodes;
@@ -129,6 +134,12 @@ import static org.ballerinalang.util.BLangConstants.STRING_NULL_VALUE;
  */
 public class CPU {
 
+    /* how many runtime types the inline cache of a type cast or type test instruction holds */
+    private static final int INLINE_CACHE_SIZE = 4;
+
+    /* how many struct types are remembered as equivalent (or not) to a struct type */
+    private static final int EQUIVALENCY_MEMO_SIZE = 32;
+
     public static void traceCode(Instruction[] code) {
         PrintStream printStream = System.out;
         for (int i = 0; i < code.length; i++) {
@@ -136,6 +147,42 @@ public class CPU {
         }
     }
 
+    /**
+     * Counts an invocation of the given worker, and runs its compiled code if there is any, when the worker
+     * is at its first instruction, i.e. it has just been invoked.
+     *
+     * @param ctx       the worker execution context
+     * @param backEdges the number of backward jumps the compiled code may take
+     * @return the number of backward jumps taken by the compiled code, if it used them all up, or else 0
+     */
+    private static int enterCompiledCode(WorkerExecutionContext ctx, int backEdges) {
+        if (ctx.ip != ctx.workerInfo.getCodeAttributeInfo().getCodeAddrs()) {
+            return 0;
+        }
+        int ip = TieredCompiler.onEntry(ctx, backEdges);
+        if (ip < 0) {
+            ctx.ip = ~ip;
+            return backEdges;
+        }
+        ctx.ip = ip;
+        return 0;
+    }
+
+    /**
+     * Returns how many backward jumps compiled code may take, i.e. the ones left before the worker yields, so
+     * that a hot loop still yields and sees a stop request.
+     *
+     * @param yieldInterval the backward jumps a worker takes before it yields, or 0 if it never does
+     * @param backwardJumps the backward jumps taken since the worker last yielded
+     * @return the number of backward jumps
+     */
+    private static int getBackEdgeBudget(int yieldInterval, int backwardJumps) {
+        if (yieldInterval > 0) {
+            return Math.min(yieldInterval - backwardJumps, TieredCompiler.MAX_BACK_EDGES);
+        }
+        return TieredCompiler.MAX_BACK_EDGES;
+    }
+
     private static WorkerExecutionContext handleHalt(WorkerExecutionContext ctx) {
         BLangScheduler.workerDone(ctx);
         return ctx.respCtx.signal(new WorkerSignal(ctx, SignalType.HALT, null));
@@ -166,6 +213,12 @@ public class CPU {
         InstructionCALL callIns;
 
         boolean debugEnabled = ctx.programFile.getDebugger().isDebugEnabled();
+        int yieldInterval = debugEnabled ? 0 : ThreadPoolFactory.getInstance().getYieldInterval();
+        int backwardJumps = 0;
+        boolean jitEnabled = !debugEnabled && TieredCompiler.isEnabled();
+        if (jitEnabled) {
+            backwardJumps += enterCompiledCode(ctx, getBackEdgeBudget(yieldInterval, backwardJumps));
+        }
 
         WorkerData currentSF, callersSF;
         int callersRetRegIndex;
@@ -293,6 +346,9 @@ public class CPU {
                     case InstructionCodes.LFIELDLOAD:
                     case InstructionCodes.RFIELDLOAD:
                     case InstructionCodes.MAPLOAD:
+                    case InstructionCodes.IMAPLOAD:
+                    case InstructionCodes.FMAPLOAD:
+                    case InstructionCodes.SMAPLOAD:
                     case InstructionCodes.JSONLOAD:
                         execLoadOpcodes(ctx, sf, opcode, operands);
                         break;
@@ -317,6 +373,9 @@ public class CPU {
                     case InstructionCodes.LFIELDSTORE:
                     case InstructionCodes.RFIELDSTORE:
                     case InstructionCodes.MAPSTORE:
+                    case InstructionCodes.IMAPSTORE:
+                    case InstructionCodes.FMAPSTORE:
+                    case InstructionCodes.SMAPSTORE:
                     case InstructionCodes.JSONSTORE:
                         execStoreOpcodes(ctx, sf, opcode, operands);
                         break;
@@ -387,11 +446,30 @@ public class CPU {
                     case InstructionCodes.RNE_NULL:
                     case InstructionCodes.BR_TRUE:
                     case InstructionCodes.BR_FALSE:
-                    case InstructionCodes.GOTO:
                     case InstructionCodes.SEQ_NULL:
                     case InstructionCodes.SNE_NULL:
                         execCmpAndBranchOpcodes(ctx, sf, opcode, operands);
                         break;
+                    case InstructionCodes.GOTO:
+                        i = operands[0];
+                        if (i < ctx.ip) {
+                            if (yieldInterval > 0 && ++backwardJumps >= yieldInterval) {
+                                ctx.ip = i;
+                                BLangScheduler.yieldWorker(ctx);
+                                return;
+                            }
+                            if (jitEnabled) {
+                                j = getBackEdgeBudget(yieldInterval, backwardJumps);
+                                i = TieredCompiler.onBackEdge(ctx, i, j);
+                                if (i < 0) {
+                                    /* the jump is taken again by the interpreter, which may then yield */
+                                    i = ~i;
+                                    backwardJumps += j;
+                                }
+                            }
+                        }
+                        ctx.ip = i;
+                        break;
                     case InstructionCodes.INT_RANGE:
                         execIntegerRangeOpcodes(sf, operands);
                         break;
@@ -408,6 +486,9 @@ public class CPU {
                         if (ctx == null) {
                             return;
                         }
+                        if (jitEnabled) {
+                            backwardJumps += enterCompiledCode(ctx, getBackEdgeBudget(yieldInterval, backwardJumps));
+                        }
                         break;
                     case InstructionCodes.VCALL:
                         InstructionVCALL vcallIns = (InstructionVCALL) instruction;
@@ -416,6 +497,9 @@ public class CPU {
                         if (ctx == null) {
                             return;
                         }
+                        if (jitEnabled) {
+                            backwardJumps += enterCompiledCode(ctx, getBackEdgeBudget(yieldInterval, backwardJumps));
+                        }
                         break;
                     case InstructionCodes.TR_BEGIN:
                         i = operands[0];
@@ -441,6 +525,8 @@ public class CPU {
                         }
                         break;
                     case InstructionCodes.FORKJOIN:
+                        /* late joining workers may still write to the local registers after this returns */
+                        ctx.pooledWorkerLocal = false;
                         InstructionFORKJOIN forkJoinIns = (InstructionFORKJOIN) instruction;
                         ctx = invokeForkJoin(ctx, forkJoinIns);
                         if (ctx == null) {
@@ -473,8 +559,7 @@ public class CPU {
                             handleNullRefError(ctx);
                             break;
                         }
-                        cpIndex = operands[1];
-                        funcCallCPEntry = (FunctionCallCPEntry) ctx.constPool[cpIndex];
+                        funcCallCPEntry = ((InstructionFPCALL) instruction).funcCallCPEntry;
                         funcRefCPEntry = ((BFunctionPointer) sf.refRegs[i]).value();
                         functionInfo = funcRefCPEntry.getFunctionInfo();
                         ctx = invokeCallable(ctx, (BFunctionPointer) sf.refRegs[i], funcCallCPEntry, functionInfo, sf);
@@ -620,7 +705,7 @@ public class CPU {
                         cpIndex = operands[1];
                         typeRefCPEntry = (TypeRefCPEntry) ctx.constPool[cpIndex];
                         BMapType mapType = (BMapType) typeRefCPEntry.getType();
-                        sf.refRegs[i] = new BMap<String, BRefType>(mapType);
+                        sf.refRegs[i] = new BMap<String, BRefType>(mapType, true);
                         break;
                     case InstructionCodes.NEWJSON:
                         i = operands[0];
@@ -720,16 +805,19 @@ public class CPU {
                     case InstructionCodes.ITR_NEW:
                     case InstructionCodes.ITR_NEXT:
                     case InstructionCodes.ITR_HAS_NEXT:
+                    case InstructionCodes.ITR_CLOSE:
                         execIteratorOperation(ctx, sf, instruction);
                         break;
                     case InstructionCodes.LOCK:
+                    case InstructionCodes.READ_LOCK:
                         InstructionLock instructionLock = (InstructionLock) instruction;
-                        if (!handleVariableLock(ctx, instructionLock.types,
-                                instructionLock.pkgRefs, instructionLock.varRegs)) {
+                        if (!handleVariableLock(ctx, instructionLock.types, instructionLock.pkgRefs,
+                                instructionLock.varRegs, opcode == InstructionCodes.READ_LOCK)) {
                             return;
                         }
                         break;
                     case InstructionCodes.UNLOCK:
+                    case InstructionCodes.READ_UNLOCK:
                         InstructionLock instructionUnLock = (InstructionLock) instruction;
                         handleVariableUnlock(ctx, instructionUnLock.types,
                                 instructionUnLock.pkgRefs, instructionUnLock.varRegs);
@@ -740,6 +828,20 @@ public class CPU {
                             return;
                         }
                         break;
+                    case InstructionCodes.ICONST_IADD:
+                    case InstructionCodes.IALOAD_IADD:
+                    case InstructionCodes.IEQ_BR_FALSE:
+                    case InstructionCodes.INE_BR_FALSE:
+                    case InstructionCodes.IGT_BR_FALSE:
+                    case InstructionCodes.IGE_BR_FALSE:
+                    case InstructionCodes.ILT_BR_FALSE:
+                    case InstructionCodes.ILE_BR_FALSE:
+                    case InstructionCodes.CHECKCAST_ANY:
+                    case InstructionCodes.CHECKCAST_STRUCT:
+                    case InstructionCodes.CHECKCAST_CACHED:
+                    case InstructionCodes.IS_ASSIGNABLE_CACHED:
+                        execQuickenedOpcodes(ctx, sf, opcode, operands, (InstructionQuickened) instruction);
+                        break;
                     default:
                         throw new UnsupportedOperationException();
                 }
@@ -945,6 +1047,8 @@ public class CPU {
                     fp.addClosureVar(new BClosure(new BBlob(ctx.workerLocal.byteRegs[index])), TypeTags.BLOB_TAG);
                     break;
                 default:
+                    /* the function pointer may be run by other workers, which must not see a map in local mode */
+                    BMap.shareIfMap(ctx.workerLocal.refRegs[index]);
                     fp.addClosureVar(new BClosure(ctx.workerLocal.refRegs[index]), TypeTags.ANY_TAG);
             }
         }
@@ -1067,6 +1171,102 @@ public class CPU {
         }
     }
 
+    @SuppressWarnings("rawtypes")
+    private static void execQuickenedOpcodes(WorkerExecutionContext ctx, WorkerData sf, int opcode,
+                                             int[] operands, InstructionQuickened instruction) {
+        int i;
+        int j;
+        int k;
+        switch (opcode) {
+            case InstructionCodes.ICONST_IADD:
+                sf.longRegs[operands[1]] = instruction.longValue;
+                sf.longRegs[operands[4]] = sf.longRegs[operands[2]] + sf.longRegs[operands[3]];
+                ctx.ip++;
+                break;
+            case InstructionCodes.IALOAD_IADD:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                BIntArray bIntArray = (BIntArray) sf.refRegs[i];
+                if (bIntArray == null) {
+                    handleNullRefError(ctx);
+                    break;
+                }
+                try {
+                    sf.longRegs[k] = bIntArray.get(sf.longRegs[j]);
+                } catch (Exception e) {
+                    ctx.setError(BLangVMErrors.createError(ctx, e.getMessage()));
+                    handleError(ctx);
+                    break;
+                }
+                sf.longRegs[operands[5]] = sf.longRegs[operands[3]] + sf.longRegs[operands[4]];
+                ctx.ip++;
+                break;
+            case InstructionCodes.IEQ_BR_FALSE:
+                execCmpAndBranch(ctx, sf, operands, sf.longRegs[operands[0]] == sf.longRegs[operands[1]]);
+                break;
+            case InstructionCodes.INE_BR_FALSE:
+                execCmpAndBranch(ctx, sf, operands, sf.longRegs[operands[0]] != sf.longRegs[operands[1]]);
+                break;
+            case InstructionCodes.IGT_BR_FALSE:
+                execCmpAndBranch(ctx, sf, operands, sf.longRegs[operands[0]] > sf.longRegs[operands[1]]);
+                break;
+            case InstructionCodes.IGE_BR_FALSE:
+                execCmpAndBranch(ctx, sf, operands, sf.longRegs[operands[0]] >= sf.longRegs[operands[1]]);
+                break;
+            case InstructionCodes.ILT_BR_FALSE:
+                execCmpAndBranch(ctx, sf, operands, sf.longRegs[operands[0]] < sf.longRegs[operands[1]]);
+                break;
+            case InstructionCodes.ILE_BR_FALSE:
+                execCmpAndBranch(ctx, sf, operands, sf.longRegs[operands[0]] <= sf.longRegs[operands[1]]);
+                break;
+            case InstructionCodes.CHECKCAST_ANY:
+                sf.refRegs[operands[2]] = sf.refRegs[operands[0]];
+                break;
+            case InstructionCodes.CHECKCAST_STRUCT:
+                BRefType bRefTypeValue = sf.refRegs[operands[0]];
+                if (bRefTypeValue != null && (bRefTypeValue.getType() == instruction.type
+                        || Boolean.TRUE.equals(checkTypeCached(bRefTypeValue, instruction, true)))) {
+                    sf.refRegs[operands[2]] = bRefTypeValue;
+                } else {
+                    /* not a cached type match, so go through the generic checks, which also report the error */
+                    execTypeCastOpcodes(ctx, sf, instruction.original.getOpcode(), operands);
+                }
+                break;
+            case InstructionCodes.CHECKCAST_CACHED:
+                bRefTypeValue = sf.refRegs[operands[0]];
+                if (bRefTypeValue != null && Boolean.TRUE.equals(checkTypeCached(bRefTypeValue, instruction, true))) {
+                    sf.refRegs[operands[2]] = bRefTypeValue;
+                } else {
+                    execTypeCastOpcodes(ctx, sf, instruction.original.getOpcode(), operands);
+                }
+                break;
+            case InstructionCodes.IS_ASSIGNABLE_CACHED:
+                bRefTypeValue = sf.refRegs[operands[0]];
+                Boolean assignable = bRefTypeValue != null ? checkTypeCached(bRefTypeValue, instruction, false) :
+                        Boolean.FALSE;
+                if (assignable != null) {
+                    sf.intRegs[operands[2]] = assignable ? 1 : 0;
+                } else {
+                    execTypeCastOpcodes(ctx, sf, instruction.original.getOpcode(), operands);
+                }
+                break;
+            default:
+                throw new UnsupportedOperationException();
+        }
+    }
+
+    private static void execCmpAndBranch(WorkerExecutionContext ctx, WorkerData sf, int[] operands,
+                                         boolean result) {
+        /* operands are the comparison's [lhs, rhs, result] followed by the branch's [condition, target] */
+        sf.intRegs[operands[2]] = result ? 1 : 0;
+        if (result) {
+            ctx.ip++;
+        } else {
+            ctx.ip = operands[4];
+        }
+    }
+
     private static void execIntegerRangeOpcodes(WorkerData sf, int[] operands) {
         int i = operands[0];
         int j = operands[1];
@@ -1369,6 +1569,42 @@ public class CPU {
                 boolean except = exceptCPEntry.getValue() == 1;
                 sf.refRegs[k] = bMap.get(sf.stringRegs[j], except);
                 break;
+            case InstructionCodes.IMAPLOAD:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                bMap = (BMap<String, BRefType>) sf.refRegs[i];
+                if (bMap == null) {
+                    handleNullRefError(ctx);
+                    break;
+                }
+
+                sf.longRegs[k] = bMap.getIntValue(sf.stringRegs[j]);
+                break;
+            case InstructionCodes.FMAPLOAD:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                bMap = (BMap<String, BRefType>) sf.refRegs[i];
+                if (bMap == null) {
+                    handleNullRefError(ctx);
+                    break;
+                }
+
+                sf.doubleRegs[k] = bMap.getFloatValue(sf.stringRegs[j]);
+                break;
+            case InstructionCodes.SMAPLOAD:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                bMap = (BMap<String, BRefType>) sf.refRegs[i];
+                if (bMap == null) {
+                    handleNullRefError(ctx);
+                    break;
+                }
+
+                sf.stringRegs[k] = bMap.getStringValue(sf.stringRegs[j]);
+                break;
 
             case InstructionCodes.JSONLOAD:
                 i = operands[0];
@@ -1645,16 +1881,49 @@ public class CPU {
                     break;
                 }
 
-                BMapType mapType = (BMapType) bMap.getType();
-                if (isValidMapInsertion(mapType, sf.refRegs[k])) {
-                    bMap.put(sf.stringRegs[j], sf.refRegs[k]);
-                } else {
-                    ctx.setError(BLangVMErrors.createError(ctx,
-                            BLangExceptionHelper.getErrorMessage(RuntimeErrors.INVALID_MAP_INSERTION,
-                                    mapType.getConstrainedType(), sf.refRegs[k].getType())));
-                    handleError(ctx);
+                storeMapValue(ctx, bMap, sf.stringRegs[j], sf.refRegs[k]);
+                break;
+            case InstructionCodes.IMAPSTORE:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                bMap = (BMap<String, BRefType>) sf.refRegs[i];
+                if (bMap == null) {
+                    handleNullRefError(ctx);
                     break;
                 }
+
+                if (!bMap.putIntValue(sf.stringRegs[j], sf.longRegs[k])) {
+                    storeMapValue(ctx, bMap, sf.stringRegs[j], new BInteger(sf.longRegs[k]));
+                }
+                break;
+            case InstructionCodes.FMAPSTORE:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                bMap = (BMap<String, BRefType>) sf.refRegs[i];
+                if (bMap == null) {
+                    handleNullRefError(ctx);
+                    break;
+                }
+
+                if (!bMap.putFloatValue(sf.stringRegs[j], sf.doubleRegs[k])) {
+                    storeMapValue(ctx, bMap, sf.stringRegs[j], new BFloat(sf.doubleRegs[k]));
+                }
+                break;
+            case InstructionCodes.SMAPSTORE:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                bMap = (BMap<String, BRefType>) sf.refRegs[i];
+                if (bMap == null) {
+                    handleNullRefError(ctx);
+                    break;
+                }
+
+                if (!bMap.putStringValue(sf.stringRegs[j], sf.stringRegs[k])) {
+                    storeMapValue(ctx, bMap, sf.stringRegs[j], new BString(sf.stringRegs[k]));
+                }
                 break;
             case InstructionCodes.JSONSTORE:
                 i = operands[0];
@@ -2456,6 +2725,14 @@ public class CPU {
                 BValue[] values = iterator.getNext(nextInstruction.arity);
                 copyValuesToRegistries(nextInstruction.typeTags, nextInstruction.retRegs, values, sf);
                 break;
+            case InstructionCodes.ITR_CLOSE:
+                i = instruction.getOperands()[0];   // iterator
+                iterator = (BIterator) sf.refRegs[i];
+                if (iterator != null) {
+                    iterator.close();
+                    sf.refRegs[i] = null;
+                }
+                break;
         }
     }
 
@@ -2561,60 +2838,64 @@ public class CPU {
     }
 
     private static boolean handleVariableLock(WorkerExecutionContext ctx, BType[] types,
-                                              int[] pkgRegs, int[] varRegs) {
-        boolean lockAcquired = true;
-        for (int i = 0; i < varRegs.length && lockAcquired; i++) {
-            BType paramType = types[i];
-            int pkgIndex = pkgRegs[i];
-            int regIndex = varRegs[i];
-            switch (paramType.getTag()) {
-                case TypeTags.INT_TAG:
-                    lockAcquired = ctx.programFile.globalMemArea.lockIntField(ctx, pkgIndex, regIndex);
-                    break;
-                case TypeTags.FLOAT_TAG:
-                    lockAcquired = ctx.programFile.globalMemArea.lockFloatField(ctx, pkgIndex, regIndex);
-                    break;
-                case TypeTags.STRING_TAG:
-                    lockAcquired = ctx.programFile.globalMemArea.lockStringField(ctx, pkgIndex, regIndex);
-                    break;
-                case TypeTags.BOOLEAN_TAG:
-                    lockAcquired = ctx.programFile.globalMemArea.lockBooleanField(ctx, pkgIndex, regIndex);
-                    break;
-                case TypeTags.BLOB_TAG:
-                    lockAcquired = ctx.programFile.globalMemArea.lockBlobField(ctx, pkgIndex, regIndex);
-                    break;
-                default:
-                    lockAcquired = ctx.programFile.globalMemArea.lockRefField(ctx, pkgIndex, regIndex);
+                                              int[] pkgRegs, int[] varRegs, boolean readOnly) {
+        for (int i = 0; i < varRegs.length; i++) {
+            if (!lockVariable(ctx, types[i], pkgRegs[i], varRegs[i], readOnly)) {
+                // the whole instruction is retried once the worker is resumed, so the variables locked so far
+                // are released to avoid holding them twice
+                for (int j = i - 1; j > -1; j--) {
+                    unlockVariable(ctx, types[j], pkgRegs[j], varRegs[j]);
+                }
+                return false;
             }
         }
-        return lockAcquired;
+        return true;
+    }
+
+    private static boolean lockVariable(WorkerExecutionContext ctx, BType paramType, int pkgIndex, int regIndex,
+                                        boolean readOnly) {
+        switch (paramType.getTag()) {
+            case TypeTags.INT_TAG:
+                return ctx.programFile.globalMemArea.lockIntField(ctx, pkgIndex, regIndex, readOnly);
+            case TypeTags.FLOAT_TAG:
+                return ctx.programFile.globalMemArea.lockFloatField(ctx, pkgIndex, regIndex, readOnly);
+            case TypeTags.STRING_TAG:
+                return ctx.programFile.globalMemArea.lockStringField(ctx, pkgIndex, regIndex, readOnly);
+            case TypeTags.BOOLEAN_TAG:
+                return ctx.programFile.globalMemArea.lockBooleanField(ctx, pkgIndex, regIndex, readOnly);
+            case TypeTags.BLOB_TAG:
+                return ctx.programFile.globalMemArea.lockBlobField(ctx, pkgIndex, regIndex, readOnly);
+            default:
+                return ctx.programFile.globalMemArea.lockRefField(ctx, pkgIndex, regIndex, readOnly);
+        }
     }
 
     private static void handleVariableUnlock(WorkerExecutionContext ctx, BType[] types,
                                              int[] pkgRegs, int[] varRegs) {
         for (int i = varRegs.length - 1; i > -1; i--) {
-            BType paramType = types[i];
-            int pkgIndex = pkgRegs[i];
-            int regIndex = varRegs[i];
-            switch (paramType.getTag()) {
-                case TypeTags.INT_TAG:
-                    ctx.programFile.globalMemArea.unlockIntField(pkgIndex, regIndex);
-                    break;
-                case TypeTags.FLOAT_TAG:
-                    ctx.programFile.globalMemArea.unlockFloatField(pkgIndex, regIndex);
-                    break;
-                case TypeTags.STRING_TAG:
-                    ctx.programFile.globalMemArea.unlockStringField(pkgIndex, regIndex);
-                    break;
-                case TypeTags.BOOLEAN_TAG:
-                    ctx.programFile.globalMemArea.unlockBooleanField(pkgIndex, regIndex);
-                    break;
-                case TypeTags.BLOB_TAG:
-                    ctx.programFile.globalMemArea.unlockBlobField(pkgIndex, regIndex);
-                    break;
-                default:
-                    ctx.programFile.globalMemArea.unlockRefField(pkgIndex, regIndex);
-            }
+            unlockVariable(ctx, types[i], pkgRegs[i], varRegs[i]);
+        }
+    }
+
+    private static void unlockVariable(WorkerExecutionContext ctx, BType paramType, int pkgIndex, int regIndex) {
+        switch (paramType.getTag()) {
+            case TypeTags.INT_TAG:
+                ctx.programFile.globalMemArea.unlockIntField(pkgIndex, regIndex);
+                break;
+            case TypeTags.FLOAT_TAG:
+                ctx.programFile.globalMemArea.unlockFloatField(pkgIndex, regIndex);
+                break;
+            case TypeTags.STRING_TAG:
+                ctx.programFile.globalMemArea.unlockStringField(pkgIndex, regIndex);
+                break;
+            case TypeTags.BOOLEAN_TAG:
+                ctx.programFile.globalMemArea.unlockBooleanField(pkgIndex, regIndex);
+                break;
+            case TypeTags.BLOB_TAG:
+                ctx.programFile.globalMemArea.unlockBlobField(pkgIndex, regIndex);
+                break;
+            default:
+                ctx.programFile.globalMemArea.unlockRefField(pkgIndex, regIndex);
         }
     }
 
@@ -2737,6 +3018,7 @@ public class CPU {
         BStruct errorVal;
         errorVal = BLangVMErrors.createTypeConversionError(ctx, errorMessage);
         if (errorRegIndex == -1) {
+            BLangVMErrors.attachStackFrame(errorVal, ctx);
             ctx.setError(errorVal);
             handleError(ctx);
             return;
@@ -2906,6 +3188,7 @@ public class CPU {
     private static void handleWorkerSend(WorkerExecutionContext ctx, WorkerDataChannelInfo workerDataChannelInfo,
                                          BType type, int reg) {
         BRefType val = extractValue(ctx.workerLocal, type, reg);
+        BMap.shareIfMap(val);
         WorkerDataChannel dataChannel = getWorkerChannel(ctx, workerDataChannelInfo.getChannelName());
         dataChannel.putData(val);
     }
@@ -3029,7 +3312,41 @@ public class CPU {
 
     private static WorkerExecutionContext handleReturn(WorkerExecutionContext ctx) {
         BLangScheduler.workerDone(ctx);
-        return ctx.respCtx.signal(new WorkerSignal(ctx, SignalType.RETURN, ctx.workerResult));
+        WorkerExecutionContext runInCallerCtx = ctx.respCtx.signal(new WorkerSignal(ctx, SignalType.RETURN,
+                ctx.workerResult));
+        if (ctx.pooledWorkerLocal) {
+            /* the return values are already merged to the caller, so the local registers are not used anymore */
+            WorkerDataPool.release(ctx.workerInfo.getCodeAttributeInfo(), ctx.workerLocal);
+            ctx.pooledWorkerLocal = false;
+            ctx.workerLocal = null;
+        }
+        return runInCallerCtx;
+    }
+
+    /**
+     * Checks a value against the target type of a quickened type cast or type test instruction, using the inline
+     * cache of the instruction, which holds the results for the runtime types seen by it so far.
+     *
+     * @param value       the value to check, which is not null
+     * @param instruction the quickened instruction
+     * @param cast        true for a type cast, false for a type test
+     * @return the result, or null if it depends on more than the type of the value
+     */
+    private static Boolean checkTypeCached(BRefType value, InstructionQuickened instruction, boolean cast) {
+        BType rhsType = value.getType();
+        TypeCheckCache cache = instruction.typeCheckCache;
+        Boolean result = cache.get(rhsType);
+        if (result != null) {
+            TypeCheckCache.recordInlineCacheHit();
+            return result;
+        }
+        if (!TypeCheckCache.isCacheableSource(rhsType)) {
+            return null;
+        }
+        TypeCheckCache.recordInlineCacheMiss();
+        result = cast ? checkCast(value, instruction.type) : isAssignable(value, instruction.type);
+        instruction.typeCheckCache = cache.with(rhsType, result, INLINE_CACHE_SIZE);
+        return result;
     }
 
     public static boolean isAssignable(BValue rhsValue, BType lhsType) {
@@ -3254,6 +3571,19 @@ public class CPU {
     }
 
     public static boolean checkStructEquivalency(BStructureType rhsType, BStructureType lhsType) {
+        TypeCheckCache memo = lhsType.getEquivalencyMemo();
+        Boolean result = memo.get(rhsType);
+        if (result != null) {
+            TypeCheckCache.recordEquivalencyMemoHit();
+            return result;
+        }
+        TypeCheckCache.recordEquivalencyMemoMiss();
+        result = checkStructEquivalencyUncached(rhsType, lhsType);
+        lhsType.setEquivalencyMemo(memo.with(rhsType, result, EQUIVALENCY_MEMO_SIZE));
+        return result;
+    }
+
+    private static boolean checkStructEquivalencyUncached(BStructureType rhsType, BStructureType lhsType) {
         // Both structs should be public or private.
         // Get the XOR of both flags(masks)
         // If both are public, then public bit should be 0;
@@ -4013,6 +4343,19 @@ public class CPU {
 
     }
 
+    private static void storeMapValue(WorkerExecutionContext ctx, BMap<String, BRefType> bMap, String key,
+                                      BRefType value) {
+        BMapType mapType = (BMapType) bMap.getType();
+        if (isValidMapInsertion(mapType, value)) {
+            bMap.put(key, value);
+        } else {
+            ctx.setError(BLangVMErrors.createError(ctx,
+                    BLangExceptionHelper.getErrorMessage(RuntimeErrors.INVALID_MAP_INSERTION,
+                            mapType.getConstrainedType(), value.getType())));
+            handleError(ctx);
+        }
+    }
+
     private static boolean isValidMapInsertion(BMapType mapType, BValue value) {
         if (value == null) {
             return true;
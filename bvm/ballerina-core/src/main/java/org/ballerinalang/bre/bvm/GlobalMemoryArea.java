@@ -48,8 +48,8 @@ public class GlobalMemoryArea {
         globalMemBlock[pkgIndex].setIntField(varIndex, value);
     }
 
-    public boolean lockIntField(WorkerExecutionContext ctx, int pkgIndex, int varIndex) {
-        return globalMemBlock[pkgIndex].lockIntField(ctx, varIndex);
+    public boolean lockIntField(WorkerExecutionContext ctx, int pkgIndex, int varIndex, boolean readOnly) {
+        return globalMemBlock[pkgIndex].lockIntField(ctx, varIndex, readOnly);
     }
 
     public void unlockIntField(int pkgIndex, int varIndex) {
@@ -65,8 +65,8 @@ public class GlobalMemoryArea {
         globalMemBlock[pkgIndex].setFloatField(varIndex, value);
     }
 
-    public boolean lockFloatField(WorkerExecutionContext ctx, int pkgIndex, int varIndex) {
-        return globalMemBlock[pkgIndex].lockFloatField(ctx, varIndex);
+    public boolean lockFloatField(WorkerExecutionContext ctx, int pkgIndex, int varIndex, boolean readOnly) {
+        return globalMemBlock[pkgIndex].lockFloatField(ctx, varIndex, readOnly);
     }
 
     public void unlockFloatField(int pkgIndex, int varIndex) {
@@ -81,8 +81,8 @@ public class GlobalMemoryArea {
         globalMemBlock[pkgIndex].setStringField(varIndex, value);
     }
 
-    public boolean lockStringField(WorkerExecutionContext ctx, int pkgIndex, int varIndex) {
-        return globalMemBlock[pkgIndex].lockStringField(ctx, varIndex);
+    public boolean lockStringField(WorkerExecutionContext ctx, int pkgIndex, int varIndex, boolean readOnly) {
+        return globalMemBlock[pkgIndex].lockStringField(ctx, varIndex, readOnly);
     }
 
     public void unlockStringField(int pkgIndex, int varIndex) {
@@ -97,8 +97,8 @@ public class GlobalMemoryArea {
         globalMemBlock[pkgIndex].setBooleanField(varIndex, value);
     }
 
-    public boolean lockBooleanField(WorkerExecutionContext ctx, int pkgIndex, int varIndex) {
-        return globalMemBlock[pkgIndex].lockBooleanField(ctx, varIndex);
+    public boolean lockBooleanField(WorkerExecutionContext ctx, int pkgIndex, int varIndex, boolean readOnly) {
+        return globalMemBlock[pkgIndex].lockBooleanField(ctx, varIndex, readOnly);
     }
 
     public void unlockBooleanField(int pkgIndex, int varIndex) {
@@ -113,8 +113,8 @@ public class GlobalMemoryArea {
         globalMemBlock[pkgIndex].setBlobField(varIndex, value);
     }
 
-    public boolean lockBlobField(WorkerExecutionContext ctx, int pkgIndex, int varIndex) {
-        return globalMemBlock[pkgIndex].lockBlobField(ctx, varIndex);
+    public boolean lockBlobField(WorkerExecutionContext ctx, int pkgIndex, int varIndex, boolean readOnly) {
+        return globalMemBlock[pkgIndex].lockBlobField(ctx, varIndex, readOnly);
     }
 
     public void unlockBlobField(int pkgIndex, int varIndex) {
@@ -129,8 +129,8 @@ public class GlobalMemoryArea {
         globalMemBlock[pkgIndex].setRefField(varIndex, value);
     }
 
-    public boolean lockRefField(WorkerExecutionContext ctx, int pkgIndex, int varIndex) {
-        return globalMemBlock[pkgIndex].lockRefField(ctx, varIndex);
+    public boolean lockRefField(WorkerExecutionContext ctx, int pkgIndex, int varIndex, boolean readOnly) {
+        return globalMemBlock[pkgIndex].lockRefField(ctx, varIndex, readOnly);
     }
 
     public void unlockRefField(int pkgIndex, int varIndex) {
@@ -17,55 +17,116 @@
 */
 package org.ballerinalang.bre.bvm;
 
-import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * {@code VarLock} represents lock object for variables.
+ * <p>
+ * The lock is held either by a single writer, or by any number of readers. The whole state of the lock is kept
+ * in one immutable {@link LockState}, which is swapped with a CAS, so an uncontended lock or unlock does not
+ * block. A writer can lock again while it holds the lock, and so can the workers it started, in either mode.
+ * Workers that cannot get the lock are parked, and resumed to retry the lock instruction once it is released.
  *
  * @since 0.961.0
  */
 public class VarLock {
 
-    private ArrayDeque<WorkerExecutionContext> current;
+    private static final LockState FREE = new LockState(null, 0, 0);
 
-    private ArrayDeque<WorkerExecutionContext> waitingForLock;
+    private final AtomicReference<LockState> state = new AtomicReference<>(FREE);
 
-    public VarLock() {
-        this.current = new ArrayDeque<>();
-        this.waitingForLock = new ArrayDeque<>();
+    private final ConcurrentLinkedQueue<WorkerExecutionContext> waitingForLock = new ConcurrentLinkedQueue<>();
+
+    public boolean lock(WorkerExecutionContext ctx) {
+        return tryLock(ctx, false) || waitForLock(ctx, false);
+    }
+
+    public boolean readLock(WorkerExecutionContext ctx) {
+        return tryLock(ctx, true) || waitForLock(ctx, true);
     }
 
-    public synchronized boolean lock(WorkerExecutionContext ctx) {
-        if (isLockFree() || lockedBySameContext(ctx) || lockedByParentContext(ctx)) {
-            current.offerLast(ctx);
-            return true;
+    public void unlock() {
+        //the lock cannot be free as unlock cannot be called without lock being called first.
+        LockState current;
+        LockState next;
+        do {
+            current = state.get();
+            if (current.writeHolds > 1) {
+                next = new LockState(current.owner, current.writeHolds - 1, 0);
+            } else if (current.readHolds > 1) {
+                next = new LockState(null, 0, current.readHolds - 1);
+            } else {
+                next = FREE;
+            }
+        } while (!state.compareAndSet(current, next));
+        if (next == FREE) {
+            WorkerExecutionContext ctx = waitingForLock.poll();
+            if (ctx != null) {
+                BLangScheduler.resume(ctx, ctx.ip - 1, false);
+            }
         }
-        waitingForLock.offerLast(ctx);
-        BLangScheduler.workerWaitForLock(ctx);
-        return false;
     }
 
-    public synchronized void unlock() {
-        //current cannot be empty as unlock cannot be called without lock being called first.
-        current.removeLast();
-        if (!waitingForLock.isEmpty()) {
-            WorkerExecutionContext ctx = waitingForLock.removeFirst();
-            BLangScheduler.resume(ctx, ctx.ip - 1, false);
+    private boolean tryLock(WorkerExecutionContext ctx, boolean read) {
+        while (true) {
+            LockState current = state.get();
+            LockState next;
+            if (current == FREE) {
+                next = read ? new LockState(null, 0, 1) : new LockState(ctx, 1, 0);
+            } else if (current.owner != null && lockedBySameOrParentContext(current.owner, ctx)) {
+                /* a read within a write lock of the same worker is just another write hold */
+                next = new LockState(current.owner, current.writeHolds + 1, 0);
+            } else if (read && current.owner == null) {
+                next = new LockState(null, 0, current.readHolds + 1);
+            } else {
+                return false;
+            }
+            if (state.compareAndSet(current, next)) {
+                return true;
+            }
         }
     }
 
-    private boolean isLockFree() {
-        return current.isEmpty();
+    private boolean waitForLock(WorkerExecutionContext ctx, boolean read) {
+        BLangScheduler.workerWaitForLock(ctx);
+        waitingForLock.offer(ctx);
+        /* the lock may have been released before this worker was queued, in which case no one resumes it */
+        if (tryLock(ctx, read)) {
+            if (waitingForLock.remove(ctx)) {
+                BLangScheduler.workerRunning(ctx);
+                return true;
+            }
+            /* someone is already resuming this worker, which takes the lock again when it retries */
+            unlock();
+        }
+        return false;
     }
 
-    private boolean lockedByParentContext(WorkerExecutionContext ctx) {
-        if (ctx.parent == null) {
-            return false;
+    private static boolean lockedBySameOrParentContext(WorkerExecutionContext owner, WorkerExecutionContext ctx) {
+        for (WorkerExecutionContext current = ctx; current != null; current = current.parent) {
+            if (current == owner) {
+                return true;
+            }
         }
-        return current.getLast() == ctx.parent || lockedByParentContext(ctx.parent);
+        return false;
     }
 
-    private boolean lockedBySameContext(WorkerExecutionContext ctx) {
-        return current.getLast() == ctx;
+    /**
+     * An immutable snapshot of the holders of a {@link VarLock}.
+     */
+    private static class LockState {
+
+        private final WorkerExecutionContext owner;
+
+        private final int writeHolds;
+
+        private final int readHolds;
+
+        private LockState(WorkerExecutionContext owner, int writeHolds, int readHolds) {
+            this.owner = owner;
+            this.writeHolds = writeHolds;
+            this.readHolds = readHolds;
+        }
     }
 }
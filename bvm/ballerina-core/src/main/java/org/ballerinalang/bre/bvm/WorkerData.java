@@ -21,6 +21,8 @@ import org.ballerinalang.model.values.BRefType;
 import org.ballerinalang.util.codegen.attributes.CodeAttributeInfo;
 import org.ballerinalang.util.program.WorkerDataIndex;
 
+import java.util.Arrays;
+
 /**
  * This represents the local variables that are available to a worker. 
  * 
@@ -108,5 +110,29 @@ public class WorkerData {
             this.refRegs = new BRefType[count];
         }
     }
+
+    /**
+     * Clears all the registers, so this can be reused as a fresh register file.
+     */
+    public void reset() {
+        if (this.longRegs != null) {
+            Arrays.fill(this.longRegs, 0);
+        }
+        if (this.doubleRegs != null) {
+            Arrays.fill(this.doubleRegs, 0);
+        }
+        if (this.stringRegs != null) {
+            Arrays.fill(this.stringRegs, null);
+        }
+        if (this.intRegs != null) {
+            Arrays.fill(this.intRegs, 0);
+        }
+        if (this.byteRegs != null) {
+            Arrays.fill(this.byteRegs, null);
+        }
+        if (this.refRegs != null) {
+            Arrays.fill(this.refRegs, null);
+        }
+    }
         
 }
@@ -0,0 +1,100 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm;
+
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.util.codegen.attributes.CodeAttributeInfo;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * This represents a per thread pool of worker register files ({@link WorkerData}), keyed by the
+ * {@link CodeAttributeInfo} they were created for. Register files of plain synchronous function calls are
+ * returned here when the function returns, and are cleared and reused by the next call to the same function
+ * in the same thread.
+ *
+ * @since 0.974.1
+ */
+public class WorkerDataPool {
+
+    private static final String FRAME_POOLING_CONFIG_PROP = "b7a.runtime.scheduler.framepooling";
+
+    private static final int MAX_POOLED_PER_CALLABLE = 16;
+
+    private static volatile boolean enabled = Boolean.parseBoolean(
+            ConfigRegistry.getInstance().getAsString(FRAME_POOLING_CONFIG_PROP));
+
+    private static final ThreadLocal<Map<CodeAttributeInfo, ArrayDeque<WorkerData>>> POOL =
+            ThreadLocal.withInitial(IdentityHashMap::new);
+
+    private WorkerDataPool() { }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns frame pooling on or off, overriding {@code b7a.runtime.scheduler.framepooling}. Only the calls made
+     * afterwards are affected, and register files already taken from the pool are still given back to it.
+     *
+     * @param enabled whether frame pooling is enabled
+     */
+    public static void setEnabled(boolean enabled) {
+        WorkerDataPool.enabled = enabled;
+    }
+
+    /**
+     * Returns a cleared register file for the given code attribute, creating a new one if the current
+     * thread does not have a free one.
+     *
+     * @param ci the code attribute info of the worker
+     * @return the worker data
+     */
+    public static WorkerData acquire(CodeAttributeInfo ci) {
+        ArrayDeque<WorkerData> freeList = POOL.get().get(ci);
+        if (freeList == null || freeList.isEmpty()) {
+            return new WorkerData(ci);
+        }
+        return freeList.pop();
+    }
+
+    /**
+     * Returns a register file to the current thread's pool. The caller must guarantee that no one else
+     * refers to the given worker data anymore.
+     *
+     * @param ci the code attribute info the worker data was acquired for
+     * @param data the worker data
+     */
+    public static void release(CodeAttributeInfo ci, WorkerData data) {
+        ArrayDeque<WorkerData> freeList = POOL.get().computeIfAbsent(ci, k -> new ArrayDeque<>());
+        if (freeList.size() < MAX_POOLED_PER_CALLABLE) {
+            data.reset();
+            freeList.push(data);
+        }
+    }
+
+    /**
+     * Drops the register files pooled by the current thread, e.g. once a thread is done running Ballerina code.
+     */
+    public static void clear() {
+        POOL.remove();
+    }
+
+}
@@ -42,6 +42,9 @@ public class WorkerExecutionContext {
     public WorkerExecutionContext parent;
     
     public WorkerState state = WorkerState.CREATED;
+
+    /* when the worker entered its current state, only tracked when the scheduler statistics are enabled */
+    public long stateEnteredAt;
     
     public Map<String, Object> globalProps;
     
@@ -71,6 +74,10 @@ public class WorkerExecutionContext {
     
     public boolean runInCaller;
 
+    /* set when the local register file is taken from the {@link WorkerDataPool}, and can be given back
+     * to it when this worker returns */
+    public boolean pooledWorkerLocal;
+
     private BStruct error;
 
     private DebugContext debugContext;
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.bre.bvm.jit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code ClassFileWriter} writes a minimal JVM class file with a single interface and a set of methods.
+ * <p>
+ * Classes are written in the Java 5 (49.0) class file format, so that the methods do not need stack map
+ * frames; the JVM verifies them by type inference instead.
+ *
+ * @since 0.974.1
+ */
+class ClassFileWriter {
+
+    static final int ACC_PUBLIC = 0x0001;
+    static final int ACC_FINAL = 0x0010;
+    static final int ACC_SUPER = 0x0020;
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int MAJOR_VERSION = 49;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    private final ByteArrayOutputStream constPoolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream constPool = new DataOutputStream(constPoolBytes);
+    private final Map<String, Integer> constPoolIndexes = new HashMap<>();
+    private int constPoolCount = 1;
+
+    private final ByteArrayOutputStream methodBytes = new ByteArrayOutputStream();
+    private final DataOutputStream methods = new DataOutputStream(methodBytes);
+    private int methodCount = 0;
+
+    private final int thisClass;
+    private final int superClass;
+    private final int interfaceClass;
+
+    ClassFileWriter(String className, String superClassName, String interfaceName) {
+        this.thisClass = classRef(className);
+        this.superClass = classRef(superClassName);
+        this.interfaceClass = classRef(interfaceName);
+    }
+
+    int utf8(String value) {
+        Integer index = constPoolIndexes.get("U" + value);
+        if (index != null) {
+            return index;
+        }
+        try {
+            constPool.writeByte(CONSTANT_UTF8);
+            constPool.writeUTF(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return addEntry("U" + value, 1);
+    }
+
+    int intConst(int value) {
+        Integer index = constPoolIndexes.get("I" + value);
+        if (index != null) {
+            return index;
+        }
+        try {
+            constPool.writeByte(CONSTANT_INTEGER);
+            constPool.writeInt(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return addEntry("I" + value, 1);
+    }
+
+    int longConst(long value) {
+        Integer index = constPoolIndexes.get("J" + value);
+        if (index != null) {
+            return index;
+        }
+        try {
+            constPool.writeByte(CONSTANT_LONG);
+            constPool.writeLong(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        /* long and double constants take two constant pool slots */
+        return addEntry("J" + value, 2);
+    }
+
+    int doubleConst(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        Integer index = constPoolIndexes.get("D" + bits);
+        if (index != null) {
+            return index;
+        }
+        try {
+            constPool.writeByte(CONSTANT_DOUBLE);
+            constPool.writeLong(bits);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return addEntry("D" + bits, 2);
+    }
+
+    int classRef(String internalName) {
+        Integer index = constPoolIndexes.get("C" + internalName);
+        if (index != null) {
+            return index;
+        }
+        int nameIndex = utf8(internalName);
+        try {
+            constPool.writeByte(CONSTANT_CLASS);
+            constPool.writeShort(nameIndex);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return addEntry("C" + internalName, 1);
+    }
+
+    int methodRef(String owner, String name, String descriptor) {
+        String key = "M" + owner + "." + name + descriptor;
+        Integer index = constPoolIndexes.get(key);
+        if (index != null) {
+            return index;
+        }
+        int classIndex = classRef(owner);
+        int nameIndex = utf8(name);
+        int descriptorIndex = utf8(descriptor);
+        try {
+            constPool.writeByte(CONSTANT_NAME_AND_TYPE);
+            constPool.writeShort(nameIndex);
+            constPool.writeShort(descriptorIndex);
+            int nameAndTypeIndex = addEntry("N" + name + descriptor, 1);
+            constPool.writeByte(CONSTANT_METHODREF);
+            constPool.writeShort(classIndex);
+            constPool.writeShort(nameAndTypeIndex);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return addEntry(key, 1);
+    }
+
+    /**
+     * Adds a method with the given code and no exception handlers.
+     *
+     * @param access     access flags of the method
+     * @param name       method name
+     * @param descriptor method descriptor
+     * @param maxStack   maximum operand stack depth of the code
+     * @param maxLocals  number of local variable slots, including the parameters
+     * @param code       the bytecode
+     */
+    void addMethod(int access, String name, String descriptor, int maxStack, int maxLocals, byte[] code) {
+        int nameIndex = utf8(name);
+        int descriptorIndex = utf8(descriptor);
+        int codeAttrIndex = utf8("Code");
+        try {
+            methods.writeShort(access);
+            methods.writeShort(nameIndex);
+            methods.writeShort(descriptorIndex);
+            methods.writeShort(1);
+            methods.writeShort(codeAttrIndex);
+            methods.writeInt(12 + code.length);
+            methods.writeShort(maxStack);
+            methods.writeShort(maxLocals);
+            methods.writeInt(code.length);
+            methods.write(code);
+            /* exception table and code attributes */
+            methods.writeShort(0);
+            methods.writeShort(0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        methodCount++;
+    }
+
+    byte[] toByteArray() {
+        ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(classBytes);
+        try {
+            out.writeInt(MAGIC);
+            out.writeShort(0);
+            out.writeShort(MAJOR_VERSION);
+            out.writeShort(constPoolCount);
+            constPoolBytes.writeTo(out);
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(1);
+            out.writeShort(interfaceClass);
+            /* fields */
+            out.writeShort(0);
+            out.writeShort(methodCount);
+            methodBytes.writeTo(out);
+            /* class attributes */
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return classBytes.toByteArray();
+    }
+
+    private int addEntry(String key, int slots) {
+        int index = constPoolCount;
+        constPoolIndexes.put(key, index);
+        constPoolCount += slots;
+        return index;
+    }
+
+}
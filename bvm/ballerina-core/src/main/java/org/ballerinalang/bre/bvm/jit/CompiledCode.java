@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.bre.bvm.jit;
+
+/**
+ * {@code CompiledCode} is the JVM class generated for the hot code of a Ballerina worker. It runs directly on
+ * the register arrays of the worker's {@link org.ballerinalang.bre.bvm.WorkerData}.
+ *
+ * @since 0.974.1
+ */
+public interface CompiledCode {
+
+    /**
+     * Executes the compiled code starting at the given instruction address, until an instruction that has not
+     * been compiled is reached, or the given number of backward jumps have been taken.
+     *
+     * @param longRegs   the int registers of the worker
+     * @param doubleRegs the float registers of the worker
+     * @param intRegs    the boolean registers of the worker
+     * @param ip         the instruction address to start at
+     * @param backEdges  the number of backward jumps the compiled code may take
+     * @return the address of the instruction the interpreter should continue with. This is the given address
+     * itself if the compiled code has no entry point for it. If the backward jumps were used up, this is the
+     * complement ({@code ~ip}) of the address of the backward jump which was not taken
+     */
+    int execute(long[] longRegs, double[] doubleRegs, int[] intRegs, int ip, int backEdges);
+
+}
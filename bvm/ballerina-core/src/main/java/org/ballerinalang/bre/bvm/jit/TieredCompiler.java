@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.bre.bvm.jit;
+
+import org.ballerinalang.bre.bvm.WorkerData;
+import org.ballerinalang.bre.bvm.WorkerExecutionContext;
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.WorkerInfo;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code TieredCompiler} is the second execution tier of the BVM. It counts the invocations and backward
+ * jumps of each worker, and once a worker gets hot, compiles its code to a JVM class which the interpreter
+ * then enters at the start of the worker and at its loop headers.
+ * <p>
+ * The tier is enabled with {@code b7a.runtime.jit=true}, and {@code b7a.runtime.jit.threshold} sets how many
+ * invocations and backward jumps make a worker hot. The interpreter lets compiled code take only as many backward
+ * jumps as are left before the worker's next yield point, and at most {@link #MAX_BACK_EDGES}, so that a hot loop
+ * still yields and can be stopped. Compiled code is not used while a debugger is attached.
+ *
+ * @since 0.974.1
+ */
+public class TieredCompiler {
+
+    private static final Logger log = LoggerFactory.getLogger(TieredCompiler.class);
+
+    private static final String JIT_CONFIG_PROP = "b7a.runtime.jit";
+    private static final String JIT_THRESHOLD_CONFIG_PROP = "b7a.runtime.jit.threshold";
+    private static final int DEFAULT_THRESHOLD = 10000;
+
+    /**
+     * The most backward jumps compiled code takes before handing control back to the interpreter.
+     */
+    public static final int MAX_BACK_EDGES = 10000;
+
+    private static final String CLASS_NAME_PREFIX = "org.ballerinalang.bre.bvm.jit.CompiledWorker$";
+
+    private static volatile boolean enabled = Boolean.parseBoolean(
+            ConfigRegistry.getInstance().getAsString(JIT_CONFIG_PROP));
+
+    private static final int THRESHOLD = readThreshold();
+
+    private static final AtomicInteger classCount = new AtomicInteger();
+
+    private TieredCompiler() { }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns the tier on or off, overriding {@code b7a.runtime.jit}. Workers which are already running are not
+     * affected.
+     *
+     * @param enabled whether the tier is enabled
+     */
+    public static void setEnabled(boolean enabled) {
+        TieredCompiler.enabled = enabled;
+    }
+
+    /**
+     * Called when the given worker has just been started, before its first instruction is executed.
+     *
+     * @param ctx       the worker execution context
+     * @param backEdges the number of backward jumps the compiled code may take
+     * @return the address of the instruction the interpreter should continue with, or its complement if the
+     * backward jumps were used up
+     */
+    public static int onEntry(WorkerExecutionContext ctx, int backEdges) {
+        return enter(ctx, ctx.ip, backEdges);
+    }
+
+    /**
+     * Called when the given worker is about to take a backward jump.
+     *
+     * @param ctx       the worker execution context
+     * @param targetIp  the target of the jump
+     * @param backEdges the number of backward jumps the compiled code may take
+     * @return the address of the instruction the interpreter should continue with, or its complement if the
+     * backward jumps were used up
+     */
+    public static int onBackEdge(WorkerExecutionContext ctx, int targetIp, int backEdges) {
+        return enter(ctx, targetIp, backEdges);
+    }
+
+    private static int enter(WorkerExecutionContext ctx, int ip, int backEdges) {
+        WorkerInfo workerInfo = ctx.workerInfo;
+        CompiledCode compiledCode = workerInfo.getCompiledCode();
+        if (compiledCode == null) {
+            if (workerInfo.isCompilationAttempted() || workerInfo.incrementHotness() < THRESHOLD) {
+                return ip;
+            }
+            compiledCode = compile(workerInfo, ctx.callableUnitInfo.getPackageInfo());
+            if (compiledCode == null) {
+                return ip;
+            }
+        }
+        WorkerData sf = ctx.workerLocal;
+        return compiledCode.execute(sf.longRegs, sf.doubleRegs, sf.intRegs, ip, backEdges);
+    }
+
+    /**
+     * Compiles the given worker, unless that has already been attempted.
+     *
+     * @param workerInfo  the worker
+     * @param packageInfo the package the worker belongs to
+     * @return the compiled code of the worker, or null if it cannot be compiled
+     */
+    public static CompiledCode compile(WorkerInfo workerInfo, PackageInfo packageInfo) {
+        synchronized (workerInfo) {
+            if (workerInfo.isCompilationAttempted()) {
+                return workerInfo.getCompiledCode();
+            }
+            workerInfo.setCompilationAttempted(true);
+            String className = CLASS_NAME_PREFIX + classCount.incrementAndGet();
+            int startIp = workerInfo.getCodeAttributeInfo().getCodeAddrs();
+            try {
+                byte[] classBytes = WorkerCodeCompiler.compile(className, packageInfo.getInstructions(),
+                        packageInfo.getConstPoolEntries(), startIp);
+                if (classBytes == null) {
+                    return null;
+                }
+                Class<?> compiledClass = new CompiledCodeClassLoader().define(className, classBytes);
+                CompiledCode compiledCode = (CompiledCode) compiledClass.getConstructor().newInstance();
+                workerInfo.setCompiledCode(compiledCode);
+                return compiledCode;
+            } catch (ReflectiveOperationException | LinkageError e) {
+                /* the worker simply stays in the interpreter */
+                log.debug("failed to compile worker '" + workerInfo.getWorkerName() + "'", e);
+                return null;
+            }
+        }
+    }
+
+    private static int readThreshold() {
+        String prop = ConfigRegistry.getInstance().getAsString(JIT_THRESHOLD_CONFIG_PROP);
+        if (prop == null) {
+            return DEFAULT_THRESHOLD;
+        }
+        try {
+            int threshold = Integer.parseInt(prop);
+            if (threshold < 1) {
+                throw new BallerinaException(JIT_THRESHOLD_CONFIG_PROP + " must be greater than 0");
+            }
+            return threshold;
+        } catch (NumberFormatException ignore) {
+            throw new BallerinaException("invalid value for '" + JIT_THRESHOLD_CONFIG_PROP + "': " + prop);
+        }
+    }
+
+    /**
+     * Defines a single compiled class, so that it can be unloaded along with the program.
+     */
+    private static class CompiledCodeClassLoader extends ClassLoader {
+
+        CompiledCodeClassLoader() {
+            super(CompiledCode.class.getClassLoader());
+        }
+
+        Class<?> define(String name, byte[] classBytes) {
+            return defineClass(name, classBytes, 0, classBytes.length);
+        }
+    }
+
+}
@@ -0,0 +1,600 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.bre.bvm.jit;
+
+import org.ballerinalang.util.codegen.Instruction;
+import org.ballerinalang.util.codegen.Instruction.InstructionQuickened;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.codegen.cpentries.ConstantPoolEntry;
+import org.ballerinalang.util.codegen.cpentries.FloatCPEntry;
+import org.ballerinalang.util.codegen.cpentries.IntegerCPEntry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * {@code WorkerCodeCompiler} translates the code of a Ballerina worker into the
+ * {@link CompiledCode#execute(long[], double[], int[], int, int)} method of a JVM class.
+ * <p>
+ * Only int, float and boolean register instructions, and the branches between them, are compiled. Every
+ * other instruction is compiled into an exit, which returns its address so that the interpreter executes it.
+ * The compiled code can be entered at the start of the worker and at the target of every backward jump
+ * (loop header) it contains. Every backward jump counts down the backward jumps the caller allowed, and once
+ * none are left, is handed back to the interpreter, which then yields the worker or sees it was stopped.
+ *
+ * @since 0.974.1
+ */
+class WorkerCodeCompiler {
+
+    private static final String COMPILED_CODE_CLASS = "org/ballerinalang/bre/bvm/jit/CompiledCode";
+    private static final String OBJECT_CLASS = "java/lang/Object";
+    private static final String EXECUTE_DESCRIPTOR = "([J[D[III)I";
+
+    /* keeps all branch offsets within the 16 bits of the JVM branch instructions */
+    private static final int MAX_CODE_LENGTH = Short.MAX_VALUE;
+    private static final int MAX_INSTRUCTIONS = 4096;
+    private static final int MAX_STACK = 8;
+
+    /* local variable slots of the execute method */
+    private static final int LONG_REGS = 1;
+    private static final int DOUBLE_REGS = 2;
+    private static final int INT_REGS = 3;
+    private static final int IP = 4;
+    private static final int BACK_EDGES = 5;
+
+    private static final int ICONST_0 = 0x03;
+    private static final int ICONST_1 = 0x04;
+    private static final int LCONST_0 = 0x09;
+    private static final int LCONST_1 = 0x0a;
+    private static final int DCONST_0 = 0x0e;
+    private static final int DCONST_1 = 0x0f;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC_W = 0x13;
+    private static final int LDC2_W = 0x14;
+    private static final int ILOAD = 0x15;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int IALOAD = 0x2e;
+    private static final int LALOAD = 0x2f;
+    private static final int DALOAD = 0x31;
+    private static final int IASTORE = 0x4f;
+    private static final int LASTORE = 0x50;
+    private static final int DASTORE = 0x52;
+    private static final int LADD = 0x61;
+    private static final int DADD = 0x63;
+    private static final int LSUB = 0x65;
+    private static final int DSUB = 0x67;
+    private static final int LMUL = 0x69;
+    private static final int DMUL = 0x6b;
+    private static final int LDIV = 0x6d;
+    private static final int DDIV = 0x6f;
+    private static final int LREM = 0x71;
+    private static final int DREM = 0x73;
+    private static final int LNEG = 0x75;
+    private static final int DNEG = 0x77;
+    private static final int L2D = 0x8a;
+    private static final int D2L = 0x8f;
+    private static final int LCMP = 0x94;
+    private static final int DCMPL = 0x97;
+    private static final int DCMPG = 0x98;
+    private static final int IINC = 0x84;
+    private static final int IFEQ = 0x99;
+    private static final int IFNE = 0x9a;
+    private static final int IFLT = 0x9b;
+    private static final int IFGE = 0x9c;
+    private static final int IFGT = 0x9d;
+    private static final int IFLE = 0x9e;
+    private static final int IF_ICMPEQ = 0x9f;
+    private static final int IF_ICMPNE = 0xa0;
+    private static final int GOTO = 0xa7;
+    private static final int LOOKUPSWITCH = 0xab;
+    private static final int IRETURN = 0xac;
+    private static final int RETURN = 0xb1;
+    private static final int INVOKESPECIAL = 0xb7;
+
+    private final Instruction[] code;
+    private final ConstantPoolEntry[] constPool;
+    private final int startIp;
+    private final ClassFileWriter classWriter;
+
+    private final BitSet compiled = new BitSet();
+    private final TreeSet<Integer> entries = new TreeSet<>();
+    private final List<int[]> branchFixups = new ArrayList<>();
+    private int[] labels;
+
+    private byte[] bytes = new byte[1024];
+    private int length = 0;
+
+    private WorkerCodeCompiler(String className, Instruction[] code, ConstantPoolEntry[] constPool, int startIp) {
+        this.code = code;
+        this.constPool = constPool;
+        this.startIp = startIp;
+        this.classWriter = new ClassFileWriter(className.replace('.', '/'), OBJECT_CLASS, COMPILED_CODE_CLASS);
+    }
+
+    /**
+     * Compiles the worker code starting at the given address into a class file.
+     *
+     * @param className the binary name of the class to generate
+     * @param code      the instructions of the package
+     * @param constPool the constant pool of the package
+     * @param startIp   the address of the first instruction of the worker
+     * @return the class file, or null if the worker cannot be compiled
+     */
+    static byte[] compile(String className, Instruction[] code, ConstantPoolEntry[] constPool, int startIp) {
+        return new WorkerCodeCompiler(className, code, constPool, startIp).compile();
+    }
+
+    private byte[] compile() {
+        if (!discover()) {
+            return null;
+        }
+
+        emitEntrySwitch();
+        labels = new int[code.length];
+        for (int ip = compiled.nextSetBit(0); ip >= 0; ip = compiled.nextSetBit(ip + 1)) {
+            labels[ip] = length;
+            emitInstruction(ip);
+            if (length > MAX_CODE_LENGTH) {
+                return null;
+            }
+        }
+        for (int[] fixup : branchFixups) {
+            int position = fixup[0];
+            int offset = labels[fixup[1]] - fixup[2];
+            if (fixup[3] == 4) {
+                putInt(position, offset);
+            } else {
+                bytes[position] = (byte) (offset >> 8);
+                bytes[position + 1] = (byte) offset;
+            }
+        }
+
+        byte[] constructorCode = {
+                (byte) ALOAD_0, (byte) INVOKESPECIAL, 0, 0, (byte) RETURN
+        };
+        int objectInit = classWriter.methodRef(OBJECT_CLASS, "<init>", "()V");
+        constructorCode[2] = (byte) (objectInit >> 8);
+        constructorCode[3] = (byte) objectInit;
+        classWriter.addMethod(ClassFileWriter.ACC_PUBLIC, "<init>", "()V", 1, 1, constructorCode);
+        classWriter.addMethod(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_FINAL, "execute",
+                EXECUTE_DESCRIPTOR, MAX_STACK, BACK_EDGES + 1, Arrays.copyOf(bytes, length));
+        return classWriter.toByteArray();
+    }
+
+    /**
+     * Finds the instructions reachable from the start of the worker. Compilation carries on past an
+     * instruction that is not compiled, since the interpreter may come back into the compiled code at a
+     * loop header after executing it.
+     *
+     * @return true if the reachable code is small enough to be compiled
+     */
+    private boolean discover() {
+        entries.add(startIp);
+        Deque<Integer> pending = new ArrayDeque<>();
+        pending.push(startIp);
+        int count = 0;
+        while (!pending.isEmpty()) {
+            int ip = pending.pop();
+            if (compiled.get(ip)) {
+                continue;
+            }
+            if (ip < 0 || ip >= code.length || ++count > MAX_INSTRUCTIONS) {
+                return false;
+            }
+            compiled.set(ip);
+
+            Instruction instruction = getInstruction(ip);
+            int[] operands = instruction.getOperands();
+            switch (instruction.getOpcode()) {
+                case InstructionCodes.GOTO:
+                    if (operands[0] <= ip) {
+                        entries.add(operands[0]);
+                    }
+                    pending.push(operands[0]);
+                    break;
+                case InstructionCodes.BR_TRUE:
+                case InstructionCodes.BR_FALSE:
+                    pending.push(operands[1]);
+                    pending.push(ip + 1);
+                    break;
+                case InstructionCodes.RET:
+                case InstructionCodes.HALT:
+                case InstructionCodes.THROW:
+                    break;
+                default:
+                    pending.push(ip + 1);
+                    break;
+            }
+        }
+        return true;
+    }
+
+    private Instruction getInstruction(int ip) {
+        Instruction instruction = code[ip];
+        /* superinstructions are compiled as the instructions they were made from */
+        if (instruction instanceof InstructionQuickened) {
+            return ((InstructionQuickened) instruction).original;
+        }
+        return instruction;
+    }
+
+    private void emitEntrySwitch() {
+        emitOp(ILOAD);
+        emitByte(IP);
+        int switchPosition = length;
+        emitOp(LOOKUPSWITCH);
+        while (length % 4 != 0) {
+            emitByte(0);
+        }
+        int defaultPosition = length;
+        emitInt(0);
+        emitInt(entries.size());
+        for (int entry : entries) {
+            emitInt(entry);
+            branchFixups.add(new int[]{length, entry, switchPosition, 4});
+            emitInt(0);
+        }
+        /* the default case hands the given address back to the interpreter */
+        putInt(defaultPosition, length - switchPosition);
+        emitOp(ILOAD);
+        emitByte(IP);
+        emitOp(IRETURN);
+    }
+
+    private void emitInstruction(int ip) {
+        Instruction instruction = getInstruction(ip);
+        int[] operands = instruction.getOperands();
+        int opcode = instruction.getOpcode();
+        switch (opcode) {
+            case InstructionCodes.NOP:
+                break;
+            case InstructionCodes.ICONST:
+                emitLongConst(operands[1], ((IntegerCPEntry) constPool[operands[0]]).getValue());
+                break;
+            case InstructionCodes.ICONST_0:
+            case InstructionCodes.ICONST_1:
+            case InstructionCodes.ICONST_2:
+            case InstructionCodes.ICONST_3:
+            case InstructionCodes.ICONST_4:
+            case InstructionCodes.ICONST_5:
+                emitLongConst(operands[0], opcode - InstructionCodes.ICONST_0);
+                break;
+            case InstructionCodes.FCONST:
+                emitDoubleConst(operands[1], ((FloatCPEntry) constPool[operands[0]]).getValue());
+                break;
+            case InstructionCodes.FCONST_0:
+            case InstructionCodes.FCONST_1:
+            case InstructionCodes.FCONST_2:
+            case InstructionCodes.FCONST_3:
+            case InstructionCodes.FCONST_4:
+            case InstructionCodes.FCONST_5:
+                emitDoubleConst(operands[0], opcode - InstructionCodes.FCONST_0);
+                break;
+            case InstructionCodes.BCONST_0:
+            case InstructionCodes.BCONST_1:
+                emitRegister(INT_REGS, operands[0]);
+                emitOp(opcode == InstructionCodes.BCONST_0 ? ICONST_0 : ICONST_1);
+                emitOp(IASTORE);
+                break;
+            case InstructionCodes.IMOVE:
+                emitUnary(LONG_REGS, LALOAD, -1, LONG_REGS, LASTORE, operands);
+                break;
+            case InstructionCodes.FMOVE:
+                emitUnary(DOUBLE_REGS, DALOAD, -1, DOUBLE_REGS, DASTORE, operands);
+                break;
+            case InstructionCodes.BMOVE:
+                emitUnary(INT_REGS, IALOAD, -1, INT_REGS, IASTORE, operands);
+                break;
+            case InstructionCodes.INEG:
+                emitUnary(LONG_REGS, LALOAD, LNEG, LONG_REGS, LASTORE, operands);
+                break;
+            case InstructionCodes.FNEG:
+                emitUnary(DOUBLE_REGS, DALOAD, DNEG, DOUBLE_REGS, DASTORE, operands);
+                break;
+            case InstructionCodes.I2F:
+                emitUnary(LONG_REGS, LALOAD, L2D, DOUBLE_REGS, DASTORE, operands);
+                break;
+            case InstructionCodes.F2I:
+                emitUnary(DOUBLE_REGS, DALOAD, D2L, LONG_REGS, LASTORE, operands);
+                break;
+            case InstructionCodes.IADD:
+                emitBinary(LONG_REGS, LALOAD, LADD, LASTORE, operands);
+                break;
+            case InstructionCodes.ISUB:
+                emitBinary(LONG_REGS, LALOAD, LSUB, LASTORE, operands);
+                break;
+            case InstructionCodes.IMUL:
+                emitBinary(LONG_REGS, LALOAD, LMUL, LASTORE, operands);
+                break;
+            case InstructionCodes.IDIV:
+            case InstructionCodes.IMOD:
+                /* division by zero raises a Ballerina error, which is left to the interpreter */
+                emitRegisterLoad(LONG_REGS, operands[1], LALOAD);
+                emitOp(LCONST_0);
+                emitOp(LCMP);
+                emitExitIf(IFEQ, ip);
+                emitBinary(LONG_REGS, LALOAD, opcode == InstructionCodes.IDIV ? LDIV : LREM, LASTORE, operands);
+                break;
+            case InstructionCodes.FADD:
+                emitBinary(DOUBLE_REGS, DALOAD, DADD, DASTORE, operands);
+                break;
+            case InstructionCodes.FSUB:
+                emitBinary(DOUBLE_REGS, DALOAD, DSUB, DASTORE, operands);
+                break;
+            case InstructionCodes.FMUL:
+                emitBinary(DOUBLE_REGS, DALOAD, DMUL, DASTORE, operands);
+                break;
+            case InstructionCodes.FDIV:
+            case InstructionCodes.FMOD:
+                emitRegisterLoad(DOUBLE_REGS, operands[1], DALOAD);
+                emitOp(DCONST_0);
+                emitOp(DCMPL);
+                emitExitIf(IFEQ, ip);
+                emitBinary(DOUBLE_REGS, DALOAD, opcode == InstructionCodes.FDIV ? DDIV : DREM, DASTORE, operands);
+                break;
+            case InstructionCodes.BNOT:
+                emitRegister(INT_REGS, operands[1]);
+                emitRegisterLoad(INT_REGS, operands[0], IALOAD);
+                emitBooleanResult(IFNE);
+                break;
+            case InstructionCodes.IEQ:
+                emitCompare(LONG_REGS, LALOAD, LCMP, IFNE, operands);
+                break;
+            case InstructionCodes.INE:
+                emitCompare(LONG_REGS, LALOAD, LCMP, IFEQ, operands);
+                break;
+            case InstructionCodes.IGT:
+                emitCompare(LONG_REGS, LALOAD, LCMP, IFLE, operands);
+                break;
+            case InstructionCodes.IGE:
+                emitCompare(LONG_REGS, LALOAD, LCMP, IFLT, operands);
+                break;
+            case InstructionCodes.ILT:
+                emitCompare(LONG_REGS, LALOAD, LCMP, IFGE, operands);
+                break;
+            case InstructionCodes.ILE:
+                emitCompare(LONG_REGS, LALOAD, LCMP, IFGT, operands);
+                break;
+            /* dcmpl and dcmpg are picked so that a comparison with NaN is false, as in the interpreter */
+            case InstructionCodes.FEQ:
+                emitCompare(DOUBLE_REGS, DALOAD, DCMPL, IFNE, operands);
+                break;
+            case InstructionCodes.FNE:
+                emitCompare(DOUBLE_REGS, DALOAD, DCMPL, IFEQ, operands);
+                break;
+            case InstructionCodes.FGT:
+                emitCompare(DOUBLE_REGS, DALOAD, DCMPL, IFLE, operands);
+                break;
+            case InstructionCodes.FGE:
+                emitCompare(DOUBLE_REGS, DALOAD, DCMPL, IFLT, operands);
+                break;
+            case InstructionCodes.FLT:
+                emitCompare(DOUBLE_REGS, DALOAD, DCMPG, IFGE, operands);
+                break;
+            case InstructionCodes.FLE:
+                emitCompare(DOUBLE_REGS, DALOAD, DCMPG, IFGT, operands);
+                break;
+            case InstructionCodes.BEQ:
+                emitCompare(INT_REGS, IALOAD, -1, IF_ICMPNE, operands);
+                break;
+            case InstructionCodes.BNE:
+                emitCompare(INT_REGS, IALOAD, -1, IF_ICMPEQ, operands);
+                break;
+            case InstructionCodes.BR_TRUE:
+                emitRegisterLoad(INT_REGS, operands[0], IALOAD);
+                emitOp(ICONST_1);
+                emitBranch(IF_ICMPEQ, operands[1]);
+                break;
+            case InstructionCodes.BR_FALSE:
+                emitRegisterLoad(INT_REGS, operands[0], IALOAD);
+                emitBranch(IFEQ, operands[1]);
+                break;
+            case InstructionCodes.GOTO:
+                if (operands[0] <= ip) {
+                    emitBackEdgeCheck(ip);
+                }
+                emitBranch(GOTO, operands[0]);
+                break;
+            default:
+                emitExit(ip);
+                break;
+        }
+    }
+
+    private void emitLongConst(int reg, long value) {
+        emitRegister(LONG_REGS, reg);
+        if (value == 0) {
+            emitOp(LCONST_0);
+        } else if (value == 1) {
+            emitOp(LCONST_1);
+        } else {
+            emitOp(LDC2_W);
+            emitShort(classWriter.longConst(value));
+        }
+        emitOp(LASTORE);
+    }
+
+    private void emitDoubleConst(int reg, double value) {
+        emitRegister(DOUBLE_REGS, reg);
+        if (Double.doubleToRawLongBits(value) == 0L) {
+            emitOp(DCONST_0);
+        } else if (value == 1) {
+            emitOp(DCONST_1);
+        } else {
+            emitOp(LDC2_W);
+            emitShort(classWriter.doubleConst(value));
+        }
+        emitOp(DASTORE);
+    }
+
+    /* operands: source register, target register */
+    private void emitUnary(int srcRegs, int loadOp, int op, int targetRegs, int storeOp, int[] operands) {
+        emitRegister(targetRegs, operands[1]);
+        emitRegisterLoad(srcRegs, operands[0], loadOp);
+        if (op != -1) {
+            emitOp(op);
+        }
+        emitOp(storeOp);
+    }
+
+    /* operands: left register, right register, target register */
+    private void emitBinary(int regs, int loadOp, int op, int storeOp, int[] operands) {
+        emitRegister(regs, operands[2]);
+        emitRegisterLoad(regs, operands[0], loadOp);
+        emitRegisterLoad(regs, operands[1], loadOp);
+        emitOp(op);
+        emitOp(storeOp);
+    }
+
+    private void emitCompare(int regs, int loadOp, int cmpOp, int falseBranchOp, int[] operands) {
+        emitRegister(INT_REGS, operands[2]);
+        emitRegisterLoad(regs, operands[0], loadOp);
+        emitRegisterLoad(regs, operands[1], loadOp);
+        if (cmpOp != -1) {
+            emitOp(cmpOp);
+        }
+        emitBooleanResult(falseBranchOp);
+    }
+
+    /**
+     * Stores 0 if the given branch is taken and 1 otherwise, into the int array element already on the stack.
+     *
+     * @param falseBranchOp the branch instruction taken when the result is false
+     */
+    private void emitBooleanResult(int falseBranchOp) {
+        /* <falseBranchOp> +7, iconst_1, goto +4, iconst_0, iastore */
+        emitOp(falseBranchOp);
+        emitShort(7);
+        emitOp(ICONST_1);
+        emitOp(GOTO);
+        emitShort(4);
+        emitOp(ICONST_0);
+        emitOp(IASTORE);
+    }
+
+    private void emitBranch(int branchOp, int targetIp) {
+        branchFixups.add(new int[]{length + 1, targetIp, length, 2});
+        emitOp(branchOp);
+        emitShort(0);
+    }
+
+    private void emitExitIf(int branchOp, int ip) {
+        /* the branch skips over the exit when the condition is false, so the inverse opcode is used */
+        int branchPosition = length;
+        emitOp(branchOp == IFEQ ? IFNE : IFEQ);
+        emitShort(0);
+        emitExit(ip);
+        int offset = length - branchPosition;
+        bytes[branchPosition + 1] = (byte) (offset >> 8);
+        bytes[branchPosition + 2] = (byte) offset;
+    }
+
+    /**
+     * Counts down the backward jumps left, and once none are left, returns the complement of the address of the
+     * backward jump, so that the interpreter takes the jump itself.
+     *
+     * @param ip the address of the backward jump
+     */
+    private void emitBackEdgeCheck(int ip) {
+        /* iinc <backEdges> -1, iload <backEdges>, ifge <jump>, <exit> */
+        emitOp(IINC);
+        emitByte(BACK_EDGES);
+        emitByte(-1);
+        emitOp(ILOAD);
+        emitByte(BACK_EDGES);
+        int branchPosition = length;
+        emitOp(IFGE);
+        emitShort(0);
+        emitExit(~ip);
+        int offset = length - branchPosition;
+        bytes[branchPosition + 1] = (byte) (offset >> 8);
+        bytes[branchPosition + 2] = (byte) offset;
+    }
+
+    private void emitExit(int ip) {
+        emitInt32Const(ip);
+        emitOp(IRETURN);
+    }
+
+    private void emitRegister(int regs, int reg) {
+        emitOp(ALOAD_1 + regs - LONG_REGS);
+        emitInt32Const(reg);
+    }
+
+    private void emitRegisterLoad(int regs, int reg, int loadOp) {
+        emitRegister(regs, reg);
+        emitOp(loadOp);
+    }
+
+    private void emitInt32Const(int value) {
+        if (value >= -1 && value <= 5) {
+            emitOp(ICONST_0 + value);
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            emitOp(BIPUSH);
+            emitByte(value);
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            emitOp(SIPUSH);
+            emitShort(value);
+        } else {
+            emitOp(LDC_W);
+            emitShort(classWriter.intConst(value));
+        }
+    }
+
+    private void emitOp(int opcode) {
+        emitByte(opcode);
+    }
+
+    private void emitByte(int value) {
+        ensureCapacity(1);
+        bytes[length++] = (byte) value;
+    }
+
+    private void emitShort(int value) {
+        ensureCapacity(2);
+        bytes[length++] = (byte) (value >> 8);
+        bytes[length++] = (byte) value;
+    }
+
+    private void emitInt(int value) {
+        ensureCapacity(4);
+        putInt(length, value);
+        length += 4;
+    }
+
+    private void putInt(int position, int value) {
+        bytes[position] = (byte) (value >> 24);
+        bytes[position + 1] = (byte) (value >> 16);
+        bytes[position + 2] = (byte) (value >> 8);
+        bytes[position + 3] = (byte) value;
+    }
+
+    private void ensureCapacity(int size) {
+        if (length + size > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + size));
+        }
+    }
+
+}
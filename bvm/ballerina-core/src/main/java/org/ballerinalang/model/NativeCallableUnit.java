@@ -48,5 +48,16 @@ public interface NativeCallableUnit {
      * @return Flag indicating whether the callable unit is executed in blocking manner or not.
      */
     public boolean isBlocking();
+
+    /**
+     * Returns whether a blocking callable unit spends its time waiting on external I/O, such as a database,
+     * a message broker or the file system. When blocking native offloading is enabled in the scheduler, such
+     * callable units are executed outside the worker thread pool while the calling worker is parked.
+     *
+     * @return Flag indicating whether the callable unit is I/O bound
+     */
+    public default boolean isIOBound() {
+        return false;
+    }
     
 }
@@ -17,6 +17,7 @@
  */
 package org.ballerinalang.model.types;
 
+import org.ballerinalang.model.util.JsonBindingPlan;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.util.codegen.TypeInfo;
 
@@ -34,6 +35,15 @@ public abstract class BStructureType extends BType {
     public BAttachedFunction defaultsValuesInitFunc;
     public int flags;
 
+    /* how a JSON object is bound to this type, built on first use by the JSON to struct conversion */
+    private volatile JsonBindingPlan jsonBindingPlan;
+
+    /* the field names as they are written in JSON, quoted and followed by a colon, built on first use */
+    private volatile char[][] jsonFieldNames;
+
+    /* the struct types already checked for equivalency with this type, and the results */
+    private volatile TypeCheckCache equivalencyMemo = TypeCheckCache.EMPTY;
+
     /**
      * Create a {@code BStructType} which represents the user defined struct type.
      *
@@ -71,6 +81,30 @@ public abstract class BStructureType extends BType {
         this.attachedFunctions = attachedFunctions;
     }
 
+    public JsonBindingPlan getJsonBindingPlan() {
+        return jsonBindingPlan;
+    }
+
+    public void setJsonBindingPlan(JsonBindingPlan jsonBindingPlan) {
+        this.jsonBindingPlan = jsonBindingPlan;
+    }
+
+    public char[][] getJsonFieldNames() {
+        return jsonFieldNames;
+    }
+
+    public void setJsonFieldNames(char[][] jsonFieldNames) {
+        this.jsonFieldNames = jsonFieldNames;
+    }
+
+    public TypeCheckCache getEquivalencyMemo() {
+        return equivalencyMemo;
+    }
+
+    public void setEquivalencyMemo(TypeCheckCache equivalencyMemo) {
+        this.equivalencyMemo = equivalencyMemo;
+    }
+
     public abstract TypeInfo getTypeInfo();
 }
 
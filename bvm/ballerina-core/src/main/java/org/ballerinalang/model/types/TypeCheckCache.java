@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.model.types;
+
+import org.ballerinalang.config.ConfigRegistry;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code TypeCheckCache} remembers the results of checking values of a few runtime types against a target type.
+ * <p>
+ * It is used as the inline cache of a type cast or type test instruction, and as the memo of the struct types
+ * found to be equivalent (or not) to a struct type. A cache is immutable, and adding a result creates a new one,
+ * so that it can be shared by the threads without locking; a result added concurrently by another thread may be
+ * lost, which only costs another check later. Types are compared by identity, since each runtime type is loaded
+ * once. Once a cache holds its maximum number of types, no more are added.
+ * <p>
+ * Hits and misses are counted when {@code b7a.runtime.typecheck.statistics=true}.
+ *
+ * @since 0.974.1
+ */
+public final class TypeCheckCache {
+
+    private static final String TYPE_CHECK_STATS_CONFIG_PROP = "b7a.runtime.typecheck.statistics";
+
+    private static final boolean statsEnabled = Boolean.parseBoolean(
+            ConfigRegistry.getInstance().getAsString(TYPE_CHECK_STATS_CONFIG_PROP));
+
+    private static final Stats stats = new Stats();
+
+    public static final TypeCheckCache EMPTY = new TypeCheckCache(new BType[0], new boolean[0]);
+
+    private final BType[] types;
+
+    private final boolean[] results;
+
+    private TypeCheckCache(BType[] types, boolean[] results) {
+        this.types = types;
+        this.results = results;
+    }
+
+    /**
+     * Get the cached result for the given type.
+     *
+     * @param type the runtime type of the checked value
+     * @return the result, or null if it is not cached
+     */
+    public Boolean get(BType type) {
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == type) {
+                return results[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get a cache with the given result added to the results of this one.
+     *
+     * @param type    the runtime type of the checked value
+     * @param result  the result of the check
+     * @param maxSize the maximum number of types to cache
+     * @return the new cache, or this one if it is already full
+     */
+    public TypeCheckCache with(BType type, boolean result, int maxSize) {
+        int size = types.length;
+        if (size >= maxSize) {
+            return this;
+        }
+        BType[] newTypes = Arrays.copyOf(types, size + 1);
+        boolean[] newResults = Arrays.copyOf(results, size + 1);
+        newTypes[size] = type;
+        newResults[size] = result;
+        return new TypeCheckCache(newTypes, newResults);
+    }
+
+    /**
+     * Check whether casting or testing a value against the given type can be cached for the value's type. This is
+     * not the case when the value has to be compared with the values of a finite type.
+     *
+     * @param targetType the target type of a cast or type test
+     * @return true if the result depends only on the type of the value
+     */
+    public static boolean isCacheableTarget(BType targetType) {
+        switch (targetType.getTag()) {
+            case TypeTags.FINITE_TYPE_TAG:
+                return false;
+            case TypeTags.UNION_TAG:
+                for (BType memberType : ((BUnionType) targetType).getMemberTypes()) {
+                    if (!isCacheableTarget(memberType)) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Check whether casting or testing a value of the given type can be cached. This is not the case for JSON
+     * values, and for tuples, whose contents are checked too.
+     *
+     * @param sourceType the runtime type of the value
+     * @return true if the result depends only on the type of the value
+     */
+    public static boolean isCacheableSource(BType sourceType) {
+        BType elementType = sourceType;
+        while (elementType.getTag() == TypeTags.ARRAY_TAG) {
+            elementType = ((BArrayType) elementType).getElementType();
+        }
+        return elementType.getTag() != TypeTags.JSON_TAG && elementType.getTag() != TypeTags.TUPLE_TAG;
+    }
+
+    public static void recordInlineCacheHit() {
+        if (statsEnabled) {
+            stats.inlineCacheHits.increment();
+        }
+    }
+
+    public static void recordInlineCacheMiss() {
+        if (statsEnabled) {
+            stats.inlineCacheMisses.increment();
+        }
+    }
+
+    public static void recordEquivalencyMemoHit() {
+        if (statsEnabled) {
+            stats.equivalencyMemoHits.increment();
+        }
+    }
+
+    public static void recordEquivalencyMemoMiss() {
+        if (statsEnabled) {
+            stats.equivalencyMemoMisses.increment();
+        }
+    }
+
+    public static Stats getStats() {
+        return stats;
+    }
+
+    /**
+     * Hit and miss counts of the type check caches.
+     */
+    public static class Stats {
+
+        private final LongAdder inlineCacheHits = new LongAdder();
+
+        private final LongAdder inlineCacheMisses = new LongAdder();
+
+        private final LongAdder equivalencyMemoHits = new LongAdder();
+
+        private final LongAdder equivalencyMemoMisses = new LongAdder();
+
+        public long getInlineCacheHitCount() {
+            return inlineCacheHits.sum();
+        }
+
+        public long getInlineCacheMissCount() {
+            return inlineCacheMisses.sum();
+        }
+
+        public long getEquivalencyMemoHitCount() {
+            return equivalencyMemoHits.sum();
+        }
+
+        public long getEquivalencyMemoMissCount() {
+            return equivalencyMemoMisses.sum();
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.model.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code ConcurrentInsertionOrderedMap} is a thread safe map which iterates its entries in the order the keys were
+ * first inserted, as {@link java.util.LinkedHashMap} does.
+ * <p>
+ * Entries are looked up from a {@link ConcurrentHashMap}, and are also kept in a {@link ConcurrentSkipListMap}
+ * sorted by their insertion sequence for iteration. Both are updated while the hash map holds the key's bin, so
+ * operations on different keys do not contend with each other. Iterators are weakly consistent. Null keys and
+ * values are allowed.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @since 0.974.1
+ */
+public class ConcurrentInsertionOrderedMap<K, V> extends AbstractMap<K, V> {
+
+    private static final Object NULL_KEY = new Object();
+
+    private final ConcurrentHashMap<Object, Node<K, V>> index;
+
+    private final ConcurrentSkipListMap<Long, Node<K, V>> order = new ConcurrentSkipListMap<>();
+
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    private final Set<Map.Entry<K, V>> entrySet = new EntrySet();
+
+    private final Set<K> keySet = new KeySet();
+
+    public ConcurrentInsertionOrderedMap() {
+        this.index = new ConcurrentHashMap<>();
+    }
+
+    public ConcurrentInsertionOrderedMap(Map<? extends K, ? extends V> map) {
+        this.index = new ConcurrentHashMap<>(Math.max(16, map.size() * 4 / 3 + 1));
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<K, V> node = index.get(maskNull(key));
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return index.containsKey(maskNull(key));
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Object[] previous = new Object[1];
+        index.compute(maskNull(key), (k, node) -> {
+            if (node != null) {
+                previous[0] = node.value;
+                node.value = value;
+                return node;
+            }
+            Node<K, V> newNode = new Node<>(key, nextSequence.getAndIncrement(), value);
+            order.put(newNode.sequence, newNode);
+            return newNode;
+        });
+        @SuppressWarnings("unchecked")
+        V previousValue = (V) previous[0];
+        return previousValue;
+    }
+
+    @Override
+    public V remove(Object key) {
+        Object[] previous = new Object[1];
+        index.computeIfPresent(maskNull(key), (k, node) -> {
+            previous[0] = node.value;
+            order.remove(node.sequence);
+            return null;
+        });
+        @SuppressWarnings("unchecked")
+        V previousValue = (V) previous[0];
+        return previousValue;
+    }
+
+    /**
+     * Removes the entry of the given key, if there is one.
+     *
+     * @param key key of the entry to be removed
+     * @return true if there was an entry for the key, even if its value was null
+     */
+    private boolean removeKey(Object key) {
+        boolean[] removed = new boolean[1];
+        index.computeIfPresent(maskNull(key), (k, node) -> {
+            removed[0] = true;
+            order.remove(node.sequence);
+            return null;
+        });
+        return removed[0];
+    }
+
+    @Override
+    public void clear() {
+        for (Node<K, V> node : order.values()) {
+            remove(node.key);
+        }
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return entrySet;
+    }
+
+    /**
+     * Returns the keys of the map, in insertion order. Removing a key from the set is a single atomic operation
+     * on the map.
+     *
+     * @return the keys of the map
+     */
+    @Override
+    public Set<K> keySet() {
+        return keySet;
+    }
+
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    /**
+     * The entries of the map, in insertion order.
+     */
+    private class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            Iterator<Node<K, V>> nodes = order.values().iterator();
+            return new Iterator<Map.Entry<K, V>>() {
+
+                private Node<K, V> current;
+
+                @Override
+                public boolean hasNext() {
+                    return nodes.hasNext();
+                }
+
+                @Override
+                public Map.Entry<K, V> next() {
+                    current = nodes.next();
+                    return current;
+                }
+
+                @Override
+                public void remove() {
+                    if (current == null) {
+                        throw new IllegalStateException();
+                    }
+                    ConcurrentInsertionOrderedMap.this.remove(current.key);
+                    current = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return ConcurrentInsertionOrderedMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            ConcurrentInsertionOrderedMap.this.clear();
+        }
+    }
+
+    /**
+     * The keys of the map, in insertion order.
+     */
+    private class KeySet extends AbstractSet<K> {
+
+        @Override
+        public Iterator<K> iterator() {
+            Iterator<Map.Entry<K, V>> entries = entrySet.iterator();
+            return new Iterator<K>() {
+
+                @Override
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public K next() {
+                    return entries.next().getKey();
+                }
+
+                @Override
+                public void remove() {
+                    entries.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return ConcurrentInsertionOrderedMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return containsKey(key);
+        }
+
+        @Override
+        public boolean remove(Object key) {
+            return removeKey(key);
+        }
+
+        @Override
+        public void clear() {
+            ConcurrentInsertionOrderedMap.this.clear();
+        }
+    }
+
+    /**
+     * A key value pair of the map, along with the sequence number of its insertion.
+     *
+     * @param <K> key type
+     * @param <V> value type
+     */
+    private static class Node<K, V> implements Map.Entry<K, V> {
+
+        private final K key;
+
+        private final long sequence;
+
+        private volatile V value;
+
+        private Node(K key, long sequence, V value) {
+            this.key = key;
+            this.sequence = sequence;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V previous = this.value;
+            this.value = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return (key == null ? e.getKey() == null : key.equals(e.getKey()))
+                    && (value == null ? e.getValue() == null : value.equals(e.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            return (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+        }
+    }
+}
@@ -725,6 +725,11 @@ public class JSONUtils {
                     getComplexObjectTypeName(Type.OBJECT), getTypeName(jsonNode));
         }
 
+        BStruct boundStruct = JsonStructBinder.bind(jsonNode, structType);
+        if (boundStruct != null) {
+            return boundStruct;
+        }
+
         int longRegIndex = -1;
         int doubleRegIndex = -1;
         int stringRegIndex = -1;
@@ -1103,7 +1108,7 @@ public class JSONUtils {
         return "json-" + nodeType.name().toLowerCase();
     }
     
-    private static void handleError(Exception e, String fieldName) {
+    static void handleError(Exception e, String fieldName) {
         String errorMsg = e.getCause() == null ? "error while mapping '" + fieldName + "': " : "";
         throw new BallerinaException(errorMsg + e.getMessage(), e);
     }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.model.util;
+
+import org.ballerinalang.model.types.BType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code JsonBindingPlan} describes how the fields of a JSON object are bound to a struct type by
+ * {@link JsonStructBinder}. A plan is built once per struct type, and kept by the type.
+ *
+ * @since 0.974.1
+ */
+public final class JsonBindingPlan {
+
+    /* the plan of a type which has fields that cannot be bound directly */
+    static final JsonBindingPlan UNSUPPORTED = new JsonBindingPlan(new FieldBinding[0]);
+
+    final FieldBinding[] fields;
+
+    final Map<String, FieldBinding> fieldsByName;
+
+    JsonBindingPlan(FieldBinding[] fields) {
+        this.fields = fields;
+        this.fieldsByName = new HashMap<>(fields.length * 2);
+        for (FieldBinding field : fields) {
+            this.fieldsByName.put(field.name, field);
+        }
+    }
+
+    /**
+     * A field of a struct type, along with the register it is stored in.
+     */
+    static final class FieldBinding {
+
+        final String name;
+
+        final BType type;
+
+        final int tag;
+
+        final int position;
+
+        final int regIndex;
+
+        FieldBinding(String name, BType type, int position, int regIndex) {
+            this.name = name;
+            this.type = type;
+            this.tag = type.getTag();
+            this.position = position;
+            this.regIndex = regIndex;
+        }
+    }
+}
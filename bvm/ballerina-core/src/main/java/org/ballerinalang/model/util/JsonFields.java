@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.model.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code JsonFields} holds the fields of a JSON object, in insertion order.
+ * <p>
+ * The names and values are kept in two arrays. Most objects have only a few fields, which are found with a linear
+ * scan; an index of the field positions is only built once an object grows beyond {@link #INDEX_THRESHOLD} fields.
+ * The table is not thread safe, the same as the {@link java.util.LinkedHashMap} used before it.
+ *
+ * @since 0.974.1
+ */
+final class JsonFields {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private static final int INDEX_THRESHOLD = 8;
+
+    private String[] names = new String[INITIAL_CAPACITY];
+
+    private JsonNode[] values = new JsonNode[INITIAL_CAPACITY];
+
+    private int size;
+
+    /* positions of the fields by name, only for the larger objects */
+    private Map<String, Integer> index;
+
+    int size() {
+        return size;
+    }
+
+    String name(int position) {
+        return names[position];
+    }
+
+    JsonNode value(int position) {
+        return values[position];
+    }
+
+    JsonNode get(String name) {
+        int position = find(name);
+        return position < 0 ? null : values[position];
+    }
+
+    void put(String name, JsonNode value) {
+        int position = find(name);
+        if (position >= 0) {
+            values[position] = value;
+            return;
+        }
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        names[size] = name;
+        values[size] = value;
+        size++;
+        if (index != null) {
+            index.put(name, size - 1);
+        } else if (size > INDEX_THRESHOLD) {
+            buildIndex();
+        }
+    }
+
+    void remove(String name) {
+        int position = find(name);
+        if (position < 0) {
+            return;
+        }
+        size--;
+        System.arraycopy(names, position + 1, names, position, size - position);
+        System.arraycopy(values, position + 1, values, position, size - position);
+        names[size] = null;
+        values[size] = null;
+        if (index != null) {
+            buildIndex();
+        }
+    }
+
+    private int find(String name) {
+        if (index != null) {
+            Integer position = index.get(name);
+            return position == null ? -1 : position;
+        }
+        for (int i = 0; i < size; i++) {
+            String fieldName = names[i];
+            if (fieldName == null ? name == null : fieldName.equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void buildIndex() {
+        index = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            index.put(names[i], i);
+        }
+    }
+}
@@ -139,6 +139,17 @@ public class JsonGenerator {
         this.writer.write(":");
     }
     
+    /**
+     * Writes a field name which is already quoted and escaped, along with the following colon.
+     *
+     * @param fieldName the quoted field name followed by a colon
+     * @throws IOException if an error occurs while writing
+     */
+    public void writeRawFieldName(char[] fieldName) throws IOException {
+        this.processFieldInit();
+        this.writer.write(fieldName);
+    }
+    
     private void writeStringValue(String value) throws IOException {
         this.writer.write("\"");        
         int count = value.length();
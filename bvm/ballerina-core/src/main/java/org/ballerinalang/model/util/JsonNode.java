@@ -22,40 +22,35 @@ import org.ballerinalang.util.exceptions.BallerinaException;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Map.Entry;
 
 /**
  * This class represents a JSON node. This can be either an object, array, 
  * number, string or null.
+ * <p>
+ * A node only keeps the value of its own type: a long, double or boolean value shares the same bits, and the
+ * fields of an object and the elements of an array are only allocated once the first one is added.
  * 
  * @since 0.95.5
  */
 public class JsonNode {
 
-    private String stringValue;
-    
-    private long longValue;
-    
-    private double doubleValue;
-    
-    private boolean booleanValue;
-    
     private Type type;
     
-    private Map<String, JsonNode> fields;
+    private String stringValue;
     
-    private List<JsonNode> arrayElements;
+    /* the long value, the boolean value as 0 or 1, or the bits of the double value */
+    private long bits;
     
-    protected JsonNode parentNode;
+    private JsonFields fields;
     
-    protected String fieldName;
+    private ArrayList<JsonNode> arrayElements;
     
     public JsonNode() {
         this(Type.OBJECT);
@@ -87,7 +82,7 @@ public class JsonNode {
     
     public void add(JsonNode arrayElement) {
         if (arrayElements == null) {
-            arrayElements = new LinkedList<>();
+            arrayElements = new ArrayList<>();
         }
         this.arrayElements.add(arrayElement);
     }
@@ -122,17 +117,17 @@ public class JsonNode {
     }
     
     public void setNumber(long longValue) {
-        this.longValue = longValue;
+        this.bits = longValue;
         this.type = Type.LONG;
     }
     
     public void setNumber(double doubleValue) {
-        this.doubleValue = doubleValue;
+        this.bits = Double.doubleToRawLongBits(doubleValue);
         this.type = Type.DOUBLE;
     }
     
     public void setBooleanValue(boolean booleanValue) {
-        this.booleanValue = booleanValue;
+        this.bits = booleanValue ? 1 : 0;
         this.type = Type.BOOLEAN;
     }
     
@@ -185,20 +180,20 @@ public class JsonNode {
     }
     
     public long longValue() {
-        return longValue;
+        return this.type == Type.LONG ? this.bits : 0;
     }
     
     public double doubleValue() {
-        return doubleValue;
+        return this.type == Type.DOUBLE ? Double.longBitsToDouble(this.bits) : 0;
     }
     
     public boolean booleanValue() {
-        return booleanValue;
+        return this.type == Type.BOOLEAN && this.bits != 0;
     }
     
     public void set(String name, String stringValue) {
         if (this.fields == null) {
-            this.fields = new LinkedHashMap<>();
+            this.fields = new JsonFields();
         }
         if (stringValue == null) {
             this.fields.put(name, new JsonNode(Type.NULL));
@@ -209,28 +204,28 @@ public class JsonNode {
     
     public void set(String name, long longValue) {
         if (this.fields == null) {
-            this.fields = new LinkedHashMap<>();
+            this.fields = new JsonFields();
         }
         this.fields.put(name, new JsonNode(longValue));
     }
     
     public void set(String name, double doubleValue) {
         if (this.fields == null) {
-            this.fields = new LinkedHashMap<>();
+            this.fields = new JsonFields();
         }
         this.fields.put(name, new JsonNode(doubleValue));
     }
     
     public void set(String name, boolean booleanValue) {
         if (this.fields == null) {
-            this.fields = new LinkedHashMap<>();
+            this.fields = new JsonFields();
         }
         this.fields.put(name, new JsonNode(booleanValue));
     }
     
     public void set(String name, JsonNode jsonNode) {
         if (this.fields == null) {
-            this.fields = new LinkedHashMap<>();
+            this.fields = new JsonFields();
         }
         if (jsonNode != null) {
             this.fields.put(name, jsonNode);
@@ -285,17 +280,25 @@ public class JsonNode {
     
     public Iterator<String> fieldNames() {
         if (this.fields != null) {
-            return this.fields.keySet().iterator();
+            String[] names = new String[this.fields.size()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = this.fields.name(i);
+            }
+            return Arrays.asList(names).iterator();
         } else {
-            return new HashSet<String>(0).iterator();
+            return Collections.emptyIterator();
         }
     }
     
     public Iterator<Entry<String, JsonNode>> fields() {
         if (this.fields != null) {
-            return new LinkedHashMap<>(this.fields).entrySet().iterator();
+            List<Entry<String, JsonNode>> entries = new ArrayList<>(this.fields.size());
+            for (int i = 0; i < this.fields.size(); i++) {
+                entries.add(new SimpleEntry<>(this.fields.name(i), this.fields.value(i)));
+            }
+            return entries.iterator();
         } else {
-            return new LinkedHashMap<String, JsonNode>(0).entrySet().iterator();
+            return Collections.emptyIterator();
         }
     }
     
@@ -303,7 +306,7 @@ public class JsonNode {
         if (this.arrayElements != null) {
             return this.arrayElements.iterator();
         } else {
-            return new ArrayList<JsonNode>(0).iterator();
+            return Collections.emptyIterator();
         }
     }
     
@@ -360,13 +363,13 @@ public class JsonNode {
             gen.writeEndArray();
             break;
         case BOOLEAN:
-            gen.writeBoolean(this.booleanValue);
+            gen.writeBoolean(this.booleanValue());
             break;
         case DOUBLE:
-            gen.writeNumber(this.doubleValue);
+            gen.writeNumber(this.doubleValue());
             break;
         case LONG:
-            gen.writeNumber(this.longValue);
+            gen.writeNumber(this.longValue());
             break;
         case NULL:
             gen.writeNull();
@@ -375,11 +378,11 @@ public class JsonNode {
             gen.startObject();
             JsonNode value;
             if (this.fields != null) {
-                for (Entry<String, JsonNode> entry : this.fields.entrySet()) {
-                    gen.writeFieldName(entry.getKey());
-                    value = entry.getValue();
+                for (int i = 0; i < this.fields.size(); i++) {
+                    gen.writeFieldName(this.fields.name(i));
+                    value = this.fields.value(i);
                     if (value != null) {
-                        entry.getValue().serialize(gen);
+                        value.serialize(gen);
                     } else {
                         gen.writeNull();
                     }
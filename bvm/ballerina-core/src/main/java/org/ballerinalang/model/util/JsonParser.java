@@ -28,6 +28,10 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * This class represents a JSON parser.
@@ -158,6 +162,12 @@ public class JsonParser {
                 new StringValueUnicodeHexProcessingState();
         
         private JsonNode currentJsonNode;
+        private String fieldName;
+        /* the enclosing objects and arrays of the current one, and the field names they are set to */
+        private List<JsonNode> parentNodes = new ArrayList<>();
+        private List<String> parentFieldNames = new ArrayList<>();
+        /* the field names read from the current document, so that each distinct name is kept only once */
+        private Map<String, String> fieldNames = new HashMap<>();
         private StringBuilder hexBuilder = new StringBuilder(4);
         private char[] charBuff = new char[1024];
         private int charBuffIndex;
@@ -170,6 +180,10 @@ public class JsonParser {
         public void reset() {
             this.index = 0;
             this.currentJsonNode = null;
+            this.fieldName = null;
+            this.parentNodes.clear();
+            this.parentFieldNames.clear();
+            this.fieldNames.clear();
             this.line = 1;
             this.column = 0;
         }
@@ -232,10 +246,11 @@ public class JsonParser {
         }
         
         private State finalizeObject() {
-            JsonNode parentNode = currentJsonNode.parentNode;
-            if (parentNode != null) {
+            if (!this.parentNodes.isEmpty()) {
+                JsonNode parentNode = this.parentNodes.remove(this.parentNodes.size() - 1);
+                this.fieldName = this.parentFieldNames.remove(this.parentFieldNames.size() - 1);
                 if (parentNode.getType() == Type.OBJECT) {
-                    parentNode.set(parentNode.fieldName, currentJsonNode);
+                    parentNode.set(this.fieldName, currentJsonNode);
                     currentJsonNode = parentNode;
                     return FIELD_END_STATE;
                 } else {
@@ -250,23 +265,19 @@ public class JsonParser {
         
         private State initNewObject() {
             if (currentJsonNode != null) {
-                JsonNode parentNode = currentJsonNode;
-                currentJsonNode = new JsonNode();
-                currentJsonNode.parentNode = parentNode;
-            } else {
-                currentJsonNode = new JsonNode();
+                this.parentNodes.add(currentJsonNode);
+                this.parentFieldNames.add(this.fieldName);
             }
+            currentJsonNode = new JsonNode();
             return FIRST_FIELD_READY_STATE;
         }
         
         private State initNewArray() {
             if (currentJsonNode != null) {
-                JsonNode parentNode = currentJsonNode;
-                currentJsonNode = new JsonNode(Type.ARRAY);
-                currentJsonNode.parentNode = parentNode;
-            } else {
-                currentJsonNode = new JsonNode(Type.ARRAY);
+                this.parentNodes.add(currentJsonNode);
+                this.parentFieldNames.add(this.fieldName);
             }
+            currentJsonNode = new JsonNode(Type.ARRAY);
             return FIRST_ARRAY_ELEMENT_READY_STATE;
         }
         
@@ -495,7 +506,9 @@ public class JsonParser {
         }
         
         private void processFieldName() {
-            this.currentJsonNode.fieldName = this.value();
+            String name = this.value();
+            String knownName = this.fieldNames.putIfAbsent(name, name);
+            this.fieldName = knownName != null ? knownName : name;
         }
         
         /**
@@ -608,7 +621,7 @@ public class JsonParser {
                     ch = buff[i];
                     sm.processLocation(ch);
                     if (ch == sm.currentQuoteChar) {
-                        sm.currentJsonNode.set(sm.currentJsonNode.fieldName, sm.value());
+                        sm.currentJsonNode.set(sm.fieldName, sm.value());
                         state = FIELD_END_STATE;
                     } else if (ch == REV_SOL) { 
                         state = STRING_FIELD_ESC_CHAR_PROCESSING_STATE;
@@ -788,7 +801,7 @@ public class JsonParser {
                         currentJsonNode.add(new JsonNode(doubleValue));
                         break;
                     case FIELD:
-                        currentJsonNode.set(currentJsonNode.fieldName, doubleValue);
+                        currentJsonNode.set(fieldName, doubleValue);
                         break;
                     case VALUE:
                         currentJsonNode.setNumber(doubleValue);
@@ -807,7 +820,7 @@ public class JsonParser {
                         currentJsonNode.add(new JsonNode(true));
                         break;
                     case FIELD:
-                        currentJsonNode.set(currentJsonNode.fieldName, true);
+                        currentJsonNode.set(fieldName, true);
                         break;
                     case VALUE:
                         currentJsonNode.setBooleanValue(true);
@@ -821,7 +834,7 @@ public class JsonParser {
                         currentJsonNode.add(new JsonNode(false));
                         break;
                     case FIELD:
-                        currentJsonNode.set(currentJsonNode.fieldName, false);
+                        currentJsonNode.set(fieldName, false);
                         break;
                     case VALUE:
                         currentJsonNode.setBooleanValue(false);
@@ -835,7 +848,7 @@ public class JsonParser {
                         currentJsonNode.add(new JsonNode(Type.NULL));
                         break;
                     case FIELD:
-                        currentJsonNode.set(currentJsonNode.fieldName, (String) null);
+                        currentJsonNode.set(fieldName, (String) null);
                         break;
                     case VALUE:
                         currentJsonNode.setNull();
@@ -851,7 +864,7 @@ public class JsonParser {
                             currentJsonNode.add(new JsonNode(longValue));
                             break;
                         case FIELD:
-                            currentJsonNode.set(currentJsonNode.fieldName, longValue);
+                            currentJsonNode.set(fieldName, longValue);
                             break;
                         case VALUE:
                             currentJsonNode.setNumber(longValue);
@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.model.util;
+
+import org.ballerinalang.model.types.BStructureType;
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.model.util.JsonBindingPlan.FieldBinding;
+import org.ballerinalang.model.util.LazyJsonParser.JsonParseException;
+import org.ballerinalang.model.util.LazyJsonParser.LazyJsonNode;
+import org.ballerinalang.model.util.LazyJsonParser.Source;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.util.codegen.StructFieldInfo;
+import org.ballerinalang.util.codegen.StructureTypeInfo;
+import org.ballerinalang.util.exceptions.BLangExceptionHelper;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.ballerinalang.util.exceptions.RuntimeErrors;
+
+/**
+ * {@code JsonStructBinder} converts a JSON object parsed by {@link LazyJsonParser}, which has not been read yet, to
+ * a struct straight from the JSON content, without building the {@link JsonNode} objects in between.
+ * <p>
+ * Fields are written into the struct as they appear in the JSON object, following a {@link JsonBindingPlan} which is
+ * built once per struct type. Nested objects are bound the same way. Values which do not directly match the type
+ * of their field, as well as values of the other field types, are converted the same way as
+ * {@link JSONUtils#convertJSON(JsonNode, BType)} does, from a lazily parsed node.
+ *
+ * @since 0.974.1
+ */
+final class JsonStructBinder {
+
+    private static final String TRUE = "true";
+    private static final String FALSE = "false";
+    private static final String NULL = "null";
+
+    private JsonStructBinder() { }
+
+    /**
+     * Converts the given JSON to a struct, if it has not been read since it was parsed.
+     *
+     * @param jsonNode   JSON to convert
+     * @param structType type of the target struct
+     * @return the struct, or null if the JSON cannot be bound directly
+     */
+    static BStruct bind(JsonNode jsonNode, BStructureType structType) {
+        if (!(jsonNode instanceof LazyJsonNode)) {
+            return null;
+        }
+        LazyJsonNode lazyNode = (LazyJsonNode) jsonNode;
+        Source source = lazyNode.source;
+        if (source == null || !lazyNode.isObject()) {
+            return null;
+        }
+        JsonBindingPlan plan = getBindingPlan(structType);
+        if (plan == null) {
+            return null;
+        }
+        try {
+            return bind(source, lazyNode.container, structType, plan);
+        } catch (JsonParseException e) {
+            /* the content has already been validated */
+            throw new BallerinaException(e.getMessage());
+        }
+    }
+
+    private static BStruct bind(Source source, int container, BStructureType structType, JsonBindingPlan plan)
+            throws JsonParseException {
+        BStruct bStruct = new BStruct(structType);
+        boolean[] bound = new boolean[plan.fields.length];
+        char[] chars = source.chars;
+        int end = source.ends[container];
+        int child = container + 1;
+        StringBuilder builder = new StringBuilder();
+        int i = source.starts[container] + 1;
+        while (true) {
+            i = LazyJsonParser.skipWhitespace(chars, i, end);
+            if (i == end) {
+                break;
+            }
+            builder.setLength(0);
+            i = LazyJsonParser.readString(chars, i, builder);
+            FieldBinding field = plan.fieldsByName.get(builder.toString());
+            /* skip the colon */
+            i = LazyJsonParser.skipWhitespace(chars, LazyJsonParser.skipWhitespace(chars, i, end) + 1, end);
+            int valueEnd;
+            int nextChild = child;
+            char ch = chars[i];
+            if (ch == '{' || ch == '[') {
+                valueEnd = source.ends[child] + 1;
+                nextChild += source.descendants[child] + 1;
+            } else if (ch == LazyJsonParser.QUOTES || ch == LazyJsonParser.SINGLE_QUOTES) {
+                valueEnd = LazyJsonParser.readString(chars, i, null);
+            } else {
+                valueEnd = LazyJsonParser.findTokenEnd(chars, i);
+            }
+            if (field != null) {
+                try {
+                    bindField(bStruct, field, source, i, valueEnd, child, builder);
+                } catch (Exception e) {
+                    JSONUtils.handleError(e, field.name);
+                }
+                bound[field.position] = true;
+            }
+            child = nextChild;
+            /* skip the comma, if any */
+            i = LazyJsonParser.skipWhitespace(chars, valueEnd, end);
+            if (i < end) {
+                i++;
+            }
+        }
+        for (FieldBinding field : plan.fields) {
+            if (field.tag == TypeTags.STRING_TAG && !bound[field.position]) {
+                bStruct.setStringField(field.regIndex, "");
+            } else if (field.tag == TypeTags.BLOB_TAG) {
+                bStruct.setBlobField(field.regIndex, new byte[0]);
+            }
+        }
+        return bStruct;
+    }
+
+    private static void bindField(BStruct bStruct, FieldBinding field, Source source, int start, int end,
+                                  int child, StringBuilder builder) throws JsonParseException {
+        char[] chars = source.chars;
+        char ch = chars[start];
+        boolean container = ch == '{' || ch == '[';
+        boolean string = ch == LazyJsonParser.QUOTES || ch == LazyJsonParser.SINGLE_QUOTES;
+        switch (field.tag) {
+            case TypeTags.INT_TAG:
+                if (!container && !string && isLong(chars, start, end)) {
+                    bStruct.setIntField(field.regIndex, Long.parseLong(new String(chars, start, end - start)));
+                    return;
+                }
+                bStruct.setIntField(field.regIndex, (Long) convert(source, start, end, child, field.type));
+                return;
+            case TypeTags.FLOAT_TAG:
+                if (!container && !string && isDouble(chars, start, end)) {
+                    bStruct.setFloatField(field.regIndex, Double.parseDouble(new String(chars, start, end - start)));
+                    return;
+                }
+                bStruct.setFloatField(field.regIndex, (Double) convert(source, start, end, child, field.type));
+                return;
+            case TypeTags.STRING_TAG:
+                if (string) {
+                    builder.setLength(0);
+                    LazyJsonParser.readString(chars, start, builder);
+                    bStruct.setStringField(field.regIndex, builder.toString());
+                    return;
+                }
+                bStruct.setStringField(field.regIndex, (String) convert(source, start, end, child, field.type));
+                return;
+            case TypeTags.BOOLEAN_TAG:
+                if (isToken(chars, start, end, TRUE)) {
+                    bStruct.setBooleanField(field.regIndex, 1);
+                    return;
+                }
+                if (isToken(chars, start, end, FALSE)) {
+                    bStruct.setBooleanField(field.regIndex, 0);
+                    return;
+                }
+                bStruct.setBooleanField(field.regIndex, (Boolean) convert(source, start, end, child, field.type) ?
+                        1 : 0);
+                return;
+            case TypeTags.OBJECT_TYPE_TAG:
+            case TypeTags.RECORD_TYPE_TAG:
+                JsonBindingPlan plan;
+                if (ch == '{' && (plan = getBindingPlan((BStructureType) field.type)) != null) {
+                    bStruct.setRefField(field.regIndex, bind(source, child, (BStructureType) field.type, plan));
+                    return;
+                }
+                bStruct.setRefField(field.regIndex, (BRefType<?>) convert(source, start, end, child, field.type));
+                return;
+            case TypeTags.FUNCTION_POINTER_TAG:
+                throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING,
+                        field.name, JSONUtils.getTypeName(readNode(source, start, end, child)));
+            case TypeTags.BLOB_TAG:
+                /* blob fields are not read from JSON */
+                return;
+            default:
+                bStruct.setRefField(field.regIndex, (BRefType<?>) convert(source, start, end, child, field.type));
+        }
+    }
+
+    private static Object convert(Source source, int start, int end, int child, BType type)
+            throws JsonParseException {
+        return JSONUtils.convertJSON(readNode(source, start, end, child), type);
+    }
+
+    private static JsonNode readNode(Source source, int start, int end, int child) throws JsonParseException {
+        char ch = source.chars[start];
+        if (ch == '{' || ch == '[') {
+            return new LazyJsonNode(source, child);
+        }
+        if (ch == LazyJsonParser.QUOTES || ch == LazyJsonParser.SINGLE_QUOTES) {
+            StringBuilder builder = new StringBuilder();
+            LazyJsonParser.readString(source.chars, start, builder);
+            return new JsonNode(builder.toString());
+        }
+        return LazyJsonParser.readNonStringValue(source.chars, start, end);
+    }
+
+    private static boolean isLong(char[] chars, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (chars[i] == '.') {
+                return false;
+            }
+        }
+        return !isToken(chars, start, end, TRUE) && !isToken(chars, start, end, FALSE)
+                && !isToken(chars, start, end, NULL);
+    }
+
+    private static boolean isDouble(char[] chars, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (chars[i] == '.') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isToken(char[] chars, int start, int end, String token) {
+        if (end - start != token.length()) {
+            return false;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if (chars[start + i] != token.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static JsonBindingPlan getBindingPlan(BStructureType structType) {
+        JsonBindingPlan plan = structType.getJsonBindingPlan();
+        if (plan == null) {
+            plan = createBindingPlan(structType);
+            structType.setJsonBindingPlan(plan);
+        }
+        return plan == JsonBindingPlan.UNSUPPORTED ? null : plan;
+    }
+
+    /**
+     * Creates the plan to bind JSON objects to the given type, assigning the field registers the same way
+     * {@link JSONUtils#convertJSONNodeToStruct(JsonNode, BStructureType)} does.
+     */
+    private static JsonBindingPlan createBindingPlan(BStructureType structType) {
+        int[] regIndexes = new int[] { -1, -1, -1, -1, -1, -1 };
+        StructFieldInfo[] fieldInfos = ((StructureTypeInfo) structType.getTypeInfo()).getFieldInfoEntries();
+        FieldBinding[] fields = new FieldBinding[fieldInfos.length];
+        for (int i = 0; i < fieldInfos.length; i++) {
+            BType fieldType = fieldInfos[i].getFieldType();
+            int regIndex;
+            switch (fieldType.getTag()) {
+                case TypeTags.INT_TAG:
+                    regIndex = ++regIndexes[0];
+                    break;
+                case TypeTags.FLOAT_TAG:
+                    regIndex = ++regIndexes[1];
+                    break;
+                case TypeTags.STRING_TAG:
+                    regIndex = ++regIndexes[2];
+                    break;
+                case TypeTags.BOOLEAN_TAG:
+                    regIndex = ++regIndexes[3];
+                    break;
+                case TypeTags.UNION_TAG:
+                case TypeTags.OBJECT_TYPE_TAG:
+                case TypeTags.RECORD_TYPE_TAG:
+                case TypeTags.ANY_TAG:
+                case TypeTags.JSON_TAG:
+                case TypeTags.ARRAY_TAG:
+                case TypeTags.MAP_TAG:
+                case TypeTags.NULL_TAG:
+                case TypeTags.FUNCTION_POINTER_TAG:
+                    regIndex = ++regIndexes[4];
+                    break;
+                case TypeTags.BLOB_TAG:
+                    regIndex = ++regIndexes[5];
+                    break;
+                default:
+                    /* the conversion fails for such a type, which is left to the usual conversion to report */
+                    return JsonBindingPlan.UNSUPPORTED;
+            }
+            fields[i] = new FieldBinding(fieldInfos[i].getName(), fieldType, i, regIndex);
+        }
+        return new JsonBindingPlan(fields);
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.model.util;
+
+import org.ballerinalang.model.types.BField;
+import org.ballerinalang.model.types.BStructureType;
+import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BBooleanArray;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BFloatArray;
+import org.ballerinalang.model.values.BIntArray;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BNewArray;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BStringArray;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.exceptions.BLangExceptionHelper;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.ballerinalang.util.exceptions.RuntimeErrors;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@code JsonValueWriter} writes structs, maps and arrays as JSON to a {@link JsonGenerator}, without building the
+ * {@link JsonNode} objects for them first.
+ * <p>
+ * The output, as well as the conversion errors, are the same as converting the value with {@link JSONUtils} and
+ * serializing the result. The quoted field names of each struct type are built once, and kept in the type. A json
+ * value, either on its own or nested in the written value, is written from its {@link JsonNode}, or straight from
+ * its data source if it has not been read. {@link BJSON#serializeData(OutputStream)} writes outbound json payloads
+ * through this writer.
+ *
+ * @since 0.974.1
+ */
+public class JsonValueWriter {
+
+    private final JsonGenerator gen;
+
+    private JsonValueWriter(JsonGenerator gen) {
+        this.gen = gen;
+    }
+
+    /**
+     * Writes the given json, struct, map or array as JSON to the given {@link OutputStream}, in UTF-8.
+     *
+     * @param value the value to write
+     * @param out   the output stream to write to
+     * @throws IOException if an error occurs while writing
+     */
+    public static void serialize(BValue value, OutputStream out) throws IOException {
+        JsonGenerator gen = new JsonGenerator(out, StandardCharsets.UTF_8);
+        serialize(value, gen);
+        gen.flush();
+    }
+
+    /**
+     * Writes the given json, struct, map or array as JSON to the given {@link JsonGenerator}.
+     *
+     * @param value the value to write
+     * @param gen   the generator to write to
+     * @throws IOException if an error occurs while writing
+     */
+    public static void serialize(BValue value, JsonGenerator gen) throws IOException {
+        new JsonValueWriter(gen).writeValue(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeValue(BValue value) throws IOException {
+        if (value instanceof BJSON) {
+            writeJSON((BJSON) value);
+        } else if (value instanceof BStruct) {
+            writeStruct((BStruct) value);
+        } else if (value instanceof BMap) {
+            writeMap((BMap<String, BValue>) value);
+        } else if (value instanceof BNewArray) {
+            writeArray((BNewArray) value);
+        } else {
+            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING,
+                    BTypes.typeJSON, value.getType());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeStruct(BStruct struct) throws IOException {
+        BStructureType structType = (BStructureType) struct.getType();
+        BField[] fields = structType.getFields();
+        char[][] fieldNames = getFieldNames(structType);
+        int longRegIndex = -1;
+        int doubleRegIndex = -1;
+        int stringRegIndex = -1;
+        int booleanRegIndex = -1;
+        int refRegIndex = -1;
+        this.gen.startObject();
+        for (int i = 0; i < fields.length; i++) {
+            String key = fields[i].getFieldName();
+            try {
+                switch (fields[i].getFieldType().getTag()) {
+                    case TypeTags.INT_TAG:
+                        this.gen.writeRawFieldName(fieldNames[i]);
+                        this.gen.writeNumber(struct.getIntField(++longRegIndex));
+                        break;
+                    case TypeTags.FLOAT_TAG:
+                        this.gen.writeRawFieldName(fieldNames[i]);
+                        this.gen.writeNumber(struct.getFloatField(++doubleRegIndex));
+                        break;
+                    case TypeTags.STRING_TAG:
+                        this.gen.writeRawFieldName(fieldNames[i]);
+                        this.gen.writeString(struct.getStringField(++stringRegIndex));
+                        break;
+                    case TypeTags.BOOLEAN_TAG:
+                        this.gen.writeRawFieldName(fieldNames[i]);
+                        this.gen.writeBoolean(struct.getBooleanField(++booleanRegIndex) == 1);
+                        break;
+                    case TypeTags.BLOB_TAG:
+                        throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING,
+                                BTypes.typeJSON, BTypes.typeBlob);
+                    default:
+                        this.gen.writeRawFieldName(fieldNames[i]);
+                        this.writeRefValue(struct.getRefField(++refRegIndex));
+                }
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                JSONUtils.handleError(e, key);
+            }
+        }
+        this.gen.endObject();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeMap(BMap<String, BValue> map) throws IOException {
+        this.gen.startObject();
+        for (String key : map.keySet()) {
+            try {
+                BValue value = map.get(key);
+                this.gen.writeFieldName(key);
+                if (value == null) {
+                    this.gen.writeNull();
+                } else if (value.getType() == BTypes.typeString) {
+                    this.gen.writeString(value.stringValue());
+                } else if (value.getType() == BTypes.typeInt) {
+                    this.gen.writeNumber(((BInteger) value).intValue());
+                } else if (value.getType() == BTypes.typeFloat) {
+                    this.gen.writeNumber(((BFloat) value).floatValue());
+                } else if (value.getType() == BTypes.typeBoolean) {
+                    this.gen.writeBoolean(((BBoolean) value).booleanValue());
+                } else if (value.getType().getTag() == TypeTags.MAP_TAG) {
+                    this.writeMap((BMap<String, BValue>) value);
+                } else if (value.getType() == BTypes.typeJSON) {
+                    this.writeJSON((BJSON) value);
+                } else if (value instanceof BNewArray) {
+                    this.writeArray((BNewArray) value);
+                } else if (value instanceof BStruct) {
+                    this.writeStruct((BStruct) value);
+                } else {
+                    throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING,
+                            BTypes.typeJSON, value.getType());
+                }
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                JSONUtils.handleError(e, key);
+            }
+        }
+        this.gen.endObject();
+    }
+
+    private void writeArray(BNewArray array) throws IOException {
+        this.gen.writeStartArray();
+        if (array instanceof BIntArray) {
+            BIntArray intArray = (BIntArray) array;
+            for (int i = 0; i < intArray.size(); i++) {
+                this.gen.writeNumber(intArray.get(i));
+            }
+        } else if (array instanceof BFloatArray) {
+            BFloatArray floatArray = (BFloatArray) array;
+            for (int i = 0; i < floatArray.size(); i++) {
+                this.gen.writeNumber(floatArray.get(i));
+            }
+        } else if (array instanceof BStringArray) {
+            BStringArray stringArray = (BStringArray) array;
+            for (int i = 0; i < stringArray.size(); i++) {
+                this.gen.writeString(stringArray.get(i));
+            }
+        } else if (array instanceof BBooleanArray) {
+            BBooleanArray booleanArray = (BBooleanArray) array;
+            for (int i = 0; i < booleanArray.size(); i++) {
+                this.gen.writeBoolean(booleanArray.get(i) == 1);
+            }
+        } else if (array instanceof BRefValueArray) {
+            BRefValueArray refValueArray = (BRefValueArray) array;
+            for (int i = 0; i < refValueArray.size(); i++) {
+                this.writeRefValue(refValueArray.get(i));
+            }
+        } else {
+            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING,
+                    BTypes.typeJSON, array.getType());
+        }
+        this.gen.writeEndArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeRefValue(BValue value) throws IOException {
+        if (value == null) {
+            this.gen.writeNull();
+        } else if (value.getType().getTag() == TypeTags.MAP_TAG) {
+            this.writeMap((BMap<String, BValue>) value);
+        } else if (value instanceof BJSON) {
+            this.writeJSON((BJSON) value);
+        } else if (value instanceof BNewArray) {
+            this.writeArray((BNewArray) value);
+        } else if (value instanceof BStruct) {
+            this.writeStruct((BStruct) value);
+        } else {
+            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING,
+                    BTypes.typeJSON, value.getType());
+        }
+    }
+
+    private void writeJSON(BJSON json) throws IOException {
+        json.serialize(this.gen);
+    }
+
+    private static char[][] getFieldNames(BStructureType structType) {
+        char[][] fieldNames = structType.getJsonFieldNames();
+        if (fieldNames == null) {
+            BField[] fields = structType.getFields();
+            fieldNames = new char[fields.length][];
+            for (int i = 0; i < fields.length; i++) {
+                StringWriter out = new StringWriter();
+                JsonGenerator gen = new JsonGenerator(out);
+                try {
+                    gen.writeFieldName(fields[i].getFieldName());
+                    gen.flush();
+                } catch (IOException e) {
+                    throw new BallerinaException(e.getMessage(), e);
+                }
+                fieldNames[i] = out.toString().toCharArray();
+            }
+            structType.setJsonFieldNames(fieldNames);
+        }
+        return fieldNames;
+    }
+}
@@ -0,0 +1,670 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.model.util;
+
+import org.ballerinalang.model.util.JsonNode.Type;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.io.BufferedWriter;
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class represents a JSON parser which does not build the whole JSON structure upfront.
+ * <p>
+ * The document is read into memory and validated in a single pass, which also records where each object and
+ * array starts and ends. The resulting {@link JsonNode} objects and arrays only parse their direct children when
+ * they are first accessed, so the parts of a large document which are never read are never materialized. A
+ * document which is written out without being accessed is copied as it is.
+ *
+ * @since 0.974.1
+ */
+public class LazyJsonParser {
+
+    static final char QUOTES = '"';
+    static final char SINGLE_QUOTES = '\'';
+    private static final String NULL = "null";
+    private static final String TRUE = "true";
+    private static final String FALSE = "false";
+
+    private static final int INITIAL_TAPE_SIZE = 16;
+
+    private LazyJsonParser() { }
+
+    /**
+     * Parses the contents in the given {@link InputStream} and returns a {@link JsonNode}.
+     *
+     * @param in input stream which contains the JSON content
+     * @return JSON structure as a {@link JsonNode} object
+     * @throws BallerinaException for any parsing error
+     */
+    public static JsonNode parse(InputStream in) throws BallerinaException {
+        return parse(in, Charset.defaultCharset().name());
+    }
+
+    /**
+     * Parses the contents in the given {@link InputStream} and returns a {@link JsonNode}.
+     *
+     * @param in          input stream which contains the JSON content
+     * @param charsetName the character set name of the input stream
+     * @return JSON structure as a {@link JsonNode} object
+     * @throws BallerinaException for any parsing error
+     */
+    public static JsonNode parse(InputStream in, String charsetName) throws BallerinaException {
+        try {
+            return parse(readFully(new InputStreamReader(in, charsetName)));
+        } catch (IOException e) {
+            throw new BallerinaException("Error in parsing JSON data: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parses the given JSON content and returns a {@link JsonNode}.
+     *
+     * @param chars the JSON content
+     * @return JSON structure as a {@link JsonNode} object
+     * @throws BallerinaException for any parsing error
+     */
+    public static JsonNode parse(char[] chars) throws BallerinaException {
+        int start = skipWhitespace(chars, 0, chars.length);
+        if (start == chars.length || (chars[start] != '{' && chars[start] != '[')) {
+            /* a single value is not worth indexing */
+            return JsonParser.parse(new CharArrayReader(chars));
+        }
+        Source source = new Indexer(chars).index();
+        return new LazyJsonNode(source, 0);
+    }
+
+    private static char[] readFully(Reader reader) throws IOException {
+        char[] chars = new char[8192];
+        int length = 0;
+        int count;
+        while ((count = reader.read(chars, length, chars.length - length)) >= 0) {
+            length += count;
+            if (length == chars.length) {
+                chars = Arrays.copyOf(chars, chars.length * 2);
+            }
+        }
+        return length == chars.length ? chars : Arrays.copyOf(chars, length);
+    }
+
+    private static boolean isWhitespace(char ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\r';
+    }
+
+    static int skipWhitespace(char[] chars, int i, int end) {
+        while (i < end && isWhitespace(chars[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isTokenEnd(char ch) {
+        return isWhitespace(ch) || ch == ',' || ch == '}' || ch == ']';
+    }
+
+    /**
+     * Reads the string starting with the quote at the given position.
+     *
+     * @param chars the JSON content
+     * @param i     position of the opening quote
+     * @param value the builder to append the unescaped string to, or null to only validate the string
+     * @return position after the closing quote
+     */
+    static int readString(char[] chars, int i, StringBuilder value) throws JsonParseException {
+        char quote = chars[i++];
+        int segmentStart = i;
+        while (i < chars.length) {
+            char ch = chars[i];
+            if (ch == quote) {
+                if (value != null) {
+                    value.append(chars, segmentStart, i - segmentStart);
+                }
+                return i + 1;
+            }
+            if (ch != '\\') {
+                i++;
+                continue;
+            }
+            if (value != null) {
+                value.append(chars, segmentStart, i - segmentStart);
+            }
+            if (++i == chars.length) {
+                break;
+            }
+            char escaped;
+            switch (chars[i]) {
+                case '"':
+                    escaped = '"';
+                    break;
+                case '\\':
+                    escaped = '\\';
+                    break;
+                case '/':
+                    escaped = '/';
+                    break;
+                case 'b':
+                    escaped = '\b';
+                    break;
+                case 'f':
+                    escaped = '\f';
+                    break;
+                case 'n':
+                    escaped = '\n';
+                    break;
+                case 'r':
+                    escaped = '\r';
+                    break;
+                case 't':
+                    escaped = '\t';
+                    break;
+                case 'u':
+                    if (i + 4 >= chars.length) {
+                        throw new JsonParseException("unexpected end of JSON document", chars.length);
+                    }
+                    try {
+                        escaped = (char) Integer.parseInt(new String(chars, i + 1, 4), 16);
+                    } catch (NumberFormatException e) {
+                        throw new JsonParseException("expected hexadecimal value", i + 1);
+                    }
+                    i += 4;
+                    break;
+                default:
+                    throw new JsonParseException("expected escaped characters", i);
+            }
+            if (value != null) {
+                value.append(escaped);
+            }
+            segmentStart = ++i;
+        }
+        throw new JsonParseException("unexpected end of JSON document", chars.length);
+    }
+
+    /**
+     * Reads the non-string value starting at the given position, the same way {@link JsonParser} does.
+     *
+     * @param chars the JSON content
+     * @param i     position of the value
+     * @param end   position after the value
+     * @return the value as a {@link JsonNode}
+     */
+    static JsonNode readNonStringValue(char[] chars, int i, int end) throws JsonParseException {
+        String str = new String(chars, i, end - i);
+        try {
+            if (str.indexOf('.') >= 0) {
+                return new JsonNode(Double.parseDouble(str));
+            }
+            switch (str) {
+                case TRUE:
+                    return new JsonNode(true);
+                case FALSE:
+                    return new JsonNode(false);
+                case NULL:
+                    return new JsonNode(Type.NULL);
+                default:
+                    return new JsonNode(Long.parseLong(str));
+            }
+        } catch (NumberFormatException e) {
+            throw new JsonParseException("unrecognized token '" + str + "'", i);
+        }
+    }
+
+    static int findTokenEnd(char[] chars, int i) {
+        while (i < chars.length && !isTokenEnd(chars[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * The JSON content along with the structural index of its objects and arrays. The containers are numbered in
+     * the order they start, and for each, the index keeps where it starts and ends, and how many containers are
+     * nested in it, which is the distance to the number of its next sibling.
+     */
+    static class Source {
+
+        final char[] chars;
+
+        int[] starts;
+
+        int[] ends;
+
+        int[] descendants;
+
+        /* whether the content only uses standard JSON syntax, so that it can be copied as it is */
+        private boolean strict = true;
+
+        /* the field names read so far, so that each distinct name is kept only once */
+        private final ConcurrentHashMap<String, String> fieldNames = new ConcurrentHashMap<>();
+
+        private Source(char[] chars) {
+            this.chars = chars;
+            this.starts = new int[INITIAL_TAPE_SIZE];
+            this.ends = new int[INITIAL_TAPE_SIZE];
+            this.descendants = new int[INITIAL_TAPE_SIZE];
+        }
+    }
+
+    /**
+     * Validates a JSON document, and builds the structural index of its containers.
+     */
+    private static class Indexer {
+
+        private final Source source;
+
+        private final char[] chars;
+
+        private int count;
+
+        /* container numbers of the currently open containers */
+        private int[] open = new int[INITIAL_TAPE_SIZE];
+
+        private int depth;
+
+        private boolean expectValue;
+
+        private Indexer(char[] chars) {
+            this.source = new Source(chars);
+            this.chars = chars;
+        }
+
+        private Source index() {
+            try {
+                indexDocument();
+                return this.source;
+            } catch (JsonParseException e) {
+                throw new BallerinaException(e.getMessage() + " at " + location(e.position));
+            }
+        }
+
+        private void indexDocument() throws JsonParseException {
+            int length = chars.length;
+            int i = skipWhitespace(chars, 0, length);
+            /* the document starts with a container, as checked by the caller */
+            expectValue = true;
+            while (true) {
+                i = skipWhitespace(chars, i, length);
+                if (expectValue) {
+                    expectValue = false;
+                    i = indexValue(i);
+                    if (depth == 0) {
+                        break;
+                    }
+                    continue;
+                }
+                if (i == length) {
+                    throw new JsonParseException("unexpected end of JSON document", i);
+                }
+                /* a value of the currently open container has ended */
+                char ch = chars[i];
+                boolean inObject = chars[source.starts[open[depth - 1]]] == '{';
+                if (ch == ',') {
+                    i = skipWhitespace(chars, i + 1, length);
+                    if (inObject) {
+                        i = indexFieldName(i);
+                    }
+                    expectValue = true;
+                } else if (ch == (inObject ? '}' : ']')) {
+                    close(i++);
+                    if (depth == 0) {
+                        break;
+                    }
+                } else {
+                    throw new JsonParseException("expected , or " + (inObject ? '}' : ']'), i);
+                }
+            }
+            i = skipWhitespace(chars, i, length);
+            if (i < length) {
+                throw new JsonParseException("JSON document has already ended", i);
+            }
+        }
+
+        /**
+         * Indexes the value at the given position. A container is only opened, and the position of its first
+         * value is returned, with the first value still expected, unless the container is empty.
+         */
+        private int indexValue(int i) throws JsonParseException {
+            if (i == chars.length) {
+                throw new JsonParseException("unexpected end of JSON document", i);
+            }
+            char ch = chars[i];
+            if (ch == '{' || ch == '[') {
+                open(i);
+                int next = skipWhitespace(chars, i + 1, chars.length);
+                if (next < chars.length && chars[next] == (ch == '{' ? '}' : ']')) {
+                    close(next);
+                    return next + 1;
+                }
+                if (ch == '{') {
+                    next = indexFieldName(next);
+                }
+                expectValue = true;
+                return next;
+            }
+            if (ch == QUOTES || ch == SINGLE_QUOTES) {
+                if (ch == SINGLE_QUOTES) {
+                    source.strict = false;
+                }
+                return readString(chars, i, null);
+            }
+            if (ch == '}' || ch == ']' || ch == ',' || ch == ':') {
+                throw new JsonParseException("unexpected '" + ch + "'", i);
+            }
+            int end = findTokenEnd(chars, i);
+            readNonStringValue(chars, i, end);
+            return end;
+        }
+
+        /**
+         * Validates the field name at the given position, and returns the position after the following colon.
+         */
+        private int indexFieldName(int i) throws JsonParseException {
+            if (i == chars.length) {
+                throw new JsonParseException("unexpected end of JSON document", i);
+            }
+            char ch = chars[i];
+            if (ch != QUOTES && ch != SINGLE_QUOTES) {
+                throw new JsonParseException("expected \"", i);
+            }
+            if (ch == SINGLE_QUOTES) {
+                source.strict = false;
+            }
+            i = skipWhitespace(chars, readString(chars, i, null), chars.length);
+            if (i == chars.length || chars[i] != ':') {
+                throw new JsonParseException("expected :", i);
+            }
+            return i + 1;
+        }
+
+        private void open(int i) {
+            if (count == source.starts.length) {
+                int size = count * 2;
+                source.starts = Arrays.copyOf(source.starts, size);
+                source.ends = Arrays.copyOf(source.ends, size);
+                source.descendants = Arrays.copyOf(source.descendants, size);
+            }
+            if (depth == open.length) {
+                open = Arrays.copyOf(open, depth * 2);
+            }
+            source.starts[count] = i;
+            open[depth++] = count++;
+        }
+
+        private void close(int i) {
+            int container = open[--depth];
+            source.ends[container] = i;
+            source.descendants[container] = count - container - 1;
+        }
+
+        private String location(int position) {
+            int line = 1;
+            int lineStart = 0;
+            for (int i = 0; i < position && i < chars.length; i++) {
+                if (chars[i] == '\n') {
+                    line++;
+                    lineStart = i + 1;
+                }
+            }
+            return "line: " + line + " column: " + (position - lineStart + 1);
+        }
+    }
+
+    /**
+     * A JSON object or array which parses its direct children from the {@link Source} when it is first accessed.
+     */
+    static class LazyJsonNode extends JsonNode {
+
+        volatile Source source;
+
+        final int container;
+
+        LazyJsonNode(Source source, int container) {
+            super(source.chars[source.starts[container]] == '{' ? Type.OBJECT : Type.ARRAY);
+            this.source = source;
+            this.container = container;
+        }
+
+        private void materialize() {
+            if (this.source == null) {
+                return;
+            }
+            synchronized (this) {
+                Source source = this.source;
+                if (source != null) {
+                    try {
+                        this.parseChildren(source);
+                    } catch (JsonParseException e) {
+                        /* the content has already been validated */
+                        throw new BallerinaException(e.getMessage());
+                    }
+                    this.source = null;
+                }
+            }
+        }
+
+        private void parseChildren(Source source) throws JsonParseException {
+            char[] chars = source.chars;
+            int end = source.ends[this.container];
+            int child = this.container + 1;
+            boolean object = this.isObject();
+            StringBuilder builder = new StringBuilder();
+            int i = source.starts[this.container] + 1;
+            while (true) {
+                i = skipWhitespace(chars, i, end);
+                if (i == end) {
+                    return;
+                }
+                String fieldName = null;
+                if (object) {
+                    builder.setLength(0);
+                    i = readString(chars, i, builder);
+                    String name = builder.toString();
+                    String knownName = source.fieldNames.putIfAbsent(name, name);
+                    fieldName = knownName != null ? knownName : name;
+                    /* skip the colon */
+                    i = skipWhitespace(chars, skipWhitespace(chars, i, end) + 1, end);
+                }
+                JsonNode value;
+                char ch = chars[i];
+                if (ch == '{' || ch == '[') {
+                    value = new LazyJsonNode(source, child);
+                    i = source.ends[child] + 1;
+                    child += source.descendants[child] + 1;
+                } else if (ch == QUOTES || ch == SINGLE_QUOTES) {
+                    builder.setLength(0);
+                    i = readString(chars, i, builder);
+                    value = new JsonNode(builder.toString());
+                } else {
+                    int tokenEnd = findTokenEnd(chars, i);
+                    value = readNonStringValue(chars, i, tokenEnd);
+                    i = tokenEnd;
+                }
+                if (object) {
+                    super.set(fieldName, value);
+                } else {
+                    super.add(value);
+                }
+                /* skip the comma, if any */
+                i = skipWhitespace(chars, i, end);
+                if (i < end) {
+                    i++;
+                }
+            }
+        }
+
+        @Override
+        public void add(JsonNode arrayElement) {
+            this.materialize();
+            super.add(arrayElement);
+        }
+
+        @Override
+        public void setString(String stringValue) {
+            this.source = null;
+            super.setString(stringValue);
+        }
+
+        @Override
+        public void setNumber(long longValue) {
+            this.source = null;
+            super.setNumber(longValue);
+        }
+
+        @Override
+        public void setNumber(double doubleValue) {
+            this.source = null;
+            super.setNumber(doubleValue);
+        }
+
+        @Override
+        public void setBooleanValue(boolean booleanValue) {
+            this.source = null;
+            super.setBooleanValue(booleanValue);
+        }
+
+        @Override
+        public void setNull() {
+            this.source = null;
+            super.setNull();
+        }
+
+        @Override
+        public int size() {
+            this.materialize();
+            return super.size();
+        }
+
+        @Override
+        public void set(String name, String stringValue) {
+            this.materialize();
+            super.set(name, stringValue);
+        }
+
+        @Override
+        public void set(String name, long longValue) {
+            this.materialize();
+            super.set(name, longValue);
+        }
+
+        @Override
+        public void set(String name, double doubleValue) {
+            this.materialize();
+            super.set(name, doubleValue);
+        }
+
+        @Override
+        public void set(String name, boolean booleanValue) {
+            this.materialize();
+            super.set(name, booleanValue);
+        }
+
+        @Override
+        public void set(String name, JsonNode jsonNode) {
+            this.materialize();
+            super.set(name, jsonNode);
+        }
+
+        @Override
+        public void set(int index, JsonNode jsonNode) {
+            this.materialize();
+            super.set(index, jsonNode);
+        }
+
+        @Override
+        public JsonNode get(String name) {
+            this.materialize();
+            return super.get(name);
+        }
+
+        @Override
+        public JsonNode get(int index) {
+            this.materialize();
+            return super.get(index);
+        }
+
+        @Override
+        public Iterator<String> fieldNames() {
+            this.materialize();
+            return super.fieldNames();
+        }
+
+        @Override
+        public Iterator<Entry<String, JsonNode>> fields() {
+            this.materialize();
+            return super.fields();
+        }
+
+        @Override
+        public Iterator<JsonNode> elements() {
+            this.materialize();
+            return super.elements();
+        }
+
+        @Override
+        public void remove(String fieldName) {
+            this.materialize();
+            super.remove(fieldName);
+        }
+
+        @Override
+        public void serialize(OutputStream out) throws IOException {
+            Source source = this.source;
+            if (source == null || !source.strict) {
+                super.serialize(out);
+                return;
+            }
+            /* nothing has been read from this node, so it can only be the same as the original content */
+            int start = source.starts[this.container];
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, Charset.defaultCharset()));
+            writer.write(source.chars, start, source.ends[this.container] - start + 1);
+            writer.flush();
+        }
+
+        @Override
+        public void serialize(JsonGenerator gen) throws IOException {
+            this.materialize();
+            super.serialize(gen);
+        }
+    }
+
+    /**
+     * An error in the JSON content, along with its position.
+     */
+    static class JsonParseException extends Exception {
+
+        private static final long serialVersionUID = -1906137626398513542L;
+
+        private final int position;
+
+        private JsonParseException(String message, int position) {
+            super(message);
+            this.position = position;
+        }
+    }
+}
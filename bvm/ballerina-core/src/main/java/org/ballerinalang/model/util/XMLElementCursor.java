@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.model.util;
+
+import org.apache.axiom.om.OMAbstractFactory;
+import org.apache.axiom.om.OMContainer;
+import org.apache.axiom.om.OMDocument;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMNamespace;
+import org.apache.axiom.om.util.StAXUtils;
+import org.ballerinalang.model.values.BXMLItem;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * {@code XMLElementCursor} pulls the elements at a given path of an XML document, one at a time, from a StAX reader.
+ * <p>
+ * The path is a list of element names separated by {@code /}, starting from the root element, where each name is
+ * written the same way as for {@code xml.select}, i.e. {@code {namespace-uri}local-name}, or just the local name for
+ * elements without a namespace. Only the subtree of the element being returned is built; the rest of the document is
+ * skipped as it is read, so that large payloads can be processed without holding the whole tree on the heap.
+ * <p>
+ * The input stream is closed once the end of the document is reached, or when reading it fails. The cursor is not
+ * thread safe.
+ *
+ * @since 0.974.1
+ */
+public class XMLElementCursor implements Closeable {
+
+    private static final OMFactory OM_FACTORY = OMAbstractFactory.getOMFactory();
+
+    private static final char PATH_SEPARATOR = '/';
+
+    private final InputStream in;
+
+    private final XMLStreamReader reader;
+
+    private final QName[] path;
+
+    /* depth of the current position, and how many of the enclosing elements match the start of the path */
+    private int depth;
+
+    private int matchedDepth;
+
+    /* namespaces declared by the enclosing elements, which the returned subtrees inherit */
+    private final List<String[]> namespaces = new ArrayList<>();
+
+    private final List<Integer> namespaceCounts = new ArrayList<>();
+
+    private boolean positioned;
+
+    private boolean closed;
+
+    /**
+     * Create a cursor over the elements at the given path of an XML input stream.
+     *
+     * @param in      XML input stream
+     * @param charset charset of the stream, or null to detect it from the document
+     * @param path    path of the elements to return
+     */
+    public XMLElementCursor(InputStream in, String charset, String path) {
+        this.in = in;
+        this.path = parsePath(path);
+        try {
+            this.reader = charset == null ? StAXUtils.createXMLStreamReader(in) :
+                    StAXUtils.createXMLStreamReader(in, charset);
+        } catch (XMLStreamException e) {
+            closeQuietly();
+            throw new BallerinaException("failed to create xml: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Check whether there is another element at the path.
+     *
+     * @return true if {@link #next()} returns another element
+     */
+    public boolean hasNext() {
+        if (positioned) {
+            return true;
+        }
+        if (closed) {
+            return false;
+        }
+        try {
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        if (depth == matchedDepth && matches(path[depth])) {
+                            if (depth == path.length - 1) {
+                                positioned = true;
+                                return true;
+                            }
+                            matchedDepth++;
+                        }
+                        depth++;
+                        pushNamespaces();
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        depth--;
+                        matchedDepth = Math.min(matchedDepth, depth);
+                        popNamespaces();
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } catch (XMLStreamException e) {
+            close();
+            throw new BallerinaException("failed to create xml: " + e.getMessage());
+        }
+        close();
+        return false;
+    }
+
+    /**
+     * Read the next element at the path.
+     *
+     * @return the element, in a document of its own
+     */
+    public BXMLItem next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        positioned = false;
+        try {
+            return new BXMLItem(buildElement());
+        } catch (XMLStreamException e) {
+            close();
+            throw new BallerinaException("failed to create xml: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stop reading the document, and close the input stream.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        positioned = false;
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            // Ignore, the stream is closed below
+        }
+        closeQuietly();
+    }
+
+    private void closeQuietly() {
+        try {
+            in.close();
+        } catch (IOException e) {
+            // Ignore, nothing else is read from the stream
+        }
+    }
+
+    private boolean matches(QName name) {
+        String namespaceURI = reader.getNamespaceURI();
+        return name.getLocalPart().equals(reader.getLocalName())
+                && name.getNamespaceURI().equals(namespaceURI == null ? "" : namespaceURI);
+    }
+
+    /**
+     * Build the element at the current position of the reader, with all of its children. The reader is left at the
+     * end of the element.
+     */
+    private OMElement buildElement() throws XMLStreamException {
+        OMDocument doc = OM_FACTORY.createOMDocument();
+        OMElement root = null;
+        OMContainer parent = doc;
+        int level = 0;
+        int event = reader.getEventType();
+        while (true) {
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    OMElement element = OM_FACTORY.createOMElement(reader.getLocalName(), null, parent);
+                    if (root == null) {
+                        root = element;
+                        declareInheritedNamespaces(root);
+                    }
+                    copyElement(element);
+                    parent = element;
+                    level++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    level--;
+                    if (level == 0) {
+                        return root;
+                    }
+                    parent = ((OMElement) parent).getParent();
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.SPACE:
+                case XMLStreamConstants.ENTITY_REFERENCE:
+                    OM_FACTORY.createOMText(parent, reader.getText());
+                    break;
+                case XMLStreamConstants.CDATA:
+                    OM_FACTORY.createOMText(parent, reader.getText(), XMLStreamConstants.CDATA);
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    OM_FACTORY.createOMComment(parent, reader.getText());
+                    break;
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    OM_FACTORY.createOMProcessingInstruction(parent, reader.getPITarget(), reader.getPIData());
+                    break;
+                default:
+                    break;
+            }
+            event = reader.next();
+        }
+    }
+
+    private void copyElement(OMElement element) {
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            declareNamespace(element, reader.getNamespaceURI(i), reader.getNamespacePrefix(i));
+        }
+
+        String namespaceURI = reader.getNamespaceURI();
+        if (namespaceURI != null && !namespaceURI.isEmpty()) {
+            String prefix = reader.getPrefix();
+            element.setNamespace(OM_FACTORY.createOMNamespace(namespaceURI, prefix == null ? "" : prefix));
+        }
+
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String attributeNamespaceURI = reader.getAttributeNamespace(i);
+            OMNamespace namespace = null;
+            if (attributeNamespaceURI != null && !attributeNamespaceURI.isEmpty()) {
+                namespace = OM_FACTORY.createOMNamespace(attributeNamespaceURI, reader.getAttributePrefix(i));
+            }
+            element.addAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i), namespace);
+        }
+    }
+
+    private void declareInheritedNamespaces(OMElement root) {
+        Map<String, String> inScope = new LinkedHashMap<>();
+        for (String[] namespace : namespaces) {
+            inScope.put(namespace[0], namespace[1]);
+        }
+        for (Map.Entry<String, String> namespace : inScope.entrySet()) {
+            declareNamespace(root, namespace.getValue(), namespace.getKey());
+        }
+    }
+
+    private static void declareNamespace(OMElement element, String namespaceURI, String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            element.declareDefaultNamespace(namespaceURI == null ? "" : namespaceURI);
+        } else {
+            element.declareNamespace(namespaceURI, prefix);
+        }
+    }
+
+    private void pushNamespaces() {
+        int count = reader.getNamespaceCount();
+        for (int i = 0; i < count; i++) {
+            String prefix = reader.getNamespacePrefix(i);
+            namespaces.add(new String[] { prefix == null ? "" : prefix, reader.getNamespaceURI(i) });
+        }
+        namespaceCounts.add(count);
+    }
+
+    private void popNamespaces() {
+        int count = namespaceCounts.remove(namespaceCounts.size() - 1);
+        for (int i = 0; i < count; i++) {
+            namespaces.remove(namespaces.size() - 1);
+        }
+    }
+
+    static QName[] parsePath(String path) {
+        List<QName> names = new ArrayList<>();
+        int start = 0;
+        boolean inNamespace = false;
+        for (int i = 0; i <= path.length(); i++) {
+            char c = i == path.length() ? PATH_SEPARATOR : path.charAt(i);
+            if (c == '{') {
+                inNamespace = true;
+            } else if (c == '}') {
+                inNamespace = false;
+            } else if (c == PATH_SEPARATOR && !inNamespace) {
+                if (i > start) {
+                    names.add(toQName(path.substring(start, i)));
+                }
+                start = i + 1;
+            }
+        }
+        if (names.isEmpty()) {
+            throw new BallerinaException("invalid xml element path: '" + path + "'");
+        }
+        return names.toArray(new QName[names.size()]);
+    }
+
+    private static QName toQName(String name) {
+        int rParenIndex = name.indexOf('}');
+        if (name.startsWith("{") && rParenIndex > 0) {
+            return new QName(name.substring(1, rParenIndex), name.substring(rParenIndex + 1));
+        }
+        return new QName("", name);
+    }
+}
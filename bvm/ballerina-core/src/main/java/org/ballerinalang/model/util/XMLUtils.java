@@ -192,6 +192,36 @@ public class XMLUtils {
         return new BXMLSequence(elementsSeq);
     }
 
+    /**
+     * Create a XML sequence of the elements at the given path of an XML input stream. The elements are read from the
+     * stream one at a time, as the sequence is accessed, and only the elements at the path are built.
+     *
+     * @param xmlStream XML input stream
+     * @param charset   Charset to be used for parsing, or null to detect it from the document
+     * @param path      Path of the elements from the root element, e.g. {@code {ns}catalog/{ns}book}
+     * @return XML Sequence
+     */
+    public static BXML<?> parseElements(InputStream xmlStream, String charset, String path) {
+        return new BXMLSequence(new XMLElementCursor(xmlStream, charset, path));
+    }
+
+    /**
+     * Select the elements at the given path of an XML sequence, the same way as {@link #parseElements} does for an
+     * XML input stream.
+     *
+     * @param xml  XML sequence
+     * @param path Path of the elements from the root element, e.g. {@code {ns}catalog/{ns}book}
+     * @return XML Sequence
+     */
+    public static BXML<?> selectElements(BXML<?> xml, String path) {
+        QName[] names = XMLElementCursor.parsePath(path);
+        BXML<?> elements = xml.elements(names[0].toString());
+        for (int i = 1; i < names.length; i++) {
+            elements = elements.children(names[i].toString());
+        }
+        return elements;
+    }
+
     /**
      * Concatenate two XML sequences and produce a single sequence.
      *
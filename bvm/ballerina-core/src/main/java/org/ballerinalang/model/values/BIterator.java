@@ -42,6 +42,13 @@ public interface BIterator extends BRefType {
      */
     boolean hasNext();
 
+    /**
+     * Releases any resources held by the iterator, once the iteration is over. This is called when a loop over the
+     * collection ends, including when it is left early.
+     */
+    default void close() {
+    }
+
     /* Default implementation */
 
     @Override
@@ -28,6 +28,8 @@ import org.ballerinalang.model.util.JsonGenerator;
 import org.ballerinalang.model.util.JsonNode;
 import org.ballerinalang.model.util.JsonNode.Type;
 import org.ballerinalang.model.util.JsonParser;
+import org.ballerinalang.model.util.JsonValueWriter;
+import org.ballerinalang.model.util.LazyJsonParser;
 import org.ballerinalang.runtime.message.BallerinaMessageDataSource;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
@@ -123,7 +125,7 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
      */
     public BJSON(InputStream in, String schema) {
         try {
-            this.value = JsonParser.parse(in);
+            this.value = LazyJsonParser.parse(in);
         } catch (Throwable t) {
             handleJsonException("failed to create json: ", t);
         }
@@ -138,7 +140,7 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
      */
     public BJSON(InputStream in, String schema, String charset) {
         try {
-            this.value = JsonParser.parse(in, charset);
+            this.value = LazyJsonParser.parse(in, charset);
         } catch (Throwable t) {
             handleJsonException("failed to create json with the given charset: ", t);
         }
@@ -163,20 +165,30 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
     @Override
     public void serializeData(OutputStream outputStream) {
         try {
-            /* the below order is important, where if the value is generated from a streaming data source,
-             * it should be able to serialize the data out again using the value */
-            if (this.value != null) {
-                this.value.serialize(outputStream);
-            } else {
-                JsonGenerator gen = new JsonGenerator(outputStream);
-                this.datasource.serialize(gen);
-                gen.flush();
-            }
+            JsonValueWriter.serialize(this, outputStream);
         } catch (Throwable t) {
             handleJsonException("error occurred during writing the message to the output stream: ", t);
         }
     }
 
+    /**
+     * Write this JSON value to the given {@link JsonGenerator}.
+     *
+     * @param gen the generator to write to
+     * @throws IOException if an error occurs while writing
+     */
+    public void serialize(JsonGenerator gen) throws IOException {
+        /* the below order is important, where if the value is generated from a streaming data source,
+         * it should be able to serialize the data out again using the value */
+        if (this.value != null) {
+            this.value.serialize(gen);
+        } else if (this.datasource != null) {
+            this.datasource.serialize(gen);
+        } else {
+            gen.writeNull();
+        }
+    }
+
     /**
      * Get value associated with this {@link BJSON} object.
      *
@@ -20,23 +20,36 @@ package org.ballerinalang.model.values;
 import org.ballerinalang.model.types.BMapType;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.util.ConcurrentInsertionOrderedMap;
 import org.ballerinalang.runtime.message.BallerinaMessageDataSource;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.lang.ref.WeakReference;
 import java.nio.charset.Charset;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.StringJoiner;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * {@code MapType} represents a map.
+ * <p>
+ * A map starts out as a plain {@link LinkedHashMap}, which is only used by the worker that created it. Once the
+ * map is published to other workers, i.e. stored in a global, a struct, an array or a shared map, sent to another
+ * worker or passed to a function which runs in other workers, it is shared, and switches to a
+ * {@link ConcurrentInsertionOrderedMap} for good. The maps held by a map are shared along with it.
+ * <p>
+ * The maps created for {@code map<int>}, {@code map<float>} and {@code map<string>} by the {@code NEWMAP}
+ * instruction keep their values unboxed in an {@link UnboxedValueTable} instead, until they are shared, or some
+ * code asks for the underlying {@link Map}.
+ *
  * @param <K> Key
  * @param <V> Value
  * @since 0.8.0
@@ -44,10 +57,14 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 @SuppressWarnings("rawtypes")
 public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implements BRefType, BCollection {
 
-    private LinkedHashMap<K, V> map;
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
-    private final Lock readLock = lock.readLock();
-    private final Lock writeLock = lock.writeLock();
+    /* the map is switched to shared mode by a single write of this field, which is always read before the table,
+     * so a worker which sees the shared map never looks at the unboxed value table left behind */
+    private volatile Map<K, V> map;
+    /* holds the entries instead of the map, while the values are kept unboxed. Only used in local mode */
+    private UnboxedValueTable table;
+    /* the iterators over the entries of a local map, which have to copy the entries they have not returned yet
+     * before the map is changed. They are weakly held, since an iteration left by an error is never closed */
+    private List<WeakReference<BMapIterator<K, V>>> iterators;
     private BType type = BTypes.typeMap;
 
     public BMap() {
@@ -59,6 +76,22 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
         this.type = type;
     }
 
+    /**
+     * Create a map of the given type.
+     *
+     * @param type        type of the map
+     * @param unboxValues whether to keep the values unboxed, if the constraint of the map allows it
+     */
+    public BMap(BMapType type, boolean unboxValues) {
+        this.type = type;
+        if (unboxValues) {
+            this.table = UnboxedValueTable.forConstraint(type.getConstrainedType());
+        }
+        if (this.table == null) {
+            this.map = new LinkedHashMap<>();
+        }
+    }
+
     /**
      * Retrieve the value for the given key from map.
      * A {@code BallerinaException} will be thrown if the key does not exists.
@@ -67,15 +100,7 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @return value
      */
     public V get(K key) {
-        readLock.lock();
-        try {
-            if (!map.containsKey(key)) {
-                throw new BallerinaException("cannot find key '" + key + "'");
-            }
-            return map.get(key);
-        } finally {
-            readLock.unlock();
-        }
+        return get(key, true);
     }
 
     /**
@@ -85,16 +110,24 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @param except flag indicating whether to throw an exception if the key does not exists
      * @return value
      */
+    @SuppressWarnings("unchecked")
     public V get(K key, boolean except) {
-        readLock.lock();
-        try {
-            if (!map.containsKey(key) && except) {
-                throw new BallerinaException("cannot find key '" + key + "'");
+        Map<K, V> map = this.map;
+        if (map == null) {
+            int position = table.find((String) key);
+            if (position < 0) {
+                if (except) {
+                    throw new BallerinaException("cannot find key '" + key + "'");
+                }
+                return null;
             }
-            return map.get(key);
-        } finally {
-            readLock.unlock();
+            return (V) table.get(position);
         }
+        V value = map.get(key);
+        if (value == null && except && !map.containsKey(key)) {
+            throw new BallerinaException("cannot find key '" + key + "'");
+        }
+        return value;
     }
 
     /**
@@ -103,24 +136,35 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @param value value related to the key
      */
     public void put(K key, V value) {
-        writeLock.lock();
-        try {
+        Map<K, V> map = this.map;
+        if (map instanceof ConcurrentInsertionOrderedMap) {
+            shareIfMap(value);
             map.put(key, value);
-        } finally {
-            writeLock.unlock();
+            return;
+        }
+        detachIterators();
+        if (map == null) {
+            if (table.put((String) key, value)) {
+                return;
+            }
+            map = inflate();
         }
+        map.put(key, value);
     }
 
     /**
      * Clear map entries.
      */
     public void clear() {
-        writeLock.lock();
-        try {
-            map.clear();
-        } finally {
-            writeLock.unlock();
+        Map<K, V> map = this.map;
+        if (!(map instanceof ConcurrentInsertionOrderedMap)) {
+            detachIterators();
+        }
+        if (map == null) {
+            table.clear();
+            return;
         }
+        map.clear();
     }
 
     /**
@@ -130,19 +174,27 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @return returns boolean true if key exists
      */
     public boolean hasKey(K key) {
-        readLock.lock();
-        try {
-            return map.containsKey(key);
-        } finally {
-            readLock.unlock();
+        Map<K, V> map = this.map;
+        if (map == null) {
+            return table.find((String) key) >= 0;
         }
+        return map.containsKey(key);
     }
 
     /**
      * Retrieve the internal map.
      * @return map
      */
-    public LinkedHashMap<K, V> getMap() {
+    public Map<K, V> getMap() {
+        Map<K, V> map = this.map;
+        if (map instanceof ConcurrentInsertionOrderedMap) {
+            return map;
+        }
+        /* the caller may change the map */
+        detachIterators();
+        if (map == null) {
+            return inflate();
+        }
         return map;
     }
 
@@ -151,12 +203,11 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @return returns the size of the map
      */
     public int size() {
-        readLock.lock();
-        try {
-            return map.size();
-        } finally {
-            readLock.unlock();
+        Map<K, V> map = this.map;
+        if (map == null) {
+            return table.size();
         }
+        return map.size();
     }
 
     /**
@@ -166,16 +217,15 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @return boolean to indicate whether given key is removed.
      */
     public boolean remove(K key) {
-        writeLock.lock();
-        try {
-            boolean hasKey = map.containsKey(key);
-            if (hasKey) {
-                map.remove(key);
-            }
-            return hasKey;
-        } finally {
-            writeLock.unlock();
+        Map<K, V> map = this.map;
+        if (!(map instanceof ConcurrentInsertionOrderedMap)) {
+            detachIterators();
+        }
+        if (map == null) {
+            return table.remove((String) key);
         }
+        /* a single operation, so that a key removed by another worker in between is not reported as removed */
+        return map.keySet().remove(key);
     }
 
     /**
@@ -183,12 +233,7 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @return returns the set of keys
      */
     public Set<K> keySet() {
-        readLock.lock();
-        try {
-            return map.keySet();
-        } finally {
-            readLock.unlock();
-        }
+        return entries().keySet();
     }
 
     /**Return true if this map is empty.
@@ -196,11 +241,216 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @return Flag indicating whether the map is empty or not
      */
     public boolean isEmpty() {
-        readLock.lock();
-        try {
-            return map.size() == 0;
-        } finally {
-            readLock.unlock();
+        return size() == 0;
+    }
+
+    /**
+     * Check whether this map may be used by more than one worker.
+     *
+     * @return true if the map is shared
+     */
+    public boolean isShared() {
+        return map instanceof ConcurrentInsertionOrderedMap;
+    }
+
+    /**
+     * Make this map, and the maps it holds, safe to be used by more than one worker. This has to be called by
+     * the worker which owns the map, before the map is published to other workers.
+     */
+    public void share() {
+        Map<K, V> localMap = this.map;
+        if (localMap instanceof ConcurrentInsertionOrderedMap) {
+            return;
+        }
+        /* the iterators still read the local map or table, which is not changed anymore */
+        this.iterators = null;
+        Map<K, V> entries = entries();
+        /* the map is switched before its values are visited, so that cyclic references end here */
+        this.map = new ConcurrentInsertionOrderedMap<>(entries);
+        this.table = null;
+        for (V value : entries.values()) {
+            shareIfMap(value);
+        }
+    }
+
+    /**
+     * Share the given value if it is a map.
+     *
+     * @param value the value which is being published to other workers
+     * @see #share()
+     */
+    public static void shareIfMap(BValue value) {
+        if (value instanceof BMap) {
+            ((BMap) value).share();
+        }
+    }
+
+    /**
+     * Retrieve the value for the given key from a {@code map<int>}.
+     * A {@code BallerinaException} will be thrown if the key does not exists.
+     *
+     * @param key key used to get the value
+     * @return value
+     */
+    @SuppressWarnings("unchecked")
+    public long getIntValue(String key) {
+        if (map == null && table instanceof UnboxedValueTable.IntTable) {
+            return ((UnboxedValueTable.IntTable) table).values[findExisting(key)];
+        }
+        return ((BInteger) get((K) key)).intValue();
+    }
+
+    /**
+     * Retrieve the value for the given key from a {@code map<float>}.
+     * A {@code BallerinaException} will be thrown if the key does not exists.
+     *
+     * @param key key used to get the value
+     * @return value
+     */
+    @SuppressWarnings("unchecked")
+    public double getFloatValue(String key) {
+        if (map == null && table instanceof UnboxedValueTable.FloatTable) {
+            return ((UnboxedValueTable.FloatTable) table).values[findExisting(key)];
+        }
+        return ((BFloat) get((K) key)).floatValue();
+    }
+
+    /**
+     * Retrieve the value for the given key from a {@code map<string>}.
+     * A {@code BallerinaException} will be thrown if the key does not exists.
+     *
+     * @param key key used to get the value
+     * @return value
+     */
+    @SuppressWarnings("unchecked")
+    public String getStringValue(String key) {
+        if (map == null && table instanceof UnboxedValueTable.StringTable) {
+            return ((UnboxedValueTable.StringTable) table).values[findExisting(key)];
+        }
+        return get((K) key).stringValue();
+    }
+
+    /**
+     * Insert an int value into the map, if the map keeps its values unboxed.
+     *
+     * @param key   key related to the value
+     * @param value value related to the key
+     * @return false if the value was not inserted, and has to be inserted boxed instead
+     */
+    public boolean putIntValue(String key, long value) {
+        if (map == null && table instanceof UnboxedValueTable.IntTable) {
+            detachIterators();
+            UnboxedValueTable.IntTable intTable = (UnboxedValueTable.IntTable) table;
+            intTable.values[intTable.findOrAdd(key)] = value;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Insert a float value into the map, if the map keeps its values unboxed.
+     *
+     * @param key   key related to the value
+     * @param value value related to the key
+     * @return false if the value was not inserted, and has to be inserted boxed instead
+     */
+    public boolean putFloatValue(String key, double value) {
+        if (map == null && table instanceof UnboxedValueTable.FloatTable) {
+            detachIterators();
+            UnboxedValueTable.FloatTable floatTable = (UnboxedValueTable.FloatTable) table;
+            floatTable.values[floatTable.findOrAdd(key)] = value;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Insert a string value into the map, if the map keeps its values unboxed.
+     *
+     * @param key   key related to the value
+     * @param value value related to the key
+     * @return false if the value was not inserted, and has to be inserted boxed instead
+     */
+    public boolean putStringValue(String key, String value) {
+        if (map == null && table instanceof UnboxedValueTable.StringTable) {
+            detachIterators();
+            UnboxedValueTable.StringTable stringTable = (UnboxedValueTable.StringTable) table;
+            stringTable.values[stringTable.findOrAdd(key)] = value;
+            return true;
+        }
+        return false;
+    }
+
+    private int findExisting(String key) {
+        int position = table.find(key);
+        if (position < 0) {
+            throw new BallerinaException("cannot find key '" + key + "'");
+        }
+        return position;
+    }
+
+    /**
+     * Returns the entries of the map, boxing them into a new map if the values are kept unboxed.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<K, V> entries() {
+        Map<K, V> map = this.map;
+        if (map != null) {
+            return map;
+        }
+        Map<K, V> entries = new LinkedHashMap<>();
+        for (int i = table.next(0); i >= 0; i = table.next(i + 1)) {
+            entries.put((K) table.key(i), (V) table.get(i));
+        }
+        return entries;
+    }
+
+    /**
+     * Moves the entries of the unboxed value table to a plain map.
+     *
+     * @return the plain map
+     */
+    private Map<K, V> inflate() {
+        Map<K, V> entries = entries();
+        this.map = entries;
+        this.table = null;
+        return entries;
+    }
+
+    /**
+     * Makes the iterators over the entries of this local map copy the entries they have not returned yet, before
+     * the map is changed.
+     */
+    private void detachIterators() {
+        List<WeakReference<BMapIterator<K, V>>> iterators = this.iterators;
+        if (iterators == null) {
+            return;
+        }
+        this.iterators = null;
+        for (WeakReference<BMapIterator<K, V>> ref : iterators) {
+            BMapIterator<K, V> iterator = ref.get();
+            if (iterator != null) {
+                iterator.detach();
+            }
+        }
+    }
+
+    private void addIterator(BMapIterator<K, V> iterator) {
+        if (iterators == null) {
+            iterators = new ArrayList<>(1);
+        } else {
+            /* drop the iterators which were left without being closed, and are no longer reachable */
+            iterators.removeIf(ref -> ref.get() == null);
+        }
+        iterators.add(new WeakReference<>(iterator));
+    }
+
+    private void removeIterator(BMapIterator<K, V> iterator) {
+        if (iterators != null) {
+            iterators.removeIf(ref -> {
+                BMapIterator<K, V> referent = ref.get();
+                return referent == null || referent == iterator;
+            });
         }
     }
 
@@ -211,34 +461,28 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
 
     @Override
     public String stringValue() {
-        readLock.lock();
-        try {
-            StringJoiner sj = new StringJoiner(", ", "{", "}");
-    
-            for (Iterator<Map.Entry<K, V>> i = map.entrySet().iterator(); i.hasNext();) {
-    
-                String key;
-                String stringValue;
-    
-                Map.Entry<K, V> e = i.next();
-                key = "\"" + (String) e.getKey() + "\"";
-                V value = e.getValue();
-    
-                if (value == null) {
-                    stringValue = null;
-                } else if (value instanceof BString) {
-                    stringValue = "\"" + value.stringValue() + "\"";
-                } else {
-                    stringValue = value.stringValue();
-                }
-    
-                sj.add(key + ":" + stringValue);
+        StringJoiner sj = new StringJoiner(", ", "{", "}");
+
+        for (Iterator<Map.Entry<K, V>> i = entries().entrySet().iterator(); i.hasNext();) {
+
+            String key;
+            String stringValue;
+
+            Map.Entry<K, V> e = i.next();
+            key = "\"" + (String) e.getKey() + "\"";
+            V value = e.getValue();
+
+            if (value == null) {
+                stringValue = null;
+            } else if (value instanceof BString) {
+                stringValue = "\"" + value.stringValue() + "\"";
+            } else {
+                stringValue = value.stringValue();
             }
-            return sj.toString();
-        } finally {
-            readLock.unlock();
-        }
 
+            sj.add(key + ":" + stringValue);
+        }
+        return sj.toString();
     }
 
     @Override
@@ -248,17 +492,12 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
 
     @Override
     public BValue copy() {
-        readLock.lock();
-        try {
-            BMap<K, BValue> newMap = BTypes.typeMap.getEmptyValue();
-            for (Map.Entry<K, V> entry: map.entrySet()) {
-                BValue value = entry.getValue();
-                newMap.put(entry.getKey(), value == null ? null : value.copy());
-            }
-            return newMap;
-        } finally {
-            readLock.unlock();
+        BMap<K, BValue> newMap = BTypes.typeMap.getEmptyValue();
+        for (Map.Entry<K, V> entry: entries().entrySet()) {
+            BValue value = entry.getValue();
+            newMap.put(entry.getKey(), value == null ? null : value.copy());
         }
+        return newMap;
     }
 
     @Override
@@ -282,22 +521,41 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
 
     /**
      * {@code {@link BMapIterator}} provides iterator implementation for map values.
+     * <p>
+     * A shared map is copied when the iteration starts, since other workers may change it. A local map is iterated
+     * in place, and the entries which have not been returned yet are only copied if the map is changed during the
+     * iteration, so that the change is not seen, as with a shared map.
      *
      * @since 0.96.0
      */
     static class BMapIterator<K, V extends BValue> implements BIterator {
 
+        /* the local map being iterated in place, or null once the remaining entries are copied */
         BMap<K, V> collection;
         Iterator<Map.Entry<K, V>> iterator;
+        /* the unboxed value table being iterated in place, and the position of the next entry in it */
+        UnboxedValueTable table;
+        int position;
 
         BMapIterator(BMap<K, V> value) {
+            Map<K, V> map = value.map;
+            if (map instanceof ConcurrentInsertionOrderedMap) {
+                iterator = new LinkedHashMap<>(map).entrySet().iterator();
+                return;
+            }
             collection = value;
-            iterator = new LinkedHashMap<>(value.map).entrySet().iterator();
+            if (map == null) {
+                table = value.table;
+                position = table.next(0);
+            } else {
+                iterator = map.entrySet().iterator();
+            }
+            value.addIterator(this);
         }
 
         @Override
         public BValue[] getNext(int arity) {
-            Map.Entry<K, V> next = iterator.next();
+            Map.Entry<K, V> next = nextEntry();
             if (arity == 1) {
                 return new BValue[] {next.getValue()};
             }
@@ -306,8 +564,49 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
 
         @Override
         public boolean hasNext() {
-            return iterator.hasNext();
+            boolean hasNext = table != null ? position >= 0 : iterator.hasNext();
+            if (!hasNext && collection != null) {
+                /* the map no longer has to tell this iterator about changes */
+                collection.removeIterator(this);
+                collection = null;
+            }
+            return hasNext;
+        }
+
+        @Override
+        public void close() {
+            if (collection != null) {
+                /* the iteration is left early, so the map no longer has to tell this iterator about changes */
+                collection.removeIterator(this);
+                collection = null;
+            }
+        }
+
+        /**
+         * Copies the entries which have not been returned yet, since the map is about to be changed.
+         */
+        void detach() {
+            List<Map.Entry<K, V>> remaining = new ArrayList<>();
+            while (table != null ? position >= 0 : iterator.hasNext()) {
+                Map.Entry<K, V> entry = nextEntry();
+                remaining.add(new SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+            }
+            iterator = remaining.iterator();
+            table = null;
+            collection = null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map.Entry<K, V> nextEntry() {
+            if (table == null) {
+                return iterator.next();
+            }
+            if (position < 0) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<K, V> entry = new SimpleImmutableEntry<>((K) table.key(position), (V) table.get(position));
+            position = table.next(position + 1);
+            return entry;
         }
     }
 }
-
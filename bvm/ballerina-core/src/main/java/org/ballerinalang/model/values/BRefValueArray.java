@@ -33,6 +33,9 @@ public class BRefValueArray extends BNewArray {
     private BRefType[] values;
 
     public BRefValueArray(BRefType[] values, BType type) {
+        for (BRefType value : values) {
+            BMap.shareIfMap(value);
+        }
         this.values = values;
         this.arrayType = type;
         this.size = values.length;
@@ -50,6 +53,7 @@ public class BRefValueArray extends BNewArray {
 
     public void add(long index, BRefType value) {
         prepareForAdd(index, values.length);
+        BMap.shareIfMap(value);
         values[(int) index] = value;
     }
 
@@ -183,11 +183,12 @@ public final class BStruct implements BRefType, LockableStructureType {
 
     @Override
     public void setRefField(int index, BRefType value) {
+        BMap.shareIfMap(value);
         refFields[index] = value;
     }
 
     @Override
-    public boolean lockIntField(WorkerExecutionContext ctx, int index) {
+    public boolean lockIntField(WorkerExecutionContext ctx, int index, boolean readOnly) {
         /*
         TODO below synchronization is done on non final variable(which is getting changed in copy method)
         This is ok for the time being as below synchronizations are only valid for global memory block which is
@@ -209,7 +210,7 @@ public final class BStruct implements BRefType, LockableStructureType {
                 }
             }
         }
-        return longLocks[index].lock(ctx);
+        return readOnly ? longLocks[index].readLock(ctx) : longLocks[index].lock(ctx);
     }
 
     @Override
@@ -218,7 +219,7 @@ public final class BStruct implements BRefType, LockableStructureType {
     }
 
     @Override
-    public boolean lockFloatField(WorkerExecutionContext ctx, int index) {
+    public boolean lockFloatField(WorkerExecutionContext ctx, int index, boolean readOnly) {
         /*
         TODO below synchronization is done on non final variable(which is getting changed in copy method)
         This is ok for the time being as below synchronizations are only valid for global memory block which is
@@ -240,7 +241,7 @@ public final class BStruct implements BRefType, LockableStructureType {
                 }
             }
         }
-        return doubleLocks[index].lock(ctx);
+        return readOnly ? doubleLocks[index].readLock(ctx) : doubleLocks[index].lock(ctx);
     }
 
     @Override
@@ -249,7 +250,7 @@ public final class BStruct implements BRefType, LockableStructureType {
     }
 
     @Override
-    public boolean lockStringField(WorkerExecutionContext ctx, int index) {
+    public boolean lockStringField(WorkerExecutionContext ctx, int index, boolean readOnly) {
         /*
         TODO below synchronization is done on non final variable(which is getting changed in copy method)
         This is ok for the time being as below synchronizations are only valid for global memory block which is
@@ -270,7 +271,7 @@ public final class BStruct implements BRefType, LockableStructureType {
                 }
             }
         }
-        return stringLocks[index].lock(ctx);
+        return readOnly ? stringLocks[index].readLock(ctx) : stringLocks[index].lock(ctx);
     }
 
     @Override
@@ -279,7 +280,7 @@ public final class BStruct implements BRefType, LockableStructureType {
     }
 
     @Override
-    public boolean lockBooleanField(WorkerExecutionContext ctx, int index) {
+    public boolean lockBooleanField(WorkerExecutionContext ctx, int index, boolean readOnly) {
         /*
         TODO below synchronization is done on non final variable(which is getting changed in copy method)
         This is ok for the time being as below synchronizations are only valid for global memory block which is
@@ -300,7 +301,7 @@ public final class BStruct implements BRefType, LockableStructureType {
                 }
             }
         }
-        return intLocks[index].lock(ctx);
+        return readOnly ? intLocks[index].readLock(ctx) : intLocks[index].lock(ctx);
     }
 
     @Override
@@ -309,7 +310,7 @@ public final class BStruct implements BRefType, LockableStructureType {
     }
 
     @Override
-    public boolean lockBlobField(WorkerExecutionContext ctx, int index) {
+    public boolean lockBlobField(WorkerExecutionContext ctx, int index, boolean readOnly) {
         /*
         TODO below synchronization is done on non final variable(which is getting changed in copy method)
         This is ok for the time being as below synchronizations are only valid for global memory block which is
@@ -330,7 +331,7 @@ public final class BStruct implements BRefType, LockableStructureType {
                 }
             }
         }
-        return byteLocks[index].lock(ctx);
+        return readOnly ? byteLocks[index].readLock(ctx) : byteLocks[index].lock(ctx);
     }
 
     @Override
@@ -339,7 +340,7 @@ public final class BStruct implements BRefType, LockableStructureType {
     }
 
     @Override
-    public boolean lockRefField(WorkerExecutionContext ctx, int index) {
+    public boolean lockRefField(WorkerExecutionContext ctx, int index, boolean readOnly) {
         /*
         TODO below synchronization is done on non final variable(which is getting changed in copy method)
         This is ok for the time being as below synchronizations are only valid for global memory block which is
@@ -360,7 +361,7 @@ public final class BStruct implements BRefType, LockableStructureType {
                 }
             }
         }
-        return refLocks[index].lock(ctx);
+        return readOnly ? refLocks[index].readLock(ctx) : refLocks[index].lock(ctx);
     }
 
     @Override
@@ -20,6 +20,7 @@ import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.OMNode;
 import org.apache.axiom.om.OMText;
 import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.util.XMLElementCursor;
 import org.ballerinalang.model.util.XMLNodeType;
 import org.ballerinalang.util.BLangConstants;
 import org.ballerinalang.util.exceptions.BallerinaException;
@@ -41,6 +42,12 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
 
     private BRefValueArray sequence;
 
+    /* elements which are yet to be read into the sequence, if it is read lazily */
+    private volatile XMLElementCursor elementCursor;
+
+    /* whether the elements after the ones in the sequence have been handed to an iterator, without being kept */
+    private volatile boolean streamed;
+
     /**
      * Create an empty xml sequence.
      */
@@ -56,6 +63,20 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
     public BXMLSequence(BRefValueArray sequence) {
         this.sequence = sequence;
     }
+
+    /**
+     * Initialize a {@link BXMLSequence} which reads its items from the given {@link XMLElementCursor}, as they are
+     * needed. Iterating over the sequence reads the items from the cursor one at a time, without keeping them, so
+     * that only the current item is held. Any other operation, such as getting an item by its index or the length,
+     * reads and keeps the remaining items. Once the items have been iterated without being kept, such operations
+     * fail, as the items cannot be read again.
+     *
+     * @param elementCursor cursor to read the items from
+     */
+    public BXMLSequence(XMLElementCursor elementCursor) {
+        this.sequence = new BRefValueArray(BTypes.typeXML);
+        this.elementCursor = elementCursor;
+    }
     
     /**
      * {@inheritDoc}
@@ -70,7 +91,7 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BBoolean isEmpty() {
-        return new BBoolean(sequence.size() == 0);
+        return new BBoolean(!hasItem(0));
     }
     
     /**
@@ -78,7 +99,7 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BBoolean isSingleton() {
-        return new BBoolean(sequence.size() == 1);
+        return new BBoolean(hasItem(0) && !hasItem(1));
     }
 
     /**
@@ -86,8 +107,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BString getItemType() {
-        if (sequence.size() == 1) {
-            return ((BXMLItem) sequence.get(0)).getItemType();
+        if (items().size() == 1) {
+            return ((BXMLItem) items().get(0)).getItemType();
         }
 
         return new BString(XMLNodeType.SEQUENCE.value());
@@ -98,8 +119,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BString getElementName() {
-        if (sequence.size() == 1) {
-            return ((BXMLItem) sequence.get(0)).getElementName();
+        if (items().size() == 1) {
+            return ((BXMLItem) items().get(0)).getElementName();
         }
         return BTypes.typeString.getZeroValue();
     }
@@ -110,8 +131,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
     @Override
     public BString getTextValue() {
         StringBuilder seqTextBuilder = new StringBuilder();
-        for (int i = 0; i < sequence.size(); i++) {
-            BXMLItem item = (BXMLItem) sequence.get(i);
+        for (int i = 0; i < items().size(); i++) {
+            BXMLItem item = (BXMLItem) items().get(i);
             seqTextBuilder.append(item.getTextValue().stringValue());
         }
         return new BString(seqTextBuilder.toString());
@@ -122,8 +143,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public String getAttribute(String localName, String namespace) {
-        if (sequence.size() == 1) {
-            return ((BXMLItem) sequence.get(0)).getAttribute(localName, namespace);
+        if (items().size() == 1) {
+            return ((BXMLItem) items().get(0)).getAttribute(localName, namespace);
         }
         
         return STRING_NULL_VALUE;
@@ -134,8 +155,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public String getAttribute(String localName, String namespace, String prefix) {
-        if (sequence.size() == 1) {
-            return ((BXMLItem) sequence.get(0)).getAttribute(localName, namespace, prefix);
+        if (items().size() == 1) {
+            return ((BXMLItem) items().get(0)).getAttribute(localName, namespace, prefix);
         }
         
         return STRING_NULL_VALUE;
@@ -146,8 +167,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public void setAttribute(String localName, String namespace, String prefix, String value) {
-        if (sequence.size() == 1) {
-            ((BXMLItem) sequence.get(0)).setAttribute(localName, namespace, prefix, value);
+        if (items().size() == 1) {
+            ((BXMLItem) items().get(0)).setAttribute(localName, namespace, prefix, value);
         }
     }
 
@@ -156,8 +177,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BMap<?, ?> getAttributesMap() {
-        if (sequence.size() == 1) {
-            return ((BXMLItem) sequence.get(0)).getAttributesMap();
+        if (items().size() == 1) {
+            return ((BXMLItem) items().get(0)).getAttributesMap();
         }
         
         return BTypes.typeMap.getEmptyValue();
@@ -165,8 +186,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
 
     @Override
     public void setAttributes(BMap<String, ?> attributes) {
-        if (sequence.size() == 1) {
-            ((BXMLItem) sequence.get(0)).setAttributes(attributes);
+        if (items().size() == 1) {
+            ((BXMLItem) items().get(0)).setAttributes(attributes);
         }
     }
     
@@ -177,8 +198,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
     public BXML<?> elements() {
         BRefValueArray elementsSeq = new BRefValueArray(BTypes.typeXML);
         int j = 0;
-        for (int i = 0; i < sequence.size(); i++) {
-            BXMLItem item = (BXMLItem) sequence.get(i);
+        for (int i = 0; i < items().size(); i++) {
+            BXMLItem item = (BXMLItem) items().get(i);
             if (item.getNodeType() == XMLNodeType.ELEMENT) {
                 elementsSeq.add(j++, item);
             }
@@ -194,8 +215,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
         BRefValueArray elementsSeq = new BRefValueArray(BTypes.typeXML);
         String qnameStr = getQname(qname).toString();
         int j = 0;
-        for (int i = 0; i < sequence.size(); i++) {
-            BXMLItem item = (BXMLItem) sequence.get(i);
+        for (int i = 0; i < items().size(); i++) {
+            BXMLItem item = (BXMLItem) items().get(i);
             if (item.getNodeType() == XMLNodeType.ELEMENT
                     && item.getElementName().stringValue().equals(qnameStr)) {
                 elementsSeq.add(j++, item);
@@ -211,8 +232,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
     public BXML<?> children() {
         BRefValueArray elementsSeq = new BRefValueArray(BTypes.typeXML);
         int index = 0;
-        for (int i = 0; i < sequence.size(); i++) {
-            BXMLItem element = (BXMLItem) sequence.get(i);
+        for (int i = 0; i < items().size(); i++) {
+            BXMLItem element = (BXMLItem) items().get(i);
             if (element.getNodeType() != XMLNodeType.ELEMENT) {
                 continue;
             }
@@ -234,8 +255,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
         BRefValueArray elementsSeq = new BRefValueArray();
         QName name = getQname(qname);
         int index = 0;
-        for (int i = 0; i < sequence.size(); i++) {
-            BXMLItem element = (BXMLItem) sequence.get(i);
+        for (int i = 0; i < items().size(); i++) {
+            BXMLItem element = (BXMLItem) items().get(i);
             if (element.getNodeType() != XMLNodeType.ELEMENT) {
                 continue;
             }
@@ -254,11 +275,11 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public void setChildren(BXML<?> seq) {
-        if (sequence.size() != 1) {
+        if (items().size() != 1) {
             throw new BallerinaException("not an " + XMLNodeType.ELEMENT);
         }
         
-        ((BXMLItem) sequence.get(0)).setChildren(seq);
+        ((BXMLItem) items().get(0)).setChildren(seq);
     }
 
     /**
@@ -266,11 +287,11 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public void addChildren(BXML<?> seq) {
-        if (sequence.size() != 1) {
+        if (items().size() != 1) {
             throw new BallerinaException("not an " + XMLNodeType.ELEMENT);
         }
         
-        ((BXMLItem) sequence.get(0)).addChildren(seq);
+        ((BXMLItem) items().get(0)).addChildren(seq);
     }
 
     /**
@@ -280,8 +301,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
     public BXML<?> strip() {
         BRefValueArray elementsSeq = new BRefValueArray();
         int j = 0;
-        for (int i = 0; i < sequence.size(); i++) {
-            BXMLItem element = (BXMLItem) sequence.get(i);
+        for (int i = 0; i < items().size(); i++) {
+            BXMLItem element = (BXMLItem) items().get(i);
             if (element.value() == null || (element.getNodeType() == XMLNodeType.TEXT && 
                     ((OMText) element.value()).getText().trim().isEmpty())) {
                 continue;
@@ -297,7 +318,7 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BXML<?> slice(long startIndex, long endIndex) {
-        if (startIndex > this.sequence.size() || endIndex > this.sequence.size() || startIndex < -1 || endIndex < -1) {
+        if (startIndex > items().size() || endIndex > items().size() || startIndex < -1 || endIndex < -1) {
             throw new BallerinaException("index out of range: [" + startIndex + "," + endIndex + "]");
         }
         
@@ -306,7 +327,7 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
         }
         
         if (endIndex == -1) {
-            endIndex = sequence.size();
+            endIndex = items().size();
         }
         
         if (startIndex == endIndex) {
@@ -320,7 +341,7 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
         int j = 0;
         BRefValueArray elementsSeq = new BRefValueArray();
         for (long i = startIndex; i < endIndex; i++) {
-            elementsSeq.add(j++, sequence.get(i));
+            elementsSeq.add(j++, items().get(i));
         }
         
         return new BXMLSequence(elementsSeq);
@@ -332,8 +353,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
     @Override
     public BXML<?> descendants(String qname) {
         List<BXML<?>> descendants = new ArrayList<BXML<?>>();
-        for (int i = 0; i < sequence.size(); i++) {
-            BXMLItem element = (BXMLItem) sequence.get(i);
+        for (int i = 0; i < items().size(); i++) {
+            BXMLItem element = (BXMLItem) items().get(i);
             switch (element.getNodeType()) {
                 case ELEMENT:
                     addDescendants(descendants, (OMElement) element.value(), getQname(qname).toString());
@@ -353,8 +374,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public void serializeData(OutputStream outputStream) {
-        for (int i = 0; i < sequence.size(); i++) {
-            ((BXML<?>) sequence.get(i)).serializeData(outputStream);
+        for (int i = 0; i < items().size(); i++) {
+            ((BXML<?>) items().get(i)).serializeData(outputStream);
         }
     }
 
@@ -363,7 +384,7 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BRefValueArray value() {
-        return sequence;
+        return items();
     }
 
     /**
@@ -373,8 +394,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
     public String stringValue() {
         try {
             StringBuilder sb = new StringBuilder();
-            for (int i = 0; i < sequence.size(); i++) {
-                sb.append(sequence.get(i).stringValue());
+            for (int i = 0; i < items().size(); i++) {
+                sb.append(items().get(i).stringValue());
             }
             return sb.toString();
         } catch (Throwable t) {
@@ -388,9 +409,9 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BXMLSequence copy() {
-        BRefType[] copiedVals = new BRefType[(int) sequence.size()];
-        for (int i = 0; i < sequence.size(); i++) {
-            copiedVals[i] = ((BXML<?>) sequence.get(i)).copy();
+        BRefType[] copiedVals = new BRefType[(int) items().size()];
+        for (int i = 0; i < items().size(); i++) {
+            copiedVals[i] = ((BXML<?>) items().get(i)).copy();
         }
         return new BXMLSequence(new BRefValueArray(copiedVals, BTypes.typeXML));
     }
@@ -400,14 +421,14 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BXML<?> getItem(long index) {
-        return (BXML<?>) this.sequence.get(index);
+        return (BXML<?>) items().get(index);
     }
 
     /**
      * {@inheritDoc}
      */
     public int length() {
-        return this.sequence.size;
+        return items().size;
     }
 
     /**
@@ -415,18 +436,78 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public void build() {
-        for (int i = 0; i < sequence.size(); i++) {
-            ((BXML<?>) sequence.get(i)).build();
+        for (int i = 0; i < items().size(); i++) {
+            ((BXML<?>) items().get(i)).build();
         }
     }
 
     @Override
     public void removeAttribute(String qname) {
-        if (sequence.size() != 1) {
+        if (items().size() != 1) {
             throw new BallerinaException("not an " + XMLNodeType.ELEMENT);
         }
         
-        ((BXMLItem) sequence.get(0)).removeAttribute(qname);
+        ((BXMLItem) items().get(0)).removeAttribute(qname);
+    }
+
+    /**
+     * Get the items of the sequence, after reading any remaining items from the element cursor.
+     *
+     * @return the items of the sequence
+     */
+    private BRefValueArray items() {
+        if (elementCursor != null || streamed) {
+            readItems(Long.MAX_VALUE);
+        }
+        return sequence;
+    }
+
+    /**
+     * Check whether the sequence has an item at the given index, reading the items up to it from the element cursor
+     * if they are not read yet.
+     *
+     * @param index index of the item
+     * @return true if the sequence has an item at the given index
+     */
+    private boolean hasItem(long index) {
+        if (index < sequence.size()) {
+            return true;
+        }
+        if (elementCursor == null && !streamed) {
+            return false;
+        }
+        readItems(index);
+        return index < sequence.size();
+    }
+
+    private synchronized void readItems(long index) {
+        if (streamed && index >= sequence.size()) {
+            throw new BallerinaException("xml sequence has already been streamed, and can only be iterated once");
+        }
+        while (elementCursor != null && index >= sequence.size()) {
+            if (!elementCursor.hasNext()) {
+                elementCursor = null;
+                break;
+            }
+            sequence.add(sequence.size(), elementCursor.next());
+        }
+    }
+
+    /**
+     * Hand the element cursor over to an iterator which has iterated all the items read so far, so that it reads the
+     * remaining items without keeping them in the sequence.
+     *
+     * @param index index of the next item of the iterator
+     * @return the element cursor, or null if the iterator is to read the items from the sequence
+     */
+    private synchronized XMLElementCursor stream(long index) {
+        XMLElementCursor cursor = elementCursor;
+        if (cursor == null || index < sequence.size()) {
+            return null;
+        }
+        streamed = true;
+        elementCursor = null;
+        return cursor;
     }
 
     @Override
@@ -444,22 +525,58 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
         BXMLSequence value;
         int cursor = 0;
 
+        /* the cursor the remaining items are streamed from, and the item read from it which is yet to be returned */
+        XMLElementCursor elementCursor;
+        BXMLItem nextItem;
+
         BXMLSequenceIterator(BXMLSequence bxmlSequence) {
             value = bxmlSequence;
         }
 
         @Override
         public BValue[] getNext(int arity) {
-            if (arity == 1) {
-                return new BValue[] {value.sequence.get(cursor++)};
+            if (nextItem == null && cursor >= value.sequence.size()) {
+                hasNext();
+            }
+            BValue item;
+            if (nextItem != null) {
+                item = nextItem;
+                nextItem = null;
+            } else {
+                item = value.sequence.get(cursor);
             }
             int cursor = this.cursor++;
-            return new BValue[] {new BInteger(cursor), value.sequence.get(cursor)};
+            if (arity == 1) {
+                return new BValue[] {item};
+            }
+            return new BValue[] {new BInteger(cursor), item};
         }
 
         @Override
         public boolean hasNext() {
-            return cursor < value.sequence.size();
+            if (nextItem != null || cursor < value.sequence.size()) {
+                return true;
+            }
+            if (elementCursor == null) {
+                elementCursor = value.stream(cursor);
+                if (elementCursor == null) {
+                    return value.hasItem(cursor);
+                }
+            }
+            if (elementCursor.hasNext()) {
+                nextItem = elementCursor.next();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void close() {
+            nextItem = null;
+            if (elementCursor != null) {
+                // The iteration is left before the end of the document, which is not read any further
+                elementCursor.close();
+            }
         }
     }
 }
@@ -26,27 +26,27 @@ import org.ballerinalang.bre.bvm.WorkerExecutionContext;
  */
 public interface LockableStructureType extends StructureType {
 
-    boolean lockIntField(WorkerExecutionContext ctx, int index);
+    boolean lockIntField(WorkerExecutionContext ctx, int index, boolean readOnly);
 
     void unlockIntField(int index);
 
-    boolean lockFloatField(WorkerExecutionContext ctx, int index);
+    boolean lockFloatField(WorkerExecutionContext ctx, int index, boolean readOnly);
 
     void unlockFloatField(int index);
 
-    boolean lockStringField(WorkerExecutionContext ctx, int index);
+    boolean lockStringField(WorkerExecutionContext ctx, int index, boolean readOnly);
 
     void unlockStringField(int index);
 
-    boolean lockBooleanField(WorkerExecutionContext ctx, int index);
+    boolean lockBooleanField(WorkerExecutionContext ctx, int index, boolean readOnly);
 
     void unlockBooleanField(int index);
 
-    boolean lockBlobField(WorkerExecutionContext ctx, int index);
+    boolean lockBlobField(WorkerExecutionContext ctx, int index, boolean readOnly);
 
     void unlockBlobField(int index);
 
-    boolean lockRefField(WorkerExecutionContext ctx, int index);
+    boolean lockRefField(WorkerExecutionContext ctx, int index, boolean readOnly);
 
     void unlockRefField(int index);
 }
@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.model.values;
+
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.TypeTags;
+
+import java.util.Arrays;
+
+/**
+ * {@code UnboxedValueTable} holds the entries of a {@code map<int>}, {@code map<float>} or {@code map<string>}
+ * without boxing the values.
+ * <p>
+ * The entries are kept in insertion order in dense key and value arrays, and are looked up through an open
+ * addressing index of entry positions, which is at most half full. Removed entries are marked in place, and are
+ * dropped the next time the arrays are resized. The table is not thread safe; a {@link BMap} only uses it while
+ * the map is local to a worker.
+ *
+ * @since 0.974.1
+ */
+abstract class UnboxedValueTable {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    /* marks a removed entry; compared by identity, so it never equals a real key */
+    private static final String REMOVED = new String("");
+
+    String[] keys = new String[INITIAL_CAPACITY];
+
+    /* positions of the entries plus one, with zero for an empty slot */
+    private int[] index = new int[INITIAL_CAPACITY * 2];
+
+    private int used;
+
+    private int size;
+
+    /**
+     * Creates a table for the values of the given map constraint.
+     *
+     * @param constraint constraint type of the map
+     * @return the table, or null if the values of the constraint are not kept unboxed
+     */
+    static UnboxedValueTable forConstraint(BType constraint) {
+        switch (constraint.getTag()) {
+            case TypeTags.INT_TAG:
+                return new IntTable();
+            case TypeTags.FLOAT_TAG:
+                return new FloatTable();
+            case TypeTags.STRING_TAG:
+                return new StringTable();
+            default:
+                return null;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the position of the entry of the given key.
+     *
+     * @param key the key
+     * @return position of the entry, or -1 if there is no such entry
+     */
+    int find(String key) {
+        int mask = index.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            int position = index[slot] - 1;
+            if (position < 0) {
+                return -1;
+            }
+            String entryKey = keys[position];
+            if (entryKey != REMOVED && (entryKey == null ? key == null : entryKey.equals(key))) {
+                return position;
+            }
+        }
+    }
+
+    /**
+     * Returns the position of the entry of the given key, adding an entry at the end if there is none.
+     *
+     * @param key the key
+     * @return position of the entry
+     */
+    int findOrAdd(String key) {
+        int position = find(key);
+        if (position >= 0) {
+            return position;
+        }
+        if (used == keys.length) {
+            /* grow only when compacting the removed entries would not make enough room */
+            resize(size >= keys.length / 2 ? keys.length * 2 : keys.length);
+        }
+        position = used++;
+        keys[position] = key;
+        addToIndex(position);
+        size++;
+        return position;
+    }
+
+    boolean remove(String key) {
+        int position = find(key);
+        if (position < 0) {
+            return false;
+        }
+        keys[position] = REMOVED;
+        clearValue(position);
+        size--;
+        return true;
+    }
+
+    void clear() {
+        Arrays.fill(keys, 0, used, null);
+        Arrays.fill(index, 0);
+        for (int i = 0; i < used; i++) {
+            clearValue(i);
+        }
+        used = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns the position of the first entry at or after the given position.
+     *
+     * @param position the position to start from
+     * @return position of the entry, or -1 if there are no more entries
+     */
+    int next(int position) {
+        for (int i = position; i < used; i++) {
+            if (keys[i] != REMOVED) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    String key(int position) {
+        return keys[position];
+    }
+
+    /**
+     * Returns the boxed value of the entry at the given position.
+     *
+     * @param position position of the entry
+     * @return the boxed value
+     */
+    abstract BValue get(int position);
+
+    /**
+     * Stores the given boxed value in the entry of the given key.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return false if the value cannot be kept unboxed in this table, in which case the table is unchanged
+     */
+    abstract boolean put(String key, BValue value);
+
+    abstract void resizeValues(int capacity);
+
+    abstract void moveValue(int from, int to);
+
+    abstract void clearValue(int position);
+
+    private void resize(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+        resizeValues(capacity);
+        int live = 0;
+        for (int i = 0; i < used; i++) {
+            if (keys[i] != REMOVED) {
+                keys[live] = keys[i];
+                moveValue(i, live);
+                live++;
+            }
+        }
+        for (int i = live; i < used; i++) {
+            keys[i] = null;
+            clearValue(i);
+        }
+        used = live;
+        index = new int[capacity * 2];
+        for (int i = 0; i < used; i++) {
+            addToIndex(i);
+        }
+    }
+
+    private void addToIndex(int position) {
+        int mask = index.length - 1;
+        int slot = hash(keys[position]) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = position + 1;
+    }
+
+    private static int hash(String key) {
+        if (key == null) {
+            return 0;
+        }
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Values of a {@code map<int>}.
+     */
+    static final class IntTable extends UnboxedValueTable {
+
+        long[] values = new long[keys.length];
+
+        @Override
+        BValue get(int position) {
+            return new BInteger(values[position]);
+        }
+
+        @Override
+        boolean put(String key, BValue value) {
+            if (!(value instanceof BInteger)) {
+                return false;
+            }
+            values[findOrAdd(key)] = ((BInteger) value).intValue();
+            return true;
+        }
+
+        @Override
+        void resizeValues(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void moveValue(int from, int to) {
+            values[to] = values[from];
+        }
+
+        @Override
+        void clearValue(int position) {
+            values[position] = 0;
+        }
+    }
+
+    /**
+     * Values of a {@code map<float>}.
+     */
+    static final class FloatTable extends UnboxedValueTable {
+
+        double[] values = new double[keys.length];
+
+        @Override
+        BValue get(int position) {
+            return new BFloat(values[position]);
+        }
+
+        @Override
+        boolean put(String key, BValue value) {
+            if (!(value instanceof BFloat)) {
+                return false;
+            }
+            values[findOrAdd(key)] = ((BFloat) value).floatValue();
+            return true;
+        }
+
+        @Override
+        void resizeValues(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void moveValue(int from, int to) {
+            values[to] = values[from];
+        }
+
+        @Override
+        void clearValue(int position) {
+            values[position] = 0;
+        }
+    }
+
+    /**
+     * Values of a {@code map<string>}.
+     */
+    static final class StringTable extends UnboxedValueTable {
+
+        String[] values = new String[keys.length];
+
+        @Override
+        BValue get(int position) {
+            return new BString(values[position]);
+        }
+
+        @Override
+        boolean put(String key, BValue value) {
+            if (!(value instanceof BString)) {
+                return false;
+            }
+            values[findOrAdd(key)] = value.stringValue();
+            return true;
+        }
+
+        @Override
+        void resizeValues(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void moveValue(int from, int to) {
+            values[to] = values[from];
+        }
+
+        @Override
+        void clearValue(int position) {
+            values[position] = null;
+        }
+    }
+}
@@ -23,9 +23,22 @@ import org.omg.PortableServer.ThreadPolicyOperations;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * {@code ThreadPoolFactory} holds the thread pools in Ballerina engine.
+ * <p>
+ * Two scheduler modes are supported, selected with {@code b7a.runtime.scheduler.mode}:
+ * <ul>
+ *     <li>{@code pool} (default) - a fixed size thread pool with a single shared run queue</li>
+ *     <li>{@code workstealing} - a core sized pool with a run queue per thread and work stealing, where a
+ *     context scheduled from a worker thread is pushed to that thread's own queue and is executed next</li>
+ * </ul>
+ * If {@code b7a.runtime.scheduler.offloadblockingnatives} is set, I/O bound blocking native calls are run in a
+ * separate elastic thread pool, so the worker thread pool can be kept at around the number of cores.
  *
  * @since 0.8.0
  */
@@ -35,34 +48,79 @@ public class ThreadPoolFactory {
     private static final int MAX_THREAD_POOL_SIZE = 1000;
     private static final int MIN_THREAD_POOL_SIZE = 1;
 
+    private static final int DEFAULT_YIELD_INTERVAL = 10000;
+
     private static final String WORKER_THREAD_POOL_SIZE_PROP = "b7a.runtime.scheduler.threadpoolsize";
+    private static final String SCHEDULER_MODE_PROP = "b7a.runtime.scheduler.mode";
+    private static final String SCHEDULER_PARALLELISM_PROP = "b7a.runtime.scheduler.parallelism";
+    private static final String SCHEDULER_YIELD_INTERVAL_PROP = "b7a.runtime.scheduler.yieldinterval";
+    private static final String BLOCKING_NATIVE_OFFLOAD_PROP = "b7a.runtime.scheduler.offloadblockingnatives";
+
+    private static final String SCHEDULER_MODE_POOL = "pool";
+    private static final String SCHEDULER_MODE_WORK_STEALING = "workstealing";
 
     private static ThreadPoolFactory instance;
 
     private ExecutorService workerExecutor;
 
+    private boolean workStealing;
+
+    private int yieldInterval;
+
+    private ExecutorService blockingNativeExecutor;
+
     private ThreadPoolFactory() {
-        int poolSize = this.extractThreadPoolSize();
-        this.workerExecutor = Executors.newFixedThreadPool(poolSize,
-                new BLangThreadFactory(new ThreadGroup("worker"), "worker-thread-pool"));
+        this.workStealing = this.extractWorkStealingMode();
+        if (this.workStealing) {
+            int parallelism = this.extractIntProperty(SCHEDULER_PARALLELISM_PROP,
+                    Runtime.getRuntime().availableProcessors(), MIN_THREAD_POOL_SIZE, MAX_THREAD_POOL_SIZE);
+            /* asyncMode is false, so a worker thread pops its own queue in LIFO order, while idle threads
+             * steal from the other end of it */
+            this.workerExecutor = new ForkJoinPool(parallelism,
+                    new BLangForkJoinWorkerThreadFactory("worker-thread-pool"), null, false);
+            this.yieldInterval = this.extractIntProperty(SCHEDULER_YIELD_INTERVAL_PROP, DEFAULT_YIELD_INTERVAL,
+                    0, Integer.MAX_VALUE);
+        } else {
+            int poolSize = this.extractIntProperty(WORKER_THREAD_POOL_SIZE_PROP, DEFAULT_THREAD_POOL_SIZE,
+                    MIN_THREAD_POOL_SIZE, MAX_THREAD_POOL_SIZE);
+            this.workerExecutor = Executors.newFixedThreadPool(poolSize,
+                    new BLangThreadFactory(new ThreadGroup("worker"), "worker-thread-pool"));
+            this.yieldInterval = this.extractIntProperty(SCHEDULER_YIELD_INTERVAL_PROP, 0, 0, Integer.MAX_VALUE);
+        }
+        if (Boolean.parseBoolean(ConfigRegistry.getInstance().getAsString(BLOCKING_NATIVE_OFFLOAD_PROP))) {
+            /* an elastic pool, since the threads here spend their time blocked on I/O rather than on the CPU */
+            this.blockingNativeExecutor = Executors.newCachedThreadPool(
+                    new BLangThreadFactory(new ThreadGroup("blocking-native"), "blocking-native-thread-pool"));
+        }
     };
-    
-    private int extractThreadPoolSize() {
-        int poolSize = DEFAULT_THREAD_POOL_SIZE;
-        String workerThreadPoolSizeProp = ConfigRegistry.getInstance().getAsString(WORKER_THREAD_POOL_SIZE_PROP);
-        if (workerThreadPoolSizeProp != null) {
+
+    private boolean extractWorkStealingMode() {
+        String modeProp = ConfigRegistry.getInstance().getAsString(SCHEDULER_MODE_PROP);
+        if (modeProp == null || SCHEDULER_MODE_POOL.equalsIgnoreCase(modeProp)) {
+            return false;
+        }
+        if (SCHEDULER_MODE_WORK_STEALING.equalsIgnoreCase(modeProp)) {
+            return true;
+        }
+        throw new BallerinaException("invalid value for '" + SCHEDULER_MODE_PROP + "': " + modeProp
+                + ", expected '" + SCHEDULER_MODE_POOL + "' or '" + SCHEDULER_MODE_WORK_STEALING + "'");
+    }
+
+    private int extractIntProperty(String propName, int defaultValue, int min, int max) {
+        int value = defaultValue;
+        String prop = ConfigRegistry.getInstance().getAsString(propName);
+        if (prop != null) {
             try {
-                poolSize = Integer.parseInt(workerThreadPoolSizeProp);
-                if (poolSize < MIN_THREAD_POOL_SIZE || poolSize > MAX_THREAD_POOL_SIZE) {
-                    throw new BallerinaException(WORKER_THREAD_POOL_SIZE_PROP + " must be between "
-                            + MIN_THREAD_POOL_SIZE + " and " + MAX_THREAD_POOL_SIZE + " (inclusive)");
+                value = Integer.parseInt(prop);
+                if (value < min || value > max) {
+                    throw new BallerinaException(propName + " must be between "
+                            + min + " and " + max + " (inclusive)");
                 }
             } catch (NumberFormatException ignore) { 
-                throw new BallerinaException("invalid value for '" + WORKER_THREAD_POOL_SIZE_PROP 
-                        + "': " + workerThreadPoolSizeProp);
+                throw new BallerinaException("invalid value for '" + propName + "': " + prop);
             }
         }
-        return poolSize;
+        return value;
     }
 
     public static ThreadPoolFactory getInstance() {
@@ -80,4 +138,72 @@ public class ThreadPoolFactory {
         return workerExecutor;
     }
 
+    /**
+     * Submits a worker task for execution. In work-stealing mode, a task submitted from one of the
+     * scheduler's own threads is pushed to that thread's local queue, so it is the next one to run there.
+     *
+     * @param task the task to be executed
+     */
+    public void execute(Runnable task) {
+        this.execute(task, false);
+    }
+
+    /**
+     * Submits a worker task for execution. A task yielded by a running worker is not pushed to the local queue
+     * in work-stealing mode, since it would be popped again right away, but to the shared submission queue, so
+     * the work already queued on the thread runs first.
+     *
+     * @param task    the task to be executed
+     * @param yielded whether the task is a worker which gave up its thread
+     */
+    public void execute(Runnable task, boolean yielded) {
+        if (this.workStealing && !yielded) {
+            Thread currentThread = Thread.currentThread();
+            if (currentThread instanceof ForkJoinWorkerThread
+                    && ((ForkJoinWorkerThread) currentThread).getPool() == this.workerExecutor) {
+                ForkJoinTask.adapt(task).fork();
+                return;
+            }
+        }
+        this.workerExecutor.execute(task);
+    }
+
+    /**
+     * Returns an estimate of the number of worker tasks waiting in the run queues for a thread.
+     *
+     * @return the queued task count
+     */
+    public long getQueuedTaskCount() {
+        if (this.workerExecutor instanceof ForkJoinPool) {
+            ForkJoinPool pool = (ForkJoinPool) this.workerExecutor;
+            return pool.getQueuedTaskCount() + pool.getQueuedSubmissionCount();
+        }
+        if (this.workerExecutor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) this.workerExecutor).getQueue().size();
+        }
+        return 0;
+    }
+
+    public ExecutorService getBlockingNativeExecutor() {
+        return blockingNativeExecutor;
+    }
+
+    public boolean isBlockingNativeOffloadEnabled() {
+        return blockingNativeExecutor != null;
+    }
+
+    public boolean isWorkStealingEnabled() {
+        return workStealing;
+    }
+
+    /**
+     * Returns the number of backward jumps a worker may execute before it yields its thread to other
+     * ready workers. A value of zero disables cooperative yielding.
+     *
+     * @return the yield interval
+     */
+    public int getYieldInterval() {
+        return yieldInterval;
+    }
+
 }
@@ -18,7 +18,9 @@
 package org.ballerinalang.util.codegen;
 
 import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.TypeCheckCache;
 import org.ballerinalang.util.codegen.cpentries.ForkJoinCPEntry;
+import org.ballerinalang.util.codegen.cpentries.FunctionCallCPEntry;
 
 import java.util.Arrays;
 import java.util.StringJoiner;
@@ -120,6 +122,36 @@ public class Instruction {
         }
     }
 
+    /**
+     * {@code InstructionFPCALL} represents the FPCALL instruction in Ballerina bytecode.
+     * <p>
+     * The FPCALL instruction invokes the function a function pointer refers to. The argument and return registers are
+     * kept in the instruction, and not in the constant pool, which is fixed by the time the instructions are decoded.
+     *
+     * @since 0.974.1
+     */
+    public static class InstructionFPCALL extends Instruction {
+
+        public FunctionCallCPEntry funcCallCPEntry;
+
+        InstructionFPCALL(int opcode, int funcPointerRegIndex, FunctionCallCPEntry funcCallCPEntry) {
+            super(opcode, funcPointerRegIndex);
+            this.funcCallCPEntry = funcCallCPEntry;
+        }
+
+        @Override
+        public String toString() {
+            StringJoiner sj = new StringJoiner(" ");
+            sj.add(String.valueOf(operands[0]));
+            sj.add(String.valueOf(funcCallCPEntry.getFlags()));
+            sj.add(String.valueOf(funcCallCPEntry.getArgRegs().length));
+            Arrays.stream(funcCallCPEntry.getArgRegs()).forEach(i -> sj.add(String.valueOf(i)));
+            sj.add(String.valueOf(funcCallCPEntry.getRetRegs().length));
+            Arrays.stream(funcCallCPEntry.getRetRegs()).forEach(i -> sj.add(String.valueOf(i)));
+            return Mnemonics.getMnem(opcode) + " " + sj.toString();
+        }
+    }
+
     /**
      * {@code InstructionACALL} represents the ACALL instruction in Ballerina bytecode.
      * <p>
@@ -268,4 +300,33 @@ public class Instruction {
             return Mnemonics.getMnem(opcode) + " " + sj.toString();
         }
     }
+
+    /**
+     * {@code InstructionQuickened} represents an instruction rewritten at load time by the
+     * {@link InstructionQuickener}. It is either a superinstruction, which executes the replaced instruction
+     * together with the one following it, or a type specialized variant of the replaced instruction.
+     * <p>
+     * The operands of a superinstruction are the operands of the replaced instruction followed by the operands
+     * of the next instruction. The next instruction itself is left in place, so jumps to it are not affected.
+     * A type cast or type test variant keeps the results for the runtime types it has seen in its inline cache.
+     *
+     * @since 0.974.1
+     */
+    public static class InstructionQuickened extends Instruction {
+
+        public Instruction original;
+        public long longValue;
+        public BType type;
+        public TypeCheckCache typeCheckCache = TypeCheckCache.EMPTY;
+
+        InstructionQuickened(int opcode, Instruction original, int... operands) {
+            super(opcode, operands);
+            this.original = original;
+        }
+
+        @Override
+        public String toString() {
+            return Mnemonics.getMnem(opcode) + " (" + original.toString() + ")";
+        }
+    }
 }
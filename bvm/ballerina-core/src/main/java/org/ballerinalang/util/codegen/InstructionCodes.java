@@ -74,6 +74,12 @@ public interface InstructionCodes {
 
     int MAPLOAD = 46;
     int JSONLOAD = 47;
+    int IMAPLOAD = 48;
+    int FMAPLOAD = 49;
+    int SMAPLOAD = 50;
+    int IMAPSTORE = 51;
+    int FMAPSTORE = 52;
+    int SMAPSTORE = 53;
 
     int IASTORE = 55;
     int FASTORE = 56;
@@ -222,6 +228,8 @@ public interface InstructionCodes {
 
     int LOCK = 185;
     int UNLOCK = 186;
+    int READ_LOCK = 224;
+    int READ_UNLOCK = 225;
 
     // Transactions
     int TR_BEGIN = 188;
@@ -260,6 +268,7 @@ public interface InstructionCodes {
     int ITR_HAS_NEXT = 221;
     int ITR_NEXT = 222;
     int INT_RANGE = 223;
+    int ITR_CLOSE = 226;
 
     int IRET = 229;
     int FRET = 230;
@@ -292,4 +301,21 @@ public interface InstructionCodes {
     int TNE = 254;
 
     int INSTRUCTION_CODE_COUNT = 255;
+
+    // Quickened instructions. These are never emitted by the compiler, but are created in memory by the
+    // InstructionQuickener, after a package is loaded.
+    int ICONST_IADD = 256;
+    int IALOAD_IADD = 257;
+    int IEQ_BR_FALSE = 258;
+    int INE_BR_FALSE = 259;
+    int IGT_BR_FALSE = 260;
+    int IGE_BR_FALSE = 261;
+    int ILT_BR_FALSE = 262;
+    int ILE_BR_FALSE = 263;
+    int CHECKCAST_ANY = 264;
+    int CHECKCAST_STRUCT = 265;
+    int CHECKCAST_CACHED = 266;
+    int IS_ASSIGNABLE_CACHED = 267;
+
+    int QUICKENED_INSTRUCTION_CODE_COUNT = 268;
 }
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.util.codegen;
+
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.TypeCheckCache;
+import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.util.codegen.Instruction.InstructionQuickened;
+import org.ballerinalang.util.codegen.cpentries.ConstantPoolEntry;
+import org.ballerinalang.util.codegen.cpentries.IntegerCPEntry;
+import org.ballerinalang.util.codegen.cpentries.TypeRefCPEntry;
+
+/**
+ * {@code InstructionQuickener} rewrites the instructions of a loaded package into faster forms.
+ * <p>
+ * Common instruction pairs are fused into superinstructions, and generic type cast and type test instructions
+ * are replaced with variants specialized for their (already resolved) target type, which cache their results by
+ * the runtime type of the checked value. Instruction addresses are never changed: a superinstruction replaces
+ * only the first instruction of a pair, and skips the second one, which is kept as it is for any jumps that
+ * target it. Quickening can be disabled with {@code b7a.runtime.quickening=false},
+ * and is reverted when a debugger is attached.
+ *
+ * @since 0.974.1
+ */
+public class InstructionQuickener {
+
+    private static final String QUICKENING_CONFIG_PROP = "b7a.runtime.quickening";
+
+    private InstructionQuickener() { }
+
+    public static boolean isEnabled() {
+        String quickeningProp = ConfigRegistry.getInstance().getAsString(QUICKENING_CONFIG_PROP);
+        return quickeningProp == null || Boolean.parseBoolean(quickeningProp);
+    }
+
+    /**
+     * Quickens the instructions of the given package in place.
+     *
+     * @param packageInfo the package, which has already been completed
+     */
+    public static void quicken(PackageInfo packageInfo) {
+        quicken(packageInfo.getInstructions(), packageInfo.getConstPoolEntries());
+    }
+
+    /**
+     * Quickens the given instructions of a package in place.
+     *
+     * @param code      the instructions
+     * @param constPool the constant pool of the package
+     */
+    static void quicken(Instruction[] code, ConstantPoolEntry[] constPool) {
+        int ip = 0;
+        while (ip < code.length) {
+            Instruction current = code[ip];
+            Instruction next = ip + 1 < code.length ? code[ip + 1] : null;
+            Instruction quickened = fuse(current, next, constPool);
+            if (quickened != null) {
+                code[ip] = quickened;
+                /* the next instruction is executed by the superinstruction, so it cannot start another pair */
+                ip += 2;
+                continue;
+            }
+            quickened = specialize(current, constPool);
+            if (quickened != null) {
+                code[ip] = quickened;
+            }
+            ip++;
+        }
+    }
+
+    /**
+     * Restores the original instructions of all the packages in the given program.
+     *
+     * @param programFile the program file
+     */
+    public static void dequicken(ProgramFile programFile) {
+        for (PackageInfo packageInfo : programFile.getPackageInfoEntries()) {
+            Instruction[] code = packageInfo.getInstructions();
+            if (code == null) {
+                continue;
+            }
+            for (int ip = 0; ip < code.length; ip++) {
+                if (code[ip] instanceof InstructionQuickened) {
+                    code[ip] = ((InstructionQuickened) code[ip]).original;
+                }
+            }
+        }
+    }
+
+    private static Instruction fuse(Instruction current, Instruction next, ConstantPoolEntry[] constPool) {
+        if (next == null || next instanceof InstructionQuickened || current.getClass() != Instruction.class
+                || next.getClass() != Instruction.class) {
+            return null;
+        }
+        int[] ops = current.operands;
+        int[] nextOps = next.operands;
+        switch (current.opcode) {
+            case InstructionCodes.ICONST:
+                if (next.opcode != InstructionCodes.IADD) {
+                    return null;
+                }
+                InstructionQuickened iconstIAdd = new InstructionQuickened(InstructionCodes.ICONST_IADD, current,
+                        concat(ops, nextOps));
+                iconstIAdd.longValue = ((IntegerCPEntry) constPool[ops[0]]).getValue();
+                return iconstIAdd;
+            case InstructionCodes.IALOAD:
+                if (next.opcode != InstructionCodes.IADD) {
+                    return null;
+                }
+                return new InstructionQuickened(InstructionCodes.IALOAD_IADD, current, concat(ops, nextOps));
+            case InstructionCodes.IEQ:
+            case InstructionCodes.INE:
+            case InstructionCodes.IGT:
+            case InstructionCodes.IGE:
+            case InstructionCodes.ILT:
+            case InstructionCodes.ILE:
+                /* only fuse when the branch tests the result of this comparison */
+                if (next.opcode != InstructionCodes.BR_FALSE || nextOps[0] != ops[2]) {
+                    return null;
+                }
+                return new InstructionQuickened(getCmpBranchOpcode(current.opcode), current,
+                        concat(ops, nextOps));
+            default:
+                return null;
+        }
+    }
+
+    private static int getCmpBranchOpcode(int cmpOpcode) {
+        switch (cmpOpcode) {
+            case InstructionCodes.IEQ:
+                return InstructionCodes.IEQ_BR_FALSE;
+            case InstructionCodes.INE:
+                return InstructionCodes.INE_BR_FALSE;
+            case InstructionCodes.IGT:
+                return InstructionCodes.IGT_BR_FALSE;
+            case InstructionCodes.IGE:
+                return InstructionCodes.IGE_BR_FALSE;
+            case InstructionCodes.ILT:
+                return InstructionCodes.ILT_BR_FALSE;
+            default:
+                return InstructionCodes.ILE_BR_FALSE;
+        }
+    }
+
+    private static Instruction specialize(Instruction current, ConstantPoolEntry[] constPool) {
+        if (current.getClass() != Instruction.class) {
+            return null;
+        }
+        BType targetType;
+        InstructionQuickened quickened;
+        switch (current.opcode) {
+            case InstructionCodes.ANY2E:
+            case InstructionCodes.ANY2T:
+            case InstructionCodes.ANY2C:
+            case InstructionCodes.CHECKCAST:
+                targetType = ((TypeRefCPEntry) constPool[current.operands[1]]).getType();
+                if (targetType == null) {
+                    return null;
+                }
+                if (targetType.getTag() == TypeTags.ANY_TAG) {
+                    quickened = new InstructionQuickened(InstructionCodes.CHECKCAST_ANY, current, current.operands);
+                } else if (targetType.getTag() == TypeTags.OBJECT_TYPE_TAG
+                        || targetType.getTag() == TypeTags.RECORD_TYPE_TAG) {
+                    quickened = new InstructionQuickened(InstructionCodes.CHECKCAST_STRUCT, current,
+                            current.operands);
+                } else if (TypeCheckCache.isCacheableTarget(targetType)) {
+                    quickened = new InstructionQuickened(InstructionCodes.CHECKCAST_CACHED, current,
+                            current.operands);
+                } else {
+                    return null;
+                }
+                quickened.type = targetType;
+                return quickened;
+            case InstructionCodes.IS_ASSIGNABLE:
+                targetType = ((TypeRefCPEntry) constPool[current.operands[1]]).getType();
+                if (targetType == null || !TypeCheckCache.isCacheableTarget(targetType)) {
+                    return null;
+                }
+                quickened = new InstructionQuickened(InstructionCodes.IS_ASSIGNABLE_CACHED, current,
+                        current.operands);
+                quickened.type = targetType;
+                return quickened;
+            default:
+                return null;
+        }
+    }
+
+    private static int[] concat(int[] first, int[] second) {
+        int[] result = new int[first.length + second.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+}
@@ -21,7 +21,7 @@ package org.ballerinalang.util.codegen;
  * @since 0.87
  */
 public class Mnemonics {
-    private static final String[] mnemonics = new String[InstructionCodes.INSTRUCTION_CODE_COUNT];
+    private static final String[] mnemonics = new String[InstructionCodes.QUICKENED_INSTRUCTION_CODE_COUNT];
 
     static {
         mnemonics[InstructionCodes.ICONST] = "iconst";
@@ -93,6 +93,12 @@ public class Mnemonics {
 
         mnemonics[InstructionCodes.MAPLOAD] = "mapload";
         mnemonics[InstructionCodes.MAPSTORE] = "mapstore";
+        mnemonics[InstructionCodes.IMAPLOAD] = "imapload";
+        mnemonics[InstructionCodes.FMAPLOAD] = "fmapload";
+        mnemonics[InstructionCodes.SMAPLOAD] = "smapload";
+        mnemonics[InstructionCodes.IMAPSTORE] = "imapstore";
+        mnemonics[InstructionCodes.FMAPSTORE] = "fmapstore";
+        mnemonics[InstructionCodes.SMAPSTORE] = "smapstore";
         mnemonics[InstructionCodes.JSONLOAD] = "jsonload";
         mnemonics[InstructionCodes.JSONSTORE] = "jsonstore";
 
@@ -240,6 +246,7 @@ public class Mnemonics {
         mnemonics[InstructionCodes.ITR_NEW] = "itr_new";
         mnemonics[InstructionCodes.ITR_HAS_NEXT] = "itr_has_next";
         mnemonics[InstructionCodes.ITR_NEXT] = "itr_next";
+        mnemonics[InstructionCodes.ITR_CLOSE] = "itr_close";
         mnemonics[InstructionCodes.INT_RANGE] = "int_range";
 
         mnemonics[InstructionCodes.IRET] = "iret";
@@ -270,6 +277,21 @@ public class Mnemonics {
         mnemonics[InstructionCodes.S2JSONX] = "s2jsonx";
         mnemonics[InstructionCodes.LOCK] = "lock";
         mnemonics[InstructionCodes.UNLOCK] = "unlock";
+        mnemonics[InstructionCodes.READ_LOCK] = "read_lock";
+        mnemonics[InstructionCodes.READ_UNLOCK] = "read_unlock";
+
+        mnemonics[InstructionCodes.ICONST_IADD] = "iconst_iadd";
+        mnemonics[InstructionCodes.IALOAD_IADD] = "iaload_iadd";
+        mnemonics[InstructionCodes.IEQ_BR_FALSE] = "ieq_br_false";
+        mnemonics[InstructionCodes.INE_BR_FALSE] = "ine_br_false";
+        mnemonics[InstructionCodes.IGT_BR_FALSE] = "igt_br_false";
+        mnemonics[InstructionCodes.IGE_BR_FALSE] = "ige_br_false";
+        mnemonics[InstructionCodes.ILT_BR_FALSE] = "ilt_br_false";
+        mnemonics[InstructionCodes.ILE_BR_FALSE] = "ile_br_false";
+        mnemonics[InstructionCodes.CHECKCAST_ANY] = "checkcast_any";
+        mnemonics[InstructionCodes.CHECKCAST_STRUCT] = "checkcast_struct";
+        mnemonics[InstructionCodes.CHECKCAST_CACHED] = "checkcast_cached";
+        mnemonics[InstructionCodes.IS_ASSIGNABLE_CACHED] = "is_assignable_cached";
     }
 
     public static String getMnem(int opcode) {
@@ -22,6 +22,8 @@ import org.wso2.ballerinalang.compiler.util.Names;
 import org.wso2.ballerinalang.programfile.CompiledBinaryFile.PackageFile;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -30,6 +32,8 @@ import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -44,11 +48,18 @@ import static org.wso2.ballerinalang.compiler.util.ProjectDirConstants.DOT_BALLE
 
 /**
  * Reads a Ballerina package from a BALO.
+ * <p>
+ * The package binaries extracted from the BALOs are kept for the lifetime of the VM, so that the builtin package,
+ * which every program loads, is only extracted once. Only the binary of the current version of each BALO is kept.
  *
  * @since 0.975.0
  */
 public class PackageFileReader {
 
+    private static final Map<Path, CompiledPackageBinary> COMPILED_PACKAGE_BINARIES = new ConcurrentHashMap<>();
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
     private ProgramFile programFile;
 
     public PackageFileReader(ProgramFile programFile) {
@@ -62,7 +73,7 @@ public class PackageFileReader {
         String pkgName = packageId.replaceFirst("^ballerina\\/", "");
 
         try {
-            readPackage(getCompiledPackageBinary(pkgName));
+            readPackage(new ByteArrayInputStream(getCompiledPackageBinary(pkgName)));
         } catch (IOException e) {
             throw new BLangRuntimeException("error while reading package: " + packageId);
         }
@@ -104,15 +115,49 @@ public class PackageFileReader {
         pkgInfoReader.readPackageInfo();
     }
 
-    private InputStream getCompiledPackageBinary(String pkgName) throws IOException {
+    private static byte[] getCompiledPackageBinary(String pkgName) throws IOException {
         String ballerinaHome = System.getProperty(BALLERINA_HOME);
         Path libsPath = Paths.get(ballerinaHome, BALLERINA_HOME_LIB, DOT_BALLERINA_REPO_DIR_NAME,
                 BALLERINA_BUILTIN_PKG_PREFIX, pkgName, Names.DEFAULT_VERSION.value, pkgName + BLANG_COMPILED_PKG_EXT);
 
-        ZipFile zipFile = new ZipFile(libsPath.toFile());
-        ZipEntry zipEntry =
-                zipFile.getEntry(USER_REPO_OBJ_DIRNAME + "/" + pkgName + BLANG_COMPILED_PACKAGE_FILE_SUFFIX);
-        InputStream is = zipFile.getInputStream(zipEntry);
-        return is;
+        // A BALO replaced while the VM runs is read again, and its old binary is dropped
+        long lastModified = Files.getLastModifiedTime(libsPath).toMillis();
+        CompiledPackageBinary binary = COMPILED_PACKAGE_BINARIES.get(libsPath);
+        if (binary == null || binary.lastModified != lastModified) {
+            binary = new CompiledPackageBinary(lastModified, extractCompiledPackageBinary(libsPath, pkgName));
+            COMPILED_PACKAGE_BINARIES.put(libsPath, binary);
+        }
+        return binary.bytes;
+    }
+
+    private static byte[] extractCompiledPackageBinary(Path libsPath, String pkgName) throws IOException {
+        try (ZipFile zipFile = new ZipFile(libsPath.toFile())) {
+            ZipEntry zipEntry =
+                    zipFile.getEntry(USER_REPO_OBJ_DIRNAME + "/" + pkgName + BLANG_COMPILED_PACKAGE_FILE_SUFFIX);
+            try (InputStream is = zipFile.getInputStream(zipEntry)) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(
+                        zipEntry.getSize() > 0 ? (int) zipEntry.getSize() : READ_BUFFER_SIZE);
+                byte[] buffer = new byte[READ_BUFFER_SIZE];
+                int count;
+                while ((count = is.read(buffer)) != -1) {
+                    out.write(buffer, 0, count);
+                }
+                return out.toByteArray();
+            }
+        }
+    }
+
+    /**
+     * The package binary extracted from a BALO, with the modified time the BALO had when it was extracted.
+     */
+    private static class CompiledPackageBinary {
+
+        private final long lastModified;
+        private final byte[] bytes;
+
+        private CompiledPackageBinary(long lastModified, byte[] bytes) {
+            this.lastModified = lastModified;
+            this.bytes = bytes;
+        }
     }
 }
@@ -53,9 +53,13 @@ public class PackageInfo implements ConstantPool, AttributeInfoPool {
     private ConstantPoolEntry[] constPool;
     private List<ConstantPoolEntry> constantPoolEntries = new ArrayList<>();
 
-    private Instruction[] instructions;
+    private volatile Instruction[] instructions;
     private List<Instruction> instructionList = new ArrayList<>();
 
+    // Encoded instructions, and the reader to decode them with, until they are first needed
+    private byte[] code;
+    private PackageInfoReader codeReader;
+
     public List<ImportPackageInfo> importPkgInfoList = new ArrayList<>();
 
     private Map<String, PackageVarInfo> constantInfoMap = new LinkedHashMap<>();
@@ -198,11 +202,39 @@ public class PackageInfo implements ConstantPool, AttributeInfoPool {
     }
 
     public Instruction[] getInstructions() {
+        Instruction[] instructions = this.instructions;
+        if (instructions == null) {
+            return readInstructions();
+        }
         return instructions;
     }
 
     public int getInstructionCount() {
-        return instructionList.size();
+        Instruction[] instructions = getInstructions();
+        return instructions == null ? instructionList.size() : instructions.length;
+    }
+
+    void setCode(byte[] code, PackageInfoReader codeReader) {
+        this.code = code;
+        this.codeReader = codeReader;
+    }
+
+    void setInstructions(Instruction[] instructions) {
+        this.instructions = instructions;
+    }
+
+    /**
+     * Decodes the instructions of the package, if they were left encoded when the package was read.
+     *
+     * @return the instructions, or null if the package is not completed yet
+     */
+    private synchronized Instruction[] readInstructions() {
+        if (this.instructions == null && this.codeReader != null) {
+            this.instructions = this.codeReader.readInstructions(this, this.code);
+            this.code = null;
+            this.codeReader = null;
+        }
+        return this.instructions;
     }
 
     public LineNumberInfo getLineNumberInfo(LineNumberInfo lineNumberInfo) {
@@ -279,7 +311,12 @@ public class PackageInfo implements ConstantPool, AttributeInfoPool {
 
     public void complete() {
         this.constPool = constantPoolEntries.toArray(new ConstantPoolEntry[0]);
-        this.instructions = instructionList.toArray(new Instruction[0]);
+    }
+
+    Instruction[] completeInstructions() {
+        Instruction[] instructions = instructionList.toArray(new Instruction[0]);
+        instructionList = new ArrayList<>(0);
+        return instructions;
     }
 
     @Override
@@ -17,6 +17,7 @@
  */
 package org.ballerinalang.util.codegen;
 
+import org.ballerinalang.config.ConfigRegistry;
 import org.ballerinalang.model.NativeCallableUnit;
 import org.ballerinalang.model.types.BArrayType;
 import org.ballerinalang.model.types.BAttachedFunction;
@@ -47,6 +48,7 @@ import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.natives.NativeUnitLoader;
 import org.ballerinalang.util.codegen.Instruction.InstructionCALL;
 import org.ballerinalang.util.codegen.Instruction.InstructionFORKJOIN;
+import org.ballerinalang.util.codegen.Instruction.InstructionFPCALL;
 import org.ballerinalang.util.codegen.Instruction.InstructionIteratorNext;
 import org.ballerinalang.util.codegen.Instruction.InstructionLock;
 import org.ballerinalang.util.codegen.Instruction.InstructionVCALL;
@@ -104,6 +106,8 @@ import static org.ballerinalang.util.BLangConstants.STOP_FUNCTION_SUFFIX;
  */
 public class PackageInfoReader {
 
+    private static final String LAZY_CODE_LOADING_CONFIG_PROP = "b7a.runtime.loader.lazy";
+
     private ProgramFile programFile;
     private DataInputStream dataInStream;
     private List<ConstantPoolEntry> unresolvedCPEntries = new ArrayList<>();
@@ -339,10 +343,42 @@ public class PackageInfoReader {
         // Read attribute info entries
         readAttributeInfoEntries(packageInfo, packageInfo, packageInfo);
 
-        // Read instructions
-        readInstructions(packageInfo);
+        // Read instructions, which are decoded when the package is first run unless lazy loading is disabled
+        byte[] code = readCode();
 
         packageInfo.complete();
+
+        if (isLazyCodeLoadingEnabled()) {
+            // The instructions are decoded without the input stream, which is not kept open until then
+            packageInfo.setCode(code, new PackageInfoReader(null, programFile));
+        } else {
+            packageInfo.setInstructions(readInstructions(packageInfo, code));
+        }
+    }
+
+    /**
+     * Decodes the instructions of a package, and quickens them if quickening is enabled.
+     *
+     * @param packageInfo the package, which has already been completed
+     * @param code        the encoded instructions
+     * @return the instructions
+     */
+    Instruction[] readInstructions(PackageInfo packageInfo, byte[] code) {
+        try {
+            readInstructions(packageInfo, new DataInputStream(new ByteArrayInputStream(code)));
+        } catch (IOException e) {
+            throw new ProgramFileFormatException("invalid instructions in package " + packageInfo.getPkgPath(), e);
+        }
+        Instruction[] instructions = packageInfo.completeInstructions();
+        if (InstructionQuickener.isEnabled()) {
+            InstructionQuickener.quicken(instructions, packageInfo.getConstPoolEntries());
+        }
+        return instructions;
+    }
+
+    private static boolean isLazyCodeLoadingEnabled() {
+        String prop = ConfigRegistry.getInstance().getAsString(LAZY_CODE_LOADING_CONFIG_PROP);
+        return prop == null || Boolean.parseBoolean(prop);
     }
 
     private void readImportPackageInfoEntries(PackageInfo packageInfo) throws IOException {
@@ -1096,12 +1132,14 @@ public class PackageInfoReader {
         return lineNumberInfo;
     }
 
-    private void readInstructions(PackageInfo packageInfo) throws IOException {
+    private byte[] readCode() throws IOException {
         int codeLength = dataInStream.readInt();
         byte[] code = new byte[codeLength];
-        // Ignore bytes read should be same as the code length.
-        dataInStream.read(code);
-        DataInputStream codeStream = new DataInputStream(new ByteArrayInputStream(code));
+        dataInStream.readFully(code);
+        return code;
+    }
+
+    private void readInstructions(PackageInfo packageInfo, DataInputStream codeStream) throws IOException {
         while (codeStream.available() > 0) {
             int i, j, k, h;
             int funcRefCPIndex;
@@ -1136,6 +1174,7 @@ public class PackageInfoReader {
                 case InstructionCodes.THROW:
                 case InstructionCodes.ERRSTORE:
                 case InstructionCodes.NEWXMLSEQ:
+                case InstructionCodes.ITR_CLOSE:
                     i = codeStream.readInt();
                     packageInfo.addInstruction(InstructionFactory.get(opcode, i));
                     break;
@@ -1284,6 +1323,12 @@ public class PackageInfoReader {
                 case InstructionCodes.LFIELDSTORE:
                 case InstructionCodes.RFIELDSTORE:
                 case InstructionCodes.MAPSTORE:
+                case InstructionCodes.IMAPLOAD:
+                case InstructionCodes.FMAPLOAD:
+                case InstructionCodes.SMAPLOAD:
+                case InstructionCodes.IMAPSTORE:
+                case InstructionCodes.FMAPSTORE:
+                case InstructionCodes.SMAPSTORE:
                 case InstructionCodes.JSONLOAD:
                 case InstructionCodes.JSONSTORE:
                 case InstructionCodes.IADD:
@@ -1392,15 +1437,15 @@ public class PackageInfoReader {
                             funcRefCPEntry.getFunctionInfo(), flags, getArgRegs(codeStream), getArgRegs(codeStream)));
                     break;
                 case InstructionCodes.FPCALL:
-                    funcRefCPIndex = codeStream.readInt();
+                    int funcPointerRegIndex = codeStream.readInt();
                     flags = codeStream.readInt();
                     argRegs = getArgRegs(codeStream);
                     retRegs = getArgRegs(codeStream);
 
+                    // The call is kept in the instruction, since the constant pool must not change once the package
+                    // is completed. The instructions may be decoded lazily, while the package is already running.
                     FunctionCallCPEntry funcCallCPEntry = new FunctionCallCPEntry(flags, argRegs, retRegs);
-                    int funcCallCPIndex = packageInfo.addCPEntry(funcCallCPEntry);
-
-                    packageInfo.addInstruction(InstructionFactory.get(opcode, funcRefCPIndex, funcCallCPIndex));
+                    packageInfo.addInstruction(new InstructionFPCALL(opcode, funcPointerRegIndex, funcCallCPEntry));
                     break;
                 case InstructionCodes.WRKSEND:
                 case InstructionCodes.WRKRECEIVE:
@@ -1435,6 +1480,8 @@ public class PackageInfoReader {
                     break;
                 case InstructionCodes.LOCK:
                 case InstructionCodes.UNLOCK:
+                case InstructionCodes.READ_LOCK:
+                case InstructionCodes.READ_UNLOCK:
                     int varCount = codeStream.readInt();
                     BType[] varTypes = new BType[varCount];
                     int[] pkgRefs = new int[varCount];
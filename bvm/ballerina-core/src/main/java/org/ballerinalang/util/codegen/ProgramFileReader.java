@@ -23,6 +23,9 @@ import java.io.BufferedInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
@@ -42,6 +45,10 @@ public class ProgramFileReader {
     private ProgramFile programFile;
 
     public ProgramFile readProgram(Path programFilePath) throws IOException {
+        if (programFilePath.getFileSystem() == FileSystems.getDefault()) {
+            return readMappedProgram(programFilePath);
+        }
+
         InputStream fileIS = null;
         try {
             programFile = new ProgramFile();
@@ -57,6 +64,24 @@ public class ProgramFileReader {
         }
     }
 
+    /**
+     * Reads a program file by mapping it into memory, so that it is read straight from the page cache.
+     *
+     * @param programFilePath path of the program file, in the default file system
+     * @return the program file
+     * @throws IOException if the file cannot be read
+     */
+    private ProgramFile readMappedProgram(Path programFilePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(programFilePath, StandardOpenOption.READ,
+                LinkOption.NOFOLLOW_LINKS)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            programFile = new ProgramFile();
+            programFile.setProgramFilePath(programFilePath);
+            DataInputStream dataInStream = new DataInputStream(new ByteBufferInputStream(buffer));
+            return readProgramInternal(dataInStream);
+        }
+    }
+
     public ProgramFile readProgram(InputStream programFileInStream) throws IOException {
         programFile = new ProgramFile();
         DataInputStream dataInStream = new DataInputStream(programFileInStream);
@@ -16,6 +16,7 @@
 */
 package org.ballerinalang.util.codegen;
 
+import org.ballerinalang.bre.bvm.jit.CompiledCode;
 import org.ballerinalang.util.codegen.attributes.AttributeInfo;
 import org.ballerinalang.util.codegen.attributes.AttributeInfoPool;
 import org.ballerinalang.util.codegen.attributes.CodeAttributeInfo;
@@ -45,6 +46,12 @@ public class WorkerInfo implements AttributeInfoPool {
 
     private Map<AttributeInfo.Kind, AttributeInfo> attributeInfoMap = new HashMap<>();
 
+    /* profiling state of the tiered compiler. The counter is updated without synchronization, since it
+     * only needs to be roughly right */
+    private int hotness;
+    private volatile boolean compilationAttempted;
+    private volatile CompiledCode compiledCode;
+
     public WorkerInfo(int workerNameCPIndex, String workerName) {
         this.workerName = workerName;
         this.workerNameCPIndex = workerNameCPIndex;
@@ -110,4 +117,24 @@ public class WorkerInfo implements AttributeInfoPool {
     public void setForkjoinInfos(ForkjoinInfo[] forkjoinInfos) {
         this.forkjoinInfos = forkjoinInfos;
     }
+
+    public int incrementHotness() {
+        return ++hotness;
+    }
+
+    public boolean isCompilationAttempted() {
+        return compilationAttempted;
+    }
+
+    public void setCompilationAttempted(boolean compilationAttempted) {
+        this.compilationAttempted = compilationAttempted;
+    }
+
+    public CompiledCode getCompiledCode() {
+        return compiledCode;
+    }
+
+    public void setCompiledCode(CompiledCode compiledCode) {
+        this.compiledCode = compiledCode;
+    }
 }
@@ -28,6 +28,7 @@ import org.ballerinalang.model.values.BFloat;
 import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.util.codegen.InstructionQuickener;
 import org.ballerinalang.util.codegen.LineNumberInfo;
 import org.ballerinalang.util.codegen.ProgramFile;
 import org.ballerinalang.util.codegen.attributes.AttributeInfo;
@@ -386,6 +387,8 @@ public class Debugger {
      */
     public void setDebugEnabled() {
         this.debugEnabled = true;
+        /* superinstructions skip over instruction addresses, which would hide them from the debugger */
+        InstructionQuickener.dequicken(programFile);
     }
 
     /**
@@ -19,7 +19,9 @@ package org.ballerinalang.util.metrics;
 
 import org.ballerinalang.annotation.JavaSPIService;
 import org.ballerinalang.bre.bvm.BLangScheduler;
+import org.ballerinalang.bre.bvm.WorkerState;
 import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.model.types.TypeCheckCache;
 import org.ballerinalang.util.LaunchListener;
 import org.ballerinalang.util.metrics.noop.NoOpMetricProvider;
 import org.ballerinalang.util.metrics.spi.MetricProvider;
@@ -74,27 +76,58 @@ public class MetricsLaunchListener implements LaunchListener {
         // Create default MetricRegistry
         DefaultMetricRegistry.setInstance(new MetricRegistry(metricProvider));
         // Register Ballerina specific metrics
-        registerBallerinaMetrics();
+        registerBallerinaMetrics(DefaultMetricRegistry.getInstance());
 
         // Add Metrics Observer
         ObservabilityUtils.addObserver(new BallerinaMetricsObserver());
     }
 
-    private void registerBallerinaMetrics() {
+    /**
+     * Register the gauges of the scheduler and the type check caches.
+     *
+     * @param metricRegistry the registry to register the gauges in
+     */
+    public static void registerBallerinaMetrics(MetricRegistry metricRegistry) {
         final BLangScheduler.SchedulerStats schedulerStats = BLangScheduler.getStats();
         final String prefix = "ballerina_scheduler_";
         CallbackGauge.builder(prefix + "ready_worker_count", schedulerStats,
-                BLangScheduler.SchedulerStats::getReadyWorkerCount).register();
+                BLangScheduler.SchedulerStats::getReadyWorkerCount).register(metricRegistry);
         CallbackGauge.builder(prefix + "running_worker_count", schedulerStats,
-                BLangScheduler.SchedulerStats::getRunningWorkerCount).register();
+                BLangScheduler.SchedulerStats::getRunningWorkerCount).register(metricRegistry);
         CallbackGauge.builder(prefix + "excepted_worker_count", schedulerStats,
-                BLangScheduler.SchedulerStats::getExceptedWorkerCount).register();
+                BLangScheduler.SchedulerStats::getExceptedWorkerCount).register(metricRegistry);
         CallbackGauge.builder(prefix + "paused_worker_count", schedulerStats,
-                BLangScheduler.SchedulerStats::getPausedWorkerCount).register();
+                BLangScheduler.SchedulerStats::getPausedWorkerCount).register(metricRegistry);
         CallbackGauge.builder(prefix + "waiting_for_response_worker_count", schedulerStats,
-                BLangScheduler.SchedulerStats::getWaitingForResponseWorkerCount).register();
+                BLangScheduler.SchedulerStats::getWaitingForResponseWorkerCount).register(metricRegistry);
         CallbackGauge.builder(prefix + "waiting_for_lock_worker_count", schedulerStats,
-                BLangScheduler.SchedulerStats::getWaitingForLockWorkerCount).register();
+                BLangScheduler.SchedulerStats::getWaitingForLockWorkerCount).register(metricRegistry);
+        CallbackGauge.builder(prefix + "live_worker_count", schedulerStats,
+                BLangScheduler.SchedulerStats::getLiveWorkerCount).register(metricRegistry);
+        CallbackGauge.builder(prefix + "queued_worker_count", schedulerStats,
+                BLangScheduler.SchedulerStats::getQueuedWorkerCount).register(metricRegistry);
+        // Time spent in the states a worker waits in: READY is the run latency, the rest are park times
+        WorkerState[] timedStates = {WorkerState.READY, WorkerState.RUNNING, WorkerState.PAUSED,
+                WorkerState.WAITING_FOR_RESPONSE, WorkerState.WAITING_FOR_LOCK};
+        for (WorkerState state : timedStates) {
+            CallbackGauge.builder(prefix + "worker_state_time_seconds_total", schedulerStats,
+                    stats -> stats.getTotalStateTime(state) / 1e9)
+                    .tag("state", state.name()).register(metricRegistry);
+            CallbackGauge.builder(prefix + "worker_state_exit_count", schedulerStats,
+                    stats -> stats.getStateExitCount(state))
+                    .tag("state", state.name()).register(metricRegistry);
+        }
+
+        final TypeCheckCache.Stats typeCheckStats = TypeCheckCache.getStats();
+        final String typeCheckPrefix = "ballerina_typecheck_";
+        CallbackGauge.builder(typeCheckPrefix + "inline_cache_hit_count", typeCheckStats,
+                TypeCheckCache.Stats::getInlineCacheHitCount).register(metricRegistry);
+        CallbackGauge.builder(typeCheckPrefix + "inline_cache_miss_count", typeCheckStats,
+                TypeCheckCache.Stats::getInlineCacheMissCount).register(metricRegistry);
+        CallbackGauge.builder(typeCheckPrefix + "equivalency_memo_hit_count", typeCheckStats,
+                TypeCheckCache.Stats::getEquivalencyMemoHitCount).register(metricRegistry);
+        CallbackGauge.builder(typeCheckPrefix + "equivalency_memo_miss_count", typeCheckStats,
+                TypeCheckCache.Stats::getEquivalencyMemoMissCount).register(metricRegistry);
     }
 
     @Override
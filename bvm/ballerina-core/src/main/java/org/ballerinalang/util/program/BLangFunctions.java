@@ -31,6 +31,7 @@ import org.ballerinalang.bre.bvm.ForkJoinWorkerResponseContext;
 import org.ballerinalang.bre.bvm.InitWorkerResponseContext;
 import org.ballerinalang.bre.bvm.SyncCallableWorkerResponseContext;
 import org.ballerinalang.bre.bvm.WorkerData;
+import org.ballerinalang.bre.bvm.WorkerDataPool;
 import org.ballerinalang.bre.bvm.WorkerExecutionContext;
 import org.ballerinalang.bre.bvm.WorkerResponseContext;
 import org.ballerinalang.model.NativeCallableUnit;
@@ -39,6 +40,7 @@ import org.ballerinalang.model.types.BTypes;
 import org.ballerinalang.model.values.BCallableFuture;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
 import org.ballerinalang.util.BLangConstants;
 import org.ballerinalang.util.FunctionFlags;
 import org.ballerinalang.util.codegen.CallableUnitInfo;
@@ -320,6 +322,15 @@ public class BLangFunctions {
         respCtx.joinTargetContextInfo(parentCtx, retRegs);
         WorkerDataIndex wdi = callableUnitInfo.retWorkerIndex;
 
+        if (generalWorkersCount == 1 && workerSet.initWorker == null && !waitForResponse && observerContext == null
+                && WorkerDataPool.isEnabled() && !parentCtx.programFile.getDebugger().isDebugEnabled()) {
+            return executeSingleWorkerWithPooledData(respCtx, parentCtx, argRegs, callableUnitInfo,
+                    workerSet.generalWorkers[0], wdi);
+        }
+        if (generalWorkersCount > 1) {
+            BLangVMUtils.shareArgValues(parentCtx.workerLocal, argRegs, callableUnitInfo.getParamTypes());
+        }
+
         /* execute the init worker and extract the local variables created by it */
         WorkerData initWorkerLocalData = null;
         CodeAttributeInfo initWorkerCAI = null;
@@ -362,6 +373,7 @@ public class BLangFunctions {
         int generalWorkersCount = workerSet.generalWorkers.length;
         AsyncInvocableWorkerResponseContext respCtx = new AsyncInvocableWorkerResponseContext(callableUnitInfo,
                 generalWorkersCount);
+        BLangVMUtils.shareArgValues(parentCtx.workerLocal, argRegs, callableUnitInfo.getParamTypes());
         WorkerDataIndex wdi = callableUnitInfo.retWorkerIndex;
         ObserverContext observerContext = checkAndObserveNonNativeCallable(parentCtx, respCtx, callableUnitInfo, flags);
         /* execute the init worker and extract the local variables created by it */
@@ -408,7 +420,14 @@ public class BLangFunctions {
         }
         try {
             ObserverContext observerContext = checkAndStartNativeCallableObservation(ctx, callableUnitInfo, flags);
-            if (nativeCallable.isBlocking()) {
+            if (nativeCallable.isBlocking() && nativeCallable.isIOBound() && !parentCtx.isRootContext()
+                    && ThreadPoolFactory.getInstance().isBlockingNativeOffloadEnabled()) {
+                CallableUnitCallback callback = getNativeCallableUnitCallback(parentCtx, ctx, observerContext,
+                        retRegs, retTypes, flags);
+                BLangScheduler.executeBlockingNativeOffloaded(nativeCallable, ctx, callback);
+                /* the parent is parked, and will be resumed by the callback once the blocking call returns */
+                return null;
+            } else if (nativeCallable.isBlocking()) {
                 nativeCallable.execute(ctx, null);
                 BLangVMUtils.populateWorkerDataWithValues(parentLocalData, retRegs, ctx.getReturnValues(), retTypes);
                 checkAndStopCallableObservation(observerContext, flags);
@@ -432,6 +451,7 @@ public class BLangFunctions {
 
     private static void invokeNativeCallableAsync(CallableUnitInfo callableUnitInfo,
             WorkerExecutionContext parentCtx, int[] argRegs, int[] retRegs, int flags) {
+        BLangVMUtils.shareArgValues(parentCtx.workerLocal, argRegs, callableUnitInfo.getParamTypes());
         WorkerData caleeSF = BLangVMUtils.createWorkerDataForLocal(callableUnitInfo.getDefaultWorkerInfo(), parentCtx,
                 argRegs, callableUnitInfo.getParamTypes());
         Context nativeCtx = new NativeCallContext(parentCtx, callableUnitInfo, caleeSF);
@@ -471,6 +491,23 @@ public class BLangFunctions {
         return ctx;
     }
     
+    /**
+     * Fast path for a plain synchronous call to a single worker callable unit, which takes the worker's
+     * local register file from the {@link WorkerDataPool} instead of allocating a new one.
+     */
+    private static WorkerExecutionContext executeSingleWorkerWithPooledData(WorkerResponseContext respCtx,
+            WorkerExecutionContext parentCtx, int[] argRegs, CallableUnitInfo callableUnitInfo,
+            WorkerInfo workerInfo, WorkerDataIndex wdi) {
+        WorkerData workerLocal = BLangVMUtils.createPooledWorkerDataForLocal(workerInfo, parentCtx, argRegs,
+                callableUnitInfo.getParamTypes());
+        WorkerData workerResult = BLangVMUtils.createWorkerData(wdi);
+        WorkerExecutionContext ctx = new WorkerExecutionContext(parentCtx, respCtx, callableUnitInfo, workerInfo,
+                workerLocal, workerResult, wdi.retRegs, true);
+        ctx.pooledWorkerLocal = true;
+        BLangScheduler.schedule(ctx);
+        return ctx;
+    }
+    
     private static WorkerData executeInitWorker(WorkerExecutionContext parentCtx, int[] argRegs,
             CallableUnitInfo callableUnitInfo, WorkerInfo workerInfo, WorkerDataIndex wdi,
             ObserverContext observerContext) {
@@ -20,6 +20,7 @@ package org.ballerinalang.util.program;
 import org.ballerinalang.bre.bvm.CPU;
 import org.ballerinalang.bre.bvm.CPU.HandleErrorException;
 import org.ballerinalang.bre.bvm.WorkerData;
+import org.ballerinalang.bre.bvm.WorkerDataPool;
 import org.ballerinalang.bre.bvm.WorkerExecutionContext;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.TypeTags;
@@ -27,6 +28,7 @@ import org.ballerinalang.model.values.BBlob;
 import org.ballerinalang.model.values.BBoolean;
 import org.ballerinalang.model.values.BFloat;
 import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BRefType;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BStruct;
@@ -83,6 +85,29 @@ public class BLangVMUtils {
         }
     }
 
+    /**
+     * Shares the map arguments of a call whose callee runs concurrently with the caller, or in more than one
+     * worker.
+     *
+     * @param caller     the caller's local data
+     * @param argRegs    argument registers of the call
+     * @param paramTypes parameter types of the callee
+     */
+    public static void shareArgValues(WorkerData caller, int[] argRegs, BType[] paramTypes) {
+        for (int i = 0; i < argRegs.length; i++) {
+            switch (paramTypes[i].getTag()) {
+            case TypeTags.INT_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.STRING_TAG:
+            case TypeTags.BOOLEAN_TAG:
+            case TypeTags.BLOB_TAG:
+                break;
+            default:
+                BMap.shareIfMap(caller.refRegs[argRegs[i]]);
+            }
+        }
+    }
+
     public static void copyValuesForForkJoin(WorkerData caller, WorkerData callee, int[] argRegs) {
         int longLocalVals = argRegs[0];
         int doubleLocalVals = argRegs[1];
@@ -108,6 +133,7 @@ public class BLangVMUtils {
         }
 
         for (int i = 0; i <= refLocalVals; i++) {
+            BMap.shareIfMap(caller.refRegs[i]);
             callee.refRegs[i] = caller.refRegs[i];
         }
 
@@ -123,6 +149,13 @@ public class BLangVMUtils {
         return wd;
     }
 
+    public static WorkerData createPooledWorkerDataForLocal(WorkerInfo workerInfo, WorkerExecutionContext parentCtx,
+            int[] argRegs, BType[] paramTypes) {
+        WorkerData wd = WorkerDataPool.acquire(workerInfo.getCodeAttributeInfo());
+        BLangVMUtils.copyArgValues(parentCtx.workerLocal, wd, argRegs, paramTypes);
+        return wd;
+    }
+
     static WorkerData createWorkerDataForLocal(WorkerInfo workerInfo, WorkerExecutionContext parentCtx,
                                                int[] argRegs) {
         WorkerData wd = createWorkerData(workerInfo);
@@ -415,6 +448,8 @@ public class BLangVMUtils {
             targetData.stringRegs[i] = sourceData.stringRegs[i];
         }
         for (int i = 0; i < initWorkerCAI.getMaxRefLocalVars(); i++) {
+            /* the init worker's locals are seen by all the workers of the callable unit */
+            BMap.shareIfMap(sourceData.refRegs[i]);
             targetData.refRegs[i] = sourceData.refRegs[i];
         }
     }
@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.launcher;
+
+import org.ballerinalang.BLangProgramLoader;
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.util.codegen.ProgramFile;
+import org.wso2.ballerinalang.compiler.Compiler;
+import org.wso2.ballerinalang.compiler.util.ProjectDirConstants;
+import org.wso2.ballerinalang.programfile.CompiledBinaryFile;
+import org.wso2.ballerinalang.programfile.ProgramFileWriter;
+import org.wso2.ballerinalang.util.RepoUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.wso2.ballerinalang.compiler.util.ProjectDirConstants.BLANG_COMPILED_PROG_EXT;
+
+/**
+ * {@code CompiledProgramCache} keeps the programs compiled by {@code ballerina run} in the user's home repository,
+ * so that a program is not compiled again until its sources or the packages it imports change.
+ * <p>
+ * A program is cached under a SHA-256 key of the compiler version, the source files of the program and the packages
+ * in the same source root it imports directly or through other packages, and the files of the packages it imports
+ * from the home and project repositories. Programs importing packages of other organizations, from any of these
+ * source files, are only cached with {@code --offline}, since compiling them otherwise may pull newer versions from
+ * Ballerina Central. The least recently used programs are removed once the cache grows
+ * beyond {@code b7a.launcher.program.cache.size} megabytes.
+ *
+ * @since 0.974.1
+ */
+class CompiledProgramCache {
+
+    private static final String PROGRAMS_CACHE_DIR_NAME = "programs";
+
+    private static final String CACHE_SIZE_CONFIG_PROP = "b7a.launcher.program.cache.size";
+
+    private static final long DEFAULT_CACHE_SIZE_MB = 256;
+
+    private static final String BALLERINA_ORG_NAME = "ballerina";
+
+    private static final Pattern IMPORT_PATTERN = Pattern.compile(
+            "^\\s*import\\s+(?:([\\w.]+)\\s*/\\s*)?([\\w.]+)", Pattern.MULTILINE);
+
+    private final Path cacheDir;
+
+    private final long maxSize;
+
+    private CompiledProgramCache(Path cacheDir, long maxSize) {
+        this.cacheDir = cacheDir;
+        this.maxSize = maxSize;
+    }
+
+    static CompiledProgramCache getInstance() {
+        Path cacheDir = RepoUtils.createAndGetHomeReposPath().resolve(ProjectDirConstants.CACHES_DIR_NAME)
+                .resolve(PROGRAMS_CACHE_DIR_NAME);
+        long maxSizeMB = DEFAULT_CACHE_SIZE_MB;
+        String sizeProp = ConfigRegistry.getInstance().getAsString(CACHE_SIZE_CONFIG_PROP);
+        if (sizeProp != null) {
+            try {
+                maxSizeMB = Long.parseLong(sizeProp.trim());
+            } catch (NumberFormatException e) {
+                throw LauncherUtils.createLauncherException("ballerina: invalid value for " +
+                        CACHE_SIZE_CONFIG_PROP + ": " + sizeProp);
+            }
+        }
+        return new CompiledProgramCache(cacheDir, maxSizeMB * 1024 * 1024);
+    }
+
+    /**
+     * Get the key of a program.
+     *
+     * @param sourceRootPath path of the source root
+     * @param sourcePath     path of the source file or package, from the source root
+     * @param offline        whether the program is compiled without reading remote repositories
+     * @return the key, or null if the program cannot be cached
+     * @throws IOException if the sources cannot be read
+     */
+    String getKey(Path sourceRootPath, Path sourcePath, boolean offline) throws IOException {
+        MessageDigest digest = createDigest();
+        update(digest, RepoUtils.getBallerinaVersion());
+        update(digest, getCompilerLocation());
+        update(digest, sourcePath.toString());
+        update(digest, Boolean.toString(offline));
+
+        boolean project = RepoUtils.hasProjectRepo(sourceRootPath);
+        List<Path> sources = new ArrayList<>();
+        if (project) {
+            addSources(sourceRootPath, sources);
+            Path manifest = sourceRootPath.resolve(ProjectDirConstants.MANIFEST_FILE_NAME);
+            if (Files.isRegularFile(manifest)) {
+                sources.add(manifest);
+            }
+        } else {
+            sources.add(sourceRootPath.resolve(sourcePath));
+        }
+
+        Set<String> importedPkgs = new TreeSet<>();
+        Set<String> localPkgs = new HashSet<>();
+        Deque<String> pendingPkgs = new ArrayDeque<>();
+        hashSources(digest, sourceRootPath, sources, importedPkgs, localPkgs, pendingPkgs);
+
+        if (!project) {
+            // Packages of a single source file are read from the directory it is in, and may import each other
+            while (!pendingPkgs.isEmpty()) {
+                List<Path> pkgSources = new ArrayList<>();
+                addSources(sourceRootPath.resolve(pendingPkgs.poll()), pkgSources);
+                hashSources(digest, sourceRootPath, pkgSources, importedPkgs, localPkgs, pendingPkgs);
+            }
+        }
+
+        if (!importedPkgs.isEmpty()) {
+            if (!offline) {
+                return null;
+            }
+            Path homeRepoPath = RepoUtils.createAndGetHomeReposPath();
+            Path projectRepoPath = sourceRootPath.resolve(ProjectDirConstants.DOT_BALLERINA_DIR_NAME);
+            for (String pkg : importedPkgs) {
+                for (Path repoPath : new Path[] { homeRepoPath, projectRepoPath }) {
+                    updateWithFileAttributes(digest, repoPath.resolve(ProjectDirConstants.DOT_BALLERINA_REPO_DIR_NAME)
+                            .resolve(pkg));
+                    updateWithFileAttributes(digest, repoPath.resolve(ProjectDirConstants.CACHES_DIR_NAME)
+                            .resolve(ProjectDirConstants.BALLERINA_CENTRAL_DIR_NAME).resolve(pkg));
+                }
+            }
+        }
+
+        StringBuilder key = new StringBuilder();
+        for (byte b : digest.digest()) {
+            key.append(String.format("%02x", b));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Read a cached program.
+     *
+     * @param key the key of the program
+     * @return the program, or null if it is not cached
+     */
+    ProgramFile read(String key) {
+        Path programPath = getProgramPath(key);
+        if (!Files.isRegularFile(programPath)) {
+            return null;
+        }
+        try {
+            ProgramFile programFile = BLangProgramLoader.read(programPath);
+            Files.setLastModifiedTime(programPath, FileTime.fromMillis(System.currentTimeMillis()));
+            return programFile;
+        } catch (RuntimeException | IOException e) {
+            // A cached program which cannot be read is compiled again
+            deleteQuietly(programPath);
+            return null;
+        }
+    }
+
+    /**
+     * Add a compiled program to the cache, and remove the least recently used programs if the cache is full.
+     *
+     * @param key         the key of the program
+     * @param programFile the compiled program
+     * @throws IOException if the program cannot be written
+     */
+    void write(String key, CompiledBinaryFile.ProgramFile programFile) throws IOException {
+        Files.createDirectories(cacheDir);
+        Path tempPath = Files.createTempFile(cacheDir, key, ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tempPath)) {
+                ProgramFileWriter.writeProgram(programFile, out);
+            }
+            Files.move(tempPath, getProgramPath(key), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            deleteQuietly(tempPath);
+        }
+        evict();
+    }
+
+    private void evict() throws IOException {
+        List<Path> programs;
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            programs = files.filter(path -> path.toString().endsWith(BLANG_COMPILED_PROG_EXT))
+                    .collect(Collectors.toList());
+        }
+        long size = 0;
+        Map<Path, FileTime> lastUsedTimes = new HashMap<>();
+        for (Path program : programs) {
+            size += Files.size(program);
+            lastUsedTimes.put(program, Files.getLastModifiedTime(program));
+        }
+        programs.sort(Comparator.comparing(lastUsedTimes::get));
+        for (Path program : programs) {
+            if (size <= maxSize) {
+                break;
+            }
+            long programSize = Files.size(program);
+            if (deleteQuietly(program)) {
+                size -= programSize;
+            }
+        }
+    }
+
+    private Path getProgramPath(String key) {
+        return cacheDir.resolve(key + BLANG_COMPILED_PROG_EXT);
+    }
+
+    private static void hashSources(MessageDigest digest, Path sourceRootPath, List<Path> sources,
+                                    Set<String> importedPkgs, Set<String> localPkgs, Deque<String> pendingPkgs)
+            throws IOException {
+        for (Path source : sources) {
+            byte[] content = Files.readAllBytes(source);
+            update(digest, sourceRootPath.relativize(source).toString());
+            digest.update(content);
+            if (source.toString().endsWith(ProjectDirConstants.BLANG_SOURCE_EXT)) {
+                collectImports(new String(content, StandardCharsets.UTF_8), importedPkgs, localPkgs, pendingPkgs);
+            }
+        }
+    }
+
+    private static void collectImports(String source, Set<String> importedPkgs, Set<String> localPkgs,
+                                       Deque<String> pendingPkgs) {
+        Matcher matcher = IMPORT_PATTERN.matcher(source);
+        while (matcher.find()) {
+            String orgName = matcher.group(1);
+            String pkgName = matcher.group(2);
+            if (orgName == null) {
+                if (localPkgs.add(pkgName)) {
+                    pendingPkgs.add(pkgName);
+                }
+            } else if (!BALLERINA_ORG_NAME.equals(orgName)) {
+                importedPkgs.add(orgName + "/" + pkgName);
+            }
+        }
+    }
+
+    private static void addSources(Path dir, List<Path> sources) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.filter(path -> Files.isRegularFile(path)
+                    && path.toString().endsWith(ProjectDirConstants.BLANG_SOURCE_EXT)
+                    && !isExcluded(dir.relativize(path)))
+                    .sorted()
+                    .forEach(sources::add);
+        }
+    }
+
+    private static boolean isExcluded(Path relativePath) {
+        for (Path name : relativePath) {
+            if (name.toString().startsWith(".") || ProjectDirConstants.TARGET_DIR_NAME.equals(name.toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void updateWithFileAttributes(MessageDigest digest, Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(dir)) {
+            files = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            update(digest, file.toString() + ":" + Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis());
+        }
+    }
+
+    private static String getCompilerLocation() {
+        // Development builds share a version, so the compiler is also identified by its jar
+        CodeSource codeSource = Compiler.class.getProtectionDomain().getCodeSource();
+        if (codeSource == null) {
+            return "";
+        }
+        try {
+            Path location = Paths.get(codeSource.getLocation().toURI());
+            return location + ":" + Files.getLastModifiedTime(location).toMillis();
+        } catch (URISyntaxException | IOException | RuntimeException e) {
+            return codeSource.getLocation().toString();
+        }
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static boolean deleteQuietly(Path path) {
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -45,6 +45,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.PrintStream;
@@ -71,9 +72,18 @@ import static org.ballerinalang.compiler.CompilerOptionName.PROJECT_DIR;
  */
 public class LauncherUtils {
 
+    private static final String VERIFY_PROGRAM_FILE_CONFIG_PROP = "b7a.runtime.loader.verify";
+
     public static void runProgram(Path sourceRootPath, Path sourcePath, boolean runServices,
                                   Map<String, String> runtimeParams, String configFilePath, String[] args,
                                   boolean offline, boolean observeFlag) {
+        runProgram(sourceRootPath, sourcePath, runServices, runtimeParams, configFilePath, args, offline,
+                observeFlag, false);
+    }
+
+    public static void runProgram(Path sourceRootPath, Path sourcePath, boolean runServices,
+                                  Map<String, String> runtimeParams, String configFilePath, String[] args,
+                                  boolean offline, boolean observeFlag, boolean noCache) {
         ProgramFile programFile;
         String srcPathStr = sourcePath.toString();
         Path fullPath = sourceRootPath.resolve(sourcePath);
@@ -84,13 +94,13 @@ public class LauncherUtils {
         } else if (Files.isRegularFile(fullPath) &&
                 srcPathStr.endsWith(BLangConstants.BLANG_SRC_FILE_SUFFIX) &&
                 !RepoUtils.hasProjectRepo(sourceRootPath)) {
-            programFile = compile(fullPath.getParent(), fullPath.getFileName(), offline);
+            programFile = compile(fullPath.getParent(), fullPath.getFileName(), offline, noCache);
         } else if (Files.isDirectory(sourceRootPath)) {
             if (Files.isDirectory(fullPath) && !RepoUtils.hasProjectRepo(sourceRootPath)) {
                 throw new BallerinaException("Do you mean to run the ballerina package as a project? If so run " +
                                                      "ballerina init to make it a project with a .ballerina directory");
             }
-            programFile = compile(sourceRootPath, sourcePath, offline);
+            programFile = compile(sourceRootPath, sourcePath, offline, noCache);
         } else {
             throw new BallerinaException("Invalid Ballerina source path, it should either be a directory or a file " +
                                                  "with a \'" + BLangConstants.BLANG_SRC_FILE_SUFFIX + "\' extension.");
@@ -245,6 +255,53 @@ public class LauncherUtils {
      * @return Executable program
      */
     public static ProgramFile compile(Path sourceRootPath, Path sourcePath, boolean offline) {
+        ProgramFile progFile = getExecutableProgram(compileProgram(sourceRootPath, sourcePath, offline));
+        progFile.setProgramFilePath(sourcePath);
+        return progFile;
+    }
+
+    /**
+     * Compile and get the executable program file, or get it from the cache of compiled programs if the sources
+     * and the packages it imports have not changed since it was compiled.
+     *
+     * @param sourceRootPath Path to the source root
+     * @param sourcePath Path to the source from the source root
+     * @param offline Should the build call remote repos
+     * @param noCache Should the program be compiled without reading or updating the cache
+     * @return Executable program
+     */
+    static ProgramFile compile(Path sourceRootPath, Path sourcePath, boolean offline, boolean noCache) {
+        if (noCache) {
+            return compile(sourceRootPath, sourcePath, offline);
+        }
+
+        CompiledProgramCache cache = CompiledProgramCache.getInstance();
+        String key;
+        try {
+            key = cache.getKey(sourceRootPath, sourcePath, offline);
+        } catch (IOException e) {
+            key = null;
+        }
+        if (key == null) {
+            return compile(sourceRootPath, sourcePath, offline);
+        }
+
+        ProgramFile progFile = cache.read(key);
+        if (progFile == null) {
+            CompiledBinaryFile.ProgramFile programFile = compileProgram(sourceRootPath, sourcePath, offline);
+            try {
+                cache.write(key, programFile);
+            } catch (IOException e) {
+                // The program is compiled again on the next run
+            }
+            progFile = getExecutableProgram(programFile);
+        }
+        progFile.setProgramFilePath(sourcePath);
+        return progFile;
+    }
+
+    private static CompiledBinaryFile.ProgramFile compileProgram(Path sourceRootPath, Path sourcePath,
+                                                                 boolean offline) {
         CompilerContext context = new CompilerContext();
         CompilerOptions options = CompilerOptions.getInstance(context);
         options.put(PROJECT_DIR, sourceRootPath.toString());
@@ -259,20 +316,42 @@ public class LauncherUtils {
         if (programFile == null) {
             throw createLauncherException("compilation contains errors");
         }
-
-        ProgramFile progFile = getExecutableProgram(programFile);
-        progFile.setProgramFilePath(sourcePath);
-        return progFile;
+        return programFile;
     }
 
     /**
      * Get the executable program ({@link ProgramFile}) given the compiled program 
      * ({@link CompiledBinaryFile.ProgramFile}).
+     * <p>
+     * The binary content of the compiled packages is read in place. With {@code b7a.runtime.loader.verify=true},
+     * the whole program is written to a program file image first, and read back the same as a built program.
      * 
      * @param programFile Compiled program
      * @return Executable program
      */
     public static ProgramFile getExecutableProgram(CompiledBinaryFile.ProgramFile programFile) {
+        if (Boolean.parseBoolean(ConfigRegistry.getInstance().getAsString(VERIFY_PROGRAM_FILE_CONFIG_PROP))) {
+            return getExecutableProgramFromImage(programFile);
+        }
+
+        InputStream programIS = null;
+        try {
+            programIS = ProgramFileWriter.getProgramInputStream(programFile);
+            ProgramFileReader reader = new ProgramFileReader();
+            return reader.readProgram(programIS);
+        } catch (Throwable e) {
+            throw createLauncherException("error: fail to compile file: " + makeFirstLetterLowerCase(e.getMessage()));
+        } finally {
+            if (programIS != null) {
+                try {
+                    programIS.close();
+                } catch (IOException ignore) {
+                }
+            }
+        }
+    }
+
+    private static ProgramFile getExecutableProgramFromImage(CompiledBinaryFile.ProgramFile programFile) {
         ByteArrayInputStream byteIS = null;
         ByteArrayOutputStream byteOutStream = new ByteArrayOutputStream();
         try {
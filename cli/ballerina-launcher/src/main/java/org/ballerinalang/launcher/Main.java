@@ -206,6 +206,10 @@ public class Main {
         @Parameter(names = {"--offline"})
         private boolean offline;
 
+        @Parameter(names = {"--no-cache"}, description = "compile the program without using the cache of " +
+                "compiled programs")
+        private boolean noCache;
+
         @Parameter(names = "--debug", hidden = true)
         private String debugPort;
 
@@ -254,7 +258,7 @@ public class Main {
             }
 
             LauncherUtils.runProgram(sourceRootPath, sourcePath, false, runtimeParams, configFilePath,
-                    programArgs, offline, observeFlag);
+                    programArgs, offline, observeFlag, noCache);
         }
 
         @Override
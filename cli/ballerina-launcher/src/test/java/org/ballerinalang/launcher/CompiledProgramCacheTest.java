@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.launcher;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.util.ProjectDirConstants;
+import org.wso2.ballerinalang.util.RepoUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Tests the keys of the programs in the {@link CompiledProgramCache}, and compiling programs with and without it.
+ */
+public class CompiledProgramCacheTest {
+
+    private static final String USER_HOME = "user.home";
+
+    private Path tmpDir;
+
+    private String userHome;
+
+    private CompiledProgramCache cache;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        this.tmpDir = Files.createTempDirectory("program-cache-");
+        this.userHome = System.getProperty(USER_HOME);
+        System.setProperty(USER_HOME, this.tmpDir.resolve("home").toString());
+        this.cache = CompiledProgramCache.getInstance();
+    }
+
+    @AfterClass
+    public void tearDown() throws IOException {
+        System.setProperty(USER_HOME, this.userHome);
+        try (Stream<Path> paths = Files.walk(this.tmpDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testKeyOfImportedPackages() throws IOException {
+        Path root = Files.createDirectories(this.tmpDir.resolve("imports"));
+        write(root.resolve("main.bal"), "import foo;\n\nfunction main(string... args) {\n    foo:hello();\n}\n");
+        write(root.resolve("foo").resolve("foo.bal"),
+                "import bar;\n\npublic function hello() {\n    bar:hello();\n}\n");
+        write(root.resolve("bar").resolve("bar.bal"), "public function hello() {\n}\n");
+        Path sourcePath = Paths.get("main.bal");
+        String key = this.cache.getKey(root, sourcePath, false);
+        Assert.assertNotNull(key);
+        Assert.assertEquals(this.cache.getKey(root, sourcePath, false), key);
+
+        /* a package imported by the program */
+        write(root.resolve("foo").resolve("foo.bal"), "import bar;\n\npublic function hello() {\n}\n");
+        String directKey = this.cache.getKey(root, sourcePath, false);
+        Assert.assertNotEquals(directKey, key);
+
+        /* a package imported by a package the program imports */
+        write(root.resolve("bar").resolve("bar.bal"), "public function hello() {\n    int i = 0;\n}\n");
+        String transitiveKey = this.cache.getKey(root, sourcePath, false);
+        Assert.assertNotEquals(transitiveKey, directKey);
+        Assert.assertNotEquals(transitiveKey, key);
+    }
+
+    @Test
+    public void testKeyOfPackagesImportingOtherOrgs() throws IOException {
+        Path root = Files.createDirectories(this.tmpDir.resolve("orgs"));
+        write(root.resolve("main.bal"), "import foo;\n\nfunction main(string... args) {\n    foo:hello();\n}\n");
+        write(root.resolve("foo").resolve("foo.bal"),
+                "import bar;\n\npublic function hello() {\n    bar:hello();\n}\n");
+        write(root.resolve("bar").resolve("bar.bal"), "import wso2/baz;\n\npublic function hello() {\n}\n");
+        Path sourcePath = Paths.get("main.bal");
+
+        /* the program may pull wso2/baz from Ballerina Central, unless it is compiled offline */
+        Assert.assertNull(this.cache.getKey(root, sourcePath, false));
+        Assert.assertNotNull(this.cache.getKey(root, sourcePath, true));
+    }
+
+    @Test
+    public void testKeyOfProject() throws IOException {
+        Path root = Files.createDirectories(this.tmpDir.resolve("project"));
+        Files.createDirectories(root.resolve(ProjectDirConstants.DOT_BALLERINA_DIR_NAME));
+        Path manifest = root.resolve(ProjectDirConstants.MANIFEST_FILE_NAME);
+        write(manifest, "[project]\norg-name = \"wso2\"\nversion = \"0.0.1\"\n");
+        write(root.resolve("foo").resolve("main.bal"), "import wso2/bar;\n\nfunction main(string... args) {\n}\n");
+        write(root.resolve("bar").resolve("bar.bal"), "public function hello() {\n}\n");
+        Path sourcePath = Paths.get("foo");
+        String key = this.cache.getKey(root, sourcePath, true);
+        Assert.assertNotNull(key);
+
+        write(root.resolve("bar").resolve("bar.bal"), "public function hello() {\n    int i = 0;\n}\n");
+        String pkgKey = this.cache.getKey(root, sourcePath, true);
+        Assert.assertNotEquals(pkgKey, key);
+
+        write(manifest, "[project]\norg-name = \"wso2\"\nversion = \"0.0.2\"\n");
+        String manifestKey = this.cache.getKey(root, sourcePath, true);
+        Assert.assertNotEquals(manifestKey, pkgKey);
+        Assert.assertNotEquals(manifestKey, key);
+    }
+
+    @Test
+    public void testNoCache() throws IOException {
+        Path root = Files.createDirectories(this.tmpDir.resolve("run"));
+        Path sourcePath = Paths.get("hello.bal");
+        write(root.resolve(sourcePath), "function main(string... args) {\n}\n");
+        Path program = RepoUtils.createAndGetHomeReposPath().resolve(ProjectDirConstants.CACHES_DIR_NAME)
+                .resolve("programs").resolve(this.cache.getKey(root, sourcePath, false) +
+                        ProjectDirConstants.BLANG_COMPILED_PROG_EXT);
+
+        Assert.assertTrue(LauncherUtils.compile(root, sourcePath, false, true).isMainEPAvailable());
+        Assert.assertFalse(Files.exists(program));
+
+        Assert.assertTrue(LauncherUtils.compile(root, sourcePath, false, false).isMainEPAvailable());
+        Assert.assertTrue(Files.isRegularFile(program));
+
+        /* a cached program is read back instead of being compiled again */
+        Assert.assertNotNull(this.cache.read(this.cache.getKey(root, sourcePath, false)));
+        Assert.assertTrue(LauncherUtils.compile(root, sourcePath, false, false).isMainEPAvailable());
+    }
+
+    private static void write(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
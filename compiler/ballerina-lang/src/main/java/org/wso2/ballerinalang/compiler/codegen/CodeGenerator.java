@@ -44,6 +44,7 @@ import org.wso2.ballerinalang.compiler.semantics.model.symbols.SymTag;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.Symbols;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.TaintRecord;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BArrayType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BField;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BInvokableType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BMapType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BObjectType;
@@ -219,10 +220,13 @@ import org.wso2.ballerinalang.programfile.cpentries.WorkerDataChannelRefCPEntry;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Stack;
 import java.util.stream.Collectors;
 
@@ -309,6 +313,9 @@ public class CodeGenerator extends BLangNodeVisitor {
     private int workerChannelCount = 0;
     private int forkJoinCount = 0;
 
+    // Local variables of the fields of scalar replaced record variables
+    private Map<BVarSymbol, Map<String, RegIndex>> scalarReplacedFieldIndexes = new HashMap<>();
+
     public static CodeGenerator getInstance(CompilerContext context) {
         CodeGenerator codeGenerator = context.get(CODE_GENERATOR_KEY);
         if (codeGenerator == null) {
@@ -498,6 +505,10 @@ public class CodeGenerator extends BLangNodeVisitor {
         BVarSymbol varSymbol = varNode.symbol;
         int ownerSymTag = env.scope.owner.tag;
         if ((ownerSymTag & SymTag.INVOKABLE) == SymTag.INVOKABLE) {
+            if (isScalarReplaced(varSymbol)) {
+                visitScalarReplacedStructLiteral(varSymbol, (BLangStructLiteral) varNode.expr);
+                return;
+            }
             varSymbol.varIndex = getLVIndex(varSymbol.type.tag);
             LocalVariableInfo localVarInfo = getLocalVarAttributeInfo(varSymbol);
             localVarAttrInfo.localVars.add(localVarInfo);
@@ -702,6 +713,12 @@ public class CodeGenerator extends BLangNodeVisitor {
 
             BMapType mapType = (BMapType) mapLiteral.type;
 
+            int unboxedOpcode = getUnboxedMapStoreOpcode(mapType.constraint.tag);
+            if (unboxedOpcode != InstructionCodes.NOP) {
+                emit(unboxedOpcode, mapVarRegIndex, keyExpr.regIndex, valueExpr.regIndex);
+                continue;
+            }
+
             int opcode = getValueToRefTypeCastOpcode(mapType.constraint.tag);
             if (opcode == InstructionCodes.NOP) {
                 emit(InstructionCodes.MAPSTORE, mapVarRegIndex, keyExpr.regIndex, valueExpr.regIndex);
@@ -763,6 +780,66 @@ public class CodeGenerator extends BLangNodeVisitor {
         }
     }
 
+    /**
+     * Generates the literal of a record variable which never escapes the function, by creating a local variable
+     * for each field instead of the struct. Since the record type has no default value expressions, the
+     * initializer would only set the zero values of the fields which are not given in the literal.
+     *
+     * @param varSymbol     symbol of the record variable
+     * @param structLiteral the record literal
+     */
+    private void visitScalarReplacedStructLiteral(BVarSymbol varSymbol, BLangStructLiteral structLiteral) {
+        Set<String> givenFields = new HashSet<>();
+        structLiteral.keyValuePairs.forEach(keyValue -> givenFields.add(keyValue.key.fieldSymbol.name.value));
+
+        Map<String, RegIndex> fieldIndexes = new HashMap<>();
+        for (BField field : ((BRecordType) varSymbol.type).fields) {
+            RegIndex fieldIndex = getLVIndex(field.type.tag);
+            fieldIndexes.put(field.name.value, fieldIndex);
+
+            // Let debuggers show each field as a local variable named after the record variable and the field
+            int fieldNameCPIndex = addUTF8CPEntry(currentPkgInfo, varSymbol.name.value + "." + field.name.value);
+            int fieldSigCPIndex = addUTF8CPEntry(currentPkgInfo, field.type.getDesc());
+            localVarAttrInfo.localVars.add(new LocalVariableInfo(fieldNameCPIndex, fieldSigCPIndex,
+                    fieldIndex.value));
+            if (!givenFields.contains(field.name.value)) {
+                emitZeroValue(field.type.tag, fieldIndex);
+            }
+        }
+        scalarReplacedFieldIndexes.put(varSymbol, fieldIndexes);
+
+        for (BLangRecordKeyValue keyValue : structLiteral.keyValuePairs) {
+            keyValue.valueExpr.regIndex = fieldIndexes.get(keyValue.key.fieldSymbol.name.value);
+            genNode(keyValue.valueExpr, this.env);
+        }
+    }
+
+    private boolean isScalarReplaced(BVarSymbol varSymbol) {
+        // Variables captured by lambdas are passed to them as a whole
+        return varSymbol.scalarReplaced && !varSymbol.closure;
+    }
+
+    private void emitZeroValue(int typeTag, RegIndex regIndex) {
+        switch (typeTag) {
+            case TypeTags.INT:
+                emit(InstructionCodes.ICONST_0, regIndex);
+                break;
+            case TypeTags.FLOAT:
+                emit(InstructionCodes.FCONST_0, regIndex);
+                break;
+            case TypeTags.BOOLEAN:
+                emit(InstructionCodes.BCONST_0, regIndex);
+                break;
+            case TypeTags.STRING:
+                StringCPEntry stringCPEntry = new StringCPEntry(addUTF8CPEntry(currentPkgInfo, ""), "");
+                emit(InstructionCodes.SCONST, getOperand(currentPkgInfo.addCPEntry(stringCPEntry)), regIndex);
+                break;
+            default:
+                emit(InstructionCodes.RCONST_NULL, regIndex);
+                break;
+        }
+    }
+
     @Override
     public void visit(BLangTableLiteral tableLiteral) {
         genNode(tableLiteral.configurationExpr, this.env);
@@ -846,6 +923,12 @@ public class CodeGenerator extends BLangNodeVisitor {
 
     @Override
     public void visit(BLangStructFieldAccessExpr fieldAccessExpr) {
+        if (fieldAccessExpr.expr instanceof BLangLocalVarRef &&
+                isScalarReplaced(((BLangLocalVarRef) fieldAccessExpr.expr).varSymbol)) {
+            visitScalarReplacedFieldAccess(fieldAccessExpr);
+            return;
+        }
+
         boolean variableStore = this.varAssignment;
         this.varAssignment = false;
 
@@ -865,6 +948,24 @@ public class CodeGenerator extends BLangNodeVisitor {
         this.varAssignment = variableStore;
     }
 
+    private void visitScalarReplacedFieldAccess(BLangStructFieldAccessExpr fieldAccessExpr) {
+        BVarSymbol varSymbol = ((BLangLocalVarRef) fieldAccessExpr.expr).varSymbol;
+        RegIndex fieldIndex = scalarReplacedFieldIndexes.get(varSymbol).get(fieldAccessExpr.varSymbol.name.value);
+        int opcode = getOpcode(fieldAccessExpr.symbol.type.tag, InstructionCodes.IMOVE);
+        if (this.varAssignment) {
+            emit(opcode, fieldAccessExpr.regIndex, fieldIndex);
+            return;
+        }
+
+        // Same as reading a local variable
+        RegIndex regIndex = fieldAccessExpr.regIndex;
+        if (regIndex != null && (regIndex.isLHSIndex || regIndex.isVarIndex)) {
+            emit(opcode, fieldIndex, regIndex);
+            return;
+        }
+        fieldAccessExpr.regIndex = fieldIndex;
+    }
+
     @Override
     public void visit(BLangStructFunctionVarRef functionVarRef) {
         visitFunctionPointerLoad(functionVarRef, (BInvokableSymbol) functionVarRef.symbol);
@@ -883,14 +984,21 @@ public class CodeGenerator extends BLangNodeVisitor {
 
         BMapType mapType = (BMapType) mapKeyAccessExpr.expr.type;
         if (variableStore) {
+            int unboxedOpcode = getUnboxedMapStoreOpcode(mapType.constraint.tag);
             int opcode = getValueToRefTypeCastOpcode(mapType.constraint.tag);
-            if (opcode == InstructionCodes.NOP) {
+            if (unboxedOpcode != InstructionCodes.NOP) {
+                emit(unboxedOpcode, varRefRegIndex, keyRegIndex, mapKeyAccessExpr.regIndex);
+            } else if (opcode == InstructionCodes.NOP) {
                 emit(InstructionCodes.MAPSTORE, varRefRegIndex, keyRegIndex, mapKeyAccessExpr.regIndex);
             } else {
                 RegIndex refRegMapValue = getRegIndex(TypeTags.ANY);
                 emit(opcode, mapKeyAccessExpr.regIndex, refRegMapValue);
                 emit(InstructionCodes.MAPSTORE, varRefRegIndex, keyRegIndex, refRegMapValue);
             }
+        } else if (getUnboxedMapLoadOpcode(mapType.constraint.tag) != InstructionCodes.NOP) {
+            /* a missing key is an error either way, as null cannot be cast to the value type */
+            emit(getUnboxedMapLoadOpcode(mapType.constraint.tag), varRefRegIndex, keyRegIndex,
+                    calcAndGetExprRegIndex(mapKeyAccessExpr));
         } else {
             IntegerCPEntry exceptCPEntry = new IntegerCPEntry(mapKeyAccessExpr.except ? 1 : 0);
             Operand except = getOperand(currentPkgInfo.addCPEntry(exceptCPEntry));
@@ -1463,6 +1571,9 @@ public class CodeGenerator extends BLangNodeVisitor {
             }
         }
 
+        // Register indexes of the scalar replaced records are only valid within this invokable
+        scalarReplacedFieldIndexes.clear();
+
         if (invokableNode.symbol.taintTable != null) {
             int taintTableAttributeNameIndex = addUTF8CPEntry(currentPkgInfo, AttributeInfo.Kind.TAINT_TABLE.value());
             TaintTableAttributeInfo taintTableAttributeInfo = new TaintTableAttributeInfo(taintTableAttributeNameIndex);
@@ -2535,8 +2646,9 @@ public class CodeGenerator extends BLangNodeVisitor {
 
     public void visit(BLangForeach foreach) {
         // Calculate temporary scope variables for iteration.
-        Operand iteratorVar = getLVIndex(TypeTags.ITERATOR);
+        RegIndex iteratorVar = getLVIndex(TypeTags.ITERATOR);
         Operand conditionVar = getLVIndex(TypeTags.BOOLEAN);
+        foreach.iteratorRegIndex = iteratorVar;
 
         // Create new Iterator for given collection.
         this.genNode(foreach.collection, env);
@@ -2562,6 +2674,9 @@ public class CodeGenerator extends BLangNodeVisitor {
 
         this.emit(gotoStartInstruction);  // move to next iteration.
         foreachEndAddress.value = this.nextIP();
+
+        // Release the iterator, both when the iteration is over and when the loop is left with a break.
+        this.emit(InstructionCodes.ITR_CLOSE, iteratorVar);
     }
 
     public void visit(BLangWhile whileNode) {
@@ -2592,23 +2707,29 @@ public class CodeGenerator extends BLangNodeVisitor {
         Operand[] operands = getOperands(lockNode);
         ErrorTableAttributeInfo errorTable = createErrorTableIfAbsent(currentPkgInfo);
 
+        int unlockOpcode = getUnlockOpcode(lockNode);
+
         int fromIP = nextIP();
-        emit((InstructionCodes.LOCK), operands);
+        emit(lockNode.readOnly ? InstructionCodes.READ_LOCK : InstructionCodes.LOCK, operands);
 
         this.genNode(lockNode.body, this.env);
         int toIP = nextIP() - 1;
 
-        emit((InstructionCodes.UNLOCK), operands);
+        emit(unlockOpcode, operands);
         emit(instructGotoLockEnd);
 
         ErrorTableEntry errorTableEntry = new ErrorTableEntry(fromIP, toIP, nextIP(), 0, -1);
         errorTable.addErrorTableEntry(errorTableEntry);
 
-        emit((InstructionCodes.UNLOCK), operands);
+        emit(unlockOpcode, operands);
         emit(InstructionFactory.get(InstructionCodes.THROW, getOperand(-1)));
         gotoLockEndAddr.value = nextIP();
     }
 
+    private int getUnlockOpcode(BLangLock lockNode) {
+        return lockNode.readOnly ? InstructionCodes.READ_UNLOCK : InstructionCodes.UNLOCK;
+    }
+
     private Operand[] getOperands(BLangLock lockNode) {
         Operand[] operands = new Operand[(lockNode.lockVariables.size() * 3) + 1];
         int i = 0;
@@ -3109,8 +3230,11 @@ public class CodeGenerator extends BLangNodeVisitor {
                 BLangLock lockNode = (BLangLock) parent;
                 if (!lockNode.lockVariables.isEmpty()) {
                     Operand[] operands = getOperands(lockNode);
-                    emit((InstructionCodes.UNLOCK), operands);
+                    emit(getUnlockOpcode(lockNode), operands);
                 }
+            } else if (NodeKind.FOREACH == parent.getKind()) {
+                // The loop is left from within its body, without reaching its end
+                emit(InstructionCodes.ITR_CLOSE, ((BLangForeach) parent).iteratorRegIndex);
             }
             current = parent;
         }
@@ -3334,6 +3458,32 @@ public class CodeGenerator extends BLangNodeVisitor {
         return opcode;
     }
 
+    private int getUnboxedMapLoadOpcode(int constraintTypeTag) {
+        switch (constraintTypeTag) {
+            case TypeTags.INT:
+                return InstructionCodes.IMAPLOAD;
+            case TypeTags.FLOAT:
+                return InstructionCodes.FMAPLOAD;
+            case TypeTags.STRING:
+                return InstructionCodes.SMAPLOAD;
+            default:
+                return InstructionCodes.NOP;
+        }
+    }
+
+    private int getUnboxedMapStoreOpcode(int constraintTypeTag) {
+        switch (constraintTypeTag) {
+            case TypeTags.INT:
+                return InstructionCodes.IMAPSTORE;
+            case TypeTags.FLOAT:
+                return InstructionCodes.FMAPSTORE;
+            case TypeTags.STRING:
+                return InstructionCodes.SMAPSTORE;
+            default:
+                return InstructionCodes.NOP;
+        }
+    }
+
     private int getRefToValueTypeCastOpcode(int typeTag) {
         int opcode;
         switch (typeTag) {
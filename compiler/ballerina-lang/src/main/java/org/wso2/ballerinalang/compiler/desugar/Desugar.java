@@ -41,8 +41,10 @@ import org.wso2.ballerinalang.compiler.semantics.model.symbols.BXMLNSSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.SymTag;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.Symbols;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BArrayType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BField;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BInvokableType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BJSONType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BRecordType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BStructureType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BTableType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
@@ -218,6 +220,10 @@ public class Desugar extends BLangNodeVisitor {
     private BLangMatchStmtPatternClause successPattern;
     private BLangAssignment safeNavigationAssignment;
 
+    // Scalar replacement related variables
+    private boolean fieldAccessTarget;
+    private int forkedWorkerDepth;
+
     public static Desugar getInstance(CompilerContext context) {
         Desugar desugar = context.get(DESUGAR_KEY);
         if (desugar == null) {
@@ -545,6 +551,8 @@ public class Desugar extends BLangNodeVisitor {
         }
 
         if (!varNode.safeAssignment) {
+            // Until a reference uses it as a whole, a record variable is only ever used to access its fields
+            varNode.symbol.scalarReplaced = isScalarReplaceable(varNode);
             result = varDefNode;
             return;
         }
@@ -590,6 +598,7 @@ public class Desugar extends BLangNodeVisitor {
 
     @Override
     public void visit(BLangAssignment assignNode) {
+        markLockedVariableAssignment(assignNode.varRef);
         if (safeNavigateLHS(assignNode.varRef)) {
             BLangAccessExpression accessExpr = (BLangAccessExpression) assignNode.varRef;
             accessExpr.leafNode = true;
@@ -655,6 +664,7 @@ public class Desugar extends BLangNodeVisitor {
 
     @Override
     public void visit(BLangTupleDestructure stmt) {
+        stmt.varRefs.forEach(this::markLockedVariableAssignment);
         // var (a, b) = (tuple)
         //
         //  desugar once
@@ -703,6 +713,7 @@ public class Desugar extends BLangNodeVisitor {
 
     @Override
     public void visit(BLangBind bindNode) {
+        markLockedVariableAssignment(bindNode.varRef);
         bindNode.varRef = rewriteExpr(bindNode.varRef);
         bindNode.expr = rewriteExpr(bindNode.expr);
         result = new BLangAssignment(bindNode.pos, bindNode.varRef, bindNode.expr, false);
@@ -772,6 +783,7 @@ public class Desugar extends BLangNodeVisitor {
     }
 
     public void visit(BLangCompoundAssignment compoundAssignment) {
+        markLockedVariableAssignment(compoundAssignment.varRef);
         BLangAssignment assignStmt = (BLangAssignment) TreeBuilder.createAssignmentNode();
         assignStmt.pos = compoundAssignment.pos;
         assignStmt.setVariable(rewriteExpr((BLangVariableReference) compoundAssignment.varRef));
@@ -780,6 +792,7 @@ public class Desugar extends BLangNodeVisitor {
     }
 
     public void visit(BLangPostIncrement postIncrement) {
+        markLockedVariableAssignment(postIncrement.varRef);
         BLangAssignment assignStmt = (BLangAssignment) TreeBuilder.createAssignmentNode();
         assignStmt.pos = postIncrement.pos;
         assignStmt.setVariable(rewriteExpr((BLangVariableReference) postIncrement.varRef));
@@ -877,6 +890,8 @@ public class Desugar extends BLangNodeVisitor {
 
     @Override
     public void visit(BLangLock lockNode) {
+        markEnclosingLocksNotReadOnly();
+        lockNode.readOnly = true;
         enclLocks.push(lockNode);
         lockNode.body = rewrite(lockNode.body, env);
         enclLocks.pop();
@@ -885,11 +900,15 @@ public class Desugar extends BLangNodeVisitor {
             String o2FullName = String.join(":", v2.pkgID.getName().getValue(), v2.name.getValue());
             return o1FullName.compareTo(o2FullName);
         }).collect(Collectors.toSet());
+        // A value of a reference type can be modified without assigning to the variable
+        lockNode.readOnly = lockNode.readOnly && lockNode.lockVariables.stream()
+                .allMatch(varSymbol -> types.isValueType(varSymbol.type));
         result = lockNode;
     }
 
     @Override
     public void visit(BLangTransaction transactionNode) {
+        markEnclosingLocksNotReadOnly();
         transactionNode.transactionBody = rewrite(transactionNode.transactionBody, env);
         transactionNode.onRetryBody = rewrite(transactionNode.onRetryBody, env);
         transactionNode.retryCount = rewriteExpr(transactionNode.retryCount);
@@ -914,7 +933,10 @@ public class Desugar extends BLangNodeVisitor {
 
     @Override
     public void visit(BLangForkJoin forkJoin) {
+        markEnclosingLocksNotReadOnly();
+        forkedWorkerDepth++;
         forkJoin.workers = rewrite(forkJoin.workers, env);
+        forkedWorkerDepth--;
         forkJoin.joinResultVar = rewrite(forkJoin.joinResultVar, env);
         forkJoin.joinedBody = rewrite(forkJoin.joinedBody, env);
         forkJoin.timeoutBody = rewrite(forkJoin.timeoutBody, env);
@@ -1007,6 +1029,8 @@ public class Desugar extends BLangNodeVisitor {
     @Override
     public void visit(BLangSimpleVarRef varRefExpr) {
         BLangSimpleVarRef genVarRefExpr = varRefExpr;
+        boolean fieldAccessTarget = this.fieldAccessTarget;
+        this.fieldAccessTarget = false;
 
         // XML qualified name reference. e.g: ns0:foo
         if (varRefExpr.pkgSymbol != null && varRefExpr.pkgSymbol.tag == SymTag.XMLNS) {
@@ -1030,7 +1054,12 @@ public class Desugar extends BLangNodeVisitor {
             genVarRefExpr = new BLangTypeLoad(varRefExpr.symbol);
         } else if ((ownerSymbol.tag & SymTag.INVOKABLE) == SymTag.INVOKABLE) {
             // Local variable in a function/resource/action/worker
-            genVarRefExpr = new BLangLocalVarRef((BVarSymbol) varRefExpr.symbol);
+            BVarSymbol varSymbol = (BVarSymbol) varRefExpr.symbol;
+            if (!fieldAccessTarget || forkedWorkerDepth > 0) {
+                // The record escapes, or is shared with forked workers, hence it has to be allocated
+                varSymbol.scalarReplaced = false;
+            }
+            genVarRefExpr = new BLangLocalVarRef(varSymbol);
         } else if ((ownerSymbol.tag & SymTag.CONNECTOR) == SymTag.CONNECTOR) {
             // Field variable in a receiver
             genVarRefExpr = new BLangFieldVarRef((BVarSymbol) varRefExpr.symbol);
@@ -1064,7 +1093,11 @@ public class Desugar extends BLangNodeVisitor {
             targetVarRef = new BLangEnumeratorAccessExpr(fieldAccessExpr.pos,
                     fieldAccessExpr.field, (BVarSymbol) fieldAccessExpr.symbol);
         } else {
+            this.fieldAccessTarget = fieldAccessExpr.expr.getKind() == NodeKind.SIMPLE_VARIABLE_REF &&
+                    fieldAccessExpr.expr.impConversionExpr == null &&
+                    !(fieldAccessExpr.symbol instanceof BInvokableSymbol);
             fieldAccessExpr.expr = rewriteExpr(fieldAccessExpr.expr);
+            this.fieldAccessTarget = false;
             
             BType varRefType = fieldAccessExpr.expr.type;
             if (varRefType.tag == TypeTags.OBJECT || varRefType.tag == TypeTags.RECORD) {
@@ -1129,6 +1162,7 @@ public class Desugar extends BLangNodeVisitor {
 
     @Override
     public void visit(BLangInvocation iExpr) {
+        markEnclosingLocksNotReadOnly();
         BLangInvocation genIExpr = iExpr;
 
         if (safeNavigate(iExpr)) {
@@ -1193,6 +1227,7 @@ public class Desugar extends BLangNodeVisitor {
     }
 
     public void visit(BLangTypeInit connectorInitExpr) {
+        markEnclosingLocksNotReadOnly();
         connectorInitExpr.argsExpr = rewriteExprs(connectorInitExpr.argsExpr);
         connectorInitExpr.objectInitInvocation = rewriteExpr(connectorInitExpr.objectInitInvocation);
         result = connectorInitExpr;
@@ -1208,6 +1243,7 @@ public class Desugar extends BLangNodeVisitor {
 
     @Override
     public void visit(BLangAwaitExpr awaitExpr) {
+        markEnclosingLocksNotReadOnly();
         awaitExpr.expr = rewriteExpr(awaitExpr.expr);
         result = awaitExpr;
     }
@@ -1379,12 +1415,14 @@ public class Desugar extends BLangNodeVisitor {
 
     @Override
     public void visit(BLangWorkerSend workerSendNode) {
+        markEnclosingLocksNotReadOnly();
         workerSendNode.expr = rewriteExpr(workerSendNode.expr);
         result = workerSendNode;
     }
 
     @Override
     public void visit(BLangWorkerReceive workerReceiveNode) {
+        markEnclosingLocksNotReadOnly();
         workerReceiveNode.expr = rewriteExpr(workerReceiveNode.expr);
         result = workerReceiveNode;
     }
@@ -1477,6 +1515,7 @@ public class Desugar extends BLangNodeVisitor {
 
     @Override
     public void visit(BFunctionPointerInvocation fpInvocation) {
+        markEnclosingLocksNotReadOnly();
         result = fpInvocation;
     }
 
@@ -2243,6 +2282,52 @@ public class Desugar extends BLangNodeVisitor {
         return ASTBuilderUtil.createIsAssignableExpr(pos, varRef, patternType, symTable.booleanType, names);
     }
 
+    /**
+     * Checks whether the fields of the given local record variable can be kept in registers, instead of
+     * allocating the record. This is the case when the record is created with a literal, and its type has no
+     * default value expressions, so that creating it has no side effects. Fields which are not given in the
+     * literal should also have a zero value which does not need an allocation.
+     */
+    private boolean isScalarReplaceable(BLangVariable varNode) {
+        if ((varNode.symbol.owner.tag & SymTag.INVOKABLE) != SymTag.INVOKABLE ||
+                varNode.type.tag != TypeTags.RECORD || !(varNode.expr instanceof BLangStructLiteral) ||
+                varNode.expr.type != varNode.type || varNode.expr.impConversionExpr != null) {
+            return false;
+        }
+
+        // Default value expressions are only known for the records of the current package
+        BRecordType recordType = (BRecordType) varNode.type;
+        if (!recordType.tsymbol.pkgID.equals(varNode.symbol.pkgID)) {
+            return false;
+        }
+
+        BLangStructLiteral structLiteral = (BLangStructLiteral) varNode.expr;
+        for (BField field : recordType.fields) {
+            if (field.expAvailable) {
+                return false;
+            }
+            boolean fieldGiven = structLiteral.keyValuePairs.stream()
+                    .anyMatch(keyValue -> keyValue.key.fieldSymbol != null &&
+                            keyValue.key.fieldSymbol.name.equals(field.name));
+            if (!fieldGiven && !hasZeroValue(field.type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasZeroValue(BType type) {
+        switch (type.tag) {
+            case TypeTags.INT:
+            case TypeTags.FLOAT:
+            case TypeTags.BOOLEAN:
+            case TypeTags.STRING:
+                return true;
+            default:
+                return type.isNullable();
+        }
+    }
+
     private BLangExpression getInitExpr(BLangVariable varNode) {
         BType type = varNode.type;
         // Don't need to create an empty init expressions if the type allows null.
@@ -2878,4 +2963,23 @@ public class Desugar extends BLangNodeVisitor {
         return literal;
     }
 
+    /**
+     * Marks all the enclosing lock statements as ones that may write to the variables they lock. This is needed
+     * when the code within the lock can run other code, which may in turn lock the same variables.
+     */
+    private void markEnclosingLocksNotReadOnly() {
+        enclLocks.forEach(lockNode -> lockNode.readOnly = false);
+    }
+
+    private void markLockedVariableAssignment(BLangExpression varRef) {
+        if (enclLocks.isEmpty() || varRef.getKind() != NodeKind.SIMPLE_VARIABLE_REF) {
+            return;
+        }
+        BSymbol symbol = ((BLangSimpleVarRef) varRef).symbol;
+        if (symbol != null && ((symbol.owner.tag & SymTag.PACKAGE) == SymTag.PACKAGE ||
+                (symbol.owner.tag & SymTag.SERVICE) == SymTag.SERVICE)) {
+            enclLocks.peek().readOnly = false;
+        }
+    }
+
 }
@@ -39,6 +39,12 @@ public class BVarSymbol extends BSymbol implements VariableSymbol {
     public RegIndex varIndex;
     public DocTag docTag;
 
+    /**
+     * Whether this is a local record variable which is only used to access its fields, in which case the fields
+     * are kept in registers instead of allocating the record.
+     */
+    public boolean scalarReplaced;
+
     public BVarSymbol(int flags, Name name, PackageID pkgID, BType type, BSymbol owner) {
         super(VARIABLE, flags, name, pkgID, type, owner);
     }
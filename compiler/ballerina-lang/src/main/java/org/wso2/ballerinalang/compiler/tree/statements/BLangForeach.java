@@ -26,6 +26,7 @@ import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
 import org.wso2.ballerinalang.compiler.tree.BLangNodeVisitor;
 import org.wso2.ballerinalang.compiler.tree.expressions.BLangExpression;
 import org.wso2.ballerinalang.compiler.tree.expressions.BLangVariableReference;
+import org.wso2.ballerinalang.programfile.Instruction.RegIndex;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -41,6 +42,7 @@ public class BLangForeach extends BLangStatement implements ForeachNode {
     public List<BLangExpression> varRefs = new ArrayList<>();
     public BLangBlockStmt body;
     public List<BType> varTypes;
+    public RegIndex iteratorRegIndex;
 
     @Override
     public ExpressionNode getCollection() {
@@ -37,6 +37,9 @@ public class BLangLock extends BLangStatement implements LockNode {
 
     public Set<BVarSymbol> lockVariables = new HashSet<>();
 
+    /* set when the lock body only reads the locked variables, and does not run any other code */
+    public boolean readOnly;
+
     public BLangLock() {
     }
 
@@ -74,6 +74,12 @@ public interface InstructionCodes {
 
     int MAPLOAD = 46;
     int JSONLOAD = 47;
+    int IMAPLOAD = 48;
+    int FMAPLOAD = 49;
+    int SMAPLOAD = 50;
+    int IMAPSTORE = 51;
+    int FMAPSTORE = 52;
+    int SMAPSTORE = 53;
 
     int IASTORE = 55;
     int FASTORE = 56;
@@ -223,6 +229,8 @@ public interface InstructionCodes {
 
     int LOCK = 185;
     int UNLOCK = 186;
+    int READ_LOCK = 224;
+    int READ_UNLOCK = 225;
 
     // Transactions
     int TR_BEGIN = 188;
@@ -261,6 +269,7 @@ public interface InstructionCodes {
     int ITR_HAS_NEXT = 221;
     int ITR_NEXT = 222;
     int INT_RANGE = 223;
+    int ITR_CLOSE = 226;
 
     int IRET = 229;
     int FRET = 230;
@@ -93,6 +93,12 @@ public class Mnemonics {
 
         mnemonics[InstructionCodes.MAPLOAD] = "mapload";
         mnemonics[InstructionCodes.MAPSTORE] = "mapstore";
+        mnemonics[InstructionCodes.IMAPLOAD] = "imapload";
+        mnemonics[InstructionCodes.FMAPLOAD] = "fmapload";
+        mnemonics[InstructionCodes.SMAPLOAD] = "smapload";
+        mnemonics[InstructionCodes.IMAPSTORE] = "imapstore";
+        mnemonics[InstructionCodes.FMAPSTORE] = "fmapstore";
+        mnemonics[InstructionCodes.SMAPSTORE] = "smapstore";
         mnemonics[InstructionCodes.JSONLOAD] = "jsonload";
         mnemonics[InstructionCodes.JSONSTORE] = "jsonstore";
 
@@ -230,6 +236,7 @@ public class Mnemonics {
         mnemonics[InstructionCodes.ITR_NEW] = "itr_new";
         mnemonics[InstructionCodes.ITR_HAS_NEXT] = "itr_has_next";
         mnemonics[InstructionCodes.ITR_NEXT] = "itr_next";
+        mnemonics[InstructionCodes.ITR_CLOSE] = "itr_close";
         mnemonics[InstructionCodes.INT_RANGE] = "int_range";
 
         mnemonics[InstructionCodes.IRET] = "iret";
@@ -260,6 +267,8 @@ public class Mnemonics {
         mnemonics[InstructionCodes.S2JSONX] = "s2jsonx";
         mnemonics[InstructionCodes.LOCK] = "lock";
         mnemonics[InstructionCodes.UNLOCK] = "unlock";
+        mnemonics[InstructionCodes.READ_LOCK] = "read_lock";
+        mnemonics[InstructionCodes.READ_UNLOCK] = "read_unlock";
     }
 
     public static String getMnem(int opcode) {
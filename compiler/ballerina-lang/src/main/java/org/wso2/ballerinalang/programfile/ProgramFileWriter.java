@@ -19,9 +19,16 @@ package org.wso2.ballerinalang.programfile;
 
 import org.wso2.ballerinalang.programfile.CompiledBinaryFile.ProgramFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Dump Ballerina program file model (BALX) to a file.
@@ -34,13 +41,7 @@ public class ProgramFileWriter {
         DataOutputStream dataOutStream = null;
         try {
             dataOutStream = new DataOutputStream(programOutStream);
-
-            dataOutStream.writeInt(programFile.getMagicValue());
-            dataOutStream.writeShort(programFile.getVersion());
-
-            // Write CP entries of the program
-            PackageInfoWriter.writeCP(dataOutStream, programFile.getConstPoolEntries());
-            writeEntryPoint(dataOutStream, programFile);
+            writeHeader(dataOutStream, programFile);
 
             // Emit package info entries;
             writePackageInfoEntries(programFile, dataOutStream);
@@ -56,6 +57,46 @@ public class ProgramFileWriter {
         }
     }
 
+    /**
+     * Get the program file model as a stream in the same format as {@link #writeProgram(ProgramFile, OutputStream)}.
+     * The binary content of the packages is read in place, instead of copying the whole program into a buffer.
+     *
+     * @param programFile the program file model
+     * @return a stream of the program file
+     * @throws IOException if the program file model cannot be written
+     */
+    public static InputStream getProgramInputStream(ProgramFile programFile) throws IOException {
+        List<InputStream> inStreams = new ArrayList<>();
+
+        ByteArrayOutputStream headerOutStream = new ByteArrayOutputStream();
+        DataOutputStream dataOutStream = new DataOutputStream(headerOutStream);
+        writeHeader(dataOutStream, programFile);
+        dataOutStream.writeShort(programFile.packageFileMap.size());
+        dataOutStream.flush();
+        inStreams.add(new ByteArrayInputStream(headerOutStream.toByteArray()));
+
+        for (CompiledBinaryFile.PackageFile packageFile : programFile.packageFileMap.values()) {
+            inStreams.add(new ByteArrayInputStream(packageFile.pkgBinaryContent));
+        }
+
+        ByteArrayOutputStream attributesOutStream = new ByteArrayOutputStream();
+        dataOutStream = new DataOutputStream(attributesOutStream);
+        PackageInfoWriter.writeAttributeInfoEntries(dataOutStream, programFile.getAttributeInfoEntries());
+        dataOutStream.flush();
+        inStreams.add(new ByteArrayInputStream(attributesOutStream.toByteArray()));
+
+        return new SequenceInputStream(Collections.enumeration(inStreams));
+    }
+
+    private static void writeHeader(DataOutputStream dataOutStream, ProgramFile programFile) throws IOException {
+        dataOutStream.writeInt(programFile.getMagicValue());
+        dataOutStream.writeShort(programFile.getVersion());
+
+        // Write CP entries of the program
+        PackageInfoWriter.writeCP(dataOutStream, programFile.getConstPoolEntries());
+        writeEntryPoint(dataOutStream, programFile);
+    }
+
     private static void writeEntryPoint(DataOutputStream dataOutStream,
                                         ProgramFile programFile) throws IOException {
         dataOutStream.writeInt(programFile.entryPkgCPIndex);
@@ -36,7 +36,7 @@ public class GetErrorCallStackFrame extends BlockingNativeCallableUnit {
     @Override
     public void execute(Context context) {
         final BStruct errorStruct = (BStruct) context.getRefArgument(0);
-        BStruct callStackFrame = (BStruct) errorStruct.getNativeData(BLangVMErrors.STRUCT_CALL_STACK_ELEMENT);
+        BStruct callStackFrame = BLangVMErrors.getErrorStackFrame(errorStruct);
         context.setReturnValues(callStackFrame);
     }
 
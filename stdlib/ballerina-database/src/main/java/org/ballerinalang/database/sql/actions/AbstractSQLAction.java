@@ -105,6 +105,11 @@ public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
         utcCalendar = Calendar.getInstance(TimeZone.getTimeZone(Constants.TIMEZONE_UTC));
     }
 
+    @Override
+    public boolean isIOBound() {
+        return true;
+    }
+
     protected void executeQuery(Context context, SQLDatasource datasource, String query, BRefValueArray parameters,
             BStructureType structType, boolean loadSQLTableToMemory) {
         Connection conn = null;
@@ -123,6 +123,9 @@ documentation {
     F{{transactionInfectable}} Allow to participate in the distributed transactions if value is true
     F{{webSocketUpgrade}} Annotation to define HTTP to WebSocket upgrade
     F{{authConfig}} Authentication Configs to secure the resource
+    F{{maxActiveRequests}} Maximum number of requests the resource executes at a time. Exceeding this limit will
+                           queue the request, or result in a `503 - Service Unavailable` response if the queue is full.
+    F{{maxQueuedRequests}} Maximum number of requests waiting to be executed when `maxActiveRequests` is reached
 }
 public type HttpResourceConfig {
     string[] methods,
@@ -134,6 +137,8 @@ public type HttpResourceConfig {
     boolean transactionInfectable = true,
     WebSocketUpgradeConfig? webSocketUpgrade,
     ListenerAuthConfig? authConfig,
+    int maxActiveRequests = -1,
+    int maxQueuedRequests,
 };
 
 documentation {
@@ -14,21 +14,20 @@
 // specific language governing permissions and limitations
 // under the License.
 
-
-import ballerina/cache;
-
 documentation {
     Implements a cache for storing HTTP responses. This cache complies with the caching policy set when configuring
-    HTTP caching in the HTTP client endpoint.
+    HTTP caching in the HTTP client endpoint. The responses are stored natively, in a concurrent map from which the
+    least recently used entries are evicted when the size of the cached responses exceeds the capacity.
 }
 public type HttpCache object {
 
     private {
-        cache:Cache cache;
         CachingPolicy policy = CACHE_CONTROL_AND_VALIDATORS;
         boolean isShared;
     }
 
+    native function initStore (int expiryTimeMillis, int capacity, float evictionFactor);
+
     function isAllowedToCache (Response response) returns boolean {
         if (self.policy == CACHE_CONTROL_AND_VALIDATORS) {
             return response.hasHeader(CACHE_CONTROL) && (response.hasHeader(ETAG) || response.hasHeader(LAST_MODIFIED));
@@ -62,32 +61,26 @@ public type HttpCache object {
                 error => {}
             }
             log:printDebug("Adding new cache entry for: " + key);
-            addEntry(cache, key, inboundResponse);
+            self.addEntry(key, inboundResponse);
         }
     }
 
-    function hasKey (string key) returns boolean {
-        return cache.hasKey(key);
-    }
+    native function hasKey (string key) returns boolean;
 
     function get (string key) returns Response {
-        match <Response[]>cache.get(key) {
+        match getAll(key) {
             Response[] cacheEntry => return cacheEntry[lengthof cacheEntry - 1];
-            error err => throw err;
-        }
-    }
-
-    function getAll (string key) returns Response[]|() {
-        try {
-            match <Response[]>cache.get(key) {
-                Response[] cacheEntry => return cacheEntry;
-                error err => return ();
+            () => {
+                error err = {message:"No cached response found for: " + key};
+                throw err;
             }
-        } catch (error e) {
-            return ();
         }
     }
 
+    native function getAll (string key) returns Response[]|();
+
+    native function addEntry (string key, Response inboundResponse);
+
     function getAllByETag (string key, string etag) returns Response[] {
         Response[] cachedResponses = [];
         Response[] matchingResponses = [];
@@ -128,16 +121,12 @@ public type HttpCache object {
         return matchingResponses;
     }
 
-    function remove (string key) {
-        cache.remove(key);
-    }
+    native function remove (string key);
 };
 
 function createHttpCache (string name, CacheConfig cacheConfig) returns HttpCache {
     HttpCache httpCache = new;
-    cache:Cache backingCache = new(expiryTimeMillis = cacheConfig.expiryTimeMillis, capacity = cacheConfig.capacity,
-                                     evictionFactor = cacheConfig.evictionFactor);
-    httpCache.cache = backingCache;
+    httpCache.initStore(cacheConfig.expiryTimeMillis, cacheConfig.capacity, cacheConfig.evictionFactor);
     httpCache.policy = cacheConfig.policy;
     httpCache.isShared = cacheConfig.isShared;
     return httpCache;
@@ -153,19 +142,6 @@ function isCacheableStatusCode (int statusCode) returns boolean {
            statusCode == NOT_IMPLEMENTED_501;
 }
 
-function addEntry (cache:Cache cache, string key, Response inboundResponse) {
-    try {
-        var existingResponses = cache.get(key);
-        match <Response[]>existingResponses {
-            Response[] cachedRespArray => cachedRespArray[lengthof cachedRespArray] = inboundResponse;
-            error err => throw err;
-        }
-    } catch (error e) {
-        Response[] cachedResponses = [inboundResponse];
-        cache.put(key, cachedResponses);
-    }
-}
-
 function weakValidatorEquals (string etag1, string etag2) returns boolean {
     string validatorPortion1 = etag1.hasPrefix(WEAK_VALIDATOR_TAG) ? etag1.substring(2, lengthof etag1) : etag1;
     string validatorPortion2 = etag2.hasPrefix(WEAK_VALIDATOR_TAG) ? etag2.substring(2, lengthof etag2) : etag2;
@@ -60,9 +60,9 @@ documentation {
     F{{enabled}} Specifies whether HTTP caching is enabled. Caching is enabled by default.
     F{{isShared}} Specifies whether the HTTP caching layer should behave as a public cache or a private cache
     F{{expiryTimeMillis}} The number of milliseconds to keep an entry in the cache
-    F{{capacity}} The capacity of the cache
-    F{{evictionFactor}} The fraction of entries to be removed when the cache is full. The value should be
-                        between 0 (exclusive) and 1 (inclusive).
+    F{{capacity}} The capacity of the cache, in bytes of the payloads and headers of the cached responses
+    F{{evictionFactor}} The fraction of the capacity to be freed, by removing the least recently used entries, when
+                        the cache is full. The value should be between 0 (exclusive) and 1 (inclusive).
     F{{policy}} Gives the user some control over the caching behaviour. By default, this is set to
                 `CACHE_CONTROL_AND_VALIDATORS`. The default behaviour is to allow caching only when the `cache-control`
                 header and either the `etag` or `last-modified` header are present.
@@ -279,12 +279,6 @@ function createCircuitBreakerClient(string uri, ClientEndpointConfig configurati
 
             time:Time circuitStartTime = time:currentTime();
             int numberOfBuckets = (cb.rollingWindow.timeWindowMillis/ cb.rollingWindow.bucketSizeMillis);
-            Bucket[] bucketArray = [];
-            int bucketIndex = 0;
-            while (bucketIndex < numberOfBuckets) {
-                bucketArray[bucketIndex] = {};
-                bucketIndex = bucketIndex + 1;
-            }
 
             CircuitBreakerInferredConfig circuitBreakerInferredConfig = {
                                                                 failureThreshold:cb.failureThreshold,
@@ -293,7 +287,7 @@ function createCircuitBreakerClient(string uri, ClientEndpointConfig configurati
                                                                 noOfBuckets:numberOfBuckets,
                                                                 rollingWindow:cb.rollingWindow
                                                             };
-            CircuitHealth circuitHealth = {startTime:circuitStartTime, totalBuckets: bucketArray};
+            CircuitHealth circuitHealth = {startTime:circuitStartTime};
             return new CircuitBreakerClient(uri, configuration, circuitBreakerInferredConfig, cbHttpClient, circuitHealth);
         }
         () => {
@@ -48,7 +48,8 @@ documentation {
 @final public CircuitState CB_CLOSED_STATE = "CLOSED";
 
 documentation {
-    Maintains the health of the Circuit Breaker.
+    Maintains the health of the Circuit Breaker. Once the Circuit Breaker is created, the request statistics are kept
+    natively alongside this record, and are not reflected in the fields other than `startTime`.
 
     F{{startTime}} Circuit Breaker start time
     F{{requestCount}} Total request count since the starting time
@@ -163,6 +164,10 @@ public type CircuitBreakerClient object {
         self.circuitBreakerInferredConfig = circuitBreakerInferredConfig;
         self.httpClient = httpClient;
         self.circuitHealth = circuitHealth;
+        initCircuitHealth(circuitHealth, serviceUri, circuitBreakerInferredConfig.failureThreshold,
+                          circuitBreakerInferredConfig.resetTimeMillis,
+                          circuitBreakerInferredConfig.rollingWindow.bucketSizeMillis,
+                          circuitBreakerInferredConfig.noOfBuckets);
     }
 
     documentation {
@@ -338,12 +343,11 @@ public function CircuitBreakerClient::post(string path, Request|string|xml|json|
                                             message) returns Response|error {
     Request req = buildRequest(message);
     CallerActions httpClient = self.httpClient;
-    CircuitBreakerInferredConfig cbic = self.circuitBreakerInferredConfig;
-    self.currentCircuitState = updateCircuitState(self.circuitHealth, self.currentCircuitState, cbic);
+    self.currentCircuitState = updateCircuitState(self.circuitHealth);
 
     if (self.currentCircuitState == CB_OPEN_STATE) {
         // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-        return handleOpenCircuit(self.circuitHealth, self.circuitBreakerInferredConfig);
+        return handleOpenCircuit(self.circuitHealth);
     } else {
         match httpClient.post(path, req) {
             Response service_response => {
@@ -362,12 +366,11 @@ public function CircuitBreakerClient::head(string path, Request|string|xml|json|
                                                             message = ()) returns Response|error {
    Request request = buildRequest(message);
    CallerActions httpClient = self.httpClient;
-   CircuitBreakerInferredConfig cbic = self.circuitBreakerInferredConfig;
-   self.currentCircuitState = updateCircuitState(self.circuitHealth, self.currentCircuitState, cbic);
+   self.currentCircuitState = updateCircuitState(self.circuitHealth);
 
    if (self.currentCircuitState == CB_OPEN_STATE) {
        // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-       return handleOpenCircuit(self.circuitHealth, self.circuitBreakerInferredConfig);
+       return handleOpenCircuit(self.circuitHealth);
    } else {
        match httpClient.head(path, message = request) {
             Response service_response => {
@@ -386,12 +389,11 @@ public function CircuitBreakerClient::put(string path, Request|string|xml|json|b
                                                             message) returns Response|error {
    Request request = buildRequest(message);
    CallerActions httpClient = self.httpClient;
-   CircuitBreakerInferredConfig cbic = self.circuitBreakerInferredConfig;
-   self.currentCircuitState = updateCircuitState(self.circuitHealth, self.currentCircuitState, cbic);
+   self.currentCircuitState = updateCircuitState(self.circuitHealth);
 
    if (self.currentCircuitState == CB_OPEN_STATE) {
        // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-       return handleOpenCircuit(self.circuitHealth, self.circuitBreakerInferredConfig);
+       return handleOpenCircuit(self.circuitHealth);
    } else {
        match httpClient.put(path, request) {
             Response service_response => {
@@ -410,12 +412,11 @@ public function CircuitBreakerClient::execute(string httpVerb, string path, Requ
                                                     io:ByteChannel|mime:Entity[]|() message) returns Response|error {
    Request request = buildRequest(message);
    CallerActions httpClient = self.httpClient;
-   CircuitBreakerInferredConfig cbic = self.circuitBreakerInferredConfig;
-   self.currentCircuitState = updateCircuitState(self.circuitHealth, self.currentCircuitState, cbic);
+   self.currentCircuitState = updateCircuitState(self.circuitHealth);
 
    if (self.currentCircuitState == CB_OPEN_STATE) {
        // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-       return handleOpenCircuit(self.circuitHealth, self.circuitBreakerInferredConfig);
+       return handleOpenCircuit(self.circuitHealth);
    } else {
        match httpClient.execute(httpVerb, path, request) {
             Response service_response => {
@@ -434,12 +435,11 @@ public function CircuitBreakerClient::patch(string path, Request|string|xml|json
                                                             message) returns Response|error {
    Request request = buildRequest(message);
    CallerActions httpClient = self.httpClient;
-   CircuitBreakerInferredConfig cbic = self.circuitBreakerInferredConfig;
-   self.currentCircuitState = updateCircuitState(self.circuitHealth, self.currentCircuitState, cbic);
+   self.currentCircuitState = updateCircuitState(self.circuitHealth);
 
    if (self.currentCircuitState == CB_OPEN_STATE) {
        // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-       return handleOpenCircuit(self.circuitHealth, self.circuitBreakerInferredConfig);
+       return handleOpenCircuit(self.circuitHealth);
    } else {
        match httpClient.patch(path, request) {
             Response service_response => {
@@ -458,12 +458,11 @@ public function CircuitBreakerClient::delete(string path, Request|string|xml|jso
                                                             message) returns Response|error {
    Request request = buildRequest(message);
    CallerActions httpClient = self.httpClient;
-   CircuitBreakerInferredConfig cbic = self.circuitBreakerInferredConfig;
-   self.currentCircuitState = updateCircuitState(self.circuitHealth, self.currentCircuitState, cbic);
+   self.currentCircuitState = updateCircuitState(self.circuitHealth);
 
    if (self.currentCircuitState == CB_OPEN_STATE) {
        // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-       return handleOpenCircuit(self.circuitHealth, self.circuitBreakerInferredConfig);
+       return handleOpenCircuit(self.circuitHealth);
    } else {
        match httpClient.delete(path, request) {
             Response service_response => {
@@ -482,12 +481,11 @@ public function CircuitBreakerClient::get(string path, Request|string|xml|json|b
                                                         message = ()) returns Response|error {
     Request request = buildRequest(message);
     CallerActions httpClient = self.httpClient;
-    CircuitBreakerInferredConfig cbic = self.circuitBreakerInferredConfig;
-    self.currentCircuitState = updateCircuitState(self.circuitHealth, self.currentCircuitState, cbic);
+    self.currentCircuitState = updateCircuitState(self.circuitHealth);
 
     if (self.currentCircuitState == CB_OPEN_STATE) {
         // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-        return handleOpenCircuit(self.circuitHealth, self.circuitBreakerInferredConfig);
+        return handleOpenCircuit(self.circuitHealth);
     } else {
        match httpClient.get(path, message = request) {
             Response service_response => {
@@ -506,12 +504,11 @@ public function CircuitBreakerClient::options(string path, Request|string|xml|js
                                                                 message = ()) returns Response|error {
    Request request = buildRequest(message);
    CallerActions httpClient = self.httpClient;
-   CircuitBreakerInferredConfig cbic = self.circuitBreakerInferredConfig;
-   self.currentCircuitState = updateCircuitState(self.circuitHealth, self.currentCircuitState, cbic);
+   self.currentCircuitState = updateCircuitState(self.circuitHealth);
 
    if (self.currentCircuitState == CB_OPEN_STATE) {
        // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-       return handleOpenCircuit(self.circuitHealth, self.circuitBreakerInferredConfig);
+       return handleOpenCircuit(self.circuitHealth);
    } else {
        match httpClient.options(path, message = request) {
             Response service_response => {
@@ -528,12 +525,11 @@ public function CircuitBreakerClient::options(string path, Request|string|xml|js
 
 public function CircuitBreakerClient::forward(string path, Request request) returns Response|error {
    CallerActions httpClient = self.httpClient;
-   CircuitBreakerInferredConfig cbic = self.circuitBreakerInferredConfig;
-   self.currentCircuitState = updateCircuitState(self.circuitHealth, self.currentCircuitState, cbic);
+   self.currentCircuitState = updateCircuitState(self.circuitHealth);
 
    if (self.currentCircuitState == CB_OPEN_STATE) {
        // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-       return handleOpenCircuit(self.circuitHealth, self.circuitBreakerInferredConfig);
+       return handleOpenCircuit(self.circuitHealth);
    } else {
        match httpClient.forward(path, request) {
             Response service_response => {
@@ -575,114 +571,66 @@ public function CircuitBreakerClient::rejectPromise(PushPromise promise) {
 }
 
 public function CircuitBreakerClient::forceClose() {
+    forceCircuitClose(self.circuitHealth);
     self.currentCircuitState = CB_CLOSED_STATE;
-    self.circuitHealth.errorCount = 0;
-    self.circuitHealth.requestCount = 0;
 }
 
 public function CircuitBreakerClient::forceOpen() {
+    forceCircuitOpen(self.circuitHealth);
     self.currentCircuitState = CB_OPEN_STATE;
-    self.circuitHealth.lastForcedOpenTime = time:currentTime();
 }
 
+documentation {
+    Prepare the circuit health for monitoring the requests sent through a circuit. The request statistics and the
+    state of the circuit are kept natively, so that they can be updated without locking.
+
+    P{{circuitHealth}}  Circuit Breaker health status
+    P{{serviceUri}}  The URL of the target service
+    P{{failureThreshold}}  The threshold for request failures
+    P{{resetTimeMillis}}  The time period(in milliseconds) to wait before sending a trial request
+    P{{bucketSizeMillis}}  The granularity at which the time window slides
+    P{{noOfBuckets}}  Number of buckets derived from the `RollingWindow`
+}
+native function initCircuitHealth(CircuitHealth circuitHealth, string serviceUri, float failureThreshold,
+                                  int resetTimeMillis, int bucketSizeMillis, int noOfBuckets);
+
 documentation {
     Update circuit state.
 
     P{{circuitHealth}}  Circuit Breaker health status
-    P{{currentStateValue}}  Circuit Breaker current state value
-    P{{circuitBreakerInferredConfig}}   Configurations derived from `CircuitBreakerConfig`
-    R{{}} State of the circuit
-}
-function updateCircuitState(CircuitHealth circuitHealth, CircuitState currentStateValue,
-                                   CircuitBreakerInferredConfig circuitBreakerInferredConfig) returns (CircuitState) {
-    CircuitState currentState = currentStateValue;
-    lock {
-       if (currentState == CB_OPEN_STATE) {
-           time:Time currentTime = time:currentTime();
-           time:Time effectiveErrorTime = getEffectiveErrorTime(circuitHealth);
-           int elapsedTime = currentTime.time - effectiveErrorTime.time;
-           if (elapsedTime > circuitBreakerInferredConfig.resetTimeMillis) {
-               circuitHealth.errorCount = 0;
-               circuitHealth.requestCount = 0;
-               currentState = CB_HALF_OPEN_STATE;
-               log:printInfo("CircuitBreaker reset timeout reached. Circuit switched from OPEN to HALF_OPEN state.");
-           }
-       } else if (currentState == CB_HALF_OPEN_STATE) {
-           if (circuitHealth.errorCount > 0) {
-               // If the trial run has failed, trip the circuit again
-               currentState = CB_OPEN_STATE;
-               log:printInfo("CircuitBreaker trial run has failed. Circuit switched from HALF_OPEN to OPEN state.");
-           } else {
-               // If the trial run was successful reset the circuit
-               currentState = CB_CLOSED_STATE;
-               log:printInfo("CircuitBreaker trial run  was successful. Circuit switched from HALF_OPEN to CLOSE state.");
-           }
-       } else {
-           float currentFailureRate = 0;
-
-           if (circuitHealth.requestCount > 0 && circuitHealth.errorCount > 0) {
-               currentFailureRate = getCurrentFailureRatio(circuitHealth);
-           }
-
-           if (currentFailureRate > circuitBreakerInferredConfig.failureThreshold) {
-               currentState = CB_OPEN_STATE;
-               log:printInfo("CircuitBreaker failure threshold exceeded. Circuit tripped from CLOSE to OPEN state.");
-           }
-       }
-   }
-   return currentState;
+    R{{}} State of the circuit for the request about to be sent. `OPEN` if the request should not be sent, which
+          includes a `HALF_OPEN` circuit while its trial request is in progress.
 }
+native function updateCircuitState(CircuitHealth circuitHealth) returns (CircuitState);
+
+documentation {
+    Record the outcome of a request sent through the circuit. A failure may trip the circuit, and the outcome of a
+    trial request closes the circuit or trips it again.
+
+    P{{circuitHealth}}  Circuit Breaker health status
+    P{{failed}}  Whether the request failed
+}
+native function recordRequestOutcome(CircuitHealth circuitHealth, boolean failed);
+
+native function getTimeUntilReset(CircuitHealth circuitHealth) returns int;
+
+native function forceCircuitOpen(CircuitHealth circuitHealth);
+
+native function forceCircuitClose(CircuitHealth circuitHealth);
 
 function updateCircuitHealthFailure(CircuitHealth circuitHealth,
                              error httpConnectorErr, CircuitBreakerInferredConfig circuitBreakerInferredConfig) {
-    lock {
-        time:Time startTime = circuitHealth.startTime;
-        time:Time currentTime = time:currentTime();
-        int elapsedTime = (currentTime.time - startTime.time) % circuitBreakerInferredConfig.rollingWindow.timeWindowMillis;
-        int currentBucketId = ((elapsedTime/circuitBreakerInferredConfig.rollingWindow.bucketSizeMillis) + 1 )
-                              % circuitBreakerInferredConfig.noOfBuckets;
-        if (currentBucketId != circuitHealth.lastUsedBucketId) {
-            resetBucketStats(circuitHealth, currentBucketId);
-            circuitHealth.lastUsedBucketId = currentBucketId;
-        }
-        circuitHealth.totalBuckets[currentBucketId].failureCount = circuitHealth.totalBuckets[currentBucketId].failureCount + 1;
-        int lastBucketId = currentBucketId;
-        circuitHealth.requestCount = circuitHealth.requestCount + 1;
-        circuitHealth.errorCount = circuitHealth.errorCount + 1;
-        circuitHealth.lastErrorTime = time:currentTime();
-    }
+    recordRequestOutcome(circuitHealth, true);
 }
 
 function updateCircuitHealthSuccess(CircuitHealth circuitHealth, Response inResponse,
                                             CircuitBreakerInferredConfig circuitBreakerInferredConfig) {
-    lock {
-        time:Time startTime = circuitHealth.startTime;
-        time:Time currentTime = time:currentTime();
-        int elapsedTime = (currentTime.time - startTime.time) % circuitBreakerInferredConfig.rollingWindow.timeWindowMillis;
-        int currentBucketId = ((elapsedTime/circuitBreakerInferredConfig.rollingWindow.bucketSizeMillis) + 1 )
-                              % circuitBreakerInferredConfig.noOfBuckets;
-        if (currentBucketId != circuitHealth.lastUsedBucketId) {
-            resetBucketStats(circuitHealth, currentBucketId);
-            circuitHealth.lastUsedBucketId = currentBucketId;
-        }
-        circuitHealth.requestCount = circuitHealth.requestCount + 1;
-        if (circuitBreakerInferredConfig.statusCodes[inResponse.statusCode] == true) {
-            circuitHealth.totalBuckets[currentBucketId].failureCount = circuitHealth.totalBuckets[currentBucketId].failureCount + 1;
-            circuitHealth.errorCount = circuitHealth.errorCount + 1;
-            circuitHealth.lastErrorTime = time:currentTime();
-        } else {
-            circuitHealth.totalBuckets[currentBucketId].successCount = circuitHealth.totalBuckets[currentBucketId].successCount + 1;
-        }
-    }
+    recordRequestOutcome(circuitHealth, circuitBreakerInferredConfig.statusCodes[inResponse.statusCode]);
 }
 
 // Handles open circuit state.
-function handleOpenCircuit(CircuitHealth circuitHealth, CircuitBreakerInferredConfig circuitBreakerInferredConfig)
-                                                                                        returns (error) {
-   time:Time currentTime = time:currentTime();
-   time:Time effectiveErrorTime = getEffectiveErrorTime(circuitHealth);
-   int timeDif = currentTime.time - effectiveErrorTime.time;
-   int timeRemaining = circuitBreakerInferredConfig.resetTimeMillis - timeDif;
+function handleOpenCircuit(CircuitHealth circuitHealth) returns (error) {
+   int timeRemaining = getTimeUntilReset(circuitHealth);
    string errorMessage = "Upstream service unavailable. Requests to upstream service will be suspended for "
              + timeRemaining + " milliseconds.";
    error httpConnectorErr = {message:errorMessage};
@@ -699,40 +647,3 @@ function validateCircuitBreakerConfiguration(CircuitBreakerConfig circuitBreaker
         throw circuitBreakerConfigError;
     }
 }
-
-documentation {
-    Calculate Failure at a given point.
-
-    P{{circuitHealth}}  Circuit Breaker health status
-    R{{}} Current failure ratio
-}
-function getCurrentFailureRatio(CircuitHealth circuitHealth) returns float {
-    int totalSuccess;
-    int totalFailures;
-
-    foreach bucket in circuitHealth.totalBuckets {
-        totalSuccess  =  totalSuccess + bucket.successCount;
-        totalFailures = totalFailures + bucket.failureCount;
-    }
-    float ratio = 0;
-    if (totalFailures > 0) {
-        ratio = <float> totalFailures / (totalSuccess + totalFailures);
-    }
-    return ratio;
-}
-
-documentation {
-    Reset the bucket values to default ones.
-
-    P{{circuitHealth}}  - Circuit Breaker health status.
-    P{{bucketId}}  - Id of the bucket should reset.
-}
-function resetBucketStats(CircuitHealth circuitHealth, int bucketId) {
-    circuitHealth.totalBuckets[bucketId].successCount = 0;
-    circuitHealth.totalBuckets[bucketId].failureCount = 0;
-}
-
-function getEffectiveErrorTime(CircuitHealth circuitHealth) returns time:Time {
-    return (circuitHealth.lastErrorTime.time > circuitHealth.lastForcedOpenTime.time)
-                        ? circuitHealth.lastErrorTime : circuitHealth.lastForcedOpenTime;
-}
\ No newline at end of file
@@ -49,7 +49,9 @@ public type LoadBalancerActions object {
         P{{nextIndex}} Index of the next load balancing client
         P{{failover}} Whether to fail over in case of a failure
    }
-   public new (serviceUri, config, loadBalanceClientsArray, algorithm, nextIndex, failover) {}
+   public new (serviceUri, config, loadBalanceClientsArray, algorithm, nextIndex, failover) {
+       initRoundRobin(self, self.nextIndex);
+   }
 
     documentation {
         The POST action implementation of the LoadBalancer Connector.
@@ -362,20 +364,17 @@ documentation {
     R{{}} HttpClient elected from the algorithm
 }
 public function roundRobin(LoadBalancerActions lb, CallerActions[] loadBalanceConfigArray) returns CallerActions {
-    CallerActions httpClient = new;
+    int clientCount = lengthof loadBalanceConfigArray;
+    int index = nextRoundRobinIndex(lb, clientCount);
+    lb.nextIndex = (index + 1) % clientCount;
+    return loadBalanceConfigArray[index];
+}
 
-    lock {
-        if (lb.nextIndex == ((lengthof (loadBalanceConfigArray)) - 1)) {
-            httpClient = loadBalanceConfigArray[lb.nextIndex];
-            lb.nextIndex = 0;
-        } else {
-            httpClient = loadBalanceConfigArray[lb.nextIndex];
-            lb.nextIndex = lb.nextIndex + 1;
-        }
-    }
+// Creates the native index of the next client selected by the round robin algorithm.
+native function initRoundRobin(LoadBalancerActions lb, int nextIndex);
 
-    return httpClient;
-}
+// Selects the index of the next client with the round robin algorithm, and advances it without locking.
+native function nextRoundRobinIndex(LoadBalancerActions lb, int clientCount) returns int;
 
 // Populates generic error specific to Load Balance connector by including all the errors returned from endpoints.
 function populateGenericLoadBalanceActionError(LoadBalanceActionError loadBalanceActionError)
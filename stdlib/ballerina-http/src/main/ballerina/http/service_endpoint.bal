@@ -105,11 +105,16 @@ documentation {
                        `413 - Payload Too Large` response.
     F{{maxEntityBodySize}} Maximum allowed size for the entity body. Exceeding this limit will result in a
                            `413 - Payload Too Large` response.
+    F{{maxActiveRequests}} Maximum number of requests executed at a time. Exceeding this limit will queue the
+                           request, or result in a `503 - Service Unavailable` response if the queue is full.
+    F{{maxQueuedRequests}} Maximum number of requests waiting to be executed when `maxActiveRequests` is reached
 }
 public type RequestLimits {
     int maxUriLength = -1;
     int maxHeaderSize = -1;
     int maxEntityBodySize = -1;
+    int maxActiveRequests = -1;
+    int maxQueuedRequests = 0;
 };
 
 documentation {
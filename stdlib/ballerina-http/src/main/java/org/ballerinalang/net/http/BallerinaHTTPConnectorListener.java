@@ -17,6 +17,8 @@
  */
 package org.ballerinalang.net.http;
 
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpResponseStatus;
 import org.ballerinalang.bre.bvm.CallableUnitCallback;
 import org.ballerinalang.bre.bvm.WorkerExecutionContext;
 import org.ballerinalang.connector.api.BLangConnectorSPIUtil;
@@ -43,6 +45,7 @@ import org.wso2.transport.http.netty.message.HTTPCarbonMessage;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.ballerinalang.net.http.HttpConstants.PROTOCOL_PACKAGE_HTTP;
 import static org.ballerinalang.util.observability.ObservabilityConstants.PROPERTY_TRACE_PROPERTIES;
@@ -63,10 +66,18 @@ public class BallerinaHTTPConnectorListener implements HttpConnectorListener {
 
     private final Value[] filterHolders;
 
+    private final ConcurrencyLimiter concurrencyLimiter;
+
     public BallerinaHTTPConnectorListener(HTTPServicesRegistry httpServicesRegistry,
                                           Value[] filterHolders) {
+        this(httpServicesRegistry, filterHolders, null);
+    }
+
+    public BallerinaHTTPConnectorListener(HTTPServicesRegistry httpServicesRegistry, Value[] filterHolders,
+                                          ConcurrencyLimiter concurrencyLimiter) {
         this.httpServicesRegistry = httpServicesRegistry;
         this.filterHolders = filterHolders;
+        this.concurrencyLimiter = concurrencyLimiter;
     }
 
     @Override
@@ -75,7 +86,7 @@ public class BallerinaHTTPConnectorListener implements HttpConnectorListener {
             HttpResource httpResource;
             if (accessed(inboundMessage)) {
                 httpResource = (HttpResource) inboundMessage.getProperty(HTTP_RESOURCE);
-                extractPropertiesAndStartResourceExecution(inboundMessage, httpResource);
+                admitResourceExecution(inboundMessage, httpResource);
                 return;
             }
             httpResource = HttpDispatcher.findResource(httpServicesRegistry, inboundMessage);
@@ -84,17 +95,39 @@ public class BallerinaHTTPConnectorListener implements HttpConnectorListener {
                 return;
             }
             if (httpResource != null) {
-                extractPropertiesAndStartResourceExecution(inboundMessage, httpResource);
+                admitResourceExecution(inboundMessage, httpResource);
             }
         } catch (BallerinaException ex) {
-            try {
-                HttpUtil.handleFailure(inboundMessage, new BallerinaConnectorException(ex.getMessage(), ex.getCause()));
-            } catch (Exception e) {
-                log.error("Cannot handle error using the error handler for: " + e.getMessage(), e);
-            }
+            handleExecutionFailure(inboundMessage, ex);
         }
     }
 
+    private void handleExecutionFailure(HTTPCarbonMessage inboundMessage, BallerinaException ex) {
+        try {
+            HttpUtil.handleFailure(inboundMessage, new BallerinaConnectorException(ex.getMessage(), ex.getCause()));
+        } catch (Exception e) {
+            log.error("Cannot handle error using the error handler for: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Start the execution of a resource once the request is admitted under the concurrency limits of the resource
+     * and of the listener. A request over a limit waits in the queue of the limit, and is rejected with a
+     * `503 - Service Unavailable` response once the queue is full. A queued request is dropped if its client closes
+     * the connection before the request is admitted.
+     *
+     * @param inboundMessage the request
+     * @param httpResource   the resource dispatched to
+     */
+    private void admitResourceExecution(HTTPCarbonMessage inboundMessage, HttpResource httpResource) {
+        ConcurrencyLimiter resourceLimiter = httpResource.getConcurrencyLimiter();
+        if (resourceLimiter == null && concurrencyLimiter == null) {
+            extractPropertiesAndStartResourceExecution(inboundMessage, httpResource);
+            return;
+        }
+        new AdmissionPermit(inboundMessage, httpResource, resourceLimiter).admit();
+    }
+
     @Override
     public void onError(Throwable throwable) {
         log.error("Error in HTTP server connector: " + throwable.getMessage(), throwable);
@@ -216,4 +249,126 @@ public class BallerinaHTTPConnectorListener implements HttpConnectorListener {
         return filterHolders != null && filterHolders.length > 0;
     }
 
+    /**
+     * The concurrency limits a request holds while its resource executes. The limits are released once, when the
+     * execution completes or fails to start.
+     */
+    private class AdmissionPermit implements Runnable {
+
+        private final HTTPCarbonMessage inboundMessage;
+
+        private final HttpResource httpResource;
+
+        private final ConcurrencyLimiter resourceLimiter;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private boolean holdsResourcePermit;
+
+        private boolean holdsListenerPermit;
+
+        private AdmissionPermit(HTTPCarbonMessage inboundMessage, HttpResource httpResource,
+                                ConcurrencyLimiter resourceLimiter) {
+            this.inboundMessage = inboundMessage;
+            this.httpResource = httpResource;
+            this.resourceLimiter = resourceLimiter;
+        }
+
+        private void admit() {
+            if (resourceLimiter == null) {
+                admitToListener();
+            } else if (!resourceLimiter.execute(new QueuedAdmission(this::onResourcePermit))) {
+                reject();
+            }
+        }
+
+        private void onResourcePermit() {
+            holdsResourcePermit = true;
+            admitToListener();
+        }
+
+        private void admitToListener() {
+            if (concurrencyLimiter == null) {
+                startExecution();
+            } else if (!concurrencyLimiter.execute(new QueuedAdmission(this::onListenerPermit))) {
+                run();
+                reject();
+            }
+        }
+
+        private void onListenerPermit() {
+            holdsListenerPermit = true;
+            startExecution();
+        }
+
+        private void startExecution() {
+            inboundMessage.setProperty(HttpConstants.ADMISSION_PERMIT, this);
+            try {
+                extractPropertiesAndStartResourceExecution(inboundMessage, httpResource);
+            } catch (BallerinaException ex) {
+                run();
+                handleExecutionFailure(inboundMessage, ex);
+            } catch (RuntimeException ex) {
+                run();
+                throw ex;
+            }
+        }
+
+        private void reject() {
+            inboundMessage.setProperty(HttpConstants.HTTP_STATUS_CODE, HttpResponseStatus.SERVICE_UNAVAILABLE.code());
+            handleExecutionFailure(inboundMessage, new BallerinaConnectorException(
+                    "Too many requests in progress for resource: " + httpResource.getServiceName() + "."
+                            + httpResource.getName()));
+        }
+
+        /**
+         * Release the limits held by the request.
+         */
+        @Override
+        public void run() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            if (holdsListenerPermit) {
+                concurrencyLimiter.release();
+            }
+            if (holdsResourcePermit) {
+                resourceLimiter.release();
+            }
+        }
+
+        private boolean isClientConnectionClosed() {
+            Object channelContext = inboundMessage.getProperty(HttpConstants.CHNL_HNDLR_CTX);
+            return channelContext instanceof ChannelHandlerContext
+                    && !((ChannelHandlerContext) channelContext).channel().isActive();
+        }
+
+        /**
+         * The admission of the request to a limit it waits in the queue of.
+         */
+        private class QueuedAdmission implements ConcurrencyLimiter.CancellableTask {
+
+            private final Runnable onPermit;
+
+            private QueuedAdmission(Runnable onPermit) {
+                this.onPermit = onPermit;
+            }
+
+            @Override
+            public void run() {
+                onPermit.run();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return isClientConnectionClosed();
+            }
+
+            @Override
+            public void drop() {
+                // Nobody is left to respond to, so only the limits already held are released
+                AdmissionPermit.this.run();
+            }
+        }
+    }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.net.http;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * {@code BasePathTrie} finds the service base path that matches a request path, by walking the path segments down a
+ * trie of the base paths registered for a host.
+ * <p>
+ * A base path matches when its segments are the leading segments of the request path, ignoring case, and the most
+ * specific match is the one with the most segments. Segments are compared in place, so that a lookup does not
+ * allocate. A trie is not modified once built; a new one is built when services are added.
+ *
+ * @since 0.974.1
+ */
+final class BasePathTrie {
+
+    private static final char SEGMENT_SEPARATOR = '/';
+
+    private final Node root = new Node(null);
+
+    private final int size;
+
+    BasePathTrie(Collection<String> basePaths) {
+        List<String> paths = new ArrayList<>(basePaths);
+        for (String basePath : paths) {
+            add(basePath);
+        }
+        this.size = paths.size();
+    }
+
+    /**
+     * Get the number of base paths the trie was built from.
+     *
+     * @return the number of base paths
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Find the most specific base path of the given request path.
+     *
+     * @param requestPath decoded path of the request URI
+     * @return the matching base path, or null if none matches
+     */
+    String findMostSpecificBasePath(String requestPath) {
+        Node node = root;
+        String basePath = root.basePath;
+        int length = requestPath.length();
+        int start = startOfSegments(requestPath);
+        while (start <= length) {
+            int end = requestPath.indexOf(SEGMENT_SEPARATOR, start);
+            if (end < 0) {
+                end = length;
+            }
+            node = node.getChild(requestPath, start, end - start);
+            if (node == null) {
+                break;
+            }
+            if (node.basePath != null) {
+                basePath = node.basePath;
+            }
+            start = end + 1;
+        }
+        return basePath;
+    }
+
+    private void add(String basePath) {
+        if (HttpConstants.DEFAULT_BASE_PATH.equals(basePath)) {
+            root.basePath = basePath;
+            return;
+        }
+        Node node = root;
+        int length = basePath.length();
+        int start = startOfSegments(basePath);
+        while (start <= length) {
+            int end = basePath.indexOf(SEGMENT_SEPARATOR, start);
+            if (end < 0) {
+                end = length;
+            }
+            Node child = node.getChild(basePath, start, end - start);
+            if (child == null) {
+                child = new Node(basePath.substring(start, end));
+                node.children.add(child);
+            }
+            node = child;
+            start = end + 1;
+        }
+        node.basePath = basePath;
+    }
+
+    private static int startOfSegments(String path) {
+        return !path.isEmpty() && path.charAt(0) == SEGMENT_SEPARATOR ? 1 : 0;
+    }
+
+    /**
+     * A path segment of one or more base paths.
+     */
+    private static class Node {
+
+        private final String segment;
+
+        private final List<Node> children = new ArrayList<>(1);
+
+        private String basePath;
+
+        private Node(String segment) {
+            this.segment = segment;
+        }
+
+        private Node getChild(String path, int offset, int length) {
+            for (Node child : children) {
+                if (child.segment.length() == length && child.segment.regionMatches(true, 0, path, offset, length)) {
+                    return child;
+                }
+            }
+            return null;
+        }
+    }
+}
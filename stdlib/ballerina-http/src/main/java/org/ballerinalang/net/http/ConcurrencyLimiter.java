@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.net.http;
+
+import org.ballerinalang.connector.api.BallerinaConnectorException;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
+import org.ballerinalang.util.metrics.Counter;
+import org.ballerinalang.util.metrics.DefaultMetricRegistry;
+import org.ballerinalang.util.metrics.MetricId;
+import org.ballerinalang.util.metrics.MetricRegistry;
+import org.ballerinalang.util.metrics.Tag;
+import org.ballerinalang.util.metrics.Tags;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code ConcurrencyLimiter} bounds the number of requests a listener or a resource executes at a time.
+ * <p>
+ * A request is executed right away while there are fewer active requests than the limit. Beyond the limit, it waits
+ * in a bounded queue until an active request completes, and is rejected once the queue is full, so that a traffic
+ * spike does not pile up unbounded work on the worker pool. Permits are taken by compare and set, and a completing
+ * request hands its permit over to the request at the head of the queue, which is then executed on the worker pool
+ * rather than on the thread of the completing request. A queued {@link CancellableTask} whose client has gone away is
+ * dropped instead of being executed. The number of active and queued requests, and of rejected and dropped requests,
+ * are reported as metrics when a metric registry is set up. The metrics are tagged by the listener or the resource
+ * only, and a limiter created again for the same listener or resource takes over the gauges of the limiter it
+ * replaces.
+ *
+ * @since 0.974.1
+ */
+public class ConcurrencyLimiter {
+
+    public static final int UNLIMITED = -1;
+
+    /* the limiter the gauges registered under each metric id report, which is the last one created for the id */
+    private static final Map<MetricId, AtomicReference<ConcurrencyLimiter>> REPORTED_LIMITERS =
+            new ConcurrentHashMap<>();
+
+    private final int maxActiveRequests;
+
+    private final int maxQueuedRequests;
+
+    private final Executor executor;
+
+    private final AtomicInteger activeRequests = new AtomicInteger();
+
+    private final AtomicInteger queuedRequests = new AtomicInteger();
+
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder rejectedRequests = new LongAdder();
+
+    private final LongAdder droppedRequests = new LongAdder();
+
+    private final Counter rejectedRequestCounter;
+
+    private final Counter droppedRequestCounter;
+
+    /**
+     * Create a limiter, validating the limits. Queued requests are executed on the worker pool, and the metrics are
+     * reported to the default metric registry.
+     *
+     * @param maxActiveRequests maximum number of requests executed at a time
+     * @param maxQueuedRequests maximum number of requests waiting for an active request to complete
+     * @param metricPrefix      prefix of the names of the metrics reported for the limiter
+     * @param tagKeyValues      tags of the metrics, as alternating keys and values
+     */
+    public ConcurrencyLimiter(long maxActiveRequests, long maxQueuedRequests, String metricPrefix,
+                              String... tagKeyValues) {
+        this(maxActiveRequests, maxQueuedRequests, task -> ThreadPoolFactory.getInstance().execute(task),
+                DefaultMetricRegistry.getInstance(), metricPrefix, tagKeyValues);
+    }
+
+    /**
+     * Create a limiter, validating the limits.
+     *
+     * @param maxActiveRequests maximum number of requests executed at a time
+     * @param maxQueuedRequests maximum number of requests waiting for an active request to complete
+     * @param executor          executor of the queued requests, once they are given a permit
+     * @param metricRegistry    registry the metrics are reported to, or null if metrics are not reported
+     * @param metricPrefix      prefix of the names of the metrics reported for the limiter
+     * @param tagKeyValues      tags of the metrics, as alternating keys and values
+     */
+    public ConcurrencyLimiter(long maxActiveRequests, long maxQueuedRequests, Executor executor,
+                              MetricRegistry metricRegistry, String metricPrefix, String... tagKeyValues) {
+        if (maxActiveRequests <= 0) {
+            throw new BallerinaConnectorException(
+                    "Invalid configuration found for maxActiveRequests : " + maxActiveRequests);
+        }
+        if (maxQueuedRequests < 0) {
+            throw new BallerinaConnectorException(
+                    "Invalid configuration found for maxQueuedRequests : " + maxQueuedRequests);
+        }
+        this.maxActiveRequests = (int) Math.min(maxActiveRequests, Integer.MAX_VALUE);
+        this.maxQueuedRequests = (int) Math.min(maxQueuedRequests, Integer.MAX_VALUE);
+        this.executor = executor;
+
+        if (metricRegistry == null) {
+            rejectedRequestCounter = null;
+            droppedRequestCounter = null;
+            return;
+        }
+        Set<Tag> tags = new HashSet<>(tagKeyValues.length / 2 + 1);
+        Tags.tags(tags, tagKeyValues);
+        MetricId activeRequestsId = new MetricId(metricPrefix + "_active_requests",
+                "Number of requests being executed", tags);
+        // A callback gauge stays bound to the object it was first registered with, so the gauges of a listener or
+        // a resource read whichever limiter was created for it last
+        AtomicReference<ConcurrencyLimiter> reportedLimiter =
+                REPORTED_LIMITERS.computeIfAbsent(activeRequestsId, id -> new AtomicReference<>());
+        reportedLimiter.set(this);
+        metricRegistry.callbackGauge(activeRequestsId, reportedLimiter,
+                limiter -> limiter.get().getActiveRequests());
+        metricRegistry.callbackGauge(new MetricId(metricPrefix + "_queued_requests",
+                "Number of requests waiting to be executed", tags), reportedLimiter,
+                limiter -> limiter.get().getQueuedRequests());
+        rejectedRequestCounter = metricRegistry.counter(new MetricId(metricPrefix + "_rejected_requests_total",
+                "Number of requests rejected as the concurrency limit was reached", tags));
+        droppedRequestCounter = metricRegistry.counter(new MetricId(metricPrefix + "_dropped_requests_total",
+                "Number of queued requests dropped as their client went away", tags));
+    }
+
+    /**
+     * Execute a request now if there is a free permit, or queue it until one is released. A queued request is handed
+     * to the executor of the limiter once it is given a permit. The task owns a permit while it runs, and the caller
+     * must {@link #release()} it once the request completes.
+     *
+     * @param task task executing the request
+     * @return false if the request was rejected as the queue is full
+     */
+    public boolean execute(Runnable task) {
+        if (tryAcquire()) {
+            task.run();
+            return true;
+        }
+        if (!tryEnqueue() && !(purgeCancelled() && tryEnqueue())) {
+            rejectedRequests.increment();
+            if (rejectedRequestCounter != null) {
+                rejectedRequestCounter.increment();
+            }
+            return false;
+        }
+        queue.add(task);
+        // A permit may have been released after it was found to be taken, while no task was queued yet.
+        drain();
+        return true;
+    }
+
+    /**
+     * Release the permit of a completed request, handing it over to a queued request if there is one.
+     */
+    public void release() {
+        activeRequests.decrementAndGet();
+        drain();
+    }
+
+    public int getActiveRequests() {
+        return activeRequests.get();
+    }
+
+    public int getQueuedRequests() {
+        return queuedRequests.get();
+    }
+
+    public long getRejectedRequests() {
+        return rejectedRequests.sum();
+    }
+
+    public long getDroppedRequests() {
+        return droppedRequests.sum();
+    }
+
+    private void drain() {
+        while (!queue.isEmpty() && tryAcquire()) {
+            Runnable task = queue.poll();
+            if (task == null) {
+                activeRequests.decrementAndGet();
+                continue;
+            }
+            queuedRequests.decrementAndGet();
+            if (isCancelled(task)) {
+                activeRequests.decrementAndGet();
+                drop((CancellableTask) task);
+                continue;
+            }
+            executor.execute(task);
+        }
+    }
+
+    private boolean tryEnqueue() {
+        if (queuedRequests.incrementAndGet() > maxQueuedRequests) {
+            queuedRequests.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Drop the queued requests whose client has gone away, to make room for new requests.
+     *
+     * @return true if a request was dropped
+     */
+    private boolean purgeCancelled() {
+        boolean purged = false;
+        for (Runnable task : queue) {
+            if (isCancelled(task) && queue.remove(task)) {
+                queuedRequests.decrementAndGet();
+                drop((CancellableTask) task);
+                purged = true;
+            }
+        }
+        return purged;
+    }
+
+    private void drop(CancellableTask task) {
+        droppedRequests.increment();
+        if (droppedRequestCounter != null) {
+            droppedRequestCounter.increment();
+        }
+        task.drop();
+    }
+
+    private static boolean isCancelled(Runnable task) {
+        return task instanceof CancellableTask && ((CancellableTask) task).isCancelled();
+    }
+
+    private boolean tryAcquire() {
+        int active;
+        do {
+            active = activeRequests.get();
+            if (active >= maxActiveRequests) {
+                return false;
+            }
+        } while (!activeRequests.compareAndSet(active, active + 1));
+        return true;
+    }
+
+    /**
+     * A request which is dropped from the queue, instead of being executed, once its client has gone away.
+     */
+    public interface CancellableTask extends Runnable {
+
+        /**
+         * Check whether the request does not need to be executed anymore.
+         *
+         * @return true if the client of the request has gone away
+         */
+        boolean isCancelled();
+
+        /**
+         * Called instead of {@link #run()} when the request is dropped from the queue. The request does not hold a
+         * permit of the limiter.
+         */
+        void drop();
+    }
+}
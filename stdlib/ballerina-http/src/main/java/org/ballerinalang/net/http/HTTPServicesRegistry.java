@@ -163,16 +163,26 @@ public class HTTPServicesRegistry {
 
     public String findTheMostSpecificBasePath(String requestURIPath, Map<String, HttpService> services,
                                               List<String> sortedServiceURIs) {
-        for (Object key : sortedServiceURIs) {
-            if (!requestURIPath.toLowerCase().contains(key.toString().toLowerCase())) {
-                continue;
-            }
-            if (requestURIPath.length() <= key.toString().length()) {
-                return key.toString();
-            }
-            if (requestURIPath.charAt(key.toString().length()) == '/') {
-                return key.toString();
-            }
+        return findTheMostSpecificBasePath(requestURIPath, new BasePathTrie(sortedServiceURIs), services);
+    }
+
+    /**
+     * Find the base path of the service which should handle a request, among the services of a host.
+     *
+     * @param requestURIPath    decoded path of the request URI
+     * @param servicesMapHolder services of the host
+     * @return the most specific base path matching the request path, or null if there is none
+     */
+    public String findTheMostSpecificBasePath(String requestURIPath, ServicesMapHolder servicesMapHolder) {
+        return findTheMostSpecificBasePath(requestURIPath, servicesMapHolder.getBasePathTrie(),
+                                           servicesMapHolder.servicesByBasePath);
+    }
+
+    private String findTheMostSpecificBasePath(String requestURIPath, BasePathTrie basePathTrie,
+                                               Map<String, HttpService> services) {
+        String basePath = basePathTrie.findMostSpecificBasePath(requestURIPath);
+        if (basePath != null) {
+            return basePath;
         }
         if (services.containsKey(HttpConstants.DEFAULT_BASE_PATH)) {
             return HttpConstants.DEFAULT_BASE_PATH;
@@ -181,15 +191,30 @@ public class HTTPServicesRegistry {
     }
 
     /**
-     * Holds both serviceByBasePath map and sorted Service basePath list.
+     * Holds both serviceByBasePath map and sorted Service basePath list, and the trie used to match request paths
+     * against the base paths. The trie is rebuilt when a lookup finds that services were added since it was built.
      */
     protected class ServicesMapHolder {
         private Map<String, HttpService> servicesByBasePath;
         private List<String> sortedServiceURIs;
+        private volatile BasePathTrie basePathTrie;
 
         public ServicesMapHolder(Map<String, HttpService> servicesByBasePath, List<String> sortedServiceURIs) {
             this.servicesByBasePath = servicesByBasePath;
             this.sortedServiceURIs = sortedServiceURIs;
         }
+
+        public Map<String, HttpService> getServicesByBasePath() {
+            return servicesByBasePath;
+        }
+
+        BasePathTrie getBasePathTrie() {
+            BasePathTrie trie = basePathTrie;
+            if (trie == null || trie.size() != sortedServiceURIs.size()) {
+                trie = new BasePathTrie(sortedServiceURIs);
+                basePathTrie = trie;
+            }
+            return trie;
+        }
     }
 }
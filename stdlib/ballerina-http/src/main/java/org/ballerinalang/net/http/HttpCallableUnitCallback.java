@@ -34,13 +34,31 @@ public class HttpCallableUnitCallback implements CallableUnitCallback {
 
     @Override
     public void notifySuccess() {
-        requestMessage.waitAndReleaseAllEntities();
+        try {
+            requestMessage.waitAndReleaseAllEntities();
+        } finally {
+            releaseAdmissionPermit();
+        }
     }
 
     @Override
     public void notifyFailure(BStruct error) {
-        HttpUtil.handleFailure(requestMessage, error);
-        requestMessage.waitAndReleaseAllEntities();
+        try {
+            HttpUtil.handleFailure(requestMessage, error);
+            requestMessage.waitAndReleaseAllEntities();
+        } finally {
+            releaseAdmissionPermit();
+        }
+    }
+
+    /**
+     * Release the concurrency limits the request was admitted under, if any, so that queued requests can execute.
+     */
+    private void releaseAdmissionPermit() {
+        Runnable admissionPermit = (Runnable) requestMessage.getProperty(HttpConstants.ADMISSION_PERMIT);
+        if (admissionPermit != null) {
+            admissionPermit.run();
+        }
     }
 
 }
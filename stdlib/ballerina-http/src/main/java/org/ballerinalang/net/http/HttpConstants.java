@@ -150,6 +150,7 @@ public class HttpConstants {
 
     public static final String REQUEST_URL = "REQUEST_URL";
     public static final String SRC_HANDLER = "SRC_HANDLER";
+    public static final String CHNL_HNDLR_CTX = "CHNL_HNDLR_CTX";
     public static final String REMOTE_ADDRESS = "REMOTE_ADDRESS";
     public static final String ORIGIN_HOST = "ORIGIN_HOST";
     public static final String POOLED_BYTE_BUFFER_FACTORY = "POOLED_BYTE_BUFFER_FACTORY";
@@ -181,6 +182,10 @@ public class HttpConstants {
     public static final String TRANSPORT_MESSAGE = "transport_message";
     public static final String TRANSPORT_HANDLE = "transport_handle";
     public static final String TRANSPORT_PUSH_PROMISE = "transport_push_promise";
+    public static final String TRANSPORT_MESSAGE_BODY = "transport_message_body";
+    public static final String HTTP_CACHE_STORE = "http_cache_store";
+    public static final String CIRCUIT_BREAKER_STATE = "circuit_breaker_state";
+    public static final String ROUND_ROBIN_INDEX = "round_robin_index";
     public static final String MESSAGE_OUTPUT_STREAM = "message_output_stream";
     public static final String HTTP_SESSION = "http_session";
 
@@ -287,6 +292,10 @@ public class HttpConstants {
     public static final String REQUEST_LIMITS_MAXIMUM_URL_LENGTH = "maxUriLength";
     public static final String REQUEST_LIMITS_MAXIMUM_HEADER_SIZE = "maxHeaderSize";
     public static final String REQUEST_LIMITS_MAXIMUM_ENTITY_BODY_SIZE = "maxEntityBodySize";
+    public static final String REQUEST_LIMITS_MAXIMUM_ACTIVE_REQUESTS = "maxActiveRequests";
+    public static final String REQUEST_LIMITS_MAXIMUM_QUEUED_REQUESTS = "maxQueuedRequests";
+    public static final String CONCURRENCY_LIMITER = "CONCURRENCY_LIMITER";
+    public static final String ADMISSION_PERMIT = "admission_permit";
 
     public static final String ENDPOINT_CONFIG_SECURE_SOCKET = "secureSocket";
 
@@ -45,7 +45,6 @@ import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URLDecoder;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import static org.ballerinalang.mime.util.Constants.ENTITY;
@@ -69,16 +68,13 @@ public class HttpDispatcher {
 
     protected static HttpService findService(HTTPServicesRegistry servicesRegistry, HTTPCarbonMessage inboundReqMsg) {
         try {
-            Map<String, HttpService> servicesOnInterface;
-            List<String> sortedServiceURIs;
             String hostName = inboundReqMsg.getHeader(HttpHeaderNames.HOST.toString());
-            if (hostName != null && servicesRegistry.getServicesMapHolder(hostName) != null) {
-                servicesOnInterface = servicesRegistry.getServicesByHost(hostName);
-                sortedServiceURIs = servicesRegistry.getSortedServiceURIsByHost(hostName);
-            } else {
-                servicesOnInterface = servicesRegistry.getServicesByHost(DEFAULT_HOST);
-                sortedServiceURIs = servicesRegistry.getSortedServiceURIsByHost(DEFAULT_HOST);
+            HTTPServicesRegistry.ServicesMapHolder servicesMapHolder =
+                    hostName != null ? servicesRegistry.getServicesMapHolder(hostName) : null;
+            if (servicesMapHolder == null) {
+                servicesMapHolder = servicesRegistry.getServicesMapHolder(DEFAULT_HOST);
             }
+            Map<String, HttpService> servicesOnInterface = servicesMapHolder.getServicesByBasePath();
 
             String rawUri = (String) inboundReqMsg.getProperty(HttpConstants.TO);
             inboundReqMsg.setProperty(HttpConstants.RAW_URI, rawUri);
@@ -88,10 +84,10 @@ public class HttpDispatcher {
             inboundReqMsg.setProperty(HttpConstants.TO, uriWithoutMatrixParams);
             inboundReqMsg.setProperty(HttpConstants.MATRIX_PARAMS, matrixParams);
 
-            URI validatedUri = getValidatedURI(uriWithoutMatrixParams);
+            RequestUri validatedUri = getValidatedURI(uriWithoutMatrixParams);
 
             String basePath = servicesRegistry.findTheMostSpecificBasePath(validatedUri.getPath(),
-                    servicesOnInterface, sortedServiceURIs);
+                    servicesMapHolder);
 
             if (basePath == null) {
                 inboundReqMsg.setProperty(HttpConstants.HTTP_STATUS_CODE, 404);
@@ -107,7 +103,8 @@ public class HttpDispatcher {
         }
     }
 
-    private static void setInboundReqProperties(HTTPCarbonMessage inboundReqMsg, URI requestUri, String basePath) {
+    private static void setInboundReqProperties(HTTPCarbonMessage inboundReqMsg, RequestUri requestUri,
+                                                String basePath) {
         String subPath = URIUtil.getSubPath(requestUri.getPath(), basePath);
         inboundReqMsg.setProperty(HttpConstants.BASE_PATH, basePath);
         inboundReqMsg.setProperty(HttpConstants.SUB_PATH, subPath);
@@ -116,14 +113,17 @@ public class HttpDispatcher {
         inboundReqMsg.setProperty(HttpConstants.RAW_QUERY_STR, requestUri.getRawQuery());
     }
 
-    private static URI getValidatedURI(String uriStr) {
+    private static RequestUri getValidatedURI(String uriStr) {
+        if (RequestUri.isPlainPath(uriStr)) {
+            return new RequestUri(uriStr);
+        }
         URI requestUri;
         try {
             requestUri = URI.create(uriStr);
         } catch (IllegalArgumentException e) {
             throw new BallerinaConnectorException(e.getMessage());
         }
-        return requestUri;
+        return new RequestUri(requestUri);
     }
 
     private static String getInterface(HTTPCarbonMessage inboundRequest) {
@@ -266,4 +266,79 @@ public class HttpDispatcher {
         return ((httpResource != null && httpResource.getSignatureParams().getEntityBody() != null) || hasFilters);
     }
 
+
+    /**
+     * The path and query of a request URI. Most request URIs are an absolute path with an optional query, written
+     * with characters that need neither validation nor decoding; these are split as they are, without parsing them
+     * into a {@link URI}.
+     */
+    private static class RequestUri {
+
+        private static final boolean[] PLAIN_PATH_CHARS = new boolean[128];
+
+        static {
+            for (char c = '0'; c <= '9'; c++) {
+                PLAIN_PATH_CHARS[c] = true;
+            }
+            for (char c = 'a'; c <= 'z'; c++) {
+                PLAIN_PATH_CHARS[c] = true;
+                PLAIN_PATH_CHARS[Character.toUpperCase(c)] = true;
+            }
+            for (char c : "-_.!~*'(),;:$&+=@/".toCharArray()) {
+                PLAIN_PATH_CHARS[c] = true;
+            }
+        }
+
+        private final String path;
+        private final String rawPath;
+        private final String query;
+        private final String rawQuery;
+
+        private RequestUri(String plainPath) {
+            int queryIndex = plainPath.indexOf('?');
+            this.path = this.rawPath = queryIndex < 0 ? plainPath : plainPath.substring(0, queryIndex);
+            this.query = this.rawQuery = queryIndex < 0 ? null : plainPath.substring(queryIndex + 1);
+        }
+
+        private RequestUri(URI uri) {
+            this.path = uri.getPath();
+            this.rawPath = uri.getRawPath();
+            this.query = uri.getQuery();
+            this.rawQuery = uri.getRawQuery();
+        }
+
+        /**
+         * Check whether a request URI is an absolute path, with an optional query, which has no escaped octets and
+         * only the characters allowed unescaped in a path, or in a query.
+         */
+        private static boolean isPlainPath(String uri) {
+            int length = uri.length();
+            if (length == 0 || uri.charAt(0) != '/' || (length > 1 && uri.charAt(1) == '/')) {
+                return false;
+            }
+            for (int i = 1; i < length; i++) {
+                char c = uri.charAt(i);
+                if (c != '?' && (c >= PLAIN_PATH_CHARS.length || !PLAIN_PATH_CHARS[c])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private String getPath() {
+            return path;
+        }
+
+        private String getRawPath() {
+            return rawPath;
+        }
+
+        private String getQuery() {
+            return query;
+        }
+
+        private String getRawQuery() {
+            return rawQuery;
+        }
+    }
 }
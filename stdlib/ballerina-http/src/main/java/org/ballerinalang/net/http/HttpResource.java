@@ -50,6 +50,8 @@ public class HttpResource {
     private static final String PRODUCES_FIELD = "produces";
     private static final String CORS_FIELD = "cors";
     private static final String TRANSACTION_INFECTABLE_FIELD = "transactionInfectable";
+    private static final String MAX_ACTIVE_REQUESTS_FIELD = "maxActiveRequests";
+    private static final String MAX_QUEUED_REQUESTS_FIELD = "maxQueuedRequests";
 
     private Resource balResource;
     private List<String> methods;
@@ -62,6 +64,7 @@ public class HttpResource {
     private SignatureParams signatureParams;
     private HttpService parentService;
     private boolean transactionInfectable = true; //default behavior
+    private ConcurrencyLimiter concurrencyLimiter;
 
     protected HttpResource(Resource resource, HttpService parentService) {
         this.balResource = resource;
@@ -158,6 +161,14 @@ public class HttpResource {
         this.transactionInfectable = transactionInfectable;
     }
 
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    public void setConcurrencyLimiter(ConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
     public String getEntityBodyAttributeValue() {
         return entityBodyAttribute;
     }
@@ -188,6 +199,12 @@ public class HttpResource {
         httpResource.setEntityBodyAttributeValue(resourceConfig.getStringField(BODY_FIELD));
         httpResource.setCorsHeaders(CorsHeaders.buildCorsHeaders(resourceConfig.getStructField(CORS_FIELD)));
         httpResource.setTransactionInfectable(resourceConfig.getBooleanField(TRANSACTION_INFECTABLE_FIELD));
+        long maxActiveRequests = resourceConfig.getIntField(MAX_ACTIVE_REQUESTS_FIELD);
+        if (maxActiveRequests != ConcurrencyLimiter.UNLIMITED) {
+            httpResource.setConcurrencyLimiter(new ConcurrencyLimiter(
+                    maxActiveRequests, resourceConfig.getIntField(MAX_QUEUED_REQUESTS_FIELD), "http_resource",
+                    "service", resource.getServiceName(), "resource", resource.getName()));
+        }
 
         processResourceCors(httpResource, httpService);
         httpResource.prepareAndValidateSignatureParams();
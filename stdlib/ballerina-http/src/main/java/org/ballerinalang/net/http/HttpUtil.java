@@ -268,14 +268,41 @@ public class HttpUtil {
                 throw new BallerinaException("Invalid content length");
             }
             if (contentLength > 0) {
-                entity.addNativeData(ENTITY_BYTE_CHANNEL, new EntityWrapper(
-                        new EntityBodyChannel(httpMessageDataStreamer.getInputStream())));
+                EntityWrapper entityBody = new EntityWrapper(
+                        new EntityBodyChannel(httpMessageDataStreamer.getInputStream()));
+                entity.addNativeData(ENTITY_BYTE_CHANNEL, entityBody);
+                httpMessageStruct.addNativeData(HttpConstants.TRANSPORT_MESSAGE_BODY, entityBody);
             }
         }
         httpMessageStruct.setRefField(isRequest ? REQUEST_ENTITY_INDEX : RESPONSE_ENTITY_INDEX, entity);
         httpMessageStruct.addNativeData(IS_BODY_BYTE_CHANNEL_ALREADY_SET, true);
     }
 
+    /**
+     * Check whether the entity body of a request or response is the unread body of its own transport message, as when
+     * an inbound message is forwarded or responded with after only its headers were looked at. The content chunks
+     * received are then still held by the transport message, which relays them to the outbound connection as they
+     * are, instead of them being copied through the byte channel of the entity. The message is reset to the state it
+     * had before the entity body was populated, so that the body is read from the transport message if it is needed
+     * again.
+     *
+     * @param httpMessageStruct request or response being sent
+     * @param entityStruct      entity of the request or response
+     * @return true if the entity body is relayed by the transport message, and must not be serialized
+     */
+    public static boolean relayUnreadEntityBody(BStruct httpMessageStruct, BStruct entityStruct) {
+        Object messageBody = httpMessageStruct.getNativeData(HttpConstants.TRANSPORT_MESSAGE_BODY);
+        if (messageBody == null || EntityBodyHandler.getByteChannel(entityStruct) != messageBody
+                || EntityBodyHandler.getMessageDataSource(entityStruct) != null
+                || ((EntityWrapper) messageBody).isConsumed()) {
+            return false;
+        }
+        entityStruct.addNativeData(ENTITY_BYTE_CHANNEL, null);
+        httpMessageStruct.addNativeData(HttpConstants.TRANSPORT_MESSAGE_BODY, null);
+        httpMessageStruct.addNativeData(IS_BODY_BYTE_CHANNEL_ALREADY_SET, false);
+        return true;
+    }
+
     public static BStruct extractEntity(BStruct httpMessageStruct) {
         Object isEntityBodyAvailable = httpMessageStruct.getNativeData(IS_BODY_BYTE_CHANNEL_ALREADY_SET);
         if (isEntityBodyAvailable == null || !((Boolean) isEntityBodyAvailable)) {
@@ -377,7 +377,7 @@ public abstract class AbstractHTTPAction implements NativeCallableUnit {
         }
 
         BStruct entityStruct = extractEntity(requestStruct);
-        if (entityStruct != null) {
+        if (entityStruct != null && !HttpUtil.relayUnreadEntityBody(requestStruct, entityStruct)) {
             MessageDataSource messageDataSource = EntityBodyHandler.getMessageDataSource(entityStruct);
             if (messageDataSource != null) {
                 try {
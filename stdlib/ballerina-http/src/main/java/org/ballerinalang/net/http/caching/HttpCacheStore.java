@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.caching;
+
+import org.ballerinalang.model.types.BArrayType;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Storage of the responses cached by the HTTP caching client, by cache key.
+ * <p>
+ * Entries are kept in a concurrent map, so that looking up and adding responses does not lock the whole cache. An
+ * entry expires once it has not been accessed for the expiry time. The capacity is a number of bytes, and each
+ * response is weighed by the size of its payload and headers when it is added. When the responses weigh more than the
+ * capacity, the least recently used entries are evicted until the eviction factor of the capacity is free again;
+ * only the thread which evicts them selects the entries to evict, while the other threads go on. A response heavier
+ * than the whole capacity is not cached. Expired entries are also removed by the thread adding an entry, at most once
+ * in each cleanup interval.
+ * <p>
+ * The responses of a key are held in an array which is replaced when a response is added, so that an array returned
+ * to a caller does not change while it is being iterated.
+ * <p>
+ * Concurrent misses on the same key are not coalesced here. The caching client decides only once the response
+ * arrives whether it may be stored, and for which requests it may be served, since that depends on the cache control
+ * directives and the validators of both the request and the response. A worker waiting on the fetch of another
+ * would also hold a thread of the worker pool for a whole round trip to the backend, as the natives of the store
+ * block.
+ *
+ * @since 0.974.1
+ */
+public class HttpCacheStore {
+
+    private static final long CLEANUP_INTERVAL_MILLIS = 5000;
+
+    private static final Comparator<EvictionCandidate> LEAST_RECENTLY_USED_FIRST =
+            Comparator.comparingLong(candidate -> candidate.lastAccessedTime);
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final ReentrantLock cleanupLock = new ReentrantLock();
+
+    private final long expiryTimeMillis;
+
+    private final long capacity;
+
+    /* the weight the cache is brought back down to, once it weighs more than the capacity */
+    private final long evictionThreshold;
+
+    private final AtomicLong weight = new AtomicLong();
+
+    private volatile long lastCleanupTime = System.currentTimeMillis();
+
+    public HttpCacheStore(long expiryTimeMillis, long capacity, double evictionFactor) {
+        if (expiryTimeMillis <= 0) {
+            throw new BallerinaException("Expiry time must be greater than 0.");
+        }
+        if (capacity <= 0) {
+            throw new BallerinaException("Capacity must be greater than 0.");
+        }
+        if (evictionFactor <= 0 || evictionFactor > 1) {
+            throw new BallerinaException("Cache eviction factor must be between 0.0 (exclusive) and 1.0 (inclusive).");
+        }
+        this.expiryTimeMillis = expiryTimeMillis;
+        this.capacity = capacity;
+        this.evictionThreshold = capacity - (long) (capacity * evictionFactor);
+    }
+
+    /**
+     * Check whether there are responses cached for the given key.
+     *
+     * @param key cache key
+     * @return true if there are responses which have not expired
+     */
+    public boolean hasKey(String key) {
+        Entry entry = entries.get(key);
+        return entry != null && !entry.isExpired(System.currentTimeMillis());
+    }
+
+    /**
+     * Get the responses cached for the given key, and mark them as used.
+     *
+     * @param key cache key
+     * @return the responses, in the order they were added, or null if there are none
+     */
+    public BRefValueArray getAll(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long currentTime = System.currentTimeMillis();
+        if (entry.isExpired(currentTime)) {
+            remove(key, entry);
+            return null;
+        }
+        entry.lastAccessedTime = currentTime;
+        return entry.responses;
+    }
+
+    /**
+     * Add a response to the responses cached for the given key. The response is not cached if it weighs more than
+     * the capacity of the cache.
+     *
+     * @param key            cache key
+     * @param response       response to cache
+     * @param responseWeight size of the response in bytes
+     */
+    public void add(String key, BRefType response, long responseWeight) {
+        if (responseWeight > capacity) {
+            return;
+        }
+        long currentTime = System.currentTimeMillis();
+        entries.compute(key, (entryKey, entry) -> {
+            if (entry == null || entry.isExpired(currentTime)) {
+                if (entry != null) {
+                    weight.addAndGet(-entry.weight);
+                }
+                weight.addAndGet(responseWeight);
+                return new Entry(new BRefValueArray(new BRefType[] { response }, new BArrayType(response.getType())),
+                                 responseWeight, currentTime);
+            }
+            int size = (int) entry.responses.size();
+            BRefType[] responses = new BRefType[size + 1];
+            for (int i = 0; i < size; i++) {
+                responses[i] = entry.responses.get(i);
+            }
+            responses[size] = response;
+            weight.addAndGet(responseWeight);
+            return new Entry(new BRefValueArray(responses, entry.responses.getType()), entry.weight + responseWeight,
+                             currentTime);
+        });
+        if (weight.get() > capacity || currentTime - lastCleanupTime >= CLEANUP_INTERVAL_MILLIS) {
+            cleanup(currentTime);
+        }
+    }
+
+    /**
+     * Remove the responses cached for the given key.
+     *
+     * @param key cache key
+     */
+    public void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            weight.addAndGet(-entry.weight);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get the total size of the cached responses.
+     *
+     * @return the size in bytes
+     */
+    public long getWeight() {
+        return weight.get();
+    }
+
+    private void remove(String key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            weight.addAndGet(-entry.weight);
+        }
+    }
+
+    /**
+     * Remove the expired entries, and then, if the cache weighs more than its capacity, as many of the least recently
+     * used entries as needed to bring it down to the eviction threshold. The cleanup is skipped if another thread is
+     * doing it.
+     */
+    private void cleanup(long currentTime) {
+        if (!cleanupLock.tryLock()) {
+            return;
+        }
+        try {
+            lastCleanupTime = currentTime;
+            List<EvictionCandidate> candidates = new ArrayList<>(entries.size());
+            for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+                Entry entry = mapEntry.getValue();
+                if (entry.isExpired(currentTime)) {
+                    remove(mapEntry.getKey(), entry);
+                    continue;
+                }
+                candidates.add(new EvictionCandidate(mapEntry.getKey(), entry));
+            }
+            if (weight.get() <= capacity) {
+                return;
+            }
+            candidates.sort(LEAST_RECENTLY_USED_FIRST);
+            for (EvictionCandidate candidate : candidates) {
+                if (weight.get() <= evictionThreshold) {
+                    break;
+                }
+                remove(candidate.key, candidate.entry);
+            }
+        } finally {
+            cleanupLock.unlock();
+        }
+    }
+
+    /**
+     * The responses of a cache key, their total size, and the time they were last used.
+     */
+    private class Entry {
+
+        private final BRefValueArray responses;
+
+        private final long weight;
+
+        private volatile long lastAccessedTime;
+
+        private Entry(BRefValueArray responses, long weight, long lastAccessedTime) {
+            this.responses = responses;
+            this.weight = weight;
+            this.lastAccessedTime = lastAccessedTime;
+        }
+
+        private boolean isExpired(long currentTime) {
+            return currentTime >= lastAccessedTime + expiryTimeMillis;
+        }
+    }
+
+    /**
+     * An entry which may be evicted, with its access time when it was selected, so that the order of the candidates
+     * does not change while the entries are being used.
+     */
+    private static class EvictionCandidate {
+
+        private final String key;
+
+        private final Entry entry;
+
+        private final long lastAccessedTime;
+
+        private EvictionCandidate(String key, Entry entry) {
+            this.key = key;
+            this.entry = entry;
+            this.lastAccessedTime = entry.lastAccessedTime;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.nativeimpl.cache;
+
+import io.netty.handler.codec.http.HttpHeaders;
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
+import org.ballerinalang.mime.util.EntityBodyHandler;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.Receiver;
+import org.ballerinalang.net.http.HttpConstants;
+import org.ballerinalang.net.http.caching.HttpCacheStore;
+import org.ballerinalang.runtime.message.BlobDataSource;
+import org.ballerinalang.runtime.message.MessageDataSource;
+
+import java.util.Map;
+
+import static org.ballerinalang.mime.util.Constants.ENTITY_HEADERS;
+import static org.ballerinalang.mime.util.Constants.RESPONSE_ENTITY_INDEX;
+
+/**
+ * Add a response to the responses an HTTP cache holds for a cache key. The response is weighed by the size of its
+ * payload, which the cache has already read into memory, and of its headers.
+ *
+ * @since 0.974.1
+ */
+@BallerinaFunction(
+        orgName = "ballerina", packageName = "http",
+        functionName = "addEntry",
+        receiver = @Receiver(type = TypeKind.OBJECT, structType = "HttpCache",
+                             structPackage = "ballerina/http"),
+        args = {@Argument(name = "key", type = TypeKind.STRING),
+                @Argument(name = "inboundResponse", type = TypeKind.OBJECT, structType = "Response",
+                          structPackage = "ballerina/http")},
+        isPublic = false
+)
+public class AddEntry extends BlockingNativeCallableUnit {
+
+    @Override
+    public void execute(Context context) {
+        BStruct httpCache = (BStruct) context.getRefArgument(0);
+        HttpCacheStore cacheStore = (HttpCacheStore) httpCache.getNativeData(HttpConstants.HTTP_CACHE_STORE);
+        BStruct response = (BStruct) context.getRefArgument(1);
+        cacheStore.add(context.getStringArgument(0), response, getSize(response));
+        context.setReturnValues();
+    }
+
+    private static long getSize(BStruct response) {
+        BStruct entity = (BStruct) response.getRefField(RESPONSE_ENTITY_INDEX);
+        if (entity == null) {
+            return 0;
+        }
+        long size = 0;
+        MessageDataSource dataSource = EntityBodyHandler.getMessageDataSource(entity);
+        if (dataSource instanceof BlobDataSource) {
+            size += ((BlobDataSource) dataSource).getValue().length;
+        } else if (dataSource != null) {
+            size += dataSource.getMessageAsString().length();
+        }
+        HttpHeaders headers = (HttpHeaders) entity.getNativeData(ENTITY_HEADERS);
+        if (headers != null) {
+            for (Map.Entry<String, String> header : headers) {
+                size += header.getKey().length() + header.getValue().length();
+            }
+        }
+        return size;
+    }
+}
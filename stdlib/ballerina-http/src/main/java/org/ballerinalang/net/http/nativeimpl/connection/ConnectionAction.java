@@ -63,7 +63,7 @@ public abstract class ConnectionAction implements NativeCallableUnit {
 
         OutputStream messageOutputStream = outboundMsgDataStreamer.getOutputStream();
         BStruct entityStruct = extractEntity(outboundResponseStruct);
-        if (entityStruct != null) {
+        if (entityStruct != null && !HttpUtil.relayUnreadEntityBody(outboundResponseStruct, entityStruct)) {
             if (boundaryString != null) {
                 serializeMultiparts(boundaryString, entityStruct, messageOutputStream);
             } else {
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.nativeimpl.resiliency;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.net.http.HttpConstants;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Create the index of the next client a load balancer selects with the round robin algorithm.
+ *
+ * @since 0.974.1
+ */
+@BallerinaFunction(
+        orgName = "ballerina", packageName = "http",
+        functionName = "initRoundRobin",
+        args = {@Argument(name = "lb", type = TypeKind.OBJECT, structType = "LoadBalancerActions",
+                          structPackage = "ballerina/http"),
+                @Argument(name = "nextIndex", type = TypeKind.INT)},
+        isPublic = false
+)
+public class InitRoundRobin extends BlockingNativeCallableUnit {
+
+    @Override
+    public void execute(Context context) {
+        BStruct loadBalancer = (BStruct) context.getRefArgument(0);
+        loadBalancer.addNativeData(HttpConstants.ROUND_ROBIN_INDEX,
+                                   new AtomicInteger((int) Math.max(0, context.getIntArgument(0))));
+        context.setReturnValues();
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.resiliency;
+
+import org.ballerinalang.logging.BLogManager;
+import org.ballerinalang.net.http.HttpConstants;
+import org.ballerinalang.util.metrics.Counter;
+import org.ballerinalang.util.metrics.DefaultMetricRegistry;
+import org.ballerinalang.util.metrics.MetricId;
+import org.ballerinalang.util.metrics.MetricRegistry;
+import org.ballerinalang.util.metrics.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.ballerinalang.util.observability.ObservabilityConstants.TAG_KEY_HTTP_URL;
+
+/**
+ * The state of the circuit of a Circuit Breaker, and the statistics of the requests it sent in the rolling window.
+ * <p>
+ * The rolling window is a ring of buckets, one for each bucket sized slot of time. A bucket remembers the slot it
+ * counts, and is replaced when the ring comes around to it again, so that the failure ratio only counts the requests
+ * within the time window. None of the operations lock: counters are atomic, and the state of the circuit changes by
+ * compare and set, so that only one of the threads racing for a transition makes it.
+ * <p>
+ * While the circuit is half open, only the trial request is let through. The outcome of the trial closes the circuit
+ * or trips it again as soon as it is recorded. A trial which does not report back within the reset time is given up,
+ * and the next request becomes the trial.
+ *
+ * @since 0.974.1
+ */
+public class CircuitBreakerState {
+
+    private static final Logger log = LoggerFactory.getLogger(
+            BLogManager.BALLERINA_ROOT_LOGGER_NAME + "." + HttpConstants.PROTOCOL_PACKAGE_HTTP);
+
+    /**
+     * States of a circuit, named as the Ballerina `CircuitState` values.
+     */
+    public enum State {
+        OPEN, HALF_OPEN, CLOSED
+    }
+
+    private final double failureThreshold;
+
+    private final long resetTimeMillis;
+
+    private final long bucketSizeMillis;
+
+    private final int noOfBuckets;
+
+    private final long startTime;
+
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+
+    private final AtomicLong requestCount = new AtomicLong();
+
+    private final AtomicLong errorCount = new AtomicLong();
+
+    private final AtomicLong trialStartTime = new AtomicLong();
+
+    private volatile long lastErrorTime;
+
+    private volatile long lastForcedOpenTime;
+
+    private final LongAdder tripCount = new LongAdder();
+
+    private final LongAdder rejectionCount = new LongAdder();
+
+    private final Counter tripCounter;
+
+    private final Counter rejectionCounter;
+
+    public CircuitBreakerState(String serviceUri, double failureThreshold, long resetTimeMillis,
+                               long bucketSizeMillis, long noOfBuckets) {
+        this.failureThreshold = failureThreshold;
+        this.resetTimeMillis = resetTimeMillis;
+        this.bucketSizeMillis = Math.max(1, bucketSizeMillis);
+        this.noOfBuckets = (int) Math.max(1, Math.min(noOfBuckets, Integer.MAX_VALUE));
+        this.startTime = System.currentTimeMillis();
+        this.buckets = new AtomicReferenceArray<>(this.noOfBuckets);
+
+        MetricRegistry metricRegistry = DefaultMetricRegistry.getInstance();
+        if (metricRegistry != null) {
+            Tag urlTag = new Tag(TAG_KEY_HTTP_URL, serviceUri);
+            tripCounter = metricRegistry.counter(new MetricId("http_circuit_breaker_trips_total",
+                    "Number of times the circuit tripped to the open state", Collections.singleton(urlTag)));
+            rejectionCounter = metricRegistry.counter(new MetricId("http_circuit_breaker_rejected_requests_total",
+                    "Number of requests rejected by the circuit breaker", Collections.singleton(urlTag)));
+        } else {
+            tripCounter = null;
+            rejectionCounter = null;
+        }
+    }
+
+    /**
+     * Update the state of the circuit for a request which is about to be sent, and decide whether it may be sent.
+     *
+     * @return the state the request is sent in, or {@link State#OPEN} if the request should be rejected
+     */
+    public State updateState() {
+        State currentState = state.get();
+        if (currentState == State.CLOSED) {
+            return State.CLOSED;
+        }
+        long currentTime = System.currentTimeMillis();
+        if (currentState == State.OPEN) {
+            if (currentTime - getEffectiveErrorTime() > resetTimeMillis) {
+                trialStartTime.set(currentTime);
+                if (state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                    errorCount.set(0);
+                    requestCount.set(0);
+                    log.info("CircuitBreaker reset timeout reached. Circuit switched from OPEN to HALF_OPEN state.");
+                    return State.HALF_OPEN;
+                }
+            }
+            return reject();
+        }
+        // A trial is in flight; let another one through only if it did not report back within the reset time.
+        long trialStart = trialStartTime.get();
+        if (currentTime - trialStart > resetTimeMillis && trialStartTime.compareAndSet(trialStart, currentTime)
+                && state.get() == State.HALF_OPEN) {
+            return State.HALF_OPEN;
+        }
+        return reject();
+    }
+
+    /**
+     * Record the outcome of a request sent through the circuit, and trip or close the circuit accordingly.
+     *
+     * @param failed whether the request failed
+     */
+    public void recordOutcome(boolean failed) {
+        long currentTime = System.currentTimeMillis();
+        Bucket bucket = getBucket(currentTime);
+        requestCount.incrementAndGet();
+        if (failed) {
+            bucket.failureCount.incrementAndGet();
+            errorCount.incrementAndGet();
+            lastErrorTime = currentTime;
+        } else {
+            bucket.successCount.incrementAndGet();
+        }
+
+        State currentState = state.get();
+        if (currentState == State.HALF_OPEN) {
+            if (failed) {
+                if (state.compareAndSet(State.HALF_OPEN, State.OPEN)) {
+                    trip();
+                    log.info("CircuitBreaker trial run has failed. Circuit switched from HALF_OPEN to OPEN state.");
+                }
+            } else if (state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+                log.info("CircuitBreaker trial run  was successful. Circuit switched from HALF_OPEN to CLOSE state.");
+            }
+        } else if (currentState == State.CLOSED && failed && getFailureRatio(currentTime) > failureThreshold
+                && state.compareAndSet(State.CLOSED, State.OPEN)) {
+            trip();
+            log.info("CircuitBreaker failure threshold exceeded. Circuit tripped from CLOSE to OPEN state.");
+        }
+    }
+
+    /**
+     * Get the time left until the circuit lets a trial request through.
+     *
+     * @return the remaining reset time in milliseconds
+     */
+    public long getTimeUntilReset() {
+        return resetTimeMillis - (System.currentTimeMillis() - getEffectiveErrorTime());
+    }
+
+    /**
+     * Force the circuit open, suspending requests until the reset time passes.
+     */
+    public void forceOpen() {
+        lastForcedOpenTime = System.currentTimeMillis();
+        state.set(State.OPEN);
+    }
+
+    /**
+     * Force the circuit closed, and forget the errors counted so far.
+     */
+    public void forceClose() {
+        errorCount.set(0);
+        requestCount.set(0);
+        state.set(State.CLOSED);
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public long getTripCount() {
+        return tripCount.sum();
+    }
+
+    public long getRejectionCount() {
+        return rejectionCount.sum();
+    }
+
+    /**
+     * Get the ratio of failed requests to all requests within the time window.
+     *
+     * @param currentTime the current time in milliseconds
+     * @return the failure ratio, or 0 if no request has failed
+     */
+    double getFailureRatio(long currentTime) {
+        long currentSlot = (currentTime - startTime) / bucketSizeMillis;
+        long totalSuccess = 0;
+        long totalFailures = 0;
+        for (int i = 0; i < noOfBuckets; i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && currentSlot - bucket.slot < noOfBuckets) {
+                totalSuccess += bucket.successCount.get();
+                totalFailures += bucket.failureCount.get();
+            }
+        }
+        return totalFailures > 0 ? (double) totalFailures / (totalSuccess + totalFailures) : 0;
+    }
+
+    private Bucket getBucket(long currentTime) {
+        long slot = (currentTime - startTime) / bucketSizeMillis;
+        int index = (int) (slot % noOfBuckets);
+        while (true) {
+            Bucket bucket = buckets.get(index);
+            if (bucket != null && bucket.slot >= slot) {
+                return bucket;
+            }
+            Bucket newBucket = new Bucket(slot);
+            if (buckets.compareAndSet(index, bucket, newBucket)) {
+                return newBucket;
+            }
+        }
+    }
+
+    private long getEffectiveErrorTime() {
+        return Math.max(lastErrorTime, lastForcedOpenTime);
+    }
+
+    private void trip() {
+        tripCount.increment();
+        if (tripCounter != null) {
+            tripCounter.increment();
+        }
+    }
+
+    private State reject() {
+        rejectionCount.increment();
+        if (rejectionCounter != null) {
+            rejectionCounter.increment();
+        }
+        return State.OPEN;
+    }
+
+    /**
+     * The requests counted in a bucket sized slot of time.
+     */
+    private static class Bucket {
+
+        private final long slot;
+
+        private final AtomicLong successCount = new AtomicLong();
+
+        private final AtomicLong failureCount = new AtomicLong();
+
+        private Bucket(long slot) {
+            this.slot = slot;
+        }
+    }
+}
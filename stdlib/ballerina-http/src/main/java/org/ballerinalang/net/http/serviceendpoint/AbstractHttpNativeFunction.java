@@ -3,6 +3,7 @@ package org.ballerinalang.net.http.serviceendpoint;
 import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
 import org.ballerinalang.connector.api.Struct;
 import org.ballerinalang.connector.api.Value;
+import org.ballerinalang.net.http.ConcurrencyLimiter;
 import org.ballerinalang.net.http.HTTPServicesRegistry;
 import org.ballerinalang.net.http.HttpConstants;
 import org.ballerinalang.net.http.WebSocketServicesRegistry;
@@ -37,6 +38,16 @@ public abstract class AbstractHttpNativeFunction extends BlockingNativeCallableU
         return (Value[]) serviceEndpoint.getNativeData(HttpConstants.FILTERS);
     }
 
+    /**
+     * Returns the limiter of the requests the service endpoint executes at a time.
+     *
+     * @param serviceEndpoint service endpoint struct
+     * @return the concurrency limiter, or null if the number of requests is not limited
+     */
+    protected ConcurrencyLimiter getConcurrencyLimiter(Struct serviceEndpoint) {
+        return (ConcurrencyLimiter) serviceEndpoint.getNativeData(HttpConstants.CONCURRENCY_LIMITER);
+    }
+
     protected boolean isConnectorStarted(Struct serviceEndpoint) {
         return serviceEndpoint.getNativeData(HttpConstants.CONNECTOR_STARTED) != null;
     }
@@ -31,6 +31,7 @@ import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.Receiver;
+import org.ballerinalang.net.http.ConcurrencyLimiter;
 import org.ballerinalang.net.http.HTTPServicesRegistry;
 import org.ballerinalang.net.http.HttpConnectionManager;
 import org.ballerinalang.net.http.HttpConstants;
@@ -85,6 +86,7 @@ public class InitEndpoint extends BlockingNativeCallableUnit {
             serviceEndpoint.addNativeData(HttpConstants.WS_SERVICE_REGISTRY, webSocketServicesRegistry);
             // set filters
             setFilters(serviceEndpointConfig, serviceEndpoint);
+            setConcurrencyLimiter(serviceEndpointConfig, serviceEndpoint, listenerConfiguration);
 
             context.setReturnValues((BValue) null);
         } catch (Throwable throwable) {
@@ -108,6 +110,29 @@ public class InitEndpoint extends BlockingNativeCallableUnit {
         serviceEndpoint.addNativeData(HttpConstants.FILTERS, filterValues);
     }
 
+    /**
+     * Attach the limiter of the requests the listener executes at a time, if a limit is configured.
+     *
+     * @param endpointConfig        endpoint configuration
+     * @param serviceEndpoint       service endpoint object
+     * @param listenerConfiguration configuration of the server connector of the listener
+     */
+    private void setConcurrencyLimiter(Struct endpointConfig, Struct serviceEndpoint,
+                                       ListenerConfiguration listenerConfiguration) {
+        Struct requestLimits = endpointConfig.getStructField(HttpConstants.ENDPOINT_REQUEST_LIMITS);
+        if (requestLimits == null) {
+            return;
+        }
+        long maxActiveRequests = requestLimits.getIntField(HttpConstants.REQUEST_LIMITS_MAXIMUM_ACTIVE_REQUESTS);
+        if (maxActiveRequests == ConcurrencyLimiter.UNLIMITED) {
+            return;
+        }
+        long maxQueuedRequests = requestLimits.getIntField(HttpConstants.REQUEST_LIMITS_MAXIMUM_QUEUED_REQUESTS);
+        String listener = listenerConfiguration.getHost() + ":" + listenerConfiguration.getPort();
+        serviceEndpoint.addNativeData(HttpConstants.CONCURRENCY_LIMITER, new ConcurrencyLimiter(
+                maxActiveRequests, maxQueuedRequests, "http_listener", "listener", listener));
+    }
+
     private ListenerConfiguration getListenerConfig(Struct endpointConfig) {
         String host = endpointConfig.getStringField(HttpConstants.ENDPOINT_CONFIG_HOST);
         long port = endpointConfig.getIntField(HttpConstants.ENDPOINT_CONFIG_PORT);
@@ -85,7 +85,7 @@ public class Register extends AbstractHttpNativeFunction {
         ServerConnectorFuture serverConnectorFuture = serverConnector.start();
         Value[] filterHolder = getFilters(serviceEndpoint);
         serverConnectorFuture.setHttpConnectorListener(new BallerinaHTTPConnectorListener(httpServicesRegistry,
-                filterHolder));
+                filterHolder, getConcurrencyLimiter(serviceEndpoint)));
         serverConnectorFuture
                 .setWSConnectorListener(new WebSocketServerConnectorListener(webSocketServicesRegistry));
 
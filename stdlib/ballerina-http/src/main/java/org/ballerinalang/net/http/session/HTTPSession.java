@@ -38,7 +38,7 @@ public class HTTPSession implements Session, Serializable {
     private Long accessedTime;
     private Long lastAccessedTime;
     private int maxInactiveInterval;
-    private BMap<String, BValue> attributeMap = new BMap<>();
+    private BMap<String, BValue> attributeMap = newAttributeMap();
     private SessionManager sessionManager;
     private boolean isValid = true;
     private boolean isNew = true;
@@ -116,7 +116,7 @@ public class HTTPSession implements Session, Serializable {
     @Override
     public void invalidate() {
         sessionManager.invalidateSession(this);
-        attributeMap = new BMap<>();
+        attributeMap = newAttributeMap();
         isValid = false;
     }
 
@@ -157,4 +157,10 @@ public class HTTPSession implements Session, Serializable {
         return this.isNew;
     }
 
+    private static BMap<String, BValue> newAttributeMap() {
+        /* the attributes are read and set by every request of the session, which may run on different workers */
+        BMap<String, BValue> attributeMap = new BMap<>();
+        attributeMap.share();
+        return attributeMap;
+    }
 }
@@ -83,7 +83,19 @@ public class URIUtil {
     }
 
 
+    /**
+     * Remove the matrix parameters from the path segments of a request URI, and put them into the given map by the
+     * path up to each segment.
+     *
+     * @param path         request URI
+     * @param matrixParams map to put the matrix parameters into
+     * @return the request URI without matrix parameters
+     */
     public static String extractMatrixParams(String path, Map<String, Map<String, String>> matrixParams) {
+        if (hasNoMatrixParams(path)) {
+            // Nothing to extract, and the path would be rebuilt as it is
+            return path;
+        }
         if (path.startsWith("/")) {
             path = path.substring(1);
         }
@@ -111,4 +123,23 @@ public class URIUtil {
         }
         return pathToMatrixParam;
     }
+
+    /**
+     * Check whether a request URI starts with a path without matrix parameters, which is returned as it is by
+     * {@link #extractMatrixParams(String, Map)}. Segments without matrix parameters need no entries in the map, as
+     * {@link #getMatrixParamsMap(String, HTTPCarbonMessage)} treats a missing entry as an empty one.
+     */
+    private static boolean hasNoMatrixParams(String path) {
+        int length = path.length();
+        if (length == 0 || path.charAt(0) != '/' || path.charAt(length - 1) == '?') {
+            return false;
+        }
+        int queryIndex = path.indexOf('?');
+        int pathEnd = queryIndex < 0 ? length : queryIndex;
+        if (pathEnd > 1 && path.charAt(pathEnd - 1) == '/') {
+            return false;
+        }
+        int matrixParamIndex = path.indexOf(';');
+        return matrixParamIndex < 0 || matrixParamIndex > pathEnd;
+    }
 }
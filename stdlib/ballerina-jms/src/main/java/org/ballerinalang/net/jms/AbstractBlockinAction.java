@@ -30,4 +30,9 @@ public abstract class AbstractBlockinAction implements NativeCallableUnit {
     public final boolean isBlocking() {
         return true;
     }
+
+    @Override
+    public boolean isIOBound() {
+        return true;
+    }
 }
@@ -321,6 +321,18 @@ public type Entity object {
     }
     public native function getXml() returns @tainted xml|error;
 
+    documentation {
+        Extracts the elements at the given path of the `xml` body of the entity, e.g. `catalog/book`. Each name in the
+        path is given in the same form as for `xml.select()`. If the body is not read yet, the elements are read from
+        the body one at a time, as the returned `xml` sequence is iterated, without building the rest of the document.
+        Iterating the sequence does not keep the elements, so it can only be iterated once, and the body cannot be
+        read again from the entity. If the entity body is not an XML, an error is returned.
+
+        P{{path}} Path of the elements, starting from the root element
+        R{{}} `xml` sequence of the elements at the given path. An `error` record is returned in case of errors.
+    }
+    public native function getXmlElements(string path) returns @tainted xml|error;
+
     documentation {
         Sets the entity body with the given text content. This method overrides any existing content-type headers
         with the default content-type `text/plain`. The default value `text/plain` can be overridden
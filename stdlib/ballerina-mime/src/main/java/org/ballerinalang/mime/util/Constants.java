@@ -98,6 +98,7 @@ public class Constants {
     public static final String MESSAGE_DATA_SOURCE = "message_datasource";
     public static final String IS_BODY_BYTE_CHANNEL_ALREADY_SET = "is_byte_channel_set";
     public static final String ENTITY_BYTE_CHANNEL = "entity_byte_channel";
+    public static final String ENTITY_BODY_STREAMED = "entity_body_streamed";
     public static final String MULTIPART_ENCODER = "MultipartEncoder";
     public static final String BODY_PARTS = "body_parts";
     public static final String ENTITY_HEADERS = "entity_headers";
@@ -33,6 +33,7 @@ import java.nio.channels.ReadableByteChannel;
 public class EntityBodyChannel implements ByteChannel {
     private InputStream inputStream;
     private ReadableByteChannel byteChannel;
+    private boolean consumed;
 
     public EntityBodyChannel(InputStream inputStream) {
         this.inputStream = inputStream;
@@ -41,6 +42,7 @@ public class EntityBodyChannel implements ByteChannel {
 
     @Override
     public int read(ByteBuffer dst) throws IOException {
+        consumed = true;
         return byteChannel.read(dst);
     }
 
@@ -56,7 +58,17 @@ public class EntityBodyChannel implements ByteChannel {
 
     @Override
     public void close() throws IOException {
+        consumed = true;
         byteChannel.close();
         inputStream.close();
     }
+
+    /**
+     * Check whether the body has been read from, or closed.
+     *
+     * @return true if the body is not available as a whole anymore
+     */
+    public boolean isConsumed() {
+        return consumed;
+    }
 }
@@ -53,6 +53,7 @@ import java.util.Set;
 
 import static org.ballerinalang.mime.util.Constants.BODY_PARTS;
 import static org.ballerinalang.mime.util.Constants.CHARSET;
+import static org.ballerinalang.mime.util.Constants.ENTITY_BODY_STREAMED;
 import static org.ballerinalang.mime.util.Constants.ENTITY_BYTE_CHANNEL;
 import static org.ballerinalang.mime.util.Constants.FIRST_BODY_PART_INDEX;
 import static org.ballerinalang.mime.util.Constants.MESSAGE_DATA_SOURCE;
@@ -124,7 +125,7 @@ public class EntityBodyHandler {
      * @throws IOException In case an error occurred while creating blob data source
      */
     public static BlobDataSource constructBlobDataSource(BStruct entityStruct) throws IOException {
-        Channel byteChannel = getByteChannel(entityStruct);
+        Channel byteChannel = getByteChannelToRead(entityStruct);
         if (byteChannel == null) {
             return null;
         }
@@ -142,7 +143,7 @@ public class EntityBodyHandler {
     public static BJSON constructJsonDataSource(BStruct entityStruct) {
         try {
             BJSON jsonData;
-            Channel byteChannel = getByteChannel(entityStruct);
+            Channel byteChannel = getByteChannelToRead(entityStruct);
             if (byteChannel == null) {
                 return null;
             }
@@ -173,7 +174,7 @@ public class EntityBodyHandler {
     public static BXML constructXmlDataSource(BStruct entityStruct) {
         try {
             BXML xmlContent;
-            Channel byteChannel = getByteChannel(entityStruct);
+            Channel byteChannel = getByteChannelToRead(entityStruct);
             if (byteChannel == null) {
                 throw new BallerinaIOException("Empty xml payload");
             }
@@ -195,6 +196,31 @@ public class EntityBodyHandler {
         }
     }
 
+    /**
+     * Construct an XML sequence of the elements at the given path, which are read from the underneath byte channel of
+     * the entity struct one at a time, as the sequence is accessed. The channel is closed once the whole payload
+     * has been read.
+     *
+     * @param entityStruct Represent an entity struct
+     * @param path         Path of the elements from the root element
+     * @return BXML sequence which reads the elements from the byte channel
+     */
+    public static BXML constructXmlElementSequence(BStruct entityStruct, String path) {
+        Channel byteChannel = getByteChannelToRead(entityStruct);
+        if (byteChannel == null) {
+            throw new BallerinaIOException("Empty xml payload");
+        }
+        String charsetValue = null;
+        String contentTypeValue = HeaderUtil.getHeaderValue(entityStruct, HttpHeaderNames.CONTENT_TYPE.toString());
+        if (contentTypeValue != null && !contentTypeValue.isEmpty()) {
+            charsetValue = MimeUtil.getContentTypeParamValue(contentTypeValue, CHARSET);
+            if (charsetValue != null && charsetValue.isEmpty()) {
+                charsetValue = null;
+            }
+        }
+        return XMLUtils.parseElements(byteChannel.getInputStream(), charsetValue, path);
+    }
+
     /**
      * Construct StringDataSource from the underneath byte channel which is associated with the entity struct.
      *
@@ -204,7 +230,7 @@ public class EntityBodyHandler {
     public static StringDataSource constructStringDataSource(BStruct entityStruct) {
         try {
             String textContent;
-            Channel byteChannel = getByteChannel(entityStruct);
+            Channel byteChannel = getByteChannelToRead(entityStruct);
             if (byteChannel == null) {
                 throw new BallerinaIOException("String payload is null");
             }
@@ -299,6 +325,22 @@ public class EntityBodyHandler {
         MultipartDecoder.parseBody(context, entityStruct, contentType, byteChannel.getInputStream());
     }
 
+    /**
+     * Get the byte channel to read the entity body from.
+     *
+     * @param entityStruct Represent an entity struct
+     * @return the byte channel, or null if the entity does not have one
+     * @throws BallerinaIOException if the body has already been streamed by getXmlElements()
+     */
+    private static Channel getByteChannelToRead(BStruct entityStruct) {
+        Channel byteChannel = getByteChannel(entityStruct);
+        if (byteChannel == null && entityStruct.getNativeData(ENTITY_BODY_STREAMED) != null) {
+            throw new BallerinaIOException("Entity body has already been streamed by getXmlElements(), and cannot " +
+                    "be read again");
+        }
+        return byteChannel;
+    }
+
     /**
      * Extract body parts from a given entity.
      *
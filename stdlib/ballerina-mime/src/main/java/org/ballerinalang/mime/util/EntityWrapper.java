@@ -35,8 +35,20 @@ import java.nio.channels.WritableByteChannel;
  */
 public class EntityWrapper extends Channel {
 
+    private final EntityBodyChannel entityBodyChannel;
+
     public EntityWrapper(EntityBodyChannel channel) throws BallerinaIOException {
         super(channel, new BlockingReader(), new BlockingWriter(), IOConstants.CHANNEL_BUFFER_SIZE);
+        this.entityBodyChannel = channel;
+    }
+
+    /**
+     * Check whether the entity body has been read from, or closed.
+     *
+     * @return true if the entity body is not available as a whole anymore
+     */
+    public boolean isConsumed() {
+        return entityBodyChannel.isConsumed();
     }
 
     @Override
@@ -38,6 +38,10 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Test Cases for type conversion.
  */
@@ -173,6 +177,50 @@ public class NativeConversionTest {
         Assert.assertEquals(marksArray.get(1), 79);
     }
 
+    @Test
+    public void testParsedJsonToStruct() {
+        String content = "{\"name\": \"Child\", \"age\": 25, \"extra\": {\"ids\": [1, 2]}, "
+                + "\"parent\": {\"name\": \"Parent\", \"age\": 50, \"score\": 4.57, \"alive\": false}, "
+                + "\"info\": {\"status\": \"single\"}, \"marks\": [56, 79], \"score\": 5.67, \"alive\": true, "
+                + "\"children\": [{\"name\": \"Kid\", \"age\": 2}]}";
+        BJSON json = new BJSON(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        BValue[] returns = BRunUtil.invoke(compileResult, "testParsedJsonToStruct", new BValue[] { json });
+        Assert.assertTrue(returns[0] instanceof BStruct);
+        BStruct struct = (BStruct) returns[0];
+        Assert.assertEquals(struct.getStringField(0), "Child");
+        Assert.assertEquals(struct.getIntField(0), 25);
+        Assert.assertEquals(struct.getFloatField(0), 5.67);
+        Assert.assertEquals(struct.getBooleanField(0), 1);
+
+        BStruct parentStruct = (BStruct) struct.getRefField(0);
+        Assert.assertEquals(parentStruct.getStringField(0), "Parent");
+        Assert.assertEquals(parentStruct.getIntField(0), 50);
+        Assert.assertEquals(parentStruct.getFloatField(0), 4.57);
+        Assert.assertEquals(parentStruct.getBooleanField(0), 0);
+        Assert.assertNull(parentStruct.getRefField(0));
+
+        Assert.assertEquals(struct.getRefField(1).stringValue(), "{\"status\":\"single\"}");
+        Assert.assertNull(struct.getRefField(2));
+        BIntArray marksArray = (BIntArray) struct.getRefField(3);
+        Assert.assertEquals(marksArray.size(), 2);
+        Assert.assertEquals(marksArray.get(1), 79);
+
+        BRefValueArray children = (BRefValueArray) struct.getRefField(5);
+        Assert.assertEquals(children.size(), 1);
+        Assert.assertEquals(((BStruct) children.get(0)).getStringField(0), "Kid");
+        Assert.assertEquals(((BStruct) children.get(0)).getIntField(0), 2);
+    }
+
+    @Test
+    public void testIncompatibleParsedJsonToStruct() {
+        String content = "{\"name\": \"Child\", \"parent\": {\"name\": \"Parent\", \"age\": \"50\"}}";
+        BJSON json = new BJSON(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        BValue[] returns = BRunUtil.invoke(compileResult, "testParsedJsonToStruct", new BValue[] { json });
+        Assert.assertTrue(returns[0] instanceof BStruct);
+        String errorMsg = ((BStruct) returns[0]).getStringField(0);
+        Assert.assertTrue(errorMsg.contains("error while mapping 'age'"), errorMsg);
+    }
+
     @Test
     public void testStructToJson() {
         BValue[] returns = BRunUtil.invoke(compileResult, "testStructToJson");
@@ -485,6 +533,33 @@ public class NativeConversionTest {
         Assert.assertEquals(returns[0].stringValue(), "{\"names\":[\"John\",\"Doe\"]}");
     }
 
+    @Test
+    public void testStructArrayToJson() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "testStructArrayToJson");
+        Assert.assertTrue(returns[0] instanceof BJSON);
+        String expected = "[{\"names\":[\"John\",\"Doe\"]},{\"names\":[\"Jane \\\"JD\\\" Doe\"]}]";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((BJSON) returns[0]).serializeData(out);
+        Assert.assertEquals(new String(out.toByteArray(), StandardCharsets.UTF_8), expected);
+        Assert.assertEquals(((BJSON) returns[0]).value().get(1).get("names").get(0).stringValue(), "Jane \"JD\" Doe");
+        Assert.assertEquals(returns[0].stringValue(), expected);
+    }
+
+    @Test
+    public void testStructToJsonSharesNestedJson() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "testStructToJsonSharesNestedJson");
+        // The json value in the struct is shared with the converted json, not copied
+        Assert.assertEquals(returns[0].stringValue(), "married");
+        Assert.assertEquals(returns[1].stringValue(), "Child");
+    }
+
+    @Test
+    public void testStructWithNaNToJson() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "testStructWithNaNToJson");
+        Assert.assertTrue(returns[0] instanceof BJSON);
+        Assert.assertTrue(Double.isNaN(((BJSON) returns[0]).value().get("score").doubleValue()));
+    }
+
     @Test(enabled = false)
     public void testEmptyJSONtoStructWithDefaults() {
         BValue[] returns = BRunUtil.invoke(compileResult, "testEmptyJSONtoStructWithDefaults");
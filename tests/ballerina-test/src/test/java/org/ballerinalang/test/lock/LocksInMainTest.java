@@ -27,9 +27,12 @@ import org.ballerinalang.model.values.BBoolean;
 import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.InstructionCodes;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
+
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertSame;
 
@@ -255,6 +258,25 @@ public class LocksInMainTest {
 
     }
 
+    @Test(description = "Tests read only lock statements along with a writer")
+    public void testReadLocksWithWriter() {
+        CompileResult compileResult = BCompileUtil.compile("test-src/lock/locks-in-functions.bal");
+
+        BValue[] returns =
+                BRunUtil.invoke(compileResult, "readLocksWithWriter");
+        assertEquals(returns.length, 2);
+        assertSame(returns[0].getClass(), BInteger.class);
+        assertSame(returns[1].getClass(), BBoolean.class);
+
+        assertEquals(((BInteger) returns[0]).intValue(), 1000);
+        Assert.assertTrue(((BBoolean) returns[1]).booleanValue());
+
+        long readLocks = Arrays.stream(compileResult.getProgFile().getEntryPackage().getInstructions())
+                .filter(instruction -> instruction.getOpcode() == InstructionCodes.READ_LOCK)
+                .count();
+        assertEquals(readLocks, 2);
+    }
+
     @Test(description = "Test lock negative cases")
     public void testLockNegativeCases() {
         CompileResult compileResult = BCompileUtil.compile("test-src/lock/locks-in-functions-negative.bal");
@@ -520,6 +520,52 @@ public class MimeUtilityFunctionTest {
         Assert.assertEquals(((BXML) returns[0]).getTextValue().stringValue(), "ballerina");
     }
 
+    @Test(description = "Get the elements at a given path of an xml byte channel")
+    public void testGetXmlElementsFromByteChannel() throws IOException {
+        File file = File.createTempFile("testFile", ".xml");
+        file.deleteOnExit();
+        BufferedWriter bufferedWriter = new BufferedWriter(new FileWriter(file));
+        bufferedWriter.write("<c:catalog xmlns:c=\"http://ballerina.io/ns\"><c:book><c:title>A</c:title></c:book>" +
+                "<c:shelf><c:book><c:title>X</c:title></c:book></c:shelf>" +
+                "<c:book><c:title>B</c:title></c:book></c:catalog>");
+        bufferedWriter.close();
+        BStruct byteChannelStruct = Util.getByteChannelStruct(compileResult);
+        byteChannelStruct.addNativeData(IOConstants.BYTE_CHANNEL_NAME, EntityBodyHandler.getByteChannelForTempFile
+                (file.getAbsolutePath()));
+        BValue[] args = {byteChannelStruct};
+        BValue[] returns = BRunUtil.invoke(compileResult, "testGetXmlElementsFromByteChannel", args);
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertEquals(returns[0].stringValue(),
+                "{http://ballerina.io/ns}book:A;{http://ballerina.io/ns}book:B;");
+    }
+
+    @Test(description = "Get the xml content of an entity after its elements have been streamed")
+    public void testGetXmlAfterXmlElements() throws IOException {
+        File file = File.createTempFile("testFile", ".xml");
+        file.deleteOnExit();
+        BufferedWriter bufferedWriter = new BufferedWriter(new FileWriter(file));
+        bufferedWriter.write("<catalog><book>A</book><book>B</book></catalog>");
+        bufferedWriter.close();
+        BStruct byteChannelStruct = Util.getByteChannelStruct(compileResult);
+        byteChannelStruct.addNativeData(IOConstants.BYTE_CHANNEL_NAME, EntityBodyHandler.getByteChannelForTempFile
+                (file.getAbsolutePath()));
+        BValue[] args = {byteChannelStruct};
+        BValue[] returns = BRunUtil.invoke(compileResult, "testGetXmlAfterXmlElements", args);
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertEquals(returns[0].stringValue(), "A;B;Error occurred while retrieving xml data from entity : " +
+                "Entity body has already been streamed by getXmlElements(), and cannot be read again");
+    }
+
+    @Test(description = "Get the elements at a given path of an xml entity body which is already read")
+    public void testGetXmlElementsFromXml() {
+        BXML xmlContent = XMLUtils.parse("<catalog><book>A</book><shelf><book>X</book></shelf><book>B</book>" +
+                "</catalog>");
+        BValue[] args = {xmlContent};
+        BValue[] returns = BRunUtil.invoke(compileResult, "testGetXmlElementsFromXml", args);
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertEquals(returns[0].stringValue(), "<book>A</book><book>B</book>");
+    }
+
     @Test(description = "Get xml content from entity that has a non compatible xml content-type")
     public void testGetXmlWithNonCompatibleMediaType() {
         BXML xmlContent = XMLUtils.parse("<name>ballerina</name>");
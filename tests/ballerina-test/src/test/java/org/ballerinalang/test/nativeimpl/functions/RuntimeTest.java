@@ -97,4 +97,12 @@ public class RuntimeTest {
         Assert.assertEquals(returns[0].stringValue(), "{callableName:\"testErrorStackFrame\", packageName:\".\","
                 + " fileName:\"runtime-error.bal\", lineNumber:17}");
     }
+
+    @Test
+    public void testCastErrorStackFrame() {
+        BValue[] returns = BRunUtil.invoke(errorResult, "testCastErrorStackFrame");
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertEquals(returns[0].stringValue(), "{callableName:\"castToInt\", packageName:\".\","
+                + " fileName:\"runtime-error.bal\", lineNumber:44}");
+    }
 }
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.net.http;
+
+import org.ballerinalang.connector.api.BallerinaConnectorException;
+import org.ballerinalang.net.http.ConcurrencyLimiter;
+import org.ballerinalang.test.utils.TestMetricProvider;
+import org.ballerinalang.util.metrics.CallbackGauge;
+import org.ballerinalang.util.metrics.MetricRegistry;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test cases for the limiter of the requests executed at a time by a listener or a resource.
+ */
+public class ConcurrencyLimiterTest {
+
+    @Test(description = "Tests whether requests over the limit are queued, and rejected once the queue is full")
+    public void testQueueAndReject() {
+        ConcurrencyLimiter limiter = newLimiter(2, 1);
+        List<Integer> executed = new ArrayList<>();
+
+        Assert.assertTrue(limiter.execute(() -> executed.add(1)));
+        Assert.assertTrue(limiter.execute(() -> executed.add(2)));
+        Assert.assertTrue(limiter.execute(() -> executed.add(3)));
+        Assert.assertFalse(limiter.execute(() -> executed.add(4)), "Request accepted while the queue is full");
+
+        Assert.assertEquals(executed.size(), 2);
+        Assert.assertEquals(limiter.getActiveRequests(), 2);
+        Assert.assertEquals(limiter.getQueuedRequests(), 1);
+        Assert.assertEquals(limiter.getRejectedRequests(), 1);
+
+        limiter.release();
+        Assert.assertEquals(executed.size(), 3, "Queued request not executed once a permit was released");
+        Assert.assertEquals(executed.get(2).intValue(), 3);
+        Assert.assertEquals(limiter.getActiveRequests(), 2);
+        Assert.assertEquals(limiter.getQueuedRequests(), 0);
+
+        limiter.release();
+        limiter.release();
+        Assert.assertEquals(limiter.getActiveRequests(), 0);
+    }
+
+    @Test(description = "Tests whether a queued request whose client went away is dropped instead of executed")
+    public void testDropCancelledRequest() {
+        ConcurrencyLimiter limiter = newLimiter(1, 2);
+        List<Integer> executed = new ArrayList<>();
+        QueuedTask cancelled = new QueuedTask(() -> executed.add(2));
+        QueuedTask queued = new QueuedTask(() -> executed.add(3));
+
+        Assert.assertTrue(limiter.execute(() -> executed.add(1)));
+        Assert.assertTrue(limiter.execute(cancelled));
+        Assert.assertTrue(limiter.execute(queued));
+        cancelled.cancelled = true;
+
+        limiter.release();
+        Assert.assertEquals(executed.size(), 2);
+        Assert.assertEquals(executed.get(1).intValue(), 3, "Cancelled request executed");
+        Assert.assertTrue(cancelled.dropped);
+        Assert.assertFalse(queued.dropped);
+        Assert.assertEquals(limiter.getActiveRequests(), 1);
+        Assert.assertEquals(limiter.getQueuedRequests(), 0);
+        Assert.assertEquals(limiter.getDroppedRequests(), 1);
+
+        limiter.release();
+        Assert.assertEquals(limiter.getActiveRequests(), 0);
+    }
+
+    @Test(description = "Tests whether cancelled requests are dropped to make room, before a request is rejected")
+    public void testDropCancelledRequestWhenQueueFull() {
+        ConcurrencyLimiter limiter = newLimiter(1, 1);
+        List<Integer> executed = new ArrayList<>();
+        QueuedTask cancelled = new QueuedTask(() -> executed.add(2));
+
+        Assert.assertTrue(limiter.execute(() -> executed.add(1)));
+        Assert.assertTrue(limiter.execute(cancelled));
+        cancelled.cancelled = true;
+        Assert.assertTrue(limiter.execute(() -> executed.add(3)), "Request rejected while a queued one was cancelled");
+        Assert.assertTrue(cancelled.dropped);
+        Assert.assertEquals(limiter.getQueuedRequests(), 1);
+        Assert.assertEquals(limiter.getRejectedRequests(), 0);
+        Assert.assertEquals(limiter.getDroppedRequests(), 1);
+
+        limiter.release();
+        Assert.assertEquals(executed.size(), 2);
+        Assert.assertEquals(executed.get(1).intValue(), 3);
+        limiter.release();
+        Assert.assertEquals(limiter.getActiveRequests(), 0);
+    }
+
+    @Test(description = "Tests whether a queued request is handed to the executor instead of run by the releaser")
+    public void testQueuedRequestExecutedByExecutor() {
+        List<Runnable> dispatched = new ArrayList<>();
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, dispatched::add, null, "http_test");
+        List<Integer> executed = new ArrayList<>();
+
+        Assert.assertTrue(limiter.execute(() -> executed.add(1)));
+        Assert.assertTrue(limiter.execute(() -> executed.add(2)));
+        Assert.assertEquals(dispatched.size(), 0, "Request executed before a permit was released");
+
+        limiter.release();
+        Assert.assertEquals(executed.size(), 1, "Queued request run by the thread releasing the permit");
+        Assert.assertEquals(dispatched.size(), 1);
+        Assert.assertEquals(limiter.getActiveRequests(), 1, "Permit not handed over to the queued request");
+        Assert.assertEquals(limiter.getQueuedRequests(), 0);
+
+        dispatched.get(0).run();
+        Assert.assertEquals(executed.get(1).intValue(), 2);
+        limiter.release();
+        Assert.assertEquals(limiter.getActiveRequests(), 0);
+    }
+
+    @Test(description = "Tests whether a limiter created again for a resource takes over the gauges of the resource")
+    public void testGaugesOfReplacedLimiter() {
+        TestMetricProvider metricProvider = new TestMetricProvider();
+        MetricRegistry metricRegistry = new MetricRegistry(metricProvider);
+        ConcurrencyLimiter replaced = new ConcurrencyLimiter(1, 1, Runnable::run, metricRegistry, "http_test",
+                "service", "limits", "resource", "replaced");
+        Assert.assertTrue(replaced.execute(() -> { }));
+        Assert.assertTrue(replaced.execute(() -> { }));
+
+        CallbackGauge activeRequests = metricProvider.getCallbackGauge("http_test_active_requests",
+                "service", "limits", "resource", "replaced");
+        CallbackGauge queuedRequests = metricProvider.getCallbackGauge("http_test_queued_requests",
+                "service", "limits", "resource", "replaced");
+        Assert.assertNotNull(activeRequests, "Gauge not tagged by the service and the resource only");
+        Assert.assertNotNull(queuedRequests, "Gauge not tagged by the service and the resource only");
+        Assert.assertEquals(activeRequests.get(), 1.0);
+        Assert.assertEquals(queuedRequests.get(), 1.0);
+
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 1, Runnable::run, metricRegistry, "http_test",
+                "service", "limits", "resource", "replaced");
+        Assert.assertEquals(activeRequests.get(), 0.0, "Gauge still reports the replaced limiter");
+        Assert.assertEquals(queuedRequests.get(), 0.0, "Gauge still reports the replaced limiter");
+        Assert.assertTrue(limiter.execute(() -> { }));
+        Assert.assertEquals(activeRequests.get(), 1.0);
+        limiter.release();
+        Assert.assertEquals(activeRequests.get(), 0.0);
+    }
+
+    @Test(description = "Tests whether an invalid limit is rejected",
+          expectedExceptions = BallerinaConnectorException.class,
+          expectedExceptionsMessageRegExp = "Invalid configuration found for maxActiveRequests : 0")
+    public void testInvalidLimit() {
+        newLimiter(0, 0);
+    }
+
+    private static ConcurrencyLimiter newLimiter(long maxActiveRequests, long maxQueuedRequests) {
+        return new ConcurrencyLimiter(maxActiveRequests, maxQueuedRequests, Runnable::run, null, "http_test");
+    }
+
+    private static class QueuedTask implements ConcurrencyLimiter.CancellableTask {
+
+        private final Runnable task;
+
+        private boolean cancelled;
+
+        private boolean dropped;
+
+        private QueuedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void drop() {
+            dropped = true;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.net.http;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.mime.util.EntityBodyChannel;
+import org.ballerinalang.mime.util.EntityBodyHandler;
+import org.ballerinalang.mime.util.EntityWrapper;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.net.http.HttpConstants;
+import org.ballerinalang.net.http.HttpUtil;
+import org.ballerinalang.test.services.testutils.HTTPTestRequest;
+import org.ballerinalang.test.services.testutils.MessageUtils;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.messaging.Header;
+import org.wso2.transport.http.netty.message.HttpMessageDataStreamer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.ballerinalang.mime.util.Constants.APPLICATION_JSON;
+import static org.ballerinalang.mime.util.Constants.ENTITY_BYTE_CHANNEL;
+import static org.ballerinalang.mime.util.Constants.IS_BODY_BYTE_CHANNEL_ALREADY_SET;
+import static org.ballerinalang.mime.util.Constants.MEDIA_TYPE;
+import static org.ballerinalang.mime.util.Constants.PROTOCOL_PACKAGE_MIME;
+import static org.ballerinalang.mime.util.Constants.REQUEST_ENTITY_INDEX;
+
+/**
+ * Test cases for relaying the unread entity body of a forwarded request, instead of serializing it.
+ */
+public class EntityBodyRelayTest {
+
+    private static final String PAYLOAD = "{\"name\":\"ballerina\",\"tags\":[\"relay\",\"passthrough\"]}";
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        result = BCompileUtil.compileAndSetup("test-src/net/http/entity-body-relay.bal");
+    }
+
+    @Test(description = "Tests whether the body is relayed unchanged when only the entity headers were looked at")
+    public void testRelayAfterEntityHeaders() throws IOException {
+        HTTPTestRequest inRequestMsg = createInboundRequestMessage();
+        BStruct inRequest = createInboundRequest(inRequestMsg);
+
+        BValue[] returns = BRunUtil.invokeStateful(result, "getContentType", new BValue[] {inRequest});
+        Assert.assertEquals(returns[0].stringValue(), APPLICATION_JSON);
+
+        BStruct entity = (BStruct) inRequest.getRefField(REQUEST_ENTITY_INDEX);
+        Assert.assertNotNull(EntityBodyHandler.getByteChannel(entity));
+        Assert.assertTrue(HttpUtil.relayUnreadEntityBody(inRequest, entity));
+
+        /* the message is back to its untouched state, and still holds the whole body */
+        Assert.assertNull(EntityBodyHandler.getByteChannel(entity));
+        Assert.assertNull(inRequest.getNativeData(HttpConstants.TRANSPORT_MESSAGE_BODY));
+        Assert.assertEquals(inRequest.getNativeData(IS_BODY_BYTE_CHANNEL_ALREADY_SET), false);
+        Assert.assertEquals(readBody(inRequestMsg), PAYLOAD);
+    }
+
+    @Test(description = "Tests whether the body is serialized once the payload was read")
+    public void testSerializeAfterJsonPayload() {
+        BStruct inRequest = createInboundRequest(createInboundRequestMessage());
+
+        BValue[] returns = BRunUtil.invokeStateful(result, "getJsonPayload", new BValue[] {inRequest});
+        Assert.assertEquals(((BJSON) returns[0]).value().get("name").asText(), "ballerina");
+
+        BStruct entity = (BStruct) inRequest.getRefField(REQUEST_ENTITY_INDEX);
+        EntityWrapper messageBody = (EntityWrapper) inRequest.getNativeData(HttpConstants.TRANSPORT_MESSAGE_BODY);
+        Assert.assertTrue(messageBody.isConsumed());
+        Assert.assertNotNull(EntityBodyHandler.getMessageDataSource(entity));
+        Assert.assertFalse(HttpUtil.relayUnreadEntityBody(inRequest, entity));
+        Assert.assertNotNull(EntityBodyHandler.getMessageDataSource(entity));
+    }
+
+    @Test(description = "Tests whether the body is serialized when the entity was moved to another request")
+    public void testSerializeMovedEntity() {
+        BStruct inRequest = createInboundRequest(createInboundRequestMessage());
+
+        BValue[] returns = BRunUtil.invokeStateful(result, "moveEntity", new BValue[] {inRequest});
+        BStruct outRequest = (BStruct) returns[0];
+        BStruct entity = (BStruct) outRequest.getRefField(REQUEST_ENTITY_INDEX);
+        Assert.assertSame(entity, inRequest.getRefField(REQUEST_ENTITY_INDEX));
+
+        /* the body is unread, but it does not belong to the transport message of the request being sent */
+        EntityWrapper messageBody = (EntityWrapper) inRequest.getNativeData(HttpConstants.TRANSPORT_MESSAGE_BODY);
+        Assert.assertFalse(messageBody.isConsumed());
+        Assert.assertFalse(HttpUtil.relayUnreadEntityBody(outRequest, entity));
+        Assert.assertSame(EntityBodyHandler.getByteChannel(entity), messageBody);
+    }
+
+    @Test(description = "Tests whether reading from or closing an entity body channel marks it consumed")
+    public void testEntityBodyChannelConsumed() throws IOException {
+        EntityBodyChannel channel = new EntityBodyChannel(new ByteArrayInputStream(PAYLOAD.getBytes(
+                StandardCharsets.UTF_8)));
+        Assert.assertFalse(channel.isConsumed());
+        channel.read(ByteBuffer.allocate(1));
+        Assert.assertTrue(channel.isConsumed());
+
+        channel = new EntityBodyChannel(new ByteArrayInputStream(PAYLOAD.getBytes(StandardCharsets.UTF_8)));
+        channel.close();
+        Assert.assertTrue(channel.isConsumed());
+    }
+
+    private BStruct createInboundRequest(HTTPTestRequest inRequestMsg) {
+        BStruct inRequest = BCompileUtil.createAndGetStruct(result.getProgFile(),
+                HttpConstants.PROTOCOL_PACKAGE_HTTP, HttpConstants.REQUEST);
+        BStruct entity = BCompileUtil.createAndGetStruct(result.getProgFile(), PROTOCOL_PACKAGE_MIME,
+                HttpConstants.ENTITY);
+        BStruct mediaType = BCompileUtil.createAndGetStruct(result.getProgFile(), PROTOCOL_PACKAGE_MIME, MEDIA_TYPE);
+        HttpUtil.populateInboundRequest(inRequest, entity, mediaType, inRequestMsg, result.getProgFile());
+        Assert.assertNull(entity.getNativeData(ENTITY_BYTE_CHANNEL));
+        return inRequest;
+    }
+
+    private static HTTPTestRequest createInboundRequestMessage() {
+        return MessageUtils.generateHTTPMessage("/relay", HttpConstants.HTTP_METHOD_POST,
+                Collections.singletonList(new Header(HttpHeaderNames.CONTENT_TYPE.toString(), APPLICATION_JSON)),
+                PAYLOAD);
+    }
+
+    private static String readBody(HTTPTestRequest inRequestMsg) throws IOException {
+        try (InputStream inputStream = new HttpMessageDataStreamer(inRequestMsg).getInputStream()) {
+            byte[] buffer = new byte[PAYLOAD.length() * 2];
+            int length = 0;
+            int read;
+            while ((read = inputStream.read(buffer, length, buffer.length - length)) > 0) {
+                length += read;
+            }
+            return new String(buffer, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.net.http;
+
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.net.http.caching.HttpCacheStore;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for the storage of the HTTP caching client.
+ */
+public class HttpCacheStoreTest {
+
+    @Test(description = "Tests whether the responses of a key are returned in the order they were added")
+    public void testAddResponses() {
+        HttpCacheStore cacheStore = new HttpCacheStore(900000, 100, 0.25);
+        cacheStore.add("GET /hello", new BString("first"), 5);
+        BRefValueArray firstResponses = cacheStore.getAll("GET /hello");
+        cacheStore.add("GET /hello", new BString("second"), 5);
+
+        BRefValueArray responses = cacheStore.getAll("GET /hello");
+        Assert.assertEquals(responses.size(), 2);
+        Assert.assertEquals(responses.get(0).stringValue(), "first");
+        Assert.assertEquals(responses.get(1).stringValue(), "second");
+        Assert.assertEquals(firstResponses.size(), 1, "Responses returned earlier changed");
+        Assert.assertTrue(cacheStore.hasKey("GET /hello"));
+        Assert.assertFalse(cacheStore.hasKey("GET /world"));
+        Assert.assertNull(cacheStore.getAll("GET /world"));
+        Assert.assertEquals(cacheStore.getWeight(), 10);
+
+        cacheStore.remove("GET /hello");
+        Assert.assertFalse(cacheStore.hasKey("GET /hello"));
+        Assert.assertNull(cacheStore.getAll("GET /hello"));
+        Assert.assertEquals(cacheStore.getWeight(), 0);
+    }
+
+    @Test(description = "Tests whether the least recently used entries are evicted when the cache is full")
+    public void testEvictLeastRecentlyUsed() throws InterruptedException {
+        HttpCacheStore cacheStore = new HttpCacheStore(900000, 40, 0.25);
+        for (int i = 1; i <= 4; i++) {
+            cacheStore.add("GET /" + i, new BString(String.valueOf(i)), 10);
+            Thread.sleep(5);
+        }
+        cacheStore.getAll("GET /1");
+        Thread.sleep(5);
+        cacheStore.add("GET /5", new BString("5"), 10);
+
+        Assert.assertEquals(cacheStore.size(), 3);
+        Assert.assertTrue(cacheStore.hasKey("GET /1"));
+        Assert.assertFalse(cacheStore.hasKey("GET /2"));
+        Assert.assertFalse(cacheStore.hasKey("GET /3"));
+        Assert.assertTrue(cacheStore.hasKey("GET /4"));
+        Assert.assertTrue(cacheStore.hasKey("GET /5"));
+        Assert.assertEquals(cacheStore.getWeight(), 30);
+    }
+
+    @Test(description = "Tests whether entries are evicted until the eviction factor of the capacity is free")
+    public void testEvictByWeight() throws InterruptedException {
+        HttpCacheStore cacheStore = new HttpCacheStore(900000, 100, 0.5);
+        cacheStore.add("GET /big", new BString("big"), 60);
+        Thread.sleep(5);
+        cacheStore.add("GET /small", new BString("small"), 30);
+        Thread.sleep(5);
+        cacheStore.add("GET /new", new BString("new"), 20);
+
+        Assert.assertFalse(cacheStore.hasKey("GET /big"));
+        Assert.assertTrue(cacheStore.hasKey("GET /small"));
+        Assert.assertTrue(cacheStore.hasKey("GET /new"));
+        Assert.assertEquals(cacheStore.getWeight(), 50);
+    }
+
+    @Test(description = "Tests whether a response heavier than the capacity is not cached")
+    public void testResponseHeavierThanCapacity() {
+        HttpCacheStore cacheStore = new HttpCacheStore(900000, 100, 0.25);
+        cacheStore.add("GET /small", new BString("small"), 10);
+        cacheStore.add("GET /huge", new BString("huge"), 101);
+
+        Assert.assertFalse(cacheStore.hasKey("GET /huge"));
+        Assert.assertTrue(cacheStore.hasKey("GET /small"), "Cache evicted for a response which was not cached");
+        Assert.assertEquals(cacheStore.getWeight(), 10);
+    }
+
+    @Test(description = "Tests whether entries which were not used within the expiry time are not returned")
+    public void testExpiry() throws InterruptedException {
+        HttpCacheStore cacheStore = new HttpCacheStore(20, 100, 0.25);
+        cacheStore.add("GET /hello", new BString("hello"), 5);
+        Thread.sleep(40);
+
+        Assert.assertFalse(cacheStore.hasKey("GET /hello"));
+        Assert.assertNull(cacheStore.getAll("GET /hello"));
+    }
+
+    @Test(description = "Tests whether an invalid eviction factor is rejected",
+          expectedExceptions = BallerinaException.class,
+          expectedExceptionsMessageRegExp = "Cache eviction factor must be between 0.0 \\(exclusive\\) and 1.0 " +
+                  "\\(inclusive\\).")
+    public void testInvalidEvictionFactor() {
+        new HttpCacheStore(900000, 10, 1.5);
+    }
+}
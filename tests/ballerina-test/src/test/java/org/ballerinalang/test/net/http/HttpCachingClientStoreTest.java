@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.net.http;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.net.http.HttpConstants;
+import org.ballerinalang.net.http.caching.HttpCacheStore;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for the HTTP caching client keeping its responses in the native {@link HttpCacheStore}.
+ */
+public class HttpCachingClientStoreTest {
+
+    private CompileResult compileResult;
+
+    @BeforeClass
+    public void setup() {
+        compileResult = BCompileUtil.compile("test-src/net/http/http-caching-client.bal");
+        Assert.assertEquals(compileResult.getErrorCount(), 0);
+    }
+
+    @Test(description = "Tests whether a cacheable response is stored, and served from the store afterwards")
+    public void testCachedResponse() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "testCachedResponse");
+
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 1, "Cached response was not served");
+        Assert.assertEquals(returns[1].stringValue(), "Hello from /hello 1");
+        HttpCacheStore cacheStore = getCacheStore(returns[2]);
+        Assert.assertEquals(cacheStore.size(), 1);
+        BRefValueArray responses = cacheStore.getAll("GET /hello");
+        Assert.assertNotNull(responses);
+        Assert.assertEquals(responses.size(), 1);
+        Assert.assertTrue(cacheStore.getWeight() > "Hello from /hello 1".length(),
+                "Response not weighed by its payload and headers");
+    }
+
+    @Test(description = "Tests whether a response with the no-store directive is not stored")
+    public void testNoStoreResponse() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "testNoStoreResponse");
+
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 2);
+        HttpCacheStore cacheStore = getCacheStore(returns[1]);
+        Assert.assertEquals(cacheStore.size(), 0);
+        Assert.assertFalse(cacheStore.hasKey("GET /no-store"));
+    }
+
+    @Test(description = "Tests whether the least recently used responses are evicted once the capacity is exceeded")
+    public void testEviction() {
+        /* the responses of /a, /b and /c weigh the same, and two of them fit in the cache */
+        long responseWeight = getCacheStore(BRunUtil.invoke(compileResult, "cacheResponse",
+                new BValue[] {new BString("/a")})[0]).getWeight();
+        BValue[] returns = BRunUtil.invoke(compileResult, "testEviction",
+                new BValue[] {new BInteger(responseWeight * 5 / 2)});
+
+        /* the responses of /a and /b were evicted when /c was stored, to free half of the capacity, and /a has to
+         * be fetched again */
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 4);
+        HttpCacheStore cacheStore = getCacheStore(returns[1]);
+        Assert.assertEquals(cacheStore.size(), 2);
+        Assert.assertTrue(cacheStore.hasKey("GET /a"));
+        Assert.assertFalse(cacheStore.hasKey("GET /b"));
+        Assert.assertTrue(cacheStore.hasKey("GET /c"));
+    }
+
+    @Test(description = "Tests whether a response which was not used within the expiry time is fetched again")
+    public void testExpiry() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "testExpiry");
+
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 2);
+        HttpCacheStore cacheStore = getCacheStore(returns[1]);
+        BRefValueArray responses = cacheStore.getAll("GET /hello");
+        Assert.assertNotNull(responses);
+        Assert.assertEquals(responses.size(), 1, "Expired response was kept");
+    }
+
+    private static HttpCacheStore getCacheStore(BValue httpCache) {
+        HttpCacheStore cacheStore = (HttpCacheStore) ((BStruct) httpCache).getNativeData(
+                HttpConstants.HTTP_CACHE_STORE);
+        Assert.assertNotNull(cacheStore, "HTTP cache is not backed by the native store");
+        return cacheStore;
+    }
+}
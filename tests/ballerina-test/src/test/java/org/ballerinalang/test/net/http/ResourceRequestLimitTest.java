@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.net.http;
+
+import org.ballerinalang.connector.api.BLangConnectorSPIUtil;
+import org.ballerinalang.launcher.util.BServiceUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.net.http.BallerinaHTTPConnectorListener;
+import org.ballerinalang.net.http.ConcurrencyLimiter;
+import org.ballerinalang.net.http.HTTPServicesRegistry;
+import org.ballerinalang.net.http.HttpConstants;
+import org.ballerinalang.net.http.HttpDispatcher;
+import org.ballerinalang.net.http.HttpUtil;
+import org.ballerinalang.test.services.testutils.HTTPTestRequest;
+import org.ballerinalang.test.services.testutils.MessageUtils;
+import org.ballerinalang.test.services.testutils.TestCallableUnitCallback;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.transport.http.netty.message.HTTPCarbonMessage;
+
+/**
+ * Test cases for the limit of the requests a resource executes at a time.
+ */
+public class ResourceRequestLimitTest {
+
+    private static final String PATH = "/limits/limited";
+
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    private BallerinaHTTPConnectorListener listener;
+
+    private ConcurrencyLimiter limiter;
+
+    @BeforeClass
+    public void setup() {
+        CompileResult result = BServiceUtil.setupProgramFile(this, "test-src/net/http/resource-request-limits.bal");
+        BStruct endpoint = BLangConnectorSPIUtil.getPackageEndpoint(result.getProgFile(), ".", "", "mockEP");
+        HTTPServicesRegistry registry = (HTTPServicesRegistry) endpoint.getNativeData("HTTP_SERVICE_REGISTRY");
+        listener = new BallerinaHTTPConnectorListener(registry, null);
+        limiter = HttpDispatcher.findResource(registry, MessageUtils.generateHTTPMessage(PATH,
+                HttpConstants.HTTP_METHOD_GET)).getConcurrencyLimiter();
+        Assert.assertNotNull(limiter, "Concurrency limit of the resource not configured");
+    }
+
+    @Test(description = "Tests whether a request over the limit of the resource is rejected with a 503 response")
+    public void testRejectOverLimit() throws InterruptedException {
+        /* an active request holds the only permit, and no request may be queued */
+        Assert.assertTrue(limiter.execute(() -> { }));
+        try {
+            HTTPCarbonMessage response = dispatch(MessageUtils.generateHTTPMessage(PATH,
+                    HttpConstants.HTTP_METHOD_GET));
+            Assert.assertNotNull(response, "Response message not found");
+            Assert.assertEquals(response.getProperty(HttpConstants.HTTP_STATUS_CODE), 503);
+            Assert.assertEquals(limiter.getRejectedRequests(), 1);
+        } finally {
+            limiter.release();
+        }
+
+        HTTPTestRequest request = MessageUtils.generateHTTPMessage(PATH, HttpConstants.HTTP_METHOD_GET);
+        HTTPCarbonMessage response = dispatch(request);
+        Assert.assertNotNull(response, "Response message not found");
+        Assert.assertEquals(response.getProperty(HttpConstants.HTTP_STATUS_CODE), 200);
+        request.getTestHttpResponseStatusFuture().notifyHttpListener(HttpUtil.createHttpCarbonMessage(false));
+
+        /* the permit is released once the resource completes */
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (limiter.getActiveRequests() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(limiter.getActiveRequests(), 0);
+        Assert.assertEquals(limiter.getRejectedRequests(), 1);
+    }
+
+    private HTTPCarbonMessage dispatch(HTTPTestRequest request) {
+        TestCallableUnitCallback callback = new TestCallableUnitCallback(request);
+        request.setCallback(callback);
+        listener.onMessage(request);
+        callback.sync();
+        return callback.getResponseMsg();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.net.http.resiliency;
+
+import org.ballerinalang.net.http.resiliency.CircuitBreakerState;
+import org.ballerinalang.net.http.resiliency.CircuitBreakerState.State;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for the native state of the Circuit Breaker.
+ */
+public class CircuitBreakerStateTest {
+
+    private static final String SERVICE_URI = "http://localhost:8080";
+
+    @Test(description = "Tests whether the circuit trips once the failure ratio exceeds the threshold")
+    public void testTripOnFailureThreshold() {
+        CircuitBreakerState circuitState = new CircuitBreakerState(SERVICE_URI, 0.3, 1000, 2000, 5);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(circuitState.updateState(), State.CLOSED);
+            circuitState.recordOutcome(false);
+        }
+        Assert.assertEquals(circuitState.updateState(), State.CLOSED);
+        circuitState.recordOutcome(true);
+        Assert.assertEquals(circuitState.getState(), State.CLOSED, "Circuit tripped below the failure threshold");
+
+        Assert.assertEquals(circuitState.updateState(), State.CLOSED);
+        circuitState.recordOutcome(true);
+        Assert.assertEquals(circuitState.getState(), State.OPEN);
+        Assert.assertEquals(circuitState.updateState(), State.OPEN);
+        Assert.assertEquals(circuitState.getTripCount(), 1);
+        Assert.assertEquals(circuitState.getRejectionCount(), 1);
+    }
+
+    @Test(description = "Tests whether only the trial request is let through a half open circuit")
+    public void testHalfOpenTrial() throws InterruptedException {
+        CircuitBreakerState circuitState = new CircuitBreakerState(SERVICE_URI, 0.3, 100, 2000, 5);
+        circuitState.recordOutcome(true);
+        Assert.assertEquals(circuitState.getState(), State.OPEN);
+        Thread.sleep(150);
+
+        Assert.assertEquals(circuitState.updateState(), State.HALF_OPEN);
+        Assert.assertEquals(circuitState.updateState(), State.OPEN, "Request let through while trial in progress");
+        circuitState.recordOutcome(false);
+        Assert.assertEquals(circuitState.getState(), State.CLOSED);
+        Assert.assertEquals(circuitState.updateState(), State.CLOSED);
+    }
+
+    @Test(description = "Tests whether a failed trial request trips the circuit again")
+    public void testFailedTrial() throws InterruptedException {
+        CircuitBreakerState circuitState = new CircuitBreakerState(SERVICE_URI, 0.3, 100, 2000, 5);
+        circuitState.recordOutcome(true);
+        Thread.sleep(150);
+
+        Assert.assertEquals(circuitState.updateState(), State.HALF_OPEN);
+        circuitState.recordOutcome(true);
+        Assert.assertEquals(circuitState.getState(), State.OPEN);
+        Assert.assertEquals(circuitState.updateState(), State.OPEN);
+        Assert.assertEquals(circuitState.getTripCount(), 2);
+    }
+
+    @Test(description = "Tests whether the circuit can be forced open and closed")
+    public void testForceOpenAndClose() {
+        CircuitBreakerState circuitState = new CircuitBreakerState(SERVICE_URI, 0.3, 1000, 2000, 5);
+        circuitState.forceOpen();
+        Assert.assertEquals(circuitState.updateState(), State.OPEN);
+        Assert.assertTrue(circuitState.getTimeUntilReset() > 0);
+
+        circuitState.forceClose();
+        Assert.assertEquals(circuitState.updateState(), State.CLOSED);
+        Assert.assertEquals(circuitState.getTripCount(), 0);
+    }
+}
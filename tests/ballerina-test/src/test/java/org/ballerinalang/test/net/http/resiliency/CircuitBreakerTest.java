@@ -28,6 +28,9 @@ import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 /**
  * Test cases for the Circuit Breaker.
  */
@@ -35,12 +38,12 @@ public class CircuitBreakerTest {
 
     private static final String CB_ERROR_MSG = "Upstream service unavailable.";
 
-    // Following constants are defined to filter out Http Client errors from union responses.
-    private static final int CB_CLIENT_FIRST_ERROR_INDEX = 3;
-    private static final int CB_CLIENT_SECOND_ERROR_INDEX = 4;
-    private static final int CB_CLIENT_TOP_MOST_SUCCESS_INDEX = 2;
-    private static final int CB_CLIENT_FAILURE_CASE_ERROR_INDEX = 5;
-    private static final int CB_CLIENT_FORCE_OPEN_INDEX = 4;
+    private static final Pattern CB_SUSPENSION_TIME = Pattern.compile("suspended for (-?\\d+) milliseconds");
+
+    // Expected status code of the requests rejected by the circuit breaker, which come back as errors.
+    private static final int CB_REJECTED = 503;
+
+    private static final long RESET_TIME_MILLIS = 1000;
 
     private CompileResult compileResult;
 
@@ -51,72 +54,33 @@ public class CircuitBreakerTest {
 
     /**
      * Test case for a typical scenario where an upstream service may become unavailable temporarily.
+     * - The third request fails, and the circuit trips as soon as the failure is recorded.
+     * - The requests right after it are rejected without reaching the upstream service.
+     * - After the reset timeout expires, the trial request succeeds and the circuit closes again.
      */
     @Test
     public void testCircuitBreaker() {
         // Expected HTTP status codes from circuit breaker responses.
         int[] expectedStatusCodes = new int[] { 200, 200, 500, 503, 503, 200, 200, 200 };
         BValue[] returnVals = BRunUtil.invoke(compileResult, "testTypicalScenario");
-
-        Assert.assertEquals(returnVals.length, 2);
-
-        BRefValueArray responses = (BRefValueArray) returnVals[0];
-        BRefValueArray errs = (BRefValueArray) returnVals[1];
-
-        for (int i = 0; i < responses.size(); i++) {
-            long statusCode;
-            // With this check flow will direct to the else condition for Http Client Errors. The avoided response
-            // indexes are consisted with the HttpClientError Responses.
-            if (i != CB_CLIENT_FIRST_ERROR_INDEX && i != CB_CLIENT_SECOND_ERROR_INDEX) {
-                BStruct res = (BStruct) responses.get(i);
-                statusCode = res.getIntField(0);
-                Assert.assertEquals(statusCode, expectedStatusCodes[i], "Status code does not match.");
-            } else {
-                Assert.assertNotNull(errs.get(i)); // the request which resulted in an error
-                BStruct err = (BStruct) errs.get(i);
-                String errMsg = err.getStringField(0);
-                Assert.assertTrue(errMsg != null && errMsg.startsWith(CB_ERROR_MSG),
-                        "Invalid error message from circuit breaker.");
-            }
-        }
+        validateCBResponses(returnVals, expectedStatusCodes);
     }
 
     /**
      * Test case scenario:
      * - Initially the circuit is healthy and functioning normally.
-     * - Backend service becomes unavailable and eventually, the failure threshold is exceeded.
+     * - Backend service becomes unavailable and the failure threshold is exceeded by the failing request itself.
      * - Requests afterwards are immediately failed, with a 503 response.
      * - After the reset timeout expires, the circuit goes to HALF_OPEN state and a trial request is sent.
-     * - The backend service is not available and therefore, the request fails again and the circuit goes back to OPEN.
+     * - The backend service is not available and therefore, the request fails again and the circuit goes back to OPEN
+     * right away, so that the requests after the trial are failed as well.
      */
     @Test
     public void testTrialRunFailure() {
         // Expected HTTP status codes from circuit breaker responses.
-        int[] expectedStatusCodes = new int[] { 200, 500, 503, 500, 503, 500 };
+        int[] expectedStatusCodes = new int[] { 200, 500, 503, 503, 503, 500, 503, 503 };
         BValue[] returnVals = BRunUtil.invoke(compileResult, "testTrialRunFailure");
-
-        Assert.assertEquals(returnVals.length, 2);
-
-        BRefValueArray responses = (BRefValueArray) returnVals[0];
-        BRefValueArray errs = (BRefValueArray) returnVals[1];
-
-        for (int i = 0; i < responses.size(); i++) {
-            long statusCode;
-            // With this check flow will direct to the else condition for Http Client Errors. The avoided response
-            // indexes are consisted with the HttpClientError Responses.
-            if (i < CB_CLIENT_TOP_MOST_SUCCESS_INDEX || i == CB_CLIENT_FAILURE_CASE_ERROR_INDEX) {
-                BStruct res = (BStruct) responses.get(i);
-                statusCode = res.getIntField(0);
-
-                Assert.assertEquals(statusCode, expectedStatusCodes[i], "Status code does not match.");
-            } else {
-                Assert.assertNotNull(errs.get(i)); // the request which resulted in an error
-                BStruct err = (BStruct) errs.get(i);
-                String msg = err.getStringField(0);
-                Assert.assertTrue(msg != null && msg.startsWith(CB_ERROR_MSG),
-                        "Invalid error message from circuit breaker.");
-            }
-        }
+        validateCBResponses(returnVals, expectedStatusCodes);
     }
 
     /**
@@ -124,21 +88,14 @@ public class CircuitBreakerTest {
      * - Initially the circuit is healthy and functioning normally.
      * - Backend service respond with HTTP status code configured to consider as failures responses.
      * eventually the failure threshold is exceeded.
-     * - Requests afterwards are immediately failed, with a 503 response.
-     * - After the reset timeout expires, the circuit goes to HALF_OPEN state and a trial request is sent.
-     * - The backend service is not available and therefore, the request fails again and the circuit goes back to OPEN.
+     * - Requests afterwards are immediately failed, with a 503 response, as the reset timeout does not expire.
      */
     @Test(description = "Test case for Circuit Breaker HTTP status codes.")
     public void testHttpStatusCodeFailure() {
         // Expected HTTP status codes from circuit breaker responses.
-        int[] expectedStatusCodes = new int[] { 200, 500, 503, 500, 503, 503 };
+        int[] expectedStatusCodes = new int[] { 200, 500, 503, 503, 503, 503, 503, 503 };
         BValue[] returnVals = BRunUtil.invoke(compileResult, "testHttpStatusCodeFailure");
-
-        Assert.assertEquals(returnVals.length, 2);
-
-        BRefValueArray responses = (BRefValueArray) returnVals[0];
-        BRefValueArray errs = (BRefValueArray) returnVals[1];
-        validateCBResponses(responses, errs, CB_CLIENT_TOP_MOST_SUCCESS_INDEX, expectedStatusCodes);
+        validateCBResponses(returnVals, expectedStatusCodes);
     }
 
     /**
@@ -152,18 +109,13 @@ public class CircuitBreakerTest {
         // Expected HTTP status codes from circuit breaker responses.
         int[] expectedStatusCodes = new int[] { 200, 200, 200, 200, 503, 503, 503, 503 };
         BValue[] returnVals = BRunUtil.invoke(compileResult, "testForceOpenScenario");
-
-        Assert.assertEquals(returnVals.length, 2);
-
-        BRefValueArray responses = (BRefValueArray) returnVals[0];
-        BRefValueArray errs = (BRefValueArray) returnVals[1];
-        validateCBResponses(responses, errs, CB_CLIENT_FORCE_OPEN_INDEX, expectedStatusCodes);
+        validateCBResponses(returnVals, expectedStatusCodes);
     }
 
     /**
      * Test case scenario:
      * - Initially the circuit is healthy and functioning normally.
-     * - Backend service becomes unavailable and eventually, the failure threshold is exceeded.
+     * - Backend service becomes unavailable and the failing request trips the circuit.
      * - After that circuit will be force fully closed.
      * - Afterward success responses should received.
      */
@@ -172,35 +124,36 @@ public class CircuitBreakerTest {
         // Expected HTTP status codes from circuit breaker responses.
         int[] expectedStatusCodes = new int[] { 200, 200, 500, 200, 200, 200, 200, 200 };
         BValue[] returnVals = BRunUtil.invoke(compileResult, "testForceCloseScenario");
+        validateCBResponses(returnVals, expectedStatusCodes);
+    }
 
+    /**
+     * Validate the outcome of each request sent through the circuit breaker. The requests rejected by the circuit
+     * breaker come back as errors, while the failures of the upstream service come back as responses.
+     */
+    private void validateCBResponses(BValue[] returnVals, int[] expectedStatusCodes) {
         Assert.assertEquals(returnVals.length, 2);
-
         BRefValueArray responses = (BRefValueArray) returnVals[0];
-        for (int i = 0; i < responses.size(); i++) {
-            BStruct res = (BStruct) responses.get(i);
-            long statusCode = res.getIntField(0);
-            Assert.assertEquals(statusCode, expectedStatusCodes[i], "Status code does not match.");
-        }
-    }
+        BRefValueArray errs = (BRefValueArray) returnVals[1];
 
-    private void validateCBResponses(BRefValueArray responses, BRefValueArray errors,
-                                     int index, int[] expectedStatusCodes) {
-        for (int i = 0; i < responses.size(); i++) {
-            long statusCode;
-            // With this check flow will direct to the else condition for Http Client Errors. The avoided response
-            // indexes are consisted with the HttpClientError Responses.
-            if (i < CB_CLIENT_FORCE_OPEN_INDEX) {
-                BStruct res = (BStruct) responses.get(i);
-                statusCode = res.getIntField(0);
-
-                Assert.assertEquals(statusCode, expectedStatusCodes[i], "Status code does not match.");
+        for (int i = 0; i < expectedStatusCodes.length; i++) {
+            BStruct res = i < responses.size() ? (BStruct) responses.get(i) : null;
+            BStruct err = i < errs.size() ? (BStruct) errs.get(i) : null;
+            if (expectedStatusCodes[i] != CB_REJECTED) {
+                Assert.assertNotNull(res, "No response for request " + i);
+                Assert.assertNull(err, "Request " + i + " was rejected by the circuit breaker");
+                Assert.assertEquals(res.getIntField(0), expectedStatusCodes[i], "Status code does not match.");
             } else {
-                Assert.assertNotNull(errors.get(i)); // the request which resulted in an error
-                BStruct err = (BStruct) errors.get(i);
+                Assert.assertNull(res, "Request " + i + " was let through by the circuit breaker");
+                Assert.assertNotNull(err, "No error for request " + i);
                 String msg = err.getStringField(0);
-
                 Assert.assertTrue(msg != null && msg.startsWith(CB_ERROR_MSG),
                         "Invalid error message from circuit breaker.");
+                Matcher matcher = CB_SUSPENSION_TIME.matcher(msg);
+                Assert.assertTrue(matcher.find(), "No suspension time in the error message.");
+                long suspensionTime = Long.parseLong(matcher.group(1));
+                Assert.assertTrue(suspensionTime >= 0 && suspensionTime <= RESET_TIME_MILLIS,
+                        "Invalid suspension time " + suspensionTime + " from circuit breaker.");
             }
         }
     }
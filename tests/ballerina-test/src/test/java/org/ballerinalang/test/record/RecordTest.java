@@ -21,15 +21,23 @@ import org.ballerinalang.launcher.util.BAssertUtil;
 import org.ballerinalang.launcher.util.BCompileUtil;
 import org.ballerinalang.launcher.util.BRunUtil;
 import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.model.values.BBoolean;
 import org.ballerinalang.model.values.BFloat;
 import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.codegen.LocalVariableInfo;
+import org.ballerinalang.util.codegen.attributes.AttributeInfo;
+import org.ballerinalang.util.codegen.attributes.LocalVariableAttributeInfo;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
+
 /**
  * Test cases for user defined record types in ballerina.
  */
@@ -176,4 +184,35 @@ public class RecordTest {
                 "\"state\":\"CA\"}, age:25, family:{spouse:\"\", noOfChildren:0, children:[]}, parent:null, " +
                 "designation:\"Software Engineer\"}");
     }
+
+    @Test(description = "Test records which do not escape the function, and are kept in registers")
+    public void testScalarReplacedRecords() {
+        CompileResult result = BCompileUtil.compile("test-src/record/record_scalar_replacement.bal");
+        BValue[] returns = BRunUtil.invoke(result, "testNonEscapingRecord");
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 10);
+        Assert.assertEquals(((BFloat) returns[1]).floatValue(), 7.5);
+        Assert.assertEquals(returns[2].stringValue(), "sum:done");
+        Assert.assertTrue(((BBoolean) returns[3]).booleanValue());
+
+        returns = BRunUtil.invoke(result, "testEscapingRecord");
+        Assert.assertEquals(returns[0].stringValue(), "{count:2, total:0.0, label:\"\", seen:false, previous:null}");
+
+        // Only the record returned by testEscapingRecord is allocated
+        long newStructs = Arrays.stream(result.getProgFile().getEntryPackage().getInstructions())
+                .filter(instruction -> instruction.getOpcode() == InstructionCodes.NEWSTRUCT)
+                .count();
+        Assert.assertEquals(newStructs, 1);
+
+        // The fields of the records kept in registers are described as local variables
+        LocalVariableAttributeInfo localVars = (LocalVariableAttributeInfo) result.getProgFile().getEntryPackage()
+                .getFunctionInfo("testNonEscapingRecord").getDefaultWorkerInfo()
+                .getAttributeInfo(AttributeInfo.Kind.LOCAL_VARIABLES_ATTRIBUTE);
+        LocalVariableInfo count = localVars.getLocalVarialbeDetails("acc.count");
+        Assert.assertNotNull(count);
+        Assert.assertEquals(count.getVariableType().getTag(), TypeTags.INT_TAG);
+        LocalVariableInfo total = localVars.getLocalVarialbeDetails("step.total");
+        Assert.assertNotNull(total);
+        Assert.assertEquals(total.getVariableType().getTag(), TypeTags.FLOAT_TAG);
+        Assert.assertNull(localVars.getLocalVarialbeDetails("acc"));
+    }
 }
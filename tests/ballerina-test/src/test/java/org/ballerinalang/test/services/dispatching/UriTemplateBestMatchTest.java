@@ -551,4 +551,28 @@ public class UriTemplateBestMatchTest {
         Assert.assertEquals(bJson.value().get("value").asText(), "capitalized"
                 , "Request dispatched to wrong resource");
     }
+
+    @Test(description = "Test whether the base path of a service matches only the leading segments of the path.")
+    public void testBasePathMatchesLeadingSegments() {
+        String path = "/abc/uri/go";
+        HTTPTestRequest cMsg = MessageUtils.generateHTTPMessage(path, "GET");
+        HTTPCarbonMessage response = Services.invokeNew(application, TEST_EP, cMsg);
+
+        Assert.assertNotNull(response, "Response message not found");
+        Assert.assertEquals(response.getProperty(HttpConstants.HTTP_STATUS_CODE), 404
+                , "Request dispatched to a service whose base path is not a prefix of the path");
+    }
+
+    @Test(description = "Test whether the base path of a service matches the path ignoring case.")
+    public void testBasePathMatchIgnoresCase() {
+        String path = "/ECHO55/foo/bar";
+        HTTPTestRequest cMsg = MessageUtils.generateHTTPMessage(path, "GET");
+        HTTPCarbonMessage response = Services.invokeNew(application, TEST_EP, cMsg);
+
+        Assert.assertNotNull(response, "Response message not found");
+        BJSON bJson = new BJSON(new HttpMessageDataStreamer(response).getInputStream());
+
+        Assert.assertEquals(bJson.value().get("echo55").asText(), "echo55"
+                , "Resource dispatched to wrong template");
+    }
 }
@@ -29,10 +29,15 @@ import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.util.exceptions.BLangRuntimeException;
+import org.ballerinalang.util.exceptions.BallerinaException;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Test class for ballerina map.
  */
@@ -415,6 +420,34 @@ public class BJSONValueTest {
         Assert.assertEquals(json.toString(), "{\"details\":{\"fname\":\"Supun\",\"lname\":\"Setunga\"}}");
     }
 
+    @Test
+    public void testUpdateParsedElement() {
+        String content = "{\"id\": 1, \"details\": {\"fname\": \"Supun\", \"lname\": \"Thilina\", "
+                + "\"addresses\": [{\"city\": \"Kandy\"}, {\"city\": \"Colombo\"}]}}";
+        BJSON json = new BJSON(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        BValue[] returns = BRunUtil.invoke(compileResult, "testUpdateParsedElement", new BValue[] { json });
+        Assert.assertEquals(returns[0].stringValue(), "Colombo");
+        Assert.assertEquals(returns[1].stringValue(), "{\"id\":1,\"details\":{\"fname\":\"Supun\","
+                + "\"lname\":\"Setunga\",\"addresses\":[{\"city\":\"Kandy\"},{\"city\":\"Colombo\"}]}}");
+    }
+
+    @Test
+    public void testSerializeUnreadParsedJson() {
+        String content = "{ \"name\" : \"Supun\",\n  \"values\" : [ 1, 2.50, \"\\u0041\" ] }";
+        BJSON json = new BJSON(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        json.serializeData(out);
+        Assert.assertEquals(new String(out.toByteArray(), StandardCharsets.UTF_8), content);
+        Assert.assertEquals(json.value().get("values").get(2).stringValue(), "A");
+    }
+
+    @Test(expectedExceptions = { BallerinaException.class },
+            expectedExceptionsMessageRegExp = ".*unrecognized token 'tru' at line: 2 column: 13.*")
+    public void testParseInvalidJsonStream() {
+        String content = "{\"a\": [1, 2],\n \"b\": {\"c\": tru}}";
+        new BJSON(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
     @Test
     public void testEmptyStringToJson() {
         BValue[] returns = BRunUtil.invoke(compileResult, "testEmptyStringToJson");
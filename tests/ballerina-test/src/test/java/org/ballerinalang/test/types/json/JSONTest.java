@@ -84,6 +84,14 @@ public class JSONTest {
         Assert.assertEquals(getJsonAsString(returns[0]), expected);
     }
 
+    @Test(description = "Remove and update fields of an object with many fields")
+    public void testRemoveFromLargeObject() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "removeFromLargeObject", new BValue[] {});
+        final String expected = "{\"f1\":\"one\",\"f3\":3,\"f4\":4,\"f5\":5,\"f6\":6,\"f7\":7,\"f8\":8," +
+                "\"f9\":9,\"f11\":11}";
+        Assert.assertEquals(getJsonAsString(returns[0]), expected);
+    }
+
     // Test toString-Function.
     @Test(description = "Get string representation of json")
     public void testToString() {
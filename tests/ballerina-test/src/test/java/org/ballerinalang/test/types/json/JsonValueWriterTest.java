@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.types.json;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.util.JsonNode;
+import org.ballerinalang.model.util.JsonValueWriter;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test cases for writing values as JSON with {@link JsonValueWriter}, and for serializing json payloads through it.
+ */
+public class JsonValueWriterTest {
+
+    private static final String PERSON = "{\"name\":\"Jane \\\"JD\\\" Doe\",\"age\":30,\"height\":1.5," +
+            "\"married\":true,\"address\":{\"city\":\"Colombo\",\"country\":\"Sri Lanka\"}," +
+            "\"tags\":[\"a\",\"\u00fc\"],\"info\":{\"status\":\"single\"},\"props\":{\"score\":4}}";
+
+    private static final String JOHN = PERSON.replace("Jane \\\"JD\\\" Doe", "John");
+
+    private CompileResult compileResult;
+
+    @BeforeClass
+    public void setup() {
+        compileResult = BCompileUtil.compile("test-src/types/jsontype/json-value-writer.bal");
+    }
+
+    @Test(description = "Write a struct as JSON")
+    public void testSerializeStruct() throws IOException {
+        BValue[] returns = BRunUtil.invoke(compileResult, "getPerson");
+        assertBytes(serialize(returns[0]), PERSON);
+    }
+
+    @Test(description = "Write an array of structs as JSON")
+    public void testSerializeStructArray() throws IOException {
+        BValue[] returns = BRunUtil.invoke(compileResult, "getPeople");
+        assertBytes(serialize(returns[0]), "[" + PERSON + "," + JOHN + "]");
+    }
+
+    @Test(description = "Write a map as JSON")
+    public void testSerializeMap() throws IOException {
+        BMap<String, BValue> map = new BMap<>();
+        map.put("name", new BString("a/b"));
+        map.put("info", new BJSON("{\"ids\":[1,2]}"));
+        map.put("none", null);
+        assertBytes(serialize(map), "{\"name\":\"a\\/b\",\"info\":{\"ids\":[1,2]},\"none\":null}");
+    }
+
+    @Test(description = "Serialize converted json payloads, which are written through the JSON value writer")
+    public void testSerializeConvertedJson() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "getPersonJson");
+        assertBytes(serializeData((BJSON) returns[0]), PERSON);
+
+        returns = BRunUtil.invoke(compileResult, "getPeopleJson");
+        assertBytes(serializeData((BJSON) returns[0]), "[" + PERSON + "," + JOHN + "]");
+    }
+
+    @Test(description = "Serialize json payloads which are null, parsed, or streamed from a data source")
+    public void testSerializeJson() throws IOException {
+        assertBytes(serialize(new BJSON((JsonNode) null)), "null");
+        assertBytes(serializeData(new BJSON("{\"name\":\"\u00fc\"}")), "{\"name\":\"\u00fc\"}");
+        assertBytes(serializeData(new BJSON(gen -> {
+            gen.startObject();
+            gen.writeFieldName("rows");
+            gen.writeNumber(2);
+            gen.endObject();
+        })), "{\"rows\":2}");
+    }
+
+    @Test(description = "Write a struct with a field which cannot be written as JSON",
+          expectedExceptions = BallerinaException.class,
+          expectedExceptionsMessageRegExp = "error while mapping 'content': " +
+                  "incompatible types: expected 'json', found 'blob'")
+    public void testSerializeStructWithBlob() throws IOException {
+        BValue[] returns = BRunUtil.invoke(compileResult, "getDocument");
+        serialize(returns[0]);
+    }
+
+    private static byte[] serialize(BValue value) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonValueWriter.serialize(value, out);
+        return out.toByteArray();
+    }
+
+    private static byte[] serializeData(BJSON json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        json.serializeData(out);
+        return out.toByteArray();
+    }
+
+    private static void assertBytes(byte[] actual, String expected) {
+        Assert.assertEquals(actual, expected.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -21,6 +21,7 @@ import org.ballerinalang.launcher.util.BCompileUtil;
 import org.ballerinalang.launcher.util.BRunUtil;
 import org.ballerinalang.launcher.util.CompileResult;
 import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BIterator;
 import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BRefType;
 import org.ballerinalang.model.values.BString;
@@ -246,6 +247,100 @@ public class BMapValueTest {
 
     }
 
+    @Test(dependsOnMethods = "testGrammar")
+    public void testMapSharedThroughGlobal() {
+        BValue[] returnVals = BRunUtil.invoke(programFile, "testLocalMap", new BValue[0]);
+        BMap map = (BMap) returnVals[0];
+        Assert.assertFalse(map.isShared());
+        Assert.assertFalse(((BMap) map.get("inner")).isShared());
+
+        returnVals = BRunUtil.invoke(programFile, "testMapSharedThroughGlobal", new BValue[0]);
+        map = (BMap) returnVals[0];
+        Assert.assertTrue(map.isShared());
+        Assert.assertTrue(((BMap) map.get("inner")).isShared());
+        Assert.assertEquals(map.stringValue(),
+                "{\"inner\":{\"key1\":\"Inner 1\"}, \"key2\":\"Element 2\"}");
+    }
+
+    @Test
+    public void testSharedBMapOrder() {
+        BMap<String, BRefType> map = new BMap<>();
+        map.put("Entry1", new BString("foo"));
+        map.put("Entry2", new BString("bar"));
+        map.share();
+        map.put("Entry3", new BString("foobar"));
+        map.put("Entry1", new BString("baz"));
+        Assert.assertTrue(map.remove("Entry2"));
+        Assert.assertFalse(map.remove("Entry2"));
+        map.put("Entry2", new BString("bar"));
+
+        Assert.assertTrue(map.isShared());
+        Assert.assertEquals(map.size(), 3);
+        Assert.assertEquals(map.stringValue(), "{\"Entry1\":\"baz\", \"Entry3\":\"foobar\", \"Entry2\":\"bar\"}");
+    }
+
+    @Test(dependsOnMethods = "testGrammar")
+    public void testMapCapturedByClosureShared() {
+        BValue[] returnVals = BRunUtil.invoke(programFile, "testMapCapturedByClosure", new BValue[0]);
+        BMap map = (BMap) returnVals[0];
+        Assert.assertTrue(map.isShared());
+        Assert.assertEquals(map.stringValue(), "{\"key1\":\"Element 1\", \"key2\":\"Element 2\"}");
+    }
+
+    @Test
+    public void testLocalMapChangedWhileIterating() {
+        BMap<String, BRefType> map = new BMap<>();
+        map.put("Entry1", new BString("foo"));
+        map.put("Entry2", new BString("bar"));
+        map.put("Entry3", new BString("foobar"));
+
+        BIterator iterator = map.newIterator();
+        Assert.assertTrue(iterator.hasNext());
+        Assert.assertEquals(iterator.getNext(2)[0].stringValue(), "Entry1");
+        map.remove("Entry2");
+        map.put("Entry3", new BString("baz"));
+        map.put("Entry4", new BString("qux"));
+
+        /* the entries are returned as they were when the iteration started */
+        Assert.assertTrue(iterator.hasNext());
+        BValue[] next = iterator.getNext(2);
+        Assert.assertEquals(next[0].stringValue(), "Entry2");
+        Assert.assertEquals(next[1].stringValue(), "bar");
+        next = iterator.getNext(2);
+        Assert.assertEquals(next[0].stringValue(), "Entry3");
+        Assert.assertEquals(next[1].stringValue(), "foobar");
+        Assert.assertFalse(iterator.hasNext());
+        Assert.assertFalse(map.isShared());
+        Assert.assertEquals(map.stringValue(), "{\"Entry1\":\"foo\", \"Entry3\":\"baz\", \"Entry4\":\"qux\"}");
+    }
+
+    @Test
+    public void testRemoveFromSharedMap() {
+        BMap<String, BRefType> map = new BMap<>();
+        map.put("Entry1", new BString("foo"));
+        map.put("Entry2", null);
+        map.share();
+
+        Assert.assertTrue(map.remove("Entry1"));
+        Assert.assertFalse(map.remove("Entry1"));
+        /* an entry with a null value is still removed */
+        Assert.assertTrue(map.remove("Entry2"));
+        Assert.assertFalse(map.remove("Entry3"));
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    @Test(dependsOnMethods = "testGrammar")
+    public void testMapChangedWhileIterating() {
+        BValue[] returnVals = BRunUtil.invoke(programFile, "testChangeMapWhileIterating", new BValue[0]);
+        Assert.assertEquals(returnVals[0].stringValue(), "abc:5");
+    }
+
+    @Test(dependsOnMethods = "testGrammar")
+    public void testMapIterationLeftByError() {
+        BValue[] returnVals = BRunUtil.invoke(programFile, "testMapIterationLeftByError", new BValue[0]);
+        Assert.assertEquals(returnVals[0].stringValue(), "ab:stop:abcd");
+    }
+
     @Test(dependsOnMethods = "testGrammar")
     public void testMapSynchronization() {
         BValue[] returnVals = BRunUtil.invoke(programFile, "testMapSynchronization", new BValue[0]);
@@ -580,4 +580,21 @@ public class ConstrainedMapTest {
                 "testMapConstrainedStringNonExistingKeyRetrieve");
     }
 
+    @Test(description = "Test updating a map constrained to int, which keeps its values unboxed.")
+    public void testUnboxedIntMapUpdates() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "testUnboxedIntMapUpdates");
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 7);
+        /* 10 + 95 + 96 + 197 + 98 + 99 + 1000 */
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 1595);
+        Assert.assertEquals(returns[2].stringValue(),
+                "[\"first\", \"key95\", \"key96\", \"key97\", \"key98\", \"key99\", \"last\"]");
+    }
+
+    @Test(description = "Test maps constrained to float and string, which keep their values unboxed.")
+    public void testUnboxedFloatAndStringMaps() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "testUnboxedFloatAndStringMaps");
+        Assert.assertEquals(((BFloat) returns[0]).floatValue(), 3.75);
+        Assert.assertEquals(returns[1].stringValue(), "hello world");
+        Assert.assertEquals(returns[2].stringValue(), " world");
+    }
 }
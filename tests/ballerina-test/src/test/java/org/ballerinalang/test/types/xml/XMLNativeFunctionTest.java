@@ -20,6 +20,7 @@ package org.ballerinalang.test.types.xml;
 import org.ballerinalang.launcher.util.BCompileUtil;
 import org.ballerinalang.launcher.util.BRunUtil;
 import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.util.XMLElementCursor;
 import org.ballerinalang.model.values.BBoolean;
 import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BJSON;
@@ -30,10 +31,14 @@ import org.ballerinalang.model.values.BXML;
 import org.ballerinalang.model.values.BXMLItem;
 import org.ballerinalang.model.values.BXMLSequence;
 import org.ballerinalang.util.exceptions.BLangRuntimeException;
+import org.ballerinalang.util.exceptions.BallerinaException;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Test Native function in ballerina.model.xml.
  */
@@ -1394,4 +1399,69 @@ public class XMLNativeFunctionTest {
         Assert.assertEquals(returns[1].stringValue(),
                 "<fname1>John</fname1><lname1>Doe</lname1><fname2>Jane</fname2><lname2>Doe</lname2>apple");
     }
+
+    @Test(description = "Iterate a sequence which streams its items from an xml document")
+    public void testIterateStreamedSequence() {
+        TrackedInputStream in = new TrackedInputStream("<r><a>1</a><a>2</a><a>3</a></r>");
+        BXMLSequence seq = new BXMLSequence(new XMLElementCursor(in, null, "r/a"));
+        BValue[] returns = BRunUtil.invoke(result, "testIterateSequence", new BValue[] {seq});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 3);
+        Assert.assertTrue(in.closed);
+    }
+
+    @Test(description = "Read a streamed sequence again after iterating it",
+          expectedExceptions = BallerinaException.class,
+          expectedExceptionsMessageRegExp = "xml sequence has already been streamed.*")
+    public void testReadStreamedSequenceAgain() {
+        TrackedInputStream in = new TrackedInputStream("<r><a>1</a><a>2</a></r>");
+        BXMLSequence seq = new BXMLSequence(new XMLElementCursor(in, null, "r/a"));
+        BRunUtil.invoke(result, "testIterateSequence", new BValue[] {seq});
+        seq.length();
+    }
+
+    @Test(description = "Break out of a loop over a streamed sequence")
+    public void testBreakOutOfStreamedSequence() {
+        TrackedInputStream in = new TrackedInputStream("<r><a>1</a><b>2</b><a>3</a></r>");
+        BXMLSequence seq = new BXMLSequence(new XMLElementCursor(in, null, "r/a"));
+        BValue[] returns = BRunUtil.invoke(result, "testBreakOutOfSequence", new BValue[] {seq});
+        Assert.assertEquals(returns[0].stringValue(), "a");
+        Assert.assertTrue(in.closed);
+    }
+
+    @Test(description = "Return from within a loop over a streamed sequence")
+    public void testReturnFromStreamedSequence() {
+        TrackedInputStream in = new TrackedInputStream("<r><a>1</a><a>2</a><a>3</a></r>");
+        BXMLSequence seq = new BXMLSequence(new XMLElementCursor(in, null, "r/a"));
+        BValue[] returns = BRunUtil.invoke(result, "testReturnFromSequence", new BValue[] {seq});
+        Assert.assertEquals(returns[0].stringValue(), "1");
+        Assert.assertTrue(in.closed);
+    }
+
+    @Test(description = "Iterate a streamed sequence after reading its length")
+    public void testIterateStreamedSequenceAfterLength() {
+        TrackedInputStream in = new TrackedInputStream("<r><a>1</a><a>2</a><a>3</a></r>");
+        BXMLSequence seq = new BXMLSequence(new XMLElementCursor(in, null, "r/a"));
+        Assert.assertEquals(seq.length(), 3);
+        Assert.assertTrue(in.closed);
+
+        // The items are kept once they are read for the length, so they can be iterated any number of times
+        for (int i = 0; i < 2; i++) {
+            BValue[] returns = BRunUtil.invoke(result, "testIterateSequence", new BValue[] {seq});
+            Assert.assertEquals(((BInteger) returns[0]).intValue(), 3);
+        }
+    }
+
+    private static class TrackedInputStream extends ByteArrayInputStream {
+
+        private boolean closed;
+
+        TrackedInputStream(String content) {
+            super(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
 }
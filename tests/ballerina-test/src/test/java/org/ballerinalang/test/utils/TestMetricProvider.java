@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.utils;
+
+import org.ballerinalang.util.metrics.AbstractMetric;
+import org.ballerinalang.util.metrics.CallbackGauge;
+import org.ballerinalang.util.metrics.MetricId;
+import org.ballerinalang.util.metrics.Tag;
+import org.ballerinalang.util.metrics.Tags;
+import org.ballerinalang.util.metrics.noop.NoOpMetricProvider;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A metric provider for tests, whose callback gauges can be looked up and read. The other metrics do nothing.
+ *
+ * @since 0.974.1
+ */
+public class TestMetricProvider extends NoOpMetricProvider {
+
+    private final Map<MetricId, CallbackGauge> callbackGauges = new ConcurrentHashMap<>();
+
+    @Override
+    public String getName() {
+        return "Test";
+    }
+
+    @Override
+    public <T> CallbackGauge newCallbackGauge(MetricId metricId, T obj, ToDoubleFunction<T> toDoubleFunction) {
+        CallbackGauge gauge = new TestCallbackGauge<>(metricId, obj, toDoubleFunction);
+        callbackGauges.put(metricId, gauge);
+        return gauge;
+    }
+
+    /**
+     * Get a callback gauge created by this provider.
+     *
+     * @param name         name of the gauge
+     * @param tagKeyValues tags of the gauge, as alternating keys and values
+     * @return the gauge, or null if no gauge was created with the name and the tags
+     */
+    public CallbackGauge getCallbackGauge(String name, String... tagKeyValues) {
+        Set<Tag> tags = new HashSet<>();
+        Tags.tags(tags, tagKeyValues);
+        return callbackGauges.get(new MetricId(name, null, tags));
+    }
+
+    private static class TestCallbackGauge<T> extends AbstractMetric implements CallbackGauge {
+
+        private final T obj;
+
+        private final ToDoubleFunction<T> valueFunction;
+
+        private TestCallbackGauge(MetricId id, T obj, ToDoubleFunction<T> valueFunction) {
+            super(id);
+            this.obj = obj;
+            this.valueFunction = valueFunction;
+        }
+
+        @Override
+        public double get() {
+            return valueFunction.applyAsDouble(obj);
+        }
+    }
+}
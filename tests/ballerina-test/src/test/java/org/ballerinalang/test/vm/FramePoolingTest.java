@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.bre.bvm.WorkerData;
+import org.ballerinalang.bre.bvm.WorkerDataPool;
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.attributes.CodeAttributeInfo;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests related to reusing the register files of synchronous calls with frame pooling enabled.
+ */
+public class FramePoolingTest {
+
+    private CompileResult result;
+
+    private boolean framePoolingEnabled;
+
+    @BeforeClass
+    public void setup() {
+        this.framePoolingEnabled = WorkerDataPool.isEnabled();
+        WorkerDataPool.setEnabled(true);
+        this.result = BCompileUtil.compile("test-src/vm/frame-pooling.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+    }
+
+    @AfterMethod
+    public void clearPool() {
+        /* the pool is per thread, so register files left by a test would otherwise be handed to the next one */
+        WorkerDataPool.clear();
+    }
+
+    @AfterClass
+    public void tearDown() {
+        WorkerDataPool.setEnabled(this.framePoolingEnabled);
+    }
+
+    @Test
+    public void testRecursiveCalls() {
+        for (int i = 0; i < 3; i++) {
+            BValue[] vals = BRunUtil.invoke(result, "fib", new BValue[] {new BInteger(15)});
+            Assert.assertEquals(((BInteger) vals[0]).intValue(), 610);
+
+            vals = BRunUtil.invoke(result, "nest", new BValue[] {new BInteger(3)});
+            Assert.assertEquals(vals[0].stringValue(), "<3<2<1<0>>>>");
+        }
+    }
+
+    @Test
+    public void testRegistersNotLeakedBetweenCalls() {
+        /* each call starts from an empty map, so the keys added by an earlier call must not be seen */
+        BValue[] vals = BRunUtil.invoke(result, "countKeysInTurns", new BValue[] {new BInteger(20)});
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 210);
+        vals = BRunUtil.invoke(result, "countKeys", new BValue[] {new BInteger(0)});
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 0);
+    }
+
+    @Test
+    public void testAsyncCallers() {
+        for (int i = 0; i < 3; i++) {
+            BValue[] vals = BRunUtil.invoke(result, "fibAsync", new BValue[] {new BInteger(10)});
+            Assert.assertEquals(((BInteger) vals[0]).intValue(), 123);
+
+            vals = BRunUtil.invoke(result, "countKeysAsync", new BValue[] {new BInteger(20)});
+            Assert.assertEquals(((BInteger) vals[0]).intValue(), 420);
+        }
+    }
+
+    @Test
+    public void testReleasedRegistersCleared() {
+        CodeAttributeInfo ci = result.getProgFile().getEntryPackage().getFunctionInfo("countKeys")
+                .getDefaultWorkerInfo().getCodeAttributeInfo();
+        WorkerData data = WorkerDataPool.acquire(ci);
+        data.longRegs[0] = 42;
+        data.refRegs[0] = new BMap<>();
+        WorkerDataPool.release(ci, data);
+
+        WorkerData reused = WorkerDataPool.acquire(ci);
+        Assert.assertSame(reused, data);
+        Assert.assertEquals(reused.longRegs[0], 0);
+        Assert.assertNull(reused.refRegs[0]);
+    }
+}
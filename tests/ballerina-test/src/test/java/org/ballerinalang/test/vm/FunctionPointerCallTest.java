@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.BLangProgramLoader;
+import org.ballerinalang.compiler.CompilerPhase;
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.ProgramFile;
+import org.ballerinalang.util.codegen.ProgramFileReader;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.Compiler;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.programfile.CompiledBinaryFile;
+import org.wso2.ballerinalang.programfile.ProgramFileWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
+import static org.ballerinalang.compiler.CompilerOptionName.PRESERVE_WHITESPACE;
+import static org.ballerinalang.compiler.CompilerOptionName.PROJECT_DIR;
+
+/**
+ * Tests calling function pointers and closures, with the instructions of the program decoded eagerly or lazily, and
+ * the program file read from a stream or mapped into memory.
+ */
+public class FunctionPointerCallTest {
+
+    private static final String LAZY_CODE_LOADING_CONFIG_PROP = "b7a.runtime.loader.lazy";
+
+    private static final int THREAD_COUNT = 8;
+
+    private byte[] programImage;
+
+    private Path programPath;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        CompilerContext context = new CompilerContext();
+        CompilerOptions options = CompilerOptions.getInstance(context);
+        options.put(PROJECT_DIR, Paths.get("src/test/resources/test-src/vm").toAbsolutePath().toString());
+        options.put(COMPILER_PHASE, CompilerPhase.CODE_GEN.toString());
+        options.put(PRESERVE_WHITESPACE, "false");
+
+        Compiler compiler = Compiler.getInstance(context);
+        BLangPackage packageNode = compiler.compile("function-pointer-calls.bal");
+        CompiledBinaryFile.ProgramFile programFile = compiler.getExecutableProgram(packageNode);
+        Assert.assertNotNull(programFile);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ProgramFileWriter.writeProgram(programFile, out);
+        this.programImage = out.toByteArray();
+        this.programPath = Files.createTempFile("function-pointer-calls", ".balx");
+        Files.write(this.programPath, this.programImage);
+    }
+
+    @AfterClass
+    public void tearDown() throws IOException {
+        ConfigRegistry.getInstance().removeConfiguration(LAZY_CODE_LOADING_CONFIG_PROP);
+        Files.deleteIfExists(this.programPath);
+    }
+
+    @DataProvider(name = "loaderModes")
+    public Object[][] loaderModes() {
+        return new Object[][] {
+                {true, true},
+                {true, false},
+                {false, true},
+                {false, false}
+        };
+    }
+
+    @Test(dataProvider = "loaderModes")
+    public void testFunctionPointerCalls(boolean lazy, boolean mapped) throws IOException {
+        CompileResult result = load(lazy, mapped);
+        BValue[] vals = BRunUtil.invoke(result, "callFunctionPointer", new BValue[] {new BInteger(10)});
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 65);
+    }
+
+    @Test(dataProvider = "loaderModes")
+    public void testClosureCalls(boolean lazy, boolean mapped) throws IOException {
+        CompileResult result = load(lazy, mapped);
+        BValue[] vals = BRunUtil.invoke(result, "callClosure", new BValue[] {new BInteger(10)});
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 155);
+
+        vals = BRunUtil.invoke(result, "callNestedClosures", new BValue[] {new BString("a")});
+        Assert.assertEquals(vals[0].stringValue(), "abc");
+    }
+
+    @Test(dataProvider = "loaderModes")
+    public void testConcurrentFirstCalls(boolean lazy, boolean mapped) throws Exception {
+        /* the functions are decoded by whichever thread calls them first, while the others are running */
+        CompileResult result = load(lazy, mapped);
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                String function = i % 2 == 0 ? "callFunctionPointer" : "callClosure";
+                Callable<Long> call = () -> ((BInteger) BRunUtil.invoke(result, function,
+                        new BValue[] {new BInteger(10)})[0]).intValue();
+                futures.add(executor.submit(call));
+            }
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                Assert.assertEquals(futures.get(i).get().longValue(), i % 2 == 0 ? 65 : 155);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private CompileResult load(boolean lazy, boolean mapped) throws IOException {
+        ConfigRegistry.getInstance().addConfiguration(LAZY_CODE_LOADING_CONFIG_PROP, Boolean.toString(lazy));
+        ProgramFile programFile;
+        if (mapped) {
+            programFile = BLangProgramLoader.read(this.programPath);
+        } else {
+            programFile = new ProgramFileReader().readProgram(new ByteArrayInputStream(this.programImage));
+        }
+        CompileResult result = new CompileResult();
+        result.setProgFile(programFile);
+        BRunUtil.invokePackageInit(result);
+        return result;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BIntArray;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.Instruction;
+import org.ballerinalang.util.codegen.Instruction.InstructionQuickened;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+/**
+ * Tests related to BVM load time instruction quickening. 
+ */
+public class QuickenedInstructionTest {
+
+    private CompileResult result;
+    
+    @BeforeClass
+    public void setup() {
+        this.result = BCompileUtil.compile("test-src/vm/quickened-instructions.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+    }
+
+    @Test
+    public void testInstructionsQuickened() {
+        Instruction[] code = result.getProgFile().getEntryPackage().getInstructions();
+        Assert.assertTrue(Arrays.stream(code).anyMatch(ins -> ins instanceof InstructionQuickened));
+    }
+    
+    @Test
+    public void testArrayLoadAndAdd() {
+        BIntArray values = new BIntArray(new long[] {1, 2, 3, 4, 5});
+        BValue[] vals = BRunUtil.invoke(result, "sumArray", new BValue[] {values});
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 15);
+    }
+
+    @Test
+    public void testEmptyArraySum() {
+        BValue[] vals = BRunUtil.invoke(result, "sumArray", new BValue[] {new BIntArray()});
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 0);
+    }
+    
+    @Test
+    public void testConstantAdd() {
+        BValue[] vals = BRunUtil.invoke(result, "addConstants", new BValue[] {new BInteger(1000)});
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 100000);
+    }
+
+    @Test
+    public void testCompareAndBranch() {
+        BValue[] vals = BRunUtil.invoke(result, "compareAll", new BValue[] {new BInteger(5), new BInteger(5)});
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 1 + 8 + 32);
+        vals = BRunUtil.invoke(result, "compareAll", new BValue[] {new BInteger(7), new BInteger(5)});
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 2 + 4 + 8);
+        vals = BRunUtil.invoke(result, "compareAll", new BValue[] {new BInteger(3), new BInteger(5)});
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 2 + 16 + 32);
+    }
+
+    @Test
+    public void testCastToRecord() {
+        BValue[] vals = BRunUtil.invoke(result, "castAnyToRecord", new BValue[0]);
+        Assert.assertEquals(vals[0].stringValue(), "Bob");
+    }
+
+    @Test
+    public void testTypeChecksCached() {
+        Instruction[] code = result.getProgFile().getEntryPackage().getInstructions();
+        Assert.assertTrue(Arrays.stream(code).anyMatch(ins -> ins.getOpcode() == InstructionCodes.CHECKCAST_CACHED));
+        Assert.assertTrue(Arrays.stream(code)
+                .anyMatch(ins -> ins.getOpcode() == InstructionCodes.IS_ASSIGNABLE_CACHED));
+    }
+
+    @Test
+    public void testMatchManyTypes() {
+        // more types than the inline cache of each type test holds
+        BValue[] vals = BRunUtil.invoke(result, "matchManyTypes", new BValue[0]);
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 344);
+        vals = BRunUtil.invoke(result, "matchManyTypes", new BValue[0]);
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 344);
+    }
+
+    @Test
+    public void testCastManyToUnion() {
+        BValue[] vals = BRunUtil.invoke(result, "castManyToUnion", new BValue[0]);
+        Assert.assertEquals(vals[0].stringValue(), "Bob,x,Alice,error,Bob,y,Alice,error,");
+    }
+    
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.bre.bvm.WorkerData;
+import org.ballerinalang.bre.bvm.jit.CompiledCode;
+import org.ballerinalang.bre.bvm.jit.TieredCompiler;
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.Instruction;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.WorkerInfo;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests related to compiling hot Ballerina functions to JVM classes.
+ */
+public class TieredCompilationTest {
+
+    private CompileResult result;
+
+    private PackageInfo packageInfo;
+
+    @BeforeClass
+    public void setup() {
+        this.result = BCompileUtil.compile("test-src/vm/tiered-compilation.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+        this.packageInfo = result.getProgFile().getEntryPackage();
+    }
+
+    @Test
+    public void testCompiledLoop() {
+        WorkerInfo workerInfo = packageInfo.getFunctionInfo("sumTo").getDefaultWorkerInfo();
+        CompiledCode compiledCode = TieredCompiler.compile(workerInfo, packageInfo);
+        Assert.assertNotNull(compiledCode);
+
+        WorkerData sf = new WorkerData(workerInfo.getCodeAttributeInfo());
+        sf.longRegs[0] = 100;
+        Instruction exit = packageInfo.getInstructions()[execute(compiledCode, workerInfo, sf)];
+        Assert.assertEquals(exit.getOpcode(), InstructionCodes.IRET);
+        Assert.assertEquals(sf.longRegs[exit.getOperands()[1]], 4950);
+
+        BValue[] vals = BRunUtil.invoke(result, "sumTo", new BValue[] {new BInteger(100)});
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 4950);
+    }
+
+    @Test
+    public void testDivisionByZeroLeftToInterpreter() {
+        WorkerInfo workerInfo = packageInfo.getFunctionInfo("divide").getDefaultWorkerInfo();
+        CompiledCode compiledCode = TieredCompiler.compile(workerInfo, packageInfo);
+        Assert.assertNotNull(compiledCode);
+
+        WorkerData sf = new WorkerData(workerInfo.getCodeAttributeInfo());
+        sf.longRegs[0] = 10;
+        sf.longRegs[1] = 0;
+        Instruction exit = packageInfo.getInstructions()[execute(compiledCode, workerInfo, sf)];
+        Assert.assertEquals(exit.getOpcode(), InstructionCodes.IDIV);
+
+        sf.longRegs[1] = 3;
+        exit = packageInfo.getInstructions()[execute(compiledCode, workerInfo, sf)];
+        Assert.assertEquals(exit.getOpcode(), InstructionCodes.IRET);
+        Assert.assertEquals(sf.longRegs[exit.getOperands()[1]], 3);
+    }
+
+    @Test
+    public void testCompiledFloatBranches() {
+        WorkerInfo workerInfo = packageInfo.getFunctionInfo("mean").getDefaultWorkerInfo();
+        CompiledCode compiledCode = TieredCompiler.compile(workerInfo, packageInfo);
+        Assert.assertNotNull(compiledCode);
+
+        WorkerData sf = new WorkerData(workerInfo.getCodeAttributeInfo());
+        sf.doubleRegs[0] = 1.0;
+        sf.doubleRegs[1] = 4.0;
+        Instruction exit = packageInfo.getInstructions()[execute(compiledCode, workerInfo, sf)];
+        Assert.assertEquals(exit.getOpcode(), InstructionCodes.FRET);
+        Assert.assertEquals(sf.doubleRegs[exit.getOperands()[1]], 2.5);
+
+        BValue[] vals = BRunUtil.invoke(result, "mean", new BValue[] {new BFloat(4.0), new BFloat(1.0)});
+        Assert.assertEquals(((BFloat) vals[0]).floatValue(), 2.5);
+    }
+
+    @Test
+    public void testUnknownEntryPoint() {
+        WorkerInfo workerInfo = packageInfo.getFunctionInfo("sumTo").getDefaultWorkerInfo();
+        CompiledCode compiledCode = TieredCompiler.compile(workerInfo, packageInfo);
+        WorkerData sf = new WorkerData(workerInfo.getCodeAttributeInfo());
+        /* the compiled code can only be entered at the start of the function and at its loop header */
+        int ip = workerInfo.getCodeAttributeInfo().getCodeAddrs() + 1;
+        Assert.assertEquals(compiledCode.execute(sf.longRegs, sf.doubleRegs, sf.intRegs, ip, Integer.MAX_VALUE), ip);
+    }
+
+    @Test
+    public void testBackwardJumpsUsedUp() {
+        WorkerInfo workerInfo = packageInfo.getFunctionInfo("sumTo").getDefaultWorkerInfo();
+        CompiledCode compiledCode = TieredCompiler.compile(workerInfo, packageInfo);
+        WorkerData sf = new WorkerData(workerInfo.getCodeAttributeInfo());
+        sf.longRegs[0] = 100;
+        int exitIp = compiledCode.execute(sf.longRegs, sf.doubleRegs, sf.intRegs,
+                workerInfo.getCodeAttributeInfo().getCodeAddrs(), 10);
+        Assert.assertTrue(exitIp < 0, "Loop not handed back to the interpreter once the backward jumps were used up");
+        Instruction backEdge = packageInfo.getInstructions()[~exitIp];
+        Assert.assertEquals(backEdge.getOpcode(), InstructionCodes.GOTO);
+
+        /* carry on from the loop header, as the interpreter would after taking the jump */
+        Instruction exit = packageInfo.getInstructions()[compiledCode.execute(sf.longRegs, sf.doubleRegs,
+                sf.intRegs, backEdge.getOperands()[0], Integer.MAX_VALUE)];
+        Assert.assertEquals(exit.getOpcode(), InstructionCodes.IRET);
+        Assert.assertEquals(sf.longRegs[exit.getOperands()[1]], 4950);
+    }
+
+    @Test
+    public void testHotLoopRunThroughInterpreter() {
+        boolean jitEnabled = TieredCompiler.isEnabled();
+        TieredCompiler.setEnabled(true);
+        try {
+            /* the loop gets hot while it runs, and is handed back to the interpreter every MAX_BACK_EDGES jumps */
+            long n = TieredCompiler.MAX_BACK_EDGES * 5L;
+            BValue[] vals = BRunUtil.invoke(result, "countTo", new BValue[] {new BInteger(n)});
+            Assert.assertEquals(((BInteger) vals[0]).intValue(), n * (n - 1) / 2);
+            Assert.assertNotNull(packageInfo.getFunctionInfo("countTo").getDefaultWorkerInfo().getCompiledCode(),
+                    "Hot loop not compiled");
+
+            vals = BRunUtil.invoke(result, "countTo", new BValue[] {new BInteger(n)});
+            Assert.assertEquals(((BInteger) vals[0]).intValue(), n * (n - 1) / 2);
+        } finally {
+            TieredCompiler.setEnabled(jitEnabled);
+        }
+    }
+
+    private static int execute(CompiledCode compiledCode, WorkerInfo workerInfo, WorkerData sf) {
+        return compiledCode.execute(sf.longRegs, sf.doubleRegs, sf.intRegs,
+                workerInfo.getCodeAttributeInfo().getCodeAddrs(), Integer.MAX_VALUE);
+    }
+}
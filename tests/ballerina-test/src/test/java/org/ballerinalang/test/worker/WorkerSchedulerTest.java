@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.worker;
+
+import org.ballerinalang.bre.bvm.BLangScheduler;
+import org.ballerinalang.bre.bvm.WorkerState;
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.test.utils.TestMetricProvider;
+import org.ballerinalang.util.metrics.CallbackGauge;
+import org.ballerinalang.util.metrics.MetricRegistry;
+import org.ballerinalang.util.metrics.MetricsLaunchListener;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Test cases for counting the workers of the scheduler, waiting for them to complete, and the scheduler gauges.
+ */
+public class WorkerSchedulerTest {
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        this.result = BCompileUtil.compile("test-src/workers/basic-worker-actions.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+    }
+
+    @Test(description = "Tests whether the live worker count follows the started and the finished workers")
+    public void testWorkerCounts() {
+        long liveWorkers = BLangScheduler.getLiveWorkerCount();
+        BLangScheduler.workerCountUp();
+        BLangScheduler.workerCountUp();
+        Assert.assertEquals(BLangScheduler.getLiveWorkerCount(), liveWorkers + 2);
+
+        BLangScheduler.workerCountDown();
+        Assert.assertEquals(BLangScheduler.getLiveWorkerCount(), liveWorkers + 1);
+        BLangScheduler.workerCountDown();
+        Assert.assertEquals(BLangScheduler.getLiveWorkerCount(), liveWorkers);
+    }
+
+    @Test(description = "Tests whether the workers of a fork join are counted down once they complete")
+    public void testForkedWorkerCounts() {
+        long liveWorkers = BLangScheduler.getLiveWorkerCount();
+        BValue[] vals = BRunUtil.invoke(result, "basicForkJoinTest", new BValue[0]);
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 10);
+
+        BLangScheduler.waitForWorkerCompletion();
+        Assert.assertEquals(BLangScheduler.getLiveWorkerCount(), liveWorkers);
+    }
+
+    @Test(description = "Tests whether waiting for worker completion returns once the workers finish",
+          timeOut = 10000)
+    public void testWaitForWorkerCompletion() throws InterruptedException {
+        BLangScheduler.waitForWorkerCompletion();
+        AtomicBoolean finished = new AtomicBoolean();
+        BLangScheduler.workerCountUp();
+        Thread worker = new Thread(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException ignore) {
+                /* ignore */
+            }
+            finished.set(true);
+            BLangScheduler.workerCountDown();
+        });
+        worker.start();
+
+        BLangScheduler.waitForWorkerCompletion();
+        Assert.assertTrue(finished.get(), "Returned before the worker finished");
+        Assert.assertEquals(BLangScheduler.getLiveWorkerCount(), 0);
+        worker.join();
+    }
+
+    @Test(description = "Tests whether the scheduler gauges are registered, and read the scheduler statistics")
+    public void testSchedulerGauges() {
+        TestMetricProvider metricProvider = new TestMetricProvider();
+        MetricsLaunchListener.registerBallerinaMetrics(new MetricRegistry(metricProvider));
+
+        String[] countGauges = {"ready", "running", "excepted", "paused", "waiting_for_response",
+                "waiting_for_lock", "live", "queued"};
+        for (String gauge : countGauges) {
+            Assert.assertNotNull(metricProvider.getCallbackGauge("ballerina_scheduler_" + gauge + "_worker_count"),
+                    "Gauge not registered for " + gauge + " workers");
+        }
+        WorkerState[] timedStates = {WorkerState.READY, WorkerState.RUNNING, WorkerState.PAUSED,
+                WorkerState.WAITING_FOR_RESPONSE, WorkerState.WAITING_FOR_LOCK};
+        for (WorkerState state : timedStates) {
+            CallbackGauge stateTime = metricProvider.getCallbackGauge(
+                    "ballerina_scheduler_worker_state_time_seconds_total", "state", state.name());
+            CallbackGauge stateExits = metricProvider.getCallbackGauge(
+                    "ballerina_scheduler_worker_state_exit_count", "state", state.name());
+            Assert.assertNotNull(stateTime, "Time gauge not registered for " + state);
+            Assert.assertNotNull(stateExits, "Exit gauge not registered for " + state);
+            Assert.assertEquals(stateExits.get(), (double) BLangScheduler.getStats().getStateExitCount(state));
+        }
+
+        CallbackGauge liveWorkers = metricProvider.getCallbackGauge("ballerina_scheduler_live_worker_count");
+        BLangScheduler.workerCountUp();
+        try {
+            Assert.assertEquals(liveWorkers.get(), (double) BLangScheduler.getLiveWorkerCount());
+        } finally {
+            BLangScheduler.workerCountDown();
+        }
+    }
+}
@@ -856,3 +856,29 @@ function testJsonToArrayFail() {
 
 
 
+
+function testParsedJsonToStruct (json j) returns (Person | error) {
+    var p = <Person>j;
+    return p;
+}
+
+function testStructArrayToJson () returns (json) {
+    PhoneBook[] phonebooks = [{names:["John", "Doe"]}, {names:["Jane \"JD\" Doe"]}];
+    var phonebooksJson = check <json>phonebooks;
+    return phonebooksJson;
+}
+
+function testStructWithNaNToJson () returns (json) {
+    float zero = 0.0;
+    Person p = {name:"Child", age:25, score:zero / zero};
+    var j = check <json>p;
+    return j;
+}
+
+function testStructToJsonSharesNestedJson () returns (json, json) {
+    json info = {status:"single"};
+    Person p = {name:"Child", age:25, info:info};
+    json j = check <json>p;
+    info.status = "married";
+    return (j.info.status, j.name);
+}
@@ -381,3 +381,38 @@ function nextInsideLock() returns (int, string) {
     }
 }
 
+
+int readLockInt1 = 0;
+
+int readLockInt2 = 0;
+
+function readLocksWithWriter() returns (int, boolean) {
+    worker w1 {
+        int i = 0;
+        while (i < 1000) {
+            lock {
+                readLockInt1 = readLockInt1 + 1;
+                readLockInt2 = readLockInt2 + 1;
+            }
+            i = i + 1;
+        }
+    }
+    worker w2 {
+        boolean consistent = true;
+        int i = 0;
+        while (i < 1000) {
+            lock {
+                if (readLockInt1 != readLockInt2) {
+                    consistent = false;
+                }
+            }
+            i = i + 1;
+        }
+        runtime:sleep(50);
+        int total;
+        lock {
+            total = readLockInt1;
+        }
+        return (total, consistent);
+    }
+}
@@ -348,6 +348,42 @@ function testGetXmlWithSuffix(xml xmlContent) returns xml|error {
     return entity.getXml();
 }
 
+function testGetXmlElementsFromByteChannel(io:ByteChannel byteChannel) returns string|error {
+    mime:Entity entity = new;
+    entity.setByteChannel(byteChannel, contentType = "application/xml");
+    xml books = check entity.getXmlElements("{http://ballerina.io/ns}catalog/{http://ballerina.io/ns}book");
+    string titles = "";
+    foreach book in books {
+        xml title = book.selectDescendants("{http://ballerina.io/ns}title");
+        titles = titles + book.getElementName() + ":" + title.getTextValue() + ";";
+    }
+    return titles;
+}
+
+function testGetXmlAfterXmlElements(io:ByteChannel byteChannel) returns string {
+    mime:Entity entity = new;
+    entity.setByteChannel(byteChannel, contentType = "application/xml");
+    string names = "";
+    match entity.getXmlElements("catalog/book") {
+        xml books => {
+            foreach book in books {
+                names = names + book.getTextValue() + ";";
+            }
+        }
+        error err => return err.message;
+    }
+    match entity.getXml() {
+        xml content => return names + "unexpected xml: " + content.getTextValue();
+        error err => return names + err.message;
+    }
+}
+
+function testGetXmlElementsFromXml(xml xmlContent) returns xml|error {
+    mime:Entity entity = new;
+    entity.setXml(xmlContent);
+    return entity.getXmlElements("catalog/book");
+}
+
 function testGetXmlWithNonCompatibleMediaType(xml xmlContent) returns xml|error {
     mime:Entity entity = new;
     entity.setXml(xmlContent);
@@ -32,3 +32,14 @@ function level2Error (int value) returns (int) {
     }
     return value;
 }
+
+function testCastErrorStackFrame () returns (runtime:CallStackElement|()) {
+    match castToInt("hello") {
+        int i => return ();
+        error e => return runtime:getErrorCallStackFrame(e);
+    }
+}
+
+function castToInt (any value) returns int|error {
+    return <int> value;
+}
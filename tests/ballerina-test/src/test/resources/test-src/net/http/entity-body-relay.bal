@@ -0,0 +1,17 @@
+import ballerina/http;
+import ballerina/mime;
+
+function getContentType(http:Request req) returns string|error {
+    mime:Entity entity = check req.getEntity();
+    return entity.getHeader("Content-Type");
+}
+
+function getJsonPayload(http:Request req) returns json|error {
+    return req.getJsonPayload();
+}
+
+function moveEntity(http:Request req) returns http:Request|error {
+    http:Request forwarded = new;
+    forwarded.setEntity(check req.getEntity());
+    return forwarded;
+}
@@ -0,0 +1,192 @@
+// Copyright (c) 2018 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/http;
+import ballerina/io;
+import ballerina/mime;
+import ballerina/runtime;
+
+@final string CACHE_CONTROL_HEADER = "cache-control";
+@final string ETAG_HEADER = "etag";
+@final string NO_STORE_PATH = "/no-store";
+@final int CAPACITY = 1048576;
+
+// Number of requests which reached the backend, instead of being served from the cache
+int backendHits = 0;
+
+function testCachedResponse() returns (int, string, http:HttpCache) {
+    http:HttpCachingClient cachingClient = createCachingClient(CAPACITY, 900000);
+    string payload = "";
+    int counter = 0;
+    while (counter < 3) {
+        http:Response response = check cachingClient.get("/hello");
+        payload = check response.getTextPayload();
+        counter = counter + 1;
+    }
+    return (backendHits, payload, cachingClient.cache);
+}
+
+function testNoStoreResponse() returns (int, http:HttpCache) {
+    http:HttpCachingClient cachingClient = createCachingClient(CAPACITY, 900000);
+    int counter = 0;
+    while (counter < 2) {
+        http:Response response = check cachingClient.get(NO_STORE_PATH);
+        counter = counter + 1;
+    }
+    return (backendHits, cachingClient.cache);
+}
+
+function cacheResponse(string path) returns http:HttpCache {
+    http:HttpCachingClient cachingClient = createCachingClient(CAPACITY, 900000);
+    http:Response response = check cachingClient.get(path);
+    return cachingClient.cache;
+}
+
+function testEviction(int capacity) returns (int, http:HttpCache) {
+    http:HttpCachingClient cachingClient = createCachingClient(capacity, 900000);
+    string[] paths = ["/a", "/b", "/c", "/a"];
+    foreach path in paths {
+        http:Response response = check cachingClient.get(path);
+        // To ensure the entries are used at different times
+        runtime:sleep(10);
+    }
+    return (backendHits, cachingClient.cache);
+}
+
+function testExpiry() returns (int, http:HttpCache) {
+    http:HttpCachingClient cachingClient = createCachingClient(CAPACITY, 100);
+    http:Response response = check cachingClient.get("/hello");
+    // To ensure the cached entry expires
+    runtime:sleep(200);
+    response = check cachingClient.get("/hello");
+    return (backendHits, cachingClient.cache);
+}
+
+function createCachingClient(int capacity, int expiryTimeMillis) returns http:HttpCachingClient {
+    endpoint http:Client cachingEP {
+        url: "http://localhost:8080",
+        cache: {
+            capacity: capacity,
+            expiryTimeMillis: expiryTimeMillis,
+            evictionFactor: 0.5
+        }
+    };
+
+    http:HttpCachingClient cachingClient = check <http:HttpCachingClient>cachingEP.getCallerActions();
+    MockClient mockClient = new;
+    cachingClient.httpClient = <http:CallerActions> mockClient;
+    return cachingClient;
+}
+
+public type MockClient object {
+    public {
+        string serviceUri;
+        http:ClientEndpointConfig config;
+    }
+
+    public function post(string path, http:Request|string|xml|json|blob|io:ByteChannel|mime:Entity[]|()
+                                        message) returns http:Response|error {
+        error httpConnectorError = {message:"Unsupported function for MockClient"};
+        return httpConnectorError;
+    }
+
+    public function head(string path, http:Request|string|xml|json|blob|io:ByteChannel|mime:Entity[]|()
+                                        message = ()) returns http:Response|error {
+        error httpConnectorError = {message:"Unsupported function for MockClient"};
+        return httpConnectorError;
+    }
+
+    public function put(string path, http:Request|string|xml|json|blob|io:ByteChannel|mime:Entity[]|()
+                                        message) returns http:Response|error {
+        error httpConnectorError = {message:"Unsupported function for MockClient"};
+        return httpConnectorError;
+    }
+
+    public function execute(string httpVerb, string path, http:Request|string|xml|json|blob|io:ByteChannel|mime:Entity[]|()
+                                        message) returns http:Response|error {
+        error httpConnectorError = {message:"Unsupported function for MockClient"};
+        return httpConnectorError;
+    }
+
+    public function patch(string path, http:Request|string|xml|json|blob|io:ByteChannel|mime:Entity[]|()
+                                            message) returns http:Response|error {
+        error httpConnectorError = {message:"Unsupported function for MockClient"};
+        return httpConnectorError;
+    }
+
+    public function delete(string path, http:Request|string|xml|json|blob|io:ByteChannel|mime:Entity[]|()
+                                            message) returns http:Response|error {
+        error httpConnectorError = {message:"Unsupported function for MockClient"};
+        return httpConnectorError;
+    }
+
+    public function get(string path, http:Request|string|xml|json|blob|io:ByteChannel|mime:Entity[]|()
+                                            message = ()) returns http:Response|error {
+        backendHits = backendHits + 1;
+        http:Response response = new;
+        response.statusCode = http:OK_200;
+        http:ResponseCacheControl cacheControl = new;
+        if (path == NO_STORE_PATH) {
+            cacheControl.noStore = true;
+        } else {
+            cacheControl.maxAge = 600;
+        }
+        response.cacheControl = cacheControl;
+        response.setHeader(CACHE_CONTROL_HEADER, cacheControl.buildCacheControlDirectives());
+        response.setHeader(ETAG_HEADER, "etag-" + backendHits);
+        response.setTextPayload("Hello from " + path + " " + backendHits);
+        return response;
+    }
+
+    public function options(string path, http:Request|string|xml|json|blob|io:ByteChannel|mime:Entity[]|()
+                                            message = ()) returns http:Response|error {
+        error httpConnectorError = {message:"Unsupported function for MockClient"};
+        return httpConnectorError;
+    }
+
+    public function forward(string path, http:Request req) returns http:Response|error {
+        error httpConnectorError = {message:"Unsupported function for MockClient"};
+        return httpConnectorError;
+    }
+
+    public function submit(string httpVerb, string path, http:Request|string|xml|json|blob|io:ByteChannel|mime:Entity[]|()
+                                                            message) returns http:HttpFuture|error {
+        error httpConnectorError = {message:"Unsupported function for MockClient"};
+        return httpConnectorError;
+    }
+
+    public function getResponse(http:HttpFuture httpFuture)  returns http:Response|error {
+        error httpConnectorError = {message:"Unsupported function for MockClient"};
+        return httpConnectorError;
+    }
+
+    public function hasPromise(http:HttpFuture httpFuture) returns boolean {
+        return false;
+    }
+
+    public function getNextPromise(http:HttpFuture httpFuture) returns http:PushPromise|error {
+        error httpConnectorError = {message:"Unsupported function for MockClient"};
+        return httpConnectorError;
+    }
+
+    public function getPromisedResponse(http:PushPromise promise) returns http:Response|error {
+        error httpConnectorError = {message:"Unsupported function for MockClient"};
+        return httpConnectorError;
+    }
+
+    public function rejectPromise(http:PushPromise promise) {
+    }
+};
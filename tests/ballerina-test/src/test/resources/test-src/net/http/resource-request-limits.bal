@@ -0,0 +1,21 @@
+import ballerina/http;
+
+endpoint http:NonListener mockEP {
+    port:9090
+};
+
+@http:ServiceConfig { basePath: "/limits" }
+service<http:Service> limits bind mockEP {
+
+    @http:ResourceConfig {
+        methods: ["GET"],
+        path: "/limited",
+        maxActiveRequests: 1,
+        maxQueuedRequests: 0
+    }
+    limited(endpoint caller, http:Request req) {
+        http:Response res = new;
+        res.setTextPayload("done");
+        _ = caller->respond(res);
+    }
+}
@@ -0,0 +1,28 @@
+type Accumulator {
+    int count;
+    float total;
+    string label;
+    boolean seen;
+    Accumulator? previous;
+};
+
+function testNonEscapingRecord() returns (int, float, string, boolean) {
+    Accumulator acc = {label:"sum"};
+    int i = 0;
+    while (i < 5) {
+        Accumulator step = {count:i};
+        step.total = 1.5;
+        acc.count += step.count;
+        acc.total = acc.total + step.total;
+        acc.seen = step.previous == ();
+        i = i + 1;
+    }
+    acc.label = acc.label + ":done";
+    return (acc.count, acc.total, acc.label, acc.seen);
+}
+
+function testEscapingRecord() returns Accumulator {
+    Accumulator acc = {count:1};
+    acc.count = acc.count + 1;
+    return acc;
+}
@@ -7,6 +7,15 @@ function remove () returns (json) {
     return j;
 }
 
+function removeFromLargeObject () returns (json) {
+    json j = {"f1":1, "f2":2, "f3":3, "f4":4, "f5":5, "f6":6, "f7":7, "f8":8, "f9":9, "f10":10};
+    _ = j.remove("f2");
+    j.f11 = 11;
+    j.f1 = "one";
+    _ = j.remove("f10");
+    return j;
+}
+
 function toString (json msg) returns (string?) {
     return msg.toString();
 }
@@ -0,0 +1,64 @@
+// Copyright (c) 2018 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+type Address {
+    string city;
+    string country;
+};
+
+type Person {
+    string name;
+    int age;
+    float height;
+    boolean married;
+    Address address;
+    string[] tags;
+    json info;
+    map props;
+};
+
+type Document {
+    string name;
+    blob content;
+};
+
+function getPerson() returns (Person) {
+    Person p = {name:"Jane \"JD\" Doe", age:30, height:1.5, married:true,
+                address:{city:"Colombo", country:"Sri Lanka"}, tags:["a", "ü"], info:{status:"single"},
+                props:{"score":4}};
+    return p;
+}
+
+function getPeople() returns (Person[]) {
+    Person[] people = [getPerson(), getPerson()];
+    people[1].name = "John";
+    return people;
+}
+
+function getPersonJson() returns (json) {
+    json j = check <json>getPerson();
+    return j;
+}
+
+function getPeopleJson() returns (json) {
+    json j = check <json>getPeople();
+    return j;
+}
+
+function getDocument() returns (Document) {
+    Document d = {name:"doc"};
+    return d;
+}
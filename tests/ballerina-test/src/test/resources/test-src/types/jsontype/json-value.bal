@@ -284,6 +284,12 @@ function testUpdateNestedElement () returns (json) {
     return j;
 }
 
+function testUpdateParsedElement (json j) returns (string, json) {
+    string city = check <string>j.details.addresses[1].city;
+    j.details.lname = "Setunga";
+    return (city, j);
+}
+
 function testEmptyStringToJson () returns (json) {
     string s = "";
     return <json>s;
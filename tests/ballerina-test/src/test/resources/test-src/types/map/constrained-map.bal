@@ -658,3 +658,36 @@ function testMapConstrainedToNullableUnionNonExistingKeyWithIndexAccess () retur
 }
 
 
+
+function testUnboxedIntMapUpdates () returns (int, int, string[]) {
+    map<int> testMap = {"first":1};
+    int i = 0;
+    while (i < 100) {
+        testMap["key" + i] = i;
+        i = i + 1;
+    }
+    i = 0;
+    while (i < 95) {
+        _ = testMap.remove("key" + i);
+        i = i + 1;
+    }
+    testMap["key97"] = testMap["key97"] + 100;
+    testMap["first"] = 10;
+    testMap["last"] = 1000;
+    int sum = 0;
+    foreach key, value in testMap {
+        sum = sum + value;
+    }
+    return (lengthof testMap, sum, testMap.keys());
+}
+
+function testUnboxedFloatAndStringMaps () returns (float, string, string) {
+    map<float> floatMap = {"a":1.5};
+    floatMap["b"] = 2.25;
+    floatMap["a"] = floatMap["a"] + floatMap["b"];
+    map<string> stringMap = {"a":"hello"};
+    stringMap["b"] = " world";
+    stringMap["c"] = stringMap["a"] + stringMap["b"];
+    map m = stringMap;
+    return (floatMap["a"], stringMap["c"], <string> m["b"]);
+}
@@ -95,3 +95,66 @@ function testMapSynchronization() returns (int)
         return lengthof m;
     }
 }
+
+map globalMap;
+
+function testLocalMap() returns (map)
+{
+    map localMap = {"key1":"Element 1"};
+    map outer = {"inner":localMap};
+    return outer;
+}
+
+function testMapSharedThroughGlobal() returns (map)
+{
+    map inner = {"key1":"Inner 1"};
+    map outer = {"inner":inner};
+    globalMap = outer;
+    outer["key2"] = "Element 2";
+    return globalMap;
+}
+
+function testMapCapturedByClosure() returns (map)
+{
+    map captured = {"key1":"Element 1"};
+    var addEntry = (string key) => (int) {
+        captured[key] = "Element 2";
+        return lengthof captured;
+    };
+    _ = addEntry("key2");
+    return captured;
+}
+
+function testChangeMapWhileIterating() returns (string)
+{
+    map m = {"a":"1", "b":"2", "c":"3"};
+    string keys = "";
+    foreach k, v in m {
+        keys = keys + k;
+        m["d" + k] = v;
+        _ = m.remove("c");
+    }
+    return keys + ":" + lengthof m;
+}
+
+function testMapIterationLeftByError() returns (string)
+{
+    map m = {"a":"1", "b":"2", "c":"3"};
+    string keys = "";
+    try {
+        foreach k, v in m {
+            keys = keys + k;
+            if (k == "b") {
+                error e = {message:"stop"};
+                throw e;
+            }
+        }
+    } catch (error e) {
+        keys = keys + ":" + e.message + ":";
+    }
+    m["d"] = "4";
+    foreach k, v in m {
+        keys = keys + k;
+    }
+    return keys;
+}
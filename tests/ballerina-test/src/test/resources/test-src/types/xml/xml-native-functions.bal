@@ -842,3 +842,27 @@ function testGetChildrenOfSequence() returns (int, xml) {
     xml x4 = x3.*;
     return (lengthof x4, x4);
 }
+
+function testIterateSequence(xml x) returns (int) {
+    int count = 0;
+    foreach item in x {
+        count = count + 1;
+    }
+    return count;
+}
+
+function testBreakOutOfSequence(xml x) returns (string) {
+    string name = "";
+    foreach item in x {
+        name = item.getElementName();
+        break;
+    }
+    return name;
+}
+
+function testReturnFromSequence(xml x) returns (string) {
+    foreach item in x {
+        return item.getTextValue();
+    }
+    return "";
+}
@@ -0,0 +1,54 @@
+function fib(int n) returns (int) {
+    if (n < 2) {
+        return n;
+    }
+    return fib(n - 1) + fib(n - 2);
+}
+
+function nest(int n) returns (string) {
+    string s = "<" + n;
+    if (n > 0) {
+        s = s + nest(n - 1);
+    }
+    return s + ">";
+}
+
+function countKeys(int n) returns (int) {
+    map m = {};
+    int i = 0;
+    while (i < n) {
+        m["k" + i] = i;
+        i = i + 1;
+    }
+    return lengthof m.keys();
+}
+
+function countKeysInTurns(int n) returns (int) {
+    int total = 0;
+    int i = n;
+    while (i >= 0) {
+        total = total + countKeys(i);
+        i = i - 1;
+    }
+    return total;
+}
+
+function fibAsync(int n) returns (int) {
+    future<int> f1 = start fib(n);
+    future<int> f2 = start fib(n - 1);
+    future<int> f3 = start nestedLength(n);
+    int total = await f1;
+    total = total + await f2;
+    return total + await f3;
+}
+
+function nestedLength(int n) returns (int) {
+    return lengthof nest(n);
+}
+
+function countKeysAsync(int n) returns (int) {
+    future<int> f1 = start countKeysInTurns(n);
+    future<int> f2 = start countKeysInTurns(n);
+    int total = await f1;
+    return total + await f2;
+}
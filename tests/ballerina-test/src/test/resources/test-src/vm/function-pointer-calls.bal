@@ -0,0 +1,47 @@
+function add(int a, int b) returns (int) {
+    return a + b;
+}
+
+function apply(function (int, int) returns (int) f, int a, int b) returns (int) {
+    return f(a, b);
+}
+
+function makeCounter(int start) returns (function (int) returns (int)) {
+    int count = start;
+    return (int step) => (int) {
+        count = count + step;
+        return count;
+    };
+}
+
+function callFunctionPointer(int n) returns (int) {
+    function (int, int) returns (int) f = add;
+    int sum = 0;
+    foreach i in 1 ... n {
+        sum = sum + apply(f, i, 1);
+    }
+    return sum;
+}
+
+function callClosure(int n) returns (int) {
+    int offset = 10;
+    var addOffset = (int a) => (int) {
+        return a + offset;
+    };
+    var counter = makeCounter(0);
+    int last = 0;
+    foreach i in 1 ... n {
+        last = counter(addOffset(i));
+    }
+    return last;
+}
+
+function callNestedClosures(string prefix) returns (string) {
+    var outer = (string a) => (string) {
+        var inner = (string b) => (string) {
+            return prefix + a + b;
+        };
+        return inner("c");
+    };
+    return outer("b");
+}
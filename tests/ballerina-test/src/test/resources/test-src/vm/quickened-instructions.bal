@@ -0,0 +1,101 @@
+type Person record {
+    string name;
+    int age;
+};
+
+type Employee record {
+    string name;
+    int age;
+    string company;
+};
+
+function sumArray(int[] values) returns (int) {
+    int sum = 0;
+    int i = 0;
+    while (i < lengthof values) {
+        sum = sum + values[i];
+        i = i + 1;
+    }
+    return sum;
+}
+
+function addConstants(int count) returns (int) {
+    int x = 0;
+    int i = 0;
+    while (i < count) {
+        x = x + 100;
+        i = i + 1;
+    }
+    return x;
+}
+
+function compareAll(int a, int b) returns (int) {
+    int flags = 0;
+    if (a == b) {
+        flags = flags + 1;
+    }
+    if (a != b) {
+        flags = flags + 2;
+    }
+    if (a > b) {
+        flags = flags + 4;
+    }
+    if (a >= b) {
+        flags = flags + 8;
+    }
+    if (a < b) {
+        flags = flags + 16;
+    }
+    if (a <= b) {
+        flags = flags + 32;
+    }
+    return flags;
+}
+
+function castAnyToRecord() returns (string) {
+    Person p = {name:"Bob", age:25};
+    any a = p;
+    var q = check <Person> a;
+    return q.name;
+}
+
+function classify(any a) returns (int) {
+    match a {
+        int|string s => return 1;
+        Person p => return 10;
+        any x => return 100;
+    }
+}
+
+function matchManyTypes() returns (int) {
+    Person p = {name:"Bob", age:25};
+    Employee e = {name:"Alice", age:30, company:"WSO2"};
+    any[] values = [1, "a", p, e, 2.5, true, p, 3, e, "b", 4.5];
+    int total = 0;
+    foreach v in values {
+        total = total + classify(v);
+    }
+    return total;
+}
+
+function castToUnion(any a) returns string|error {
+    Person|string v = check <Person|string> a;
+    match v {
+        Person p => return p.name;
+        string s => return s;
+    }
+}
+
+function castManyToUnion() returns (string) {
+    Person p = {name:"Bob", age:25};
+    Employee e = {name:"Alice", age:30, company:"WSO2"};
+    any[] values = [p, "x", e, 1, p, "y", e, 1];
+    string names = "";
+    foreach v in values {
+        match castToUnion(v) {
+            string s => names = names + s + ",";
+            error err => names = names + "error,";
+        }
+    }
+    return names;
+}
@@ -0,0 +1,30 @@
+function sumTo(int n) returns (int) {
+    int sum = 0;
+    int i = 0;
+    while (i < n) {
+        sum = sum + i;
+        i = i + 1;
+    }
+    return sum;
+}
+
+function divide(int a, int b) returns (int) {
+    return a / b;
+}
+
+function mean(float a, float b) returns (float) {
+    if (a > b) {
+        return (a - b) / 2.0 + b;
+    }
+    return (b - a) / 2.0 + a;
+}
+
+function countTo(int n) returns (int) {
+    int sum = 0;
+    int i = 0;
+    while (i < n) {
+        sum = sum + i;
+        i = i + 1;
+    }
+    return sum;
+}